@@ -0,0 +1,107 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.benchmark;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.ParseDouble;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.ParseLong;
+import org.supercsv.cellprocessor.constraint.NotNull;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.io.CsvListWriter;
+import org.supercsv.prefs.CsvPreference;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+
+/**
+ * Benchmarks reading numeric columns with and without reading the columns as
+ * views. The CSV data is generated in memory (so the timings aren't affected by
+ * I/O), and most processor chains are a null check followed by a parser, which
+ * parse the views without creating Strings.
+ */
+@BenchmarkMethodChart(filePrefix = "ColumnViewsBenchmark")
+@BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 20)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ColumnViewsBenchmarkTest extends AbstractCsvReadingBenchmark {
+
+	private static final CsvPreference PREFS = new CsvPreference.Builder(
+			CsvPreference.STANDARD_PREFERENCE).build();
+
+	private static final CsvPreference VIEW_PREFS = new CsvPreference.Builder(
+			CsvPreference.STANDARD_PREFERENCE).readColumnViews(true).build();
+
+	private static final CellProcessor[] PROCESSORS = {
+			new NotNull(new ParseInt()), // id
+			new Optional(new ParseInt()), // quantity
+			new NotNull(new ParseLong()), // timestamp
+			new NotNull(new ParseDouble()), // price
+			new Optional(new ParseDouble()), // discount
+			new NotNull(), // code
+	};
+
+	// the number of data rows to read
+	private static final int ROWS = 200000;
+
+	private static String CSV;
+
+	/**
+	 * Generates the CSV data (with a header).
+	 */
+	@BeforeClass
+	public static void setUpData() throws Exception {
+		final StringWriter writer = new StringWriter();
+		final CsvListWriter listWriter = new CsvListWriter(writer, PREFS);
+		try {
+			listWriter.writeHeader("id", "quantity", "timestamp", "price",
+					"discount", "code");
+			for (int i = 0; i < ROWS; i++) {
+				listWriter.write(i, i % 7 == 0 ? null : i % 1000,
+						1500000000000L + i * 1000L, i / 100.0,
+						i % 3 == 0 ? null : (i % 50) / 4.0, "C" + (i % 100));
+			}
+		} finally {
+			listWriter.close();
+		}
+		CSV = writer.toString();
+	}
+
+	/**
+	 * Times CsvListReader using processors.
+	 */
+	@Test
+	public void testCsvListReaderUsingProcessors() throws Exception {
+		timeCsvListReaderUsingProcessors(new StringReader(CSV), PREFS,
+				PROCESSORS, ROWS);
+	}
+
+	/**
+	 * Times CsvListReader reading column views, using processors.
+	 */
+	@Test
+	public void testCsvListReaderUsingProcessorsWithViews() throws Exception {
+		timeCsvListReaderUsingProcessors(new StringReader(CSV), VIEW_PREFS,
+				PROCESSORS, ROWS);
+	}
+
+}
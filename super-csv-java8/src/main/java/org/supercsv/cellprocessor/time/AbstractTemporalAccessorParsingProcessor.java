@@ -25,9 +25,13 @@ import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.ParseCache;
 
 /**
  * Abstract base class for cell processors converting Strings to {@link TemporalAccessor} types.
+ * <p>
+ * Columns where the same values are repeated (such as the date of a daily partition) can be memoized by supplying a
+ * {@link ParseCache}: a value found in the cache skips the parser (the java.time types are immutable).
  *
  * @param <T> the {@link TemporalAccessor} type that the processor returns
  * @author James Bassett
@@ -38,12 +42,16 @@ public abstract class AbstractTemporalAccessorParsingProcessor<T extends Tempora
 
 	private final DateTimeFormatter formatter;
 
+	// the parsed values of repeated Strings (null if not memoizing)
+	private final ParseCache<T> cache;
+
 	/**
 	 * Constructs a new <tt>AbstractTemporalAccessorParsingProcessor</tt> processor, which
 	 * parses a String as a {@link TemporalAccessor} type.
 	 */
 	public AbstractTemporalAccessorParsingProcessor() {
 		this.formatter = null;
+		this.cache = null;
 	}
 
 	/**
@@ -57,6 +65,7 @@ public abstract class AbstractTemporalAccessorParsingProcessor<T extends Tempora
 	public AbstractTemporalAccessorParsingProcessor(final CellProcessor next) {
 		super(next);
 		this.formatter = null;
+		this.cache = null;
 	}
 
 	/**
@@ -69,6 +78,7 @@ public abstract class AbstractTemporalAccessorParsingProcessor<T extends Tempora
 	public AbstractTemporalAccessorParsingProcessor(final DateTimeFormatter formatter) {
 		checkPreconditions(formatter);
 		this.formatter = formatter;
+		this.cache = null;
 	}
 
 	/**
@@ -84,6 +94,42 @@ public abstract class AbstractTemporalAccessorParsingProcessor<T extends Tempora
 		super(next);
 		checkPreconditions(formatter);
 		this.formatter = formatter;
+		this.cache = null;
+	}
+
+	/**
+	 * Constructs a new <tt>AbstractTemporalAccessorParsingProcessor</tt> processor, which
+	 * parses a String as a {@link TemporalAccessor} type using the supplied formatter, memoizing
+	 * the parsed values in the supplied cache.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @throws NullPointerException if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	protected AbstractTemporalAccessorParsingProcessor(final DateTimeFormatter formatter, final ParseCache<T> cache) {
+		checkPreconditions(formatter);
+		this.formatter = formatter;
+		this.cache = Objects.requireNonNull(cache, "cache should not be null");
+	}
+
+	/**
+	 * Constructs a new <tt>AbstractTemporalAccessorParsingProcessor</tt> processor, which
+	 * parses a String as a {@link TemporalAccessor} type using the supplied formatter, memoizing
+	 * the parsed values in the supplied cache, then calls the next processor in the chain.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @param next      the next processor in the chain
+	 * @throws NullPointerException if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	protected AbstractTemporalAccessorParsingProcessor(final DateTimeFormatter formatter, final ParseCache<T> cache,
+		final CellProcessor next) {
+		super(next);
+		checkPreconditions(formatter);
+		this.formatter = formatter;
+		this.cache = Objects.requireNonNull(cache, "cache should not be null");
 	}
 
 	/**
@@ -109,6 +155,13 @@ public abstract class AbstractTemporalAccessorParsingProcessor<T extends Tempora
 		}
 
 		final String string = (String) value;
+		if( cache != null ) {
+			final T cached = cache.get(string);
+			if( cached != null ) {
+				return next.execute(cached, context);
+			}
+		}
+
 		final T result;
 		try {
 			if( formatter != null ) {
@@ -121,6 +174,9 @@ public abstract class AbstractTemporalAccessorParsingProcessor<T extends Tempora
 			throw new SuperCsvCellProcessorException("Failed to parse value", context, this, e);
 		}
 
+		if( cache != null ) {
+			cache.put(string, result);
+		}
 		return next.execute(result, context);
 	}
 
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.time;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Fixed-layout parsers for the common ISO-8601 forms accepted by {@link LocalDate#parse(CharSequence)},
+ * {@link LocalTime#parse(CharSequence)}, {@link LocalDateTime#parse(CharSequence)} and
+ * {@link ZonedDateTime#parse(CharSequence)}. The fields are read straight from their character offsets, so no
+ * <tt>DateTimeFormatter</tt> parsing context is created.
+ * <p>
+ * Only the forms below are handled; every method returns <tt>null</tt> for anything else (including values that are
+ * laid out correctly but out of range, such as <tt>2015-02-29</tt>), so the caller can fall back to the formatter to
+ * either parse the value or report the error in the usual way.
+ * <ul>
+ * <li>date: <tt>yyyy-MM-dd</tt> (a 4 digit year without a sign)</li>
+ * <li>time: <tt>HH:mm</tt>, <tt>HH:mm:ss</tt> or <tt>HH:mm:ss.S</tt> with 1 to 9 fraction digits</li>
+ * <li>date-time: a date and a time separated by <tt>T</tt></li>
+ * <li>zoned date-time: a date-time followed by <tt>Z</tt> or a <tt>+HH:mm</tt>/<tt>-HH:mm</tt> offset (no region
+ * ID)</li>
+ * </ul>
+ *
+ * @since 2.4.1
+ */
+final class IsoTemporalParser {
+
+	private static final int DATE_LENGTH = 10;
+
+	private static final int MIN_TIME_LENGTH = 5;
+
+	private static final int[] NANO_MULTIPLIERS = { 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1 };
+
+	private static final int MAX_OFFSET_HOURS = 18;
+
+	private IsoTemporalParser() {
+		// no instances
+	}
+
+	/**
+	 * Parses a <tt>yyyy-MM-dd</tt> date.
+	 *
+	 * @param text
+	 *            the text to parse
+	 * @return the date, or null if the text isn't in the fixed layout or isn't a valid date
+	 */
+	static LocalDate parseLocalDate(final CharSequence text) {
+		return text.length() == DATE_LENGTH ? parseDate(text, 0) : null;
+	}
+
+	/**
+	 * Parses a <tt>HH:mm[:ss[.S]]</tt> time.
+	 *
+	 * @param text
+	 *            the text to parse
+	 * @return the time, or null if the text isn't in the fixed layout or isn't a valid time
+	 */
+	static LocalTime parseLocalTime(final CharSequence text) {
+		return parseTime(text, 0, text.length());
+	}
+
+	/**
+	 * Parses a <tt>yyyy-MM-dd'T'HH:mm[:ss[.S]]</tt> date-time.
+	 *
+	 * @param text
+	 *            the text to parse
+	 * @return the date-time, or null if the text isn't in the fixed layout or isn't a valid date-time
+	 */
+	static LocalDateTime parseLocalDateTime(final CharSequence text) {
+		return parseDateTime(text, text.length());
+	}
+
+	/**
+	 * Parses a <tt>yyyy-MM-dd'T'HH:mm[:ss[.S]]</tt> date-time followed by <tt>Z</tt> or a <tt>+HH:mm</tt> offset.
+	 *
+	 * @param text
+	 *            the text to parse
+	 * @return the zoned date-time, or null if the text isn't in the fixed layout or isn't a valid zoned date-time
+	 */
+	static ZonedDateTime parseZonedDateTime(final CharSequence text) {
+		final int length = text.length();
+		if( length == 0 ) {
+			return null;
+		}
+
+		final int dateTimeEnd;
+		final ZoneOffset offset;
+		if( text.charAt(length - 1) == 'Z' ) {
+			dateTimeEnd = length - 1;
+			offset = ZoneOffset.UTC;
+		} else {
+			dateTimeEnd = length - 6;
+			if( dateTimeEnd < 0 ) {
+				return null;
+			}
+			offset = parseOffset(text, dateTimeEnd);
+			if( offset == null ) {
+				return null;
+			}
+		}
+
+		final LocalDateTime dateTime = parseDateTime(text, dateTimeEnd);
+		return dateTime == null ? null : ZonedDateTime.of(dateTime, offset);
+	}
+
+	/**
+	 * Parses a date-time ending at the supplied offset.
+	 */
+	private static LocalDateTime parseDateTime(final CharSequence text, final int end) {
+		if( end < DATE_LENGTH + 1 + MIN_TIME_LENGTH || text.charAt(DATE_LENGTH) != 'T' ) {
+			return null;
+		}
+
+		final LocalDate date = parseDate(text, 0);
+		if( date == null ) {
+			return null;
+		}
+		final LocalTime time = parseTime(text, DATE_LENGTH + 1, end);
+		return time == null ? null : LocalDateTime.of(date, time);
+	}
+
+	/**
+	 * Parses a <tt>yyyy-MM-dd</tt> date starting at the supplied offset.
+	 */
+	private static LocalDate parseDate(final CharSequence text, final int start) {
+		if( text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-' ) {
+			return null;
+		}
+
+		final int year = parseDigits(text, start, 4);
+		final int month = parseDigits(text, start + 5, 2);
+		final int day = parseDigits(text, start + 8, 2);
+		if( year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) ) {
+			return null;
+		}
+		return LocalDate.of(year, month, day);
+	}
+
+	/**
+	 * Parses a <tt>HH:mm[:ss[.S]]</tt> time between the supplied offsets.
+	 */
+	private static LocalTime parseTime(final CharSequence text, final int start, final int end) {
+		final int length = end - start;
+		if( length < MIN_TIME_LENGTH || text.charAt(start + 2) != ':' ) {
+			return null;
+		}
+
+		final int hour = parseDigits(text, start, 2);
+		final int minute = parseDigits(text, start + 3, 2);
+		if( hour < 0 || hour > 23 || minute < 0 || minute > 59 ) {
+			return null;
+		}
+		if( length == MIN_TIME_LENGTH ) {
+			return LocalTime.of(hour, minute);
+		}
+
+		if( length < 8 || text.charAt(start + 5) != ':' ) {
+			return null;
+		}
+		final int second = parseDigits(text, start + 6, 2);
+		if( second < 0 || second > 59 ) {
+			return null;
+		}
+		if( length == 8 ) {
+			return LocalTime.of(hour, minute, second);
+		}
+
+		final int fractionDigits = length - 9;
+		if( fractionDigits < 1 || fractionDigits > NANO_MULTIPLIERS.length || text.charAt(start + 8) != '.' ) {
+			return null;
+		}
+		final int fraction = parseDigits(text, start + 9, fractionDigits);
+		if( fraction < 0 ) {
+			return null;
+		}
+		return LocalTime.of(hour, minute, second, fraction * NANO_MULTIPLIERS[fractionDigits - 1]);
+	}
+
+	/**
+	 * Parses a <tt>+HH:mm</tt> or <tt>-HH:mm</tt> offset starting at the supplied offset.
+	 */
+	private static ZoneOffset parseOffset(final CharSequence text, final int start) {
+		final char sign = text.charAt(start);
+		if( (sign != '+' && sign != '-') || text.charAt(start + 3) != ':' ) {
+			return null;
+		}
+
+		final int hours = parseDigits(text, start + 1, 2);
+		final int minutes = parseDigits(text, start + 4, 2);
+		if( hours < 0 || hours > MAX_OFFSET_HOURS || minutes < 0 || minutes > 59
+			|| (hours == MAX_OFFSET_HOURS && minutes > 0) ) {
+			return null;
+		}
+		final int totalSeconds = (hours * 60 + minutes) * 60;
+		return ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSeconds : totalSeconds);
+	}
+
+	/**
+	 * Parses a fixed number of ASCII digits.
+	 *
+	 * @return the value, or -1 if any of the characters isn't an ASCII digit
+	 */
+	private static int parseDigits(final CharSequence text, final int start, final int count) {
+		int value = 0;
+		for( int i = start; i < start + count; i++ ) {
+			final int digit = text.charAt(i) - '0';
+			if( digit < 0 || digit > 9 ) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the number of days in a month of the proleptic ISO calendar.
+	 */
+	private static int lengthOfMonth(final int year, final int month) {
+		switch( month ) {
+			case 2:
+				return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+}
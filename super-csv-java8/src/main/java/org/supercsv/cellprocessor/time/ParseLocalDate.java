@@ -19,6 +19,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.ParseCache;
 
 /**
  * Converts a String to a LocalDate.
@@ -72,12 +73,75 @@ public class ParseLocalDate extends AbstractTemporalAccessorParsingProcessor<Loc
 		super(formatter, next);
 	}
 
+	/**
+	 * Constructs a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a LocalDate using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @throws NullPointerException if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	private ParseLocalDate(final DateTimeFormatter formatter, final ParseCache<LocalDate> cache) {
+		super(formatter, cache);
+	}
+
+	/**
+	 * Constructs a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a LocalDate using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache, then calls the next processor in the chain.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @param next      the next processor in the chain
+	 * @throws NullPointerException if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	private ParseLocalDate(final DateTimeFormatter formatter, final ParseCache<LocalDate> cache,
+		final CellProcessor next) {
+		super(formatter, cache, next);
+	}
+
+	/**
+	 * Creates a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a LocalDate using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @return the processor
+	 * @throws NullPointerException if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	public static ParseLocalDate memoized(final DateTimeFormatter formatter, final ParseCache<LocalDate> cache) {
+		return new ParseLocalDate(formatter, cache);
+	}
+
+	/**
+	 * Creates a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a LocalDate using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache, then calls the next processor in the chain.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @param next      the next processor in the chain
+	 * @return the processor
+	 * @throws NullPointerException if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	public static ParseLocalDate memoized(final DateTimeFormatter formatter, final ParseCache<LocalDate> cache,
+		final CellProcessor next) {
+		return new ParseLocalDate(formatter, cache, next);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected LocalDate parse(final String string) {
-		return LocalDate.parse(string);
+		final LocalDate date = IsoTemporalParser.parseLocalDate(string);
+		return date != null ? date : LocalDate.parse(string);
 	}
 
 	/**
@@ -85,6 +149,9 @@ public class ParseLocalDate extends AbstractTemporalAccessorParsingProcessor<Loc
 	 */
 	@Override
 	protected LocalDate parse(final String string, final DateTimeFormatter formatter) {
+		if( formatter == DateTimeFormatter.ISO_LOCAL_DATE ) {
+			return parse(string);
+		}
 		return LocalDate.parse(string, formatter);
 	}
 }
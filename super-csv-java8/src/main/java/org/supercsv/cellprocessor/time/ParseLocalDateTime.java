@@ -20,6 +20,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.ParseCache;
 
 /**
  * Converts a String to a LocalDateTime.
@@ -80,12 +81,76 @@ public class ParseLocalDateTime extends AbstractTemporalAccessorParsingProcessor
 		super(formatter, next);
 	}
 
+	/**
+	 * Constructs a new <tt>ParseLocalDateTime</tt> processor, which parses a String
+	 * as a LocalDateTime using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @throws NullPointerException if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	private ParseLocalDateTime(final DateTimeFormatter formatter, final ParseCache<LocalDateTime> cache) {
+		super(formatter, cache);
+	}
+
+	/**
+	 * Constructs a new <tt>ParseLocalDateTime</tt> processor, which parses a String
+	 * as a LocalDateTime using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache, then calls the next processor in the chain.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @param next      the next processor in the chain
+	 * @throws NullPointerException if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	private ParseLocalDateTime(final DateTimeFormatter formatter, final ParseCache<LocalDateTime> cache,
+		final CellProcessor next) {
+		super(formatter, cache, next);
+	}
+
+	/**
+	 * Creates a new <tt>ParseLocalDateTime</tt> processor, which parses a String
+	 * as a LocalDateTime using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @return the processor
+	 * @throws NullPointerException if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	public static ParseLocalDateTime memoized(final DateTimeFormatter formatter,
+		final ParseCache<LocalDateTime> cache) {
+		return new ParseLocalDateTime(formatter, cache);
+	}
+
+	/**
+	 * Creates a new <tt>ParseLocalDateTime</tt> processor, which parses a String
+	 * as a LocalDateTime using the supplied formatter, memoizing the parsed values
+	 * in the supplied cache, then calls the next processor in the chain.
+	 *
+	 * @param formatter the formatter used for parsing
+	 * @param cache     the cache of parsed values
+	 * @param next      the next processor in the chain
+	 * @return the processor
+	 * @throws NullPointerException if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	public static ParseLocalDateTime memoized(final DateTimeFormatter formatter, final ParseCache<LocalDateTime> cache,
+		final CellProcessor next) {
+		return new ParseLocalDateTime(formatter, cache, next);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected LocalDateTime parse(final String string) {
-		return LocalDateTime.parse(string);
+		final LocalDateTime dateTime = IsoTemporalParser.parseLocalDateTime(string);
+		return dateTime != null ? dateTime : LocalDateTime.parse(string);
 	}
 
 	/**
@@ -93,6 +158,9 @@ public class ParseLocalDateTime extends AbstractTemporalAccessorParsingProcessor
 	 */
 	@Override
 	protected LocalDateTime parse(final String string, final DateTimeFormatter formatter) {
+		if( formatter == DateTimeFormatter.ISO_LOCAL_DATE_TIME ) {
+			return parse(string);
+		}
 		return LocalDateTime.parse(string, formatter);
 	}
 }
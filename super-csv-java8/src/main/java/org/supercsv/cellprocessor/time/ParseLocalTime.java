@@ -87,7 +87,8 @@ public class ParseLocalTime extends AbstractTemporalAccessorParsingProcessor<Loc
 	 */
 	@Override
 	protected LocalTime parse(final String string) {
-		return LocalTime.parse(string);
+		final LocalTime time = IsoTemporalParser.parseLocalTime(string);
+		return time != null ? time : LocalTime.parse(string);
 	}
 
 	/**
@@ -95,6 +96,9 @@ public class ParseLocalTime extends AbstractTemporalAccessorParsingProcessor<Loc
 	 */
 	@Override
 	protected LocalTime parse(final String string, final DateTimeFormatter formatter) {
+		if( formatter == DateTimeFormatter.ISO_LOCAL_TIME ) {
+			return parse(string);
+		}
 		return LocalTime.parse(string, formatter);
 	}
 }
@@ -87,7 +87,8 @@ public class ParseZonedDateTime extends AbstractTemporalAccessorParsingProcessor
 	 */
 	@Override
 	protected ZonedDateTime parse(final String string) {
-		return ZonedDateTime.parse(string);
+		final ZonedDateTime dateTime = IsoTemporalParser.parseZonedDateTime(string);
+		return dateTime != null ? dateTime : ZonedDateTime.parse(string);
 	}
 
 	/**
@@ -95,6 +96,9 @@ public class ParseZonedDateTime extends AbstractTemporalAccessorParsingProcessor
 	 */
 	@Override
 	protected ZonedDateTime parse(final String string, final DateTimeFormatter formatter) {
+		if( formatter == DateTimeFormatter.ISO_ZONED_DATE_TIME ) {
+			return parse(string);
+		}
 		return ZonedDateTime.parse(string, formatter);
 	}
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+/**
+ * Tests the IsoTemporalParser class.
+ */
+public class IsoTemporalParserTest {
+
+	private static final String[] INVALID = { "", "x", "2013-1-25", "2013/10/25", "20131025", "+2013-10-25",
+		"2013-00-25", "2013-13-25", "2013-10-00", "2013-10-32", "2013-02-29", "2013-1O-25", "1:02", "01-02", "24:00",
+		"23:60", "23:59:60", "01:02:3", "01:02:03.", "01:02:03.1234567890", "01:02:03,5", "01:02:03.1a",
+		"2013-10-25 01:02", "2013-10-25T", "2013-10-25T1:02", "2013-10-25t01:02", "2013-10-25T01:02z",
+		"2013-10-25T01:02+1", "2013-10-25T01:02+01", "2013-10-25T01:02+0100", "2013-10-25T01:02+19:00",
+		"2013-10-25T01:02+18:01", "2013-10-25T01:02+01:60", "2013-10-25T01:02+01:00:30",
+		"2013-10-25T01:02+01:00[Europe/Paris]", "2013-10-25T01:02:03Z[UTC]" };
+
+	/**
+	 * Tests that the supported forms are parsed to the same values as the java.time parse methods.
+	 */
+	@Test
+	public void testSupportedForms() {
+		assertEquals(LocalDate.of(2013, 10, 25), IsoTemporalParser.parseLocalDate("2013-10-25"));
+		assertEquals(LocalDate.of(2012, 2, 29), IsoTemporalParser.parseLocalDate("2012-02-29"));
+		assertEquals(LocalDate.of(2000, 2, 29), IsoTemporalParser.parseLocalDate("2000-02-29"));
+		assertEquals(LocalTime.of(1, 2), IsoTemporalParser.parseLocalTime("01:02"));
+		assertEquals(LocalTime.of(1, 2, 3), IsoTemporalParser.parseLocalTime("01:02:03"));
+		assertEquals(LocalTime.of(1, 2, 3, 500000000), IsoTemporalParser.parseLocalTime("01:02:03.5"));
+		assertEquals(LocalTime.of(23, 59, 59, 123456789), IsoTemporalParser.parseLocalTime("23:59:59.123456789"));
+		assertEquals(LocalDateTime.of(2013, 10, 25, 1, 2, 3, 4000000),
+			IsoTemporalParser.parseLocalDateTime("2013-10-25T01:02:03.004"));
+		assertEquals(ZonedDateTime.of(2013, 10, 25, 1, 2, 3, 0, ZoneOffset.UTC),
+			IsoTemporalParser.parseZonedDateTime("2013-10-25T01:02:03Z"));
+		assertEquals(ZonedDateTime.of(2013, 10, 25, 1, 2, 0, 0, ZoneOffset.ofHoursMinutes(-5, -30)),
+			IsoTemporalParser.parseZonedDateTime("2013-10-25T01:02-05:30"));
+		assertEquals(ZonedDateTime.parse("2013-10-25T01:02-00:00"),
+			IsoTemporalParser.parseZonedDateTime("2013-10-25T01:02-00:00"));
+		assertEquals(ZonedDateTime.parse("2013-10-25T01:02+18:00"),
+			IsoTemporalParser.parseZonedDateTime("2013-10-25T01:02+18:00"));
+	}
+
+	/**
+	 * Tests that null is returned for anything outside the fixed layouts, or out of range, so that the formatter is
+	 * used instead.
+	 */
+	@Test
+	public void testUnsupportedForms() {
+		for( final String text : INVALID ) {
+			assertNull(text, IsoTemporalParser.parseLocalDate(text));
+			assertNull(text, IsoTemporalParser.parseLocalTime(text));
+			assertNull(text, IsoTemporalParser.parseLocalDateTime(text));
+			assertNull(text, IsoTemporalParser.parseZonedDateTime(text));
+		}
+	}
+
+	/**
+	 * Tests random (mostly valid) values against the java.time parse methods: whenever a value is parsed it must be
+	 * equal to the value parsed by java.time.
+	 */
+	@Test
+	public void testRandomValues() {
+		final Random random = new Random(1234L);
+		for( int i = 0; i < 20000; i++ ) {
+			final String date = String.format("%04d-%02d-%02d", random.nextInt(10000), random.nextInt(14),
+				random.nextInt(33));
+			final String time = String.format("%02d:%02d:%02d.%s", random.nextInt(25), random.nextInt(61),
+				random.nextInt(61), Integer.toString(random.nextInt(1000000000)).substring(random.nextInt(2)));
+			final String offset = String.format("%s%02d:%02d", random.nextBoolean() ? "+" : "-", random.nextInt(20),
+				random.nextInt(61));
+
+			assertSameAsJavaTime(date, IsoTemporalParser::parseLocalDate, LocalDate::parse);
+			assertSameAsJavaTime(time, IsoTemporalParser::parseLocalTime, LocalTime::parse);
+			assertSameAsJavaTime(time.substring(0, 5), IsoTemporalParser::parseLocalTime, LocalTime::parse);
+			assertSameAsJavaTime(date + "T" + time, IsoTemporalParser::parseLocalDateTime, LocalDateTime::parse);
+			assertSameAsJavaTime(date + "T" + time + offset, IsoTemporalParser::parseZonedDateTime,
+				ZonedDateTime::parse);
+		}
+	}
+
+	private static void assertSameAsJavaTime(final String text, final Function<String, TemporalAccessor> parser,
+		final Function<String, TemporalAccessor> javaTime) {
+		final TemporalAccessor expected;
+		try {
+			expected = javaTime.apply(text);
+		}
+		catch(DateTimeParseException e) {
+			assertNull(text, parser.apply(text));
+			return;
+		}
+		assertEquals(text, expected, parser.apply(text));
+	}
+
+}
@@ -16,6 +16,7 @@
 package org.supercsv.cellprocessor.time;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.supercsv.cellprocessor.time.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 
 import java.time.LocalDate;
@@ -32,6 +33,7 @@ import org.junit.runner.RunWith;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.cellprocessor.time.mock.IdentityTransform;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.ParseCache;
 
 /**
  * Tests the ParseLocalDate cell processor.
@@ -103,4 +105,27 @@ public class ParseLocalDateTest {
 		new ParseLocalDate(DateTimeFormatter.ISO_LOCAL_DATE, null);
 	}
 
+	@Test
+	public void testMemoized() {
+		final ParseCache<LocalDate> cache = new ParseCache<LocalDate>(16, true);
+		final CellProcessor memoized = ParseLocalDate.memoized(DateTimeFormatter.ISO_LOCAL_DATE, cache);
+		final CellProcessor memoizedChain = ParseLocalDate.memoized(DateTimeFormatter.ISO_LOCAL_DATE, cache,
+			new IdentityTransform());
+		final Object first = memoized.execute("2013-10-25", ANONYMOUS_CSVCONTEXT);
+		assertEquals(LocalDate.of(2013, 10, 25), first);
+		assertSame(first, memoizedChain.execute("2013-10-25", ANONYMOUS_CSVCONTEXT));
+		assertEquals(1L, cache.getHits());
+		assertEquals(1L, cache.getMisses());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testMemoizedWithNullCache() {
+		ParseLocalDate.memoized(DateTimeFormatter.ISO_LOCAL_DATE, null);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testMemoizedWithNullNext() {
+		ParseLocalDate.memoized(DateTimeFormatter.ISO_LOCAL_DATE, new ParseCache<LocalDate>(16), null);
+	}
+
 }
@@ -21,9 +21,14 @@ import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.ParseCache;
 
 /**
  * Abstract base class for cell processors converting Strings to Joda types.
+ * <p>
+ * Columns where the same values are repeated (such as the date of a daily
+ * partition) can be memoized by supplying a {@link ParseCache}: a value found
+ * in the cache skips the parser (which is safe, as Joda types are immutable).
  * 
  * @since 2.3.0
  * @author James Bassett
@@ -35,12 +40,16 @@ public abstract class AbstractJodaParsingProcessor<T> extends
 
 	private final DateTimeFormatter formatter;
 
+	// the parsed values of repeated Strings (null if not memoizing)
+	private final ParseCache<T> cache;
+
 	/**
 	 * Constructs a new <tt>AbstractJodaParsingProcessor</tt> processor, which
 	 * parses a String as a Joda type.
 	 */
 	public AbstractJodaParsingProcessor() {
 		this.formatter = null;
+		this.cache = null;
 	}
 
 	/**
@@ -56,6 +65,7 @@ public abstract class AbstractJodaParsingProcessor<T> extends
 	public AbstractJodaParsingProcessor(final CellProcessor next) {
 		super(next);
 		this.formatter = null;
+		this.cache = null;
 	}
 
 	/**
@@ -70,6 +80,7 @@ public abstract class AbstractJodaParsingProcessor<T> extends
 	public AbstractJodaParsingProcessor(final DateTimeFormatter formatter) {
 		checkPreconditions(formatter);
 		this.formatter = formatter;
+		this.cache = null;
 	}
 
 	/**
@@ -89,6 +100,51 @@ public abstract class AbstractJodaParsingProcessor<T> extends
 		super(next);
 		checkPreconditions(formatter);
 		this.formatter = formatter;
+		this.cache = null;
+	}
+
+	/**
+	 * Constructs a new <tt>AbstractJodaParsingProcessor</tt> processor, which
+	 * parses a String as a Joda type using the supplied formatter, memoizing
+	 * the parsed values in the supplied cache.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @throws NullPointerException
+	 *             if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	protected AbstractJodaParsingProcessor(final DateTimeFormatter formatter,
+			final ParseCache<T> cache) {
+		checkPreconditions(formatter, cache);
+		this.formatter = formatter;
+		this.cache = cache;
+	}
+
+	/**
+	 * Constructs a new <tt>AbstractJodaParsingProcessor</tt> processor, which
+	 * parses a String as a Joda type using the supplied formatter, memoizing
+	 * the parsed values in the supplied cache, then calls the next processor
+	 * in the chain.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws NullPointerException
+	 *             if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	protected AbstractJodaParsingProcessor(final DateTimeFormatter formatter,
+			final ParseCache<T> cache, final CellProcessor next) {
+		super(next);
+		checkPreconditions(formatter, cache);
+		this.formatter = formatter;
+		this.cache = cache;
 	}
 
 	/**
@@ -106,6 +162,25 @@ public abstract class AbstractJodaParsingProcessor<T> extends
 		}
 	}
 
+	/**
+	 * Checks the preconditions for creating a new memoizing
+	 * AbstractJodaParsingProcessor processor.
+	 * 
+	 * @param formatter
+	 *            the formatter
+	 * @param cache
+	 *            the cache of parsed values
+	 * @throws NullPointerException
+	 *             if formatter or cache is null
+	 */
+	private static void checkPreconditions(final DateTimeFormatter formatter,
+			final ParseCache<?> cache) {
+		checkPreconditions(formatter);
+		if (cache == null) {
+			throw new NullPointerException("cache should not be null");
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -120,6 +195,13 @@ public abstract class AbstractJodaParsingProcessor<T> extends
 		}
 
 		final String string = (String) value;
+		if (cache != null) {
+			final T cached = cache.get(string);
+			if (cached != null) {
+				return next.execute(cached, context);
+			}
+		}
+
 		final T result;
 		try {
 			if (formatter != null) {
@@ -132,6 +214,9 @@ public abstract class AbstractJodaParsingProcessor<T> extends
 					context, this, e);
 		}
 
+		if (cache != null) {
+			cache.put(string, result);
+		}
 		return next.execute(result, context);
 	}
 
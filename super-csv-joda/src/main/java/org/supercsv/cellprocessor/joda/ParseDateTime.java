@@ -21,6 +21,7 @@ import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.DateTimeFormatterBuilder;
 import org.joda.time.format.ISODateTimeFormat;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.ParseCache;
 
 /**
  * Converts a String to a Joda DateTime.
@@ -93,6 +94,86 @@ public class ParseDateTime extends AbstractJodaParsingProcessor<DateTime> {
 		super(formatter, next);
 	}
 
+	/**
+	 * Constructs a new <tt>ParseDateTime</tt> processor, which parses a String
+	 * as a Joda DateTime using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @throws NullPointerException
+	 *             if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	private ParseDateTime(final DateTimeFormatter formatter,
+			final ParseCache<DateTime> cache) {
+		super(formatter, cache);
+	}
+
+	/**
+	 * Constructs a new <tt>ParseDateTime</tt> processor, which parses a String
+	 * as a Joda DateTime using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache, then calls the next processor in the
+	 * chain.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws NullPointerException
+	 *             if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	private ParseDateTime(final DateTimeFormatter formatter,
+			final ParseCache<DateTime> cache, final CellProcessor next) {
+		super(formatter, cache, next);
+	}
+
+	/**
+	 * Creates a new <tt>ParseDateTime</tt> processor, which parses a String
+	 * as a Joda DateTime using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @return the processor
+	 * @throws NullPointerException
+	 *             if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	public static ParseDateTime memoized(final DateTimeFormatter formatter,
+			final ParseCache<DateTime> cache) {
+		return new ParseDateTime(formatter, cache);
+	}
+
+	/**
+	 * Creates a new <tt>ParseDateTime</tt> processor, which parses a String
+	 * as a Joda DateTime using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache, then calls the next processor in the
+	 * chain.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @param next
+	 *            the next processor in the chain
+	 * @return the processor
+	 * @throws NullPointerException
+	 *             if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	public static ParseDateTime memoized(final DateTimeFormatter formatter,
+			final ParseCache<DateTime> cache, final CellProcessor next) {
+		return new ParseDateTime(formatter, cache, next);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
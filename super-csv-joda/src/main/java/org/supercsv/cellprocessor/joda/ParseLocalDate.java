@@ -21,6 +21,7 @@ import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.DateTimeFormatterBuilder;
 import org.joda.time.format.ISODateTimeFormat;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.ParseCache;
 
 /**
  * Converts a String to a Joda LocalDate.
@@ -93,6 +94,86 @@ public class ParseLocalDate extends AbstractJodaParsingProcessor<LocalDate> {
 		super(formatter, next);
 	}
 
+	/**
+	 * Constructs a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a Joda LocalDate using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @throws NullPointerException
+	 *             if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	private ParseLocalDate(final DateTimeFormatter formatter,
+			final ParseCache<LocalDate> cache) {
+		super(formatter, cache);
+	}
+
+	/**
+	 * Constructs a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a Joda LocalDate using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache, then calls the next processor in the
+	 * chain.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws NullPointerException
+	 *             if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	private ParseLocalDate(final DateTimeFormatter formatter,
+			final ParseCache<LocalDate> cache, final CellProcessor next) {
+		super(formatter, cache, next);
+	}
+
+	/**
+	 * Creates a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a Joda LocalDate using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @return the processor
+	 * @throws NullPointerException
+	 *             if formatter or cache is null
+	 * @since 2.4.1
+	 */
+	public static ParseLocalDate memoized(final DateTimeFormatter formatter,
+			final ParseCache<LocalDate> cache) {
+		return new ParseLocalDate(formatter, cache);
+	}
+
+	/**
+	 * Creates a new <tt>ParseLocalDate</tt> processor, which parses a String
+	 * as a Joda LocalDate using the supplied formatter, memoizing the parsed
+	 * values in the supplied cache, then calls the next processor in the
+	 * chain.
+	 * 
+	 * @param formatter
+	 *            the formatter used for parsing
+	 * @param cache
+	 *            the cache of parsed values
+	 * @param next
+	 *            the next processor in the chain
+	 * @return the processor
+	 * @throws NullPointerException
+	 *             if formatter, cache or next is null
+	 * @since 2.4.1
+	 */
+	public static ParseLocalDate memoized(final DateTimeFormatter formatter,
+			final ParseCache<LocalDate> cache, final CellProcessor next) {
+		return new ParseLocalDate(formatter, cache, next);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -16,6 +16,7 @@
 package org.supercsv.cellprocessor.joda;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.supercsv.cellprocessor.joda.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 
@@ -30,6 +31,7 @@ import org.junit.Test;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.cellprocessor.joda.mock.IdentityTransform;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.ParseCache;
 
 /**
  * Tests the ParseLocalDate cell processor.
@@ -65,6 +67,21 @@ public class ParseLocalDateTest {
 		}
 	}
 
+	@Test
+	public void testMemoized() {
+		final ParseCache<LocalDate> cache = new ParseCache<LocalDate>(16, true);
+		final CellProcessor memoized = ParseLocalDate.memoized(formatter, cache);
+		final CellProcessor memoizedChain = ParseLocalDate.memoized(formatter,
+				cache, new IdentityTransform());
+		final Object first = memoized.execute(LOCAL_DATE_STRING,
+				ANONYMOUS_CSVCONTEXT);
+		assertEquals(LOCAL_DATE, first);
+		assertSame(first,
+				memoizedChain.execute(LOCAL_DATE_STRING, ANONYMOUS_CSVCONTEXT));
+		assertEquals(1L, cache.getHits());
+		assertEquals(1L, cache.getMisses());
+	}
+
 	@Test
 	public void testNullInput() {
 		for (CellProcessor p : processors) {
@@ -126,4 +143,14 @@ public class ParseLocalDateTest {
 		new ParseLocalDate(formatter, null);
 	}
 
+	@Test(expected = NullPointerException.class)
+	public void testMemoizedWithNullCache() {
+		ParseLocalDate.memoized(formatter, null);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testMemoizedWithNullNext() {
+		ParseLocalDate.memoized(formatter, new ParseCache<LocalDate>(16), null);
+	}
+
 }
@@ -15,14 +15,16 @@
  */
 package org.supercsv.cellprocessor;
 
-import org.supercsv.cellprocessor.ift.BoolCellProcessor;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
-import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
-import org.supercsv.cellprocessor.ift.LongCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveBoolCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveDoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveLongCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.Util;
 
 /**
  * Abstract super class containing shared behaviour of all cell processors. Processors are linked together in a linked
@@ -80,6 +82,126 @@ public abstract class CellProcessorAdaptor implements CellProcessor {
 		}
 	}
 	
+	/**
+	 * Passes a value to the next processor in the chain. A CharSequence that isn't a String (such as a column view) is
+	 * only passed on as-is if the next processor is a {@link CharSequenceCellProcessor}, otherwise it's converted to a
+	 * String first. Processors that implement <tt>CharSequenceCellProcessor</tt> should use this to pass on the values
+	 * they accept.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param context
+	 *            the CSV context
+	 * @return the result of the next processor
+	 * @see Util#toProcessorInput(Object, CellProcessor)
+	 * @since 2.4.1
+	 */
+	protected Object executeNextCharSequence(final Object value, final CsvContext context) {
+		return next.execute(Util.toProcessorInput(value, next), context);
+	}
+	
+	/**
+	 * Processes a primitive long. By default, this boxes the value and calls <tt>execute()</tt>, so subclasses that
+	 * implement {@link PrimitiveLongCellProcessor} only need to override it to avoid the boxing.
+	 * 
+	 * @param value
+	 *            the value to be processed
+	 * @param context
+	 *            the CSV context
+	 * @return the result of cell processor execution
+	 * @see PrimitiveLongCellProcessor#executeLong(long, CsvContext)
+	 * @since 2.4.1
+	 */
+	public Object executeLong(final long value, final CsvContext context) {
+		return execute(Long.valueOf(value), context);
+	}
+	
+	/**
+	 * Processes a primitive double. By default, this boxes the value and calls <tt>execute()</tt>, so subclasses that
+	 * implement {@link PrimitiveDoubleCellProcessor} only need to override it to avoid the boxing.
+	 * 
+	 * @param value
+	 *            the value to be processed
+	 * @param context
+	 *            the CSV context
+	 * @return the result of cell processor execution
+	 * @see PrimitiveDoubleCellProcessor#executeDouble(double, CsvContext)
+	 * @since 2.4.1
+	 */
+	public Object executeDouble(final double value, final CsvContext context) {
+		return execute(Double.valueOf(value), context);
+	}
+	
+	/**
+	 * Processes a primitive boolean. By default, this calls <tt>execute()</tt> with the equivalent Boolean, so
+	 * subclasses that implement {@link PrimitiveBoolCellProcessor} only need to override it to skip the type checks.
+	 * 
+	 * @param value
+	 *            the value to be processed
+	 * @param context
+	 *            the CSV context
+	 * @return the result of cell processor execution
+	 * @see PrimitiveBoolCellProcessor#executeBool(boolean, CsvContext)
+	 * @since 2.4.1
+	 */
+	public Object executeBool(final boolean value, final CsvContext context) {
+		return execute(Boolean.valueOf(value), context);
+	}
+	
+	/**
+	 * Passes a primitive long to the next processor in the chain, without boxing it if the next processor is a
+	 * {@link PrimitiveLongCellProcessor}.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param context
+	 *            the CSV context
+	 * @return the result of the next processor
+	 * @since 2.4.1
+	 */
+	protected Object executeNextLong(final long value, final CsvContext context) {
+		if( next instanceof PrimitiveLongCellProcessor ) {
+			return ((PrimitiveLongCellProcessor) next).executeLong(value, context);
+		}
+		return next.execute(Long.valueOf(value), context);
+	}
+	
+	/**
+	 * Passes a primitive double to the next processor in the chain, without boxing it if the next processor is a
+	 * {@link PrimitiveDoubleCellProcessor}.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param context
+	 *            the CSV context
+	 * @return the result of the next processor
+	 * @since 2.4.1
+	 */
+	protected Object executeNextDouble(final double value, final CsvContext context) {
+		if( next instanceof PrimitiveDoubleCellProcessor ) {
+			return ((PrimitiveDoubleCellProcessor) next).executeDouble(value, context);
+		}
+		return next.execute(Double.valueOf(value), context);
+	}
+	
+	/**
+	 * Passes a primitive boolean to the next processor in the chain (as a primitive if the next processor is a
+	 * {@link PrimitiveBoolCellProcessor}).
+	 * 
+	 * @param value
+	 *            the value
+	 * @param context
+	 *            the CSV context
+	 * @return the result of the next processor
+	 * @since 2.4.1
+	 */
+	protected Object executeNextBool(final boolean value, final CsvContext context) {
+		if( next instanceof PrimitiveBoolCellProcessor ) {
+			return ((PrimitiveBoolCellProcessor) next).executeBool(value, context);
+		}
+		return next.execute(Boolean.valueOf(value), context);
+	}
+	
 	/**
 	 * Returns the CellProccessor's fully qualified class name.
 	 */
@@ -97,8 +219,8 @@ public abstract class CellProcessorAdaptor implements CellProcessor {
 	 * @author Kasper B. Graversen
 	 * @author James Bassett
 	 */
-	private static final class NullObjectPattern implements BoolCellProcessor, DateCellProcessor, DoubleCellProcessor,
-		LongCellProcessor, StringCellProcessor {
+	private static final class NullObjectPattern implements DateCellProcessor, PrimitiveBoolCellProcessor,
+		PrimitiveDoubleCellProcessor, PrimitiveLongCellProcessor, StringCellProcessor {
 		
 		private static final NullObjectPattern INSTANCE = new NullObjectPattern();
 		
@@ -115,6 +237,27 @@ public abstract class CellProcessorAdaptor implements CellProcessor {
 		public Object execute(final Object value, final CsvContext context) {
 			return value;
 		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object executeLong(final long value, final CsvContext context) {
+			return Long.valueOf(value);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object executeDouble(final double value, final CsvContext context) {
+			return Double.valueOf(value);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object executeBool(final boolean value, final CsvContext context) {
+			return Boolean.valueOf(value);
+		}
 	}
 	
 }
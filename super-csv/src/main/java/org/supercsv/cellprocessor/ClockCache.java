@@ -0,0 +1,147 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache that evicts entries using the CLOCK algorithm (an approximation of LRU): each entry has a
+ * 'referenced' bit that's set whenever it's read, and when the cache is full a hand sweeps around the entries, clearing
+ * set bits, until it finds an entry that hasn't been referenced since the last sweep, which is replaced. Unlike LRU, a
+ * read doesn't reorder anything, so hits are cheap.
+ * <p>
+ * Null values can be cached (so a lookup that doesn't find the key returns {@link #NOT_FOUND} rather than null). Hits
+ * and misses are counted.
+ * <p>
+ * A ClockCache isn't thread-safe.
+ * 
+ * @since 2.4.1
+ */
+final class ClockCache {
+	
+	/** The value returned by {@link #get(Object)} when the key isn't in the cache. */
+	static final Object NOT_FOUND = new Object();
+	
+	// the slot of each cached key
+	private final Map<Object, Integer> slots;
+	
+	private final Object[] keys;
+	
+	private final Object[] values;
+	
+	private final boolean[] referenced;
+	
+	private int size = 0;
+	
+	private int hand = 0;
+	
+	private long hits = 0L;
+	
+	private long misses = 0L;
+	
+	/**
+	 * Constructs a new <tt>ClockCache</tt>.
+	 * 
+	 * @param capacity
+	 *            the maximum number of entries (must be greater than 0)
+	 */
+	ClockCache(final int capacity) {
+		this.slots = new HashMap<Object, Integer>((int) (capacity / 0.75f) + 1);
+		this.keys = new Object[capacity];
+		this.values = new Object[capacity];
+		this.referenced = new boolean[capacity];
+	}
+	
+	/**
+	 * Gets the value cached for a key, marking the entry as referenced.
+	 * 
+	 * @param key
+	 *            the key
+	 * @return the cached value (which may be null), or {@link #NOT_FOUND} if the key isn't cached
+	 */
+	Object get(final Object key) {
+		final Integer slot = slots.get(key);
+		if( slot == null ) {
+			misses++;
+			return NOT_FOUND;
+		}
+		hits++;
+		referenced[slot] = true;
+		return values[slot];
+	}
+	
+	/**
+	 * Caches a value for a key, evicting an entry if the cache is full.
+	 * 
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value (may be null)
+	 */
+	void put(final Object key, final Object value) {
+		final Integer existing = slots.get(key);
+		if( existing != null ) {
+			values[existing] = value;
+			return;
+		}
+		
+		final int slot;
+		if( size < keys.length ) {
+			slot = size++;
+		} else {
+			while( referenced[hand] ) {
+				referenced[hand] = false;
+				hand = (hand + 1) % keys.length;
+			}
+			slot = hand;
+			hand = (hand + 1) % keys.length;
+			slots.remove(keys[slot]);
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		referenced[slot] = false;
+		slots.put(key, slot);
+	}
+	
+	/**
+	 * Gets the number of cached entries.
+	 * 
+	 * @return the number of entries
+	 */
+	int size() {
+		return size;
+	}
+	
+	/**
+	 * Gets the number of lookups that found the key.
+	 * 
+	 * @return the number of cache hits
+	 */
+	long getHits() {
+		return hits;
+	}
+	
+	/**
+	 * Gets the number of lookups that didn't find the key.
+	 * 
+	 * @return the number of cache misses
+	 */
+	long getMisses() {
+		return misses;
+	}
+	
+}
@@ -17,10 +17,10 @@ package org.supercsv.cellprocessor;
 
 import org.supercsv.cellprocessor.ift.BoolCellProcessor;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
 import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -35,12 +35,15 @@ import org.supercsv.util.CsvContext;
  * other processors such as <code>
  * new ConvertNullTo("\"\"", new Truncate(3))
  * </code>
+ * <p>
+ * Column views (see {@link CharSequenceCellProcessor}) are passed on as they are if the next processor accepts them,
+ * so a chain such as <tt>new Optional(new ParseInt())</tt> doesn't need a String to be created for each column.
  * 
  * @since 1.20
  * @author Kasper B. Graversen
  */
 public class ConvertNullTo extends CellProcessorAdaptor implements BoolCellProcessor, DateCellProcessor,
-	DoubleCellProcessor, LongCellProcessor, StringCellProcessor {
+	DoubleCellProcessor, LongCellProcessor, CharSequenceCellProcessor {
 	
 	private final Object returnValue;
 	
@@ -80,6 +83,6 @@ public class ConvertNullTo extends CellProcessorAdaptor implements BoolCellProce
 			return returnValue;
 		}
 		
-		return next.execute(value, context);
+		return executeNextCharSequence(value, context);
 	}
 }
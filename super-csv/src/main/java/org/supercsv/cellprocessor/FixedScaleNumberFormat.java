@@ -0,0 +1,229 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Formats longs and doubles directly into a char buffer, giving the same result as a {@link DecimalFormat} created
+ * from a simple fixed-scale pattern such as <tt>"0.00"</tt> or <tt>"#,##0"</tt> (digits, grouping and a fixed number
+ * of fraction digits, with no prefixes, suffixes, exponent or multiplier). Doubles are rounded half-even based on their
+ * exact binary value, as <tt>DecimalFormat</tt> does. Instances are immutable, so they can be shared between threads.
+ * 
+ * @since 2.4.1
+ */
+final class FixedScaleNumberFormat {
+	
+	// the highest supported number of fraction digits
+	private static final int MAX_SCALE = 9;
+	
+	// the highest supported minimum number of integer digits
+	private static final int MAX_INTEGER_DIGITS = 20;
+	
+	// enough for a long with grouping, sign, separator and fraction digits (or the minimum integer digits)
+	private static final int BUFFER_SIZE = 64;
+	
+	// used to split a double in half for an exact multiplication (2^27 + 1)
+	private static final double SPLITTER = 134217729.0;
+	
+	private final int minimumIntegerDigits;
+	
+	private final int scale;
+	
+	private final int groupingSize;
+	
+	private final char minusSign;
+	
+	private final char decimalSeparator;
+	
+	private final char groupingSeparator;
+	
+	private final long scaleFactor;
+	
+	// doubles with a magnitude at least this large aren't formatted (their scaled value could exceed 2^52)
+	private final double maxDouble;
+	
+	/**
+	 * Constructs a new <tt>FixedScaleNumberFormat</tt> from the settings of a DecimalFormat.
+	 * 
+	 * @param format
+	 *            the DecimalFormat
+	 * @param minusSign
+	 *            the minus sign
+	 */
+	private FixedScaleNumberFormat(final DecimalFormat format, final char minusSign) {
+		final DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+		this.minimumIntegerDigits = format.getMinimumIntegerDigits();
+		this.scale = format.getMaximumFractionDigits();
+		this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+		this.minusSign = minusSign;
+		this.decimalSeparator = symbols.getDecimalSeparator();
+		this.groupingSeparator = symbols.getGroupingSeparator();
+		long factor = 1L;
+		for( int i = 0; i < scale; i++ ) {
+			factor *= 10L;
+		}
+		this.scaleFactor = factor;
+		this.maxDouble = (double) (1L << 52) / factor;
+	}
+	
+	/**
+	 * Creates a <tt>FixedScaleNumberFormat</tt> for a DecimalFormat pattern (using the default Locale), if the pattern
+	 * is simple enough.
+	 * 
+	 * @param pattern
+	 *            the DecimalFormat pattern
+	 * @return the format, or null if the pattern isn't a simple fixed-scale pattern (or isn't valid)
+	 */
+	static FixedScaleNumberFormat compile(final String pattern) {
+		for( int i = 0; i < pattern.length(); i++ ) {
+			final char c = pattern.charAt(i);
+			if( c != '0' && c != '#' && c != ',' && c != '.' ) {
+				return null; // prefixes, suffixes, exponents, percentages and negative subpatterns aren't supported
+			}
+		}
+		
+		final DecimalFormat format;
+		try {
+			format = new DecimalFormat(pattern);
+		}
+		catch(IllegalArgumentException e) {
+			return null;
+		}
+		
+		final String negativePrefix = format.getNegativePrefix();
+		if( format.getMinimumFractionDigits() != format.getMaximumFractionDigits()
+			|| format.getMaximumFractionDigits() > MAX_SCALE || format.getMinimumIntegerDigits() < 1
+			|| format.getMinimumIntegerDigits() > MAX_INTEGER_DIGITS
+			|| format.getMaximumIntegerDigits() < MAX_INTEGER_DIGITS || format.getMultiplier() != 1
+			|| format.isDecimalSeparatorAlwaysShown() || format.getPositivePrefix().length() != 0
+			|| format.getPositiveSuffix().length() != 0 || negativePrefix.length() != 1
+			|| format.getNegativeSuffix().length() != 0 || format.getDecimalFormatSymbols().getZeroDigit() != '0' ) {
+			return null;
+		}
+		return new FixedScaleNumberFormat(format, negativePrefix.charAt(0));
+	}
+	
+	/**
+	 * Formats a long.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the formatted value, or null if the value can't be formatted by this class
+	 */
+	String format(final long value) {
+		if( value == Long.MIN_VALUE ) {
+			return null; // its magnitude doesn't fit in a long
+		}
+		return format(value < 0L, Math.abs(value), 0L);
+	}
+	
+	/**
+	 * Formats a double.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the formatted value, or null if the value can't be formatted by this class (NaN, infinite, or too large)
+	 */
+	strictfp String format(final double value) {
+		final double magnitude = Math.abs(value);
+		if( !(magnitude < maxDouble) ) {
+			return null;
+		}
+		
+		// round the scaled value half-even, using the exact error of the multiplication to settle apparent ties
+		final double scaled = magnitude * scaleFactor;
+		final double rounded = Math.rint(scaled);
+		final double difference = scaled - rounded; // exact, as the scaled value is < 2^52
+		long units = (long) rounded;
+		if( difference == 0.5 || difference == -0.5 ) {
+			final double error = multiplicationError(magnitude, scaleFactor, scaled);
+			if( difference > 0.0 && error > 0.0 ) {
+				units++;
+			} else if( difference < 0.0 && error < 0.0 ) {
+				units--;
+			}
+		}
+		
+		final boolean negative = value < 0.0 || (value == 0.0 && 1.0 / value < 0.0);
+		return format(negative, units / scaleFactor, units % scaleFactor);
+	}
+	
+	/**
+	 * Formats a number from its integer and fraction parts.
+	 * 
+	 * @param negative
+	 *            whether the number is negative (including -0)
+	 * @param integerPart
+	 *            the magnitude of the integer part
+	 * @param fraction
+	 *            the fraction, in units of 10^-scale
+	 * @return the formatted number
+	 */
+	private String format(final boolean negative, final long integerPart, final long fraction) {
+		final char[] buffer = new char[BUFFER_SIZE];
+		int start = BUFFER_SIZE;
+		
+		if( scale > 0 ) {
+			long remaining = fraction;
+			for( int i = 0; i < scale; i++ ) {
+				buffer[--start] = (char) ('0' + remaining % 10L);
+				remaining /= 10L;
+			}
+			buffer[--start] = decimalSeparator;
+		}
+		
+		long remaining = integerPart;
+		int digits = 0;
+		do {
+			if( groupingSize > 0 && digits > 0 && digits % groupingSize == 0 ) {
+				buffer[--start] = groupingSeparator;
+			}
+			buffer[--start] = (char) ('0' + remaining % 10L);
+			remaining /= 10L;
+			digits++;
+		} while( remaining != 0L || digits < minimumIntegerDigits );
+		
+		if( negative ) {
+			buffer[--start] = minusSign;
+		}
+		return new String(buffer, start, BUFFER_SIZE - start);
+	}
+	
+	/**
+	 * Calculates the rounding error of a multiplication, using Dekker's algorithm (the exact product is
+	 * <tt>product + error</tt>).
+	 * 
+	 * @param a
+	 *            the first factor
+	 * @param b
+	 *            the second factor
+	 * @param product
+	 *            the rounded product of a and b
+	 * @return the error
+	 */
+	private static strictfp double multiplicationError(final double a, final double b, final double product) {
+		final double aSplit = SPLITTER * a;
+		final double aHigh = aSplit - (aSplit - a);
+		final double aLow = a - aHigh;
+		final double bSplit = SPLITTER * b;
+		final double bHigh = bSplit - (bSplit - b);
+		final double bLow = b - bHigh;
+		return ((aHigh * bHigh - product) + aHigh * bLow + aLow * bHigh) + aLow * bLow;
+	}
+	
+}
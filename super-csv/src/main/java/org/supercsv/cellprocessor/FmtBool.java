@@ -15,7 +15,7 @@
  */
 package org.supercsv.cellprocessor;
 
-import org.supercsv.cellprocessor.ift.BoolCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveBoolCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
@@ -27,7 +27,7 @@ import org.supercsv.util.CsvContext;
  * @since 1.50
  * @author Dominique De Vito
  */
-public class FmtBool extends CellProcessorAdaptor implements BoolCellProcessor {
+public class FmtBool extends CellProcessorAdaptor implements PrimitiveBoolCellProcessor {
 	
 	private final String trueValue;
 	private final String falseValue;
@@ -78,7 +78,16 @@ public class FmtBool extends CellProcessorAdaptor implements BoolCellProcessor {
 			throw new SuperCsvCellProcessorException(Boolean.class, value, context, this);
 		}
 		
-		final String result = ((Boolean) value).booleanValue() ? trueValue : falseValue;
-		return next.execute(result, context);
+		return executeBool(((Boolean) value).booleanValue(), context);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @since 2.4.1
+	 */
+	@Override
+	public Object executeBool(final boolean value, final CsvContext context) {
+		return next.execute(value ? trueValue : falseValue, context);
 	}
 }
@@ -41,6 +41,9 @@ public class FmtDate extends CellProcessorAdaptor implements DateCellProcessor {
 	
 	private final String dateFormat;
 	
+	// the formatter used by each thread
+	private final ThreadLocalDateFormat formatters;
+	
 	/**
 	 * Constructs a new <tt>FmtDate</tt> processor, which converts a date into a formatted string using
 	 * SimpleDateFormat.
@@ -54,6 +57,7 @@ public class FmtDate extends CellProcessorAdaptor implements DateCellProcessor {
 		super();
 		checkPreconditions(dateFormat);
 		this.dateFormat = dateFormat;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, true, null);
 	}
 	
 	/**
@@ -71,6 +75,7 @@ public class FmtDate extends CellProcessorAdaptor implements DateCellProcessor {
 		super(next);
 		checkPreconditions(dateFormat);
 		this.dateFormat = dateFormat;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, true, null);
 	}
 	
 	/**
@@ -102,7 +107,7 @@ public class FmtDate extends CellProcessorAdaptor implements DateCellProcessor {
 		
 		final SimpleDateFormat formatter;
 		try {
-			formatter = new SimpleDateFormat(dateFormat);
+			formatter = formatters.get();
 		}
 		catch(IllegalArgumentException e) {
 			throw new SuperCsvCellProcessorException(String.format("'%s' is not a valid date format", dateFormat),
@@ -17,8 +17,8 @@ package org.supercsv.cellprocessor;
 
 import java.text.DecimalFormat;
 
-import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
-import org.supercsv.cellprocessor.ift.LongCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveDoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveLongCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
@@ -27,8 +27,11 @@ import org.supercsv.util.CsvContext;
  * Converts a double into a formatted string using the {@link DecimalFormat} class and the default locale. This is
  * useful, when you need to show numbers with a specific number of digits.
  * <p>
- * Please be aware that the constructors that use <tt>DecimalFormat</tt> are not thread-safe, so it is generally better
- * to use the constructors that accept a date format String.
+ * The processor can be shared between threads, as each thread uses its own <tt>DecimalFormat</tt> (compiled from the
+ * format String, or cloned from the supplied <tt>DecimalFormat</tt> the first time the thread uses the processor, so
+ * later changes to the supplied <tt>DecimalFormat</tt> aren't seen). Simple fixed-scale format Strings such as
+ * <tt>"0.00"</tt> or <tt>"#,##0"</tt> are formatted without a <tt>DecimalFormat</tt> at all, for longs and doubles
+ * (and their smaller counterparts).
  * <p>
  * In the format string, the following characters are defined as : <br>
  * 
@@ -47,17 +50,24 @@ import org.supercsv.util.CsvContext;
  * @author Kasper B. Graversen
  * @author James Bassett
  */
-public class FmtNumber extends CellProcessorAdaptor implements DoubleCellProcessor, LongCellProcessor {
+public class FmtNumber extends CellProcessorAdaptor implements PrimitiveDoubleCellProcessor,
+	PrimitiveLongCellProcessor {
 	
 	/** the decimal format string */
 	private final String decimalFormat;
 	
-	/** the decimal format object - not thread safe */
+	/** the decimal format object - only used to create the formatter of each thread */
 	private final DecimalFormat formatter;
 	
+	/** the formatter used by each thread */
+	private final ThreadLocalDecimalFormat formatters;
+	
+	/** the formatter for simple fixed-scale format Strings (or null) */
+	private final FixedScaleNumberFormat fixedScaleFormat;
+	
 	/**
 	 * Constructs a new <tt>FmtNumber</tt> processor, which converts a double into a formatted string using the supplied
-	 * decimal format String. This constructor is thread-safe.
+	 * decimal format String.
 	 * 
 	 * @param decimalFormat
 	 *            the decimal format String (see {@link DecimalFormat})
@@ -69,11 +79,13 @@ public class FmtNumber extends CellProcessorAdaptor implements DoubleCellProcess
 		checkPreconditions(decimalFormat);
 		this.decimalFormat = decimalFormat;
 		this.formatter = null;
+		this.formatters = new ThreadLocalDecimalFormat(decimalFormat);
+		this.fixedScaleFormat = FixedScaleNumberFormat.compile(decimalFormat);
 	}
 	
 	/**
 	 * Constructs a new <tt>FmtNumber</tt> processor, which converts a double into a formatted string using the supplied
-	 * decimal format String, then calls the next processor in the chain. This constructor is thread-safe.
+	 * decimal format String, then calls the next processor in the chain.
 	 * 
 	 * @param decimalFormat
 	 *            the decimal format String (see {@link DecimalFormat})
@@ -87,11 +99,13 @@ public class FmtNumber extends CellProcessorAdaptor implements DoubleCellProcess
 		checkPreconditions(decimalFormat);
 		this.decimalFormat = decimalFormat;
 		this.formatter = null;
+		this.formatters = new ThreadLocalDecimalFormat(decimalFormat);
+		this.fixedScaleFormat = FixedScaleNumberFormat.compile(decimalFormat);
 	}
 	
 	/**
 	 * Constructs a new <tt>FmtNumber</tt> processor, which converts a double into a formatted string using the supplied
-	 * decimal format. This constructor is not thread-safe.
+	 * decimal format.
 	 * 
 	 * @param formatter
 	 *            the DecimalFormat
@@ -103,11 +117,13 @@ public class FmtNumber extends CellProcessorAdaptor implements DoubleCellProcess
 		checkPreconditions(formatter);
 		this.formatter = formatter;
 		this.decimalFormat = null;
+		this.formatters = new ThreadLocalDecimalFormat(formatter);
+		this.fixedScaleFormat = null;
 	}
 	
 	/**
 	 * Constructs a new <tt>FmtNumber</tt> processor, which converts a double into a formatted string using the supplied
-	 * decimal format, then calls the next processor in the chain. This constructor is not thread-safe.
+	 * decimal format, then calls the next processor in the chain.
 	 * 
 	 * @param formatter
 	 *            the DecimalFormat
@@ -121,6 +137,8 @@ public class FmtNumber extends CellProcessorAdaptor implements DoubleCellProcess
 		checkPreconditions(formatter);
 		this.formatter = formatter;
 		this.decimalFormat = null;
+		this.formatters = new ThreadLocalDecimalFormat(formatter);
+		this.fixedScaleFormat = null;
 	}
 	
 	/**
@@ -164,17 +182,72 @@ public class FmtNumber extends CellProcessorAdaptor implements DoubleCellProcess
 			throw new SuperCsvCellProcessorException(Number.class, value, context, this);
 		}
 		
-		// create a new DecimalFormat if one is not supplied
-		final DecimalFormat decimalFormatter;
+		if( fixedScaleFormat != null ) {
+			final String result;
+			if( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ) {
+				result = fixedScaleFormat.format(((Number) value).longValue());
+			} else if( value instanceof Double || value instanceof Float ) {
+				result = fixedScaleFormat.format(((Number) value).doubleValue());
+			} else {
+				result = null;
+			}
+			if( result != null ) {
+				return next.execute(result, context);
+			}
+		}
+		
+		final String result = getFormatter(context).format(value);
+		return next.execute(result, context);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws SuperCsvCellProcessorException
+	 *             if an invalid decimalFormat String was supplied
+	 * @since 2.4.1
+	 */
+	@Override
+	public Object executeLong(final long value, final CsvContext context) {
+		String result = fixedScaleFormat != null ? fixedScaleFormat.format(value) : null;
+		if( result == null ) {
+			result = getFormatter(context).format(value);
+		}
+		return next.execute(result, context);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws SuperCsvCellProcessorException
+	 *             if an invalid decimalFormat String was supplied
+	 * @since 2.4.1
+	 */
+	@Override
+	public Object executeDouble(final double value, final CsvContext context) {
+		String result = fixedScaleFormat != null ? fixedScaleFormat.format(value) : null;
+		if( result == null ) {
+			result = getFormatter(context).format(value);
+		}
+		return next.execute(result, context);
+	}
+	
+	/**
+	 * Gets the DecimalFormat of the current thread.
+	 * 
+	 * @param context
+	 *            the CSV context
+	 * @return the DecimalFormat
+	 * @throws SuperCsvCellProcessorException
+	 *             if an invalid decimalFormat String was supplied
+	 */
+	private DecimalFormat getFormatter(final CsvContext context) {
 		try {
-			decimalFormatter = formatter != null ? formatter : new DecimalFormat(decimalFormat);
+			return formatters.get();
 		}
 		catch(IllegalArgumentException e) {
 			throw new SuperCsvCellProcessorException(
 				String.format("'%s' is not a valid decimal format", decimalFormat), context, this, e);
 		}
-		
-		final String result = decimalFormatter.format(value);
-		return next.execute(result, context);
 	}
 }
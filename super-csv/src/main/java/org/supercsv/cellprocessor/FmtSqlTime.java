@@ -39,6 +39,9 @@ public class FmtSqlTime extends CellProcessorAdaptor implements DateCellProcesso
 	
 	private final String dateFormat;
 	
+	// the formatter used by each thread
+	private final ThreadLocalDateFormat formatters;
+	
 	/**
 	 * Constructs a new <tt>FmtTime</tt> processor, which converts a time into a formatted string using
 	 * SimpleDateFormat.
@@ -52,6 +55,7 @@ public class FmtSqlTime extends CellProcessorAdaptor implements DateCellProcesso
 		super();
 		checkPreconditions(dateFormat);
 		this.dateFormat = dateFormat;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, true, null);
 	}
 	
 	/**
@@ -69,6 +73,7 @@ public class FmtSqlTime extends CellProcessorAdaptor implements DateCellProcesso
 		super(next);
 		checkPreconditions(dateFormat);
 		this.dateFormat = dateFormat;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, true, null);
 	}
 	
 	/**
@@ -100,7 +105,7 @@ public class FmtSqlTime extends CellProcessorAdaptor implements DateCellProcesso
 		
 		final SimpleDateFormat formatter;
 		try {
-			formatter = new SimpleDateFormat(dateFormat);
+			formatter = formatters.get();
 		}
 		catch(IllegalArgumentException e) {
 			throw new SuperCsvCellProcessorException(String.format("'%s' is not a valid date format", dateFormat),
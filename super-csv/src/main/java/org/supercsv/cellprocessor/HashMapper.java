@@ -15,31 +15,40 @@
  */
 package org.supercsv.cellprocessor;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.supercsv.cellprocessor.ift.BoolCellProcessor;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
 import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CharSequenceLookup;
 import org.supercsv.util.CsvContext;
 
 /**
  * Maps from one object to another, by looking up a <tt>Map</tt> with the input as the key, and returning its
  * corresponding value.
+ * <p>
+ * The mapping is copied when the processor is constructed (so later changes to the Map aren't seen). Its String keys
+ * are held in a read-only lookup table, so any String (or column view) is looked up directly from its characters.
  * 
  * @since 1.50
  * @author Dominique De Vito
  * @author James Bassett
  */
 public class HashMapper extends CellProcessorAdaptor implements BoolCellProcessor, DateCellProcessor,
-	DoubleCellProcessor, LongCellProcessor, StringCellProcessor {
+	DoubleCellProcessor, LongCellProcessor, CharSequenceCellProcessor {
 	
 	private final Map<Object, Object> mapping;
 	private final Object defaultValue;
 	
+	// the mappings whose keys are Strings (which are looked up directly from String and CharSequence inputs)
+	private final CharSequenceLookup<Object> stringMapping;
+	
 	/**
 	 * Constructs a new <tt>HashMapper</tt> processor, which maps from one object to another, by looking up a
 	 * <tt>Map</tt> with the input as the key, and returning its corresponding value. If no mapping is found, then
@@ -73,9 +82,9 @@ public class HashMapper extends CellProcessorAdaptor implements BoolCellProcesso
 	public HashMapper(final Map<Object, Object> mapping, final Object defaultValue) {
 		super();
 		checkPreconditions(mapping);
-		this.mapping = mapping;
+		this.mapping = new HashMap<Object, Object>(mapping);
 		this.defaultValue = defaultValue;
-		
+		this.stringMapping = createLookup(mapping);
 	}
 	
 	/**
@@ -117,8 +126,9 @@ public class HashMapper extends CellProcessorAdaptor implements BoolCellProcesso
 	public HashMapper(final Map<Object, Object> mapping, final Object defaultValue, final CellProcessor next) {
 		super(next);
 		checkPreconditions(mapping);
-		this.mapping = mapping;
+		this.mapping = new HashMap<Object, Object>(mapping);
 		this.defaultValue = defaultValue;
+		this.stringMapping = createLookup(mapping);
 	}
 	
 	/**
@@ -139,6 +149,23 @@ public class HashMapper extends CellProcessorAdaptor implements BoolCellProcesso
 		}
 	}
 	
+	/**
+	 * Creates the lookup table of the mappings whose keys are Strings.
+	 * 
+	 * @param mapping
+	 *            the Map
+	 * @return the lookup table
+	 */
+	private static CharSequenceLookup<Object> createLookup(final Map<Object, Object> mapping) {
+		final Map<String, Object> stringMapping = new LinkedHashMap<String, Object>();
+		for( final Map.Entry<Object, Object> entry : mapping.entrySet() ) {
+			if( entry.getKey() instanceof String ) {
+				stringMapping.put((String) entry.getKey(), entry.getValue());
+			}
+		}
+		return new CharSequenceLookup<Object>(stringMapping, false);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -148,7 +175,7 @@ public class HashMapper extends CellProcessorAdaptor implements BoolCellProcesso
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		Object result = mapping.get(value);
+		Object result = value instanceof CharSequence ? stringMapping.get((CharSequence) value) : mapping.get(value);
 		if( result == null ) {
 			result = defaultValue;
 		}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import org.supercsv.cellprocessor.ift.BoolCellProcessor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.DateCellProcessor;
+import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.LongCellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Caches the results of the next processor in the chain by input value, so that repeated values skip the rest of the
+ * chain. This is useful for expensive chains on low-cardinality columns, for example
+ * <code>new Memoize(1024, new StrReplace("\\s+", " ", new StrRegEx("[a-z ]+", new HashMapper(mapping))))</code>.
+ * <p>
+ * The chain being memoized must be side-effect free and depend only on its input, so it shouldn't contain processors
+ * such as {@link org.supercsv.cellprocessor.constraint.Unique} or {@link Collector}, or processors that use the
+ * <tt>CsvContext</tt> (the context is only passed on when the chain is actually executed). The results are shared
+ * between executions, so they should be immutable (e.g. not a <tt>Date</tt>). Exceptions thrown by the chain aren't
+ * cached, and null inputs always execute the chain.
+ * <p>
+ * The cache holds a bounded number of entries, evicting the least recently used ones (approximately, using the CLOCK
+ * algorithm). Inputs are used as keys, so a CharSequence that isn't a String (such as a column view that's reused by
+ * the tokenizer) is copied to a String before being cached. By default the processor isn't thread-safe; the concurrent
+ * variant splits the cache into separately locked segments so it can be shared between threads (the chain is executed
+ * outside the locks, so a value can occasionally be computed twice).
+ * 
+ * @since 2.4.1
+ */
+public class Memoize extends CellProcessorAdaptor implements BoolCellProcessor, DateCellProcessor, DoubleCellProcessor,
+	LongCellProcessor, StringCellProcessor {
+	
+	private static final int CONCURRENT_SEGMENTS = 16;
+	
+	// a single segment, unless concurrent (in which case the number of segments is a power of 2)
+	private final ClockCache[] segments;
+	
+	private final boolean concurrent;
+	
+	/**
+	 * Constructs a new <tt>Memoize</tt> processor, which caches the results of the next processor in the chain. The
+	 * processor isn't thread-safe.
+	 * 
+	 * @param capacity
+	 *            the maximum number of results to cache
+	 * @param next
+	 *            the chain to memoize
+	 * @throws IllegalArgumentException
+	 *             if capacity is less than 1
+	 * @throws NullPointerException
+	 *             if next is null
+	 */
+	public Memoize(final int capacity, final CellProcessor next) {
+		this(capacity, false, next);
+	}
+	
+	/**
+	 * Constructs a new <tt>Memoize</tt> processor, which caches the results of the next processor in the chain.
+	 * 
+	 * @param capacity
+	 *            the maximum number of results to cache
+	 * @param concurrent
+	 *            whether the processor can be shared between threads
+	 * @param next
+	 *            the chain to memoize
+	 * @throws IllegalArgumentException
+	 *             if capacity is less than 1
+	 * @throws NullPointerException
+	 *             if next is null
+	 */
+	public Memoize(final int capacity, final boolean concurrent, final CellProcessor next) {
+		super(next);
+		checkPreconditions(capacity);
+		this.concurrent = concurrent;
+		
+		int segmentCount = 1;
+		if( concurrent ) {
+			while( segmentCount < CONCURRENT_SEGMENTS && segmentCount * 2 <= capacity ) {
+				segmentCount *= 2;
+			}
+		}
+		this.segments = new ClockCache[segmentCount];
+		for( int i = 0; i < segmentCount; i++ ) {
+			// spread the capacity over the segments (the first ones get any remainder)
+			segments[i] = new ClockCache(capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0));
+		}
+	}
+	
+	/**
+	 * Checks the preconditions for creating a new Memoize processor.
+	 * 
+	 * @param capacity
+	 *            the maximum number of results to cache
+	 * @throws IllegalArgumentException
+	 *             if capacity is less than 1
+	 */
+	private static void checkPreconditions(final int capacity) {
+		if( capacity < 1 ) {
+			throw new IllegalArgumentException(String.format("capacity should be > 0 but was %d", capacity));
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object execute(final Object value, final CsvContext context) {
+		if( value == null ) {
+			return next.execute(value, context);
+		}
+		
+		final Object key = (value instanceof CharSequence && !(value instanceof String)) ? value.toString() : value;
+		final ClockCache segment = segmentFor(key);
+		Object result;
+		if( concurrent ) {
+			synchronized( segment ) {
+				result = segment.get(key);
+			}
+		} else {
+			result = segment.get(key);
+		}
+		if( result != ClockCache.NOT_FOUND ) {
+			return result;
+		}
+		
+		result = next.execute(value, context);
+		if( concurrent ) {
+			synchronized( segment ) {
+				segment.put(key, result);
+			}
+		} else {
+			segment.put(key, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the segment of the cache that holds a key.
+	 * 
+	 * @param key
+	 *            the key
+	 * @return the segment
+	 */
+	private ClockCache segmentFor(final Object key) {
+		if( segments.length == 1 ) {
+			return segments[0];
+		}
+		final int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+	
+	/**
+	 * Gets the number of executions whose result was found in the cache.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		long hits = 0L;
+		for( final ClockCache segment : segments ) {
+			if( concurrent ) {
+				synchronized( segment ) {
+					hits += segment.getHits();
+				}
+			} else {
+				hits += segment.getHits();
+			}
+		}
+		return hits;
+	}
+	
+	/**
+	 * Gets the number of executions (with a non-null input) whose result wasn't found in the cache, so the chain was
+	 * executed.
+	 * 
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		long misses = 0L;
+		for( final ClockCache segment : segments ) {
+			if( concurrent ) {
+				synchronized( segment ) {
+					misses += segment.getMisses();
+				}
+			} else {
+				misses += segment.getMisses();
+			}
+		}
+		return misses;
+	}
+	
+}
@@ -15,13 +15,13 @@
  */
 package org.supercsv.cellprocessor;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.supercsv.cellprocessor.ift.BoolCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CharSequenceLookup;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -39,21 +39,22 @@ import org.supercsv.util.CsvContext;
  * true/false values were lowercase, as the input was converted to lowercase before comparison against the true/false
  * values (to handle all variations of case in the input). This is no longer required (just use the <tt>ignoreCase</tt>
  * parameter).
+ * <p>
+ * The true and false values are held in a read-only lookup table built at construction, so any String (or column
+ * view) is looked up directly, ignoring case if required, without being copied or converted to lowercase.
  * 
  * @author Kasper B. Graversen
  * @author Dominique De Vito
  * @author James Bassett
  * @since 1.0
  */
-public class ParseBool extends CellProcessorAdaptor implements StringCellProcessor {
+public class ParseBool extends CellProcessorAdaptor implements CharSequenceCellProcessor {
 	
 	private static final String[] DEFAULT_TRUE_VALUES = new String[] { "1", "true", "t", "y" };
 	private static final String[] DEFAULT_FALSE_VALUES = new String[] { "0", "false", "f", "n" };
 	
-	private final Set<String> trueValues = new HashSet<String>();
-	private final Set<String> falseValues = new HashSet<String>();
-	
-	private final boolean ignoreCase;
+	// the Boolean value of each true and false value
+	private final CharSequenceLookup<Boolean> values;
 	
 	/**
 	 * Constructs a new <tt>ParseBool</tt> processor, which converts a String to a Boolean using the default values
@@ -136,9 +137,7 @@ public class ParseBool extends CellProcessorAdaptor implements StringCellProcess
 	public ParseBool(final String trueValue, final String falseValue, final boolean ignoreCase) {
 		super();
 		checkPreconditions(trueValue, falseValue);
-		trueValues.add(trueValue);
-		falseValues.add(falseValue);
-		this.ignoreCase = ignoreCase;
+		this.values = createLookup(new String[] { trueValue }, new String[] { falseValue }, ignoreCase);
 	}
 	
 	/**
@@ -177,9 +176,7 @@ public class ParseBool extends CellProcessorAdaptor implements StringCellProcess
 	public ParseBool(final String[] trueValues, final String[] falseValues, final boolean ignoreCase) {
 		super();
 		checkPreconditions(trueValues, falseValues);
-		Collections.addAll(this.trueValues, trueValues);
-		Collections.addAll(this.falseValues, falseValues);
-		this.ignoreCase = ignoreCase;
+		this.values = createLookup(trueValues, falseValues, ignoreCase);
 	}
 	
 	/**
@@ -219,9 +216,7 @@ public class ParseBool extends CellProcessorAdaptor implements StringCellProcess
 		final BoolCellProcessor next) {
 		super(next);
 		checkPreconditions(trueValue, falseValue);
-		trueValues.add(trueValue);
-		falseValues.add(falseValue);
-		this.ignoreCase = ignoreCase;
+		this.values = createLookup(new String[] { trueValue }, new String[] { falseValue }, ignoreCase);
 	}
 	
 	/**
@@ -265,9 +260,7 @@ public class ParseBool extends CellProcessorAdaptor implements StringCellProcess
 		final BoolCellProcessor next) {
 		super(next);
 		checkPreconditions(trueValues, falseValues);
-		Collections.addAll(this.trueValues, trueValues);
-		Collections.addAll(this.falseValues, falseValues);
-		this.ignoreCase = ignoreCase;
+		this.values = createLookup(trueValues, falseValues, ignoreCase);
 	}
 	
 	/**
@@ -317,6 +310,34 @@ public class ParseBool extends CellProcessorAdaptor implements StringCellProcess
 		
 	}
 	
+	/**
+	 * Creates the lookup table of the true and false values (a value that's both true and false is true, as the true
+	 * values take precedence).
+	 * 
+	 * @param trueValues
+	 *            the true values
+	 * @param falseValues
+	 *            the false values
+	 * @param ignoreCase
+	 *            whether to ignore case
+	 * @return the lookup table
+	 */
+	private static CharSequenceLookup<Boolean> createLookup(final String[] trueValues, final String[] falseValues,
+		final boolean ignoreCase) {
+		final Map<String, Boolean> values = new LinkedHashMap<String, Boolean>();
+		for( final String trueValue : trueValues ) {
+			if( trueValue != null && !values.containsKey(trueValue) ) {
+				values.put(trueValue, Boolean.TRUE);
+			}
+		}
+		for( final String falseValue : falseValues ) {
+			if( falseValue != null && !values.containsKey(falseValue) ) {
+				values.put(falseValue, Boolean.FALSE);
+			}
+		}
+		return new CharSequenceLookup<Boolean>(values, ignoreCase);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -326,47 +347,17 @@ public class ParseBool extends CellProcessorAdaptor implements StringCellProcess
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		if( !(value instanceof String) ) {
+		if( !(value instanceof CharSequence) ) {
 			throw new SuperCsvCellProcessorException(String.class, value, context, this);
 		}
 		
-		final String stringValue = (String) value;
-		final Boolean result;
-		if( contains(trueValues, stringValue, ignoreCase) ) {
-			result = Boolean.TRUE;
-		} else if( contains(falseValues, stringValue, ignoreCase) ) {
-			result = Boolean.FALSE;
-		} else {
+		final Boolean result = values.get((CharSequence) value);
+		if( result == null ) {
 			throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as a Boolean", value),
 				context, this);
 		}
 		
-		return next.execute(result, context);
-	}
-	
-	/**
-	 * Returns true if the set contains the value, otherwise false.
-	 * 
-	 * @param set
-	 *            the set
-	 * @param value
-	 *            the value to find
-	 * @param ignoreCase
-	 *            whether to ignore case
-	 * @return true if the set contains the value, otherwise false
-	 */
-	private static boolean contains(Set<String> set, String value, boolean ignoreCase) {
-		if( ignoreCase ) {
-			for( String element : set ) {
-				if( element.equalsIgnoreCase(value) ) {
-					return true;
-				}
-			}
-			return false;
-			
-		} else {
-			return set.contains(value);
-		}
+		return executeNextBool(result.booleanValue(), context);
 	}
 	
 }
@@ -21,6 +21,7 @@ import java.util.Date;
 import java.util.Locale;
 
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
+import org.supercsv.util.ParseCache;
 
 /**
  * Converts a String to a Date using the {@link SimpleDateFormat} class. If you want to convert from a Date to a String,
@@ -58,6 +59,21 @@ public class ParseDate extends ParseDateTimeAbstract {
 		super(dateFormat, lenient, locale, next);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	private ParseDate(String dateFormat, boolean lenient, Locale locale, ParseCache<Date> cache,
+		DateCellProcessor next) {
+		super(dateFormat, lenient, locale, cache, next);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	private ParseDate(String dateFormat, boolean lenient, Locale locale, ParseCache<Date> cache) {
+		super(dateFormat, lenient, locale, cache);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -86,11 +102,57 @@ public class ParseDate extends ParseDateTimeAbstract {
 		super(dateFormat);
 	}
 	
+	/**
+	 * Creates a new <tt>ParseDate</tt> processor which converts a String to a Date using the supplied date format and
+	 * Locale, memoizing the parsed values in the supplied cache.
+	 * 
+	 * @param dateFormat
+	 *            the date format to use
+	 * @param lenient
+	 *            whether date interpretation is lenient
+	 * @param locale
+	 *            the Locale used to parse the date
+	 * @param cache
+	 *            the cache of parsed values
+	 * @return the processor
+	 * @throws NullPointerException
+	 *             if dateFormat, locale or cache is null
+	 * @since 2.4.1
+	 */
+	public static ParseDate memoized(final String dateFormat, final boolean lenient, final Locale locale,
+		final ParseCache<Date> cache) {
+		return new ParseDate(dateFormat, lenient, locale, cache);
+	}
+	
+	/**
+	 * Creates a new <tt>ParseDate</tt> processor which converts a String to a Date using the supplied date format and
+	 * Locale, memoizing the parsed values in the supplied cache, then calls the next processor in the chain.
+	 * 
+	 * @param dateFormat
+	 *            the date format to use
+	 * @param lenient
+	 *            whether date interpretation is lenient
+	 * @param locale
+	 *            the Locale used to parse the date
+	 * @param cache
+	 *            the cache of parsed values
+	 * @param next
+	 *            the next processor in the chain
+	 * @return the processor
+	 * @throws NullPointerException
+	 *             if dateFormat, locale, cache or next is null
+	 * @since 2.4.1
+	 */
+	public static ParseDate memoized(final String dateFormat, final boolean lenient, final Locale locale,
+		final ParseCache<Date> cache, final DateCellProcessor next) {
+		return new ParseDate(dateFormat, lenient, locale, cache, next);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Object parseValue(Object value) throws ParseException {
+	protected Object parseValue(Object value, SimpleDateFormat formatter) throws ParseException {
 		final Date result = formatter.parse((String) value);
 		return result;
 	}
@@ -17,12 +17,14 @@ package org.supercsv.cellprocessor;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.Locale;
 
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.ParseCache;
 
 /**
  * Converts a String to a Date/Time using the {@link SimpleDateFormat} class. If you want to convert from a Date/Time to
@@ -41,6 +43,13 @@ import org.supercsv.util.CsvContext;
  * <p>
  * If you don't wish to use the default Locale when parsing Dates (your data is formatted for a different Locale), then
  * use the constructor that accepts a Locale.
+ * <p>
+ * The date format is compiled once for each thread that uses the processor (the first time it's used), so a processor
+ * can be shared between threads.
+ * <p>
+ * Columns where the same values are repeated (such as the date of a daily partition) can be memoized by supplying a
+ * {@link ParseCache}: a value found in the cache skips the parser, and (as Dates are mutable) a copy of the cached Date
+ * is returned each time.
  * 
  * @author Pietro Aragona
  * @since 2.4.1
@@ -53,7 +62,11 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 	
 	protected final Locale locale;
 	
-	protected SimpleDateFormat formatter;
+	// the formatter used by each thread
+	private final ThreadLocalDateFormat formatters;
+	
+	// the parsed values of repeated Strings (null if not memoizing)
+	private final ParseCache<Date> cache;
 	
 	/**
 	 * Constructs a new <tt>ParseDateTimeAbstract</tt> processor which converts a String to a Date/Time using the
@@ -85,6 +98,8 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 		this.dateFormat = dateFormat;
 		this.lenient = lenient;
 		this.locale = null;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, lenient, null);
+		this.cache = null;
 	}
 	
 	/**
@@ -106,6 +121,8 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 		this.dateFormat = dateFormat;
 		this.lenient = lenient;
 		this.locale = locale;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, lenient, locale);
+		this.cache = null;
 	}
 	
 	/**
@@ -143,6 +160,8 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 		this.dateFormat = dateFormat;
 		this.lenient = lenient;
 		this.locale = null;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, lenient, null);
+		this.cache = null;
 	}
 	
 	/**
@@ -167,6 +186,65 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 		this.dateFormat = dateFormat;
 		this.lenient = lenient;
 		this.locale = locale;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, lenient, locale);
+		this.cache = null;
+	}
+	
+	/**
+	 * Constructs a new <tt>ParseDateTimeAbstract</tt> processor which converts a String to a Date/Time using the
+	 * supplied date format and Locale, memoizing the parsed values in the supplied cache.
+	 * 
+	 * @param dateFormat
+	 *            the date format to use
+	 * @param lenient
+	 *            whether date interpretation is lenient
+	 * @param locale
+	 *            the Locale used to parse the date
+	 * @param cache
+	 *            the cache of parsed values
+	 * @throws NullPointerException
+	 *             if dateFormat, locale or cache is null
+	 * @since 2.4.1
+	 */
+	protected ParseDateTimeAbstract(final String dateFormat, final boolean lenient, final Locale locale,
+		final ParseCache<Date> cache) {
+		super();
+		checkPreconditions(dateFormat, locale, cache);
+		this.dateFormat = dateFormat;
+		this.lenient = lenient;
+		this.locale = locale;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, lenient, locale);
+		this.cache = cache;
+	}
+	
+	/**
+	 * Constructs a new <tt>ParseDateTimeAbstract</tt> processor which converts a String to a Date/Time using the
+	 * supplied date format and Locale, memoizing the parsed values in the supplied cache, then calls the next
+	 * processor in the chain.
+	 * 
+	 * @param dateFormat
+	 *            the date format to use
+	 * @param lenient
+	 *            whether date interpretation is lenient
+	 * @param locale
+	 *            the Locale used to parse the date
+	 * @param cache
+	 *            the cache of parsed values
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws NullPointerException
+	 *             if dateFormat, locale, cache or next is null
+	 * @since 2.4.1
+	 */
+	protected ParseDateTimeAbstract(final String dateFormat, final boolean lenient, final Locale locale,
+		final ParseCache<Date> cache, final DateCellProcessor next) {
+		super(next);
+		checkPreconditions(dateFormat, locale, cache);
+		this.dateFormat = dateFormat;
+		this.lenient = lenient;
+		this.locale = locale;
+		this.formatters = new ThreadLocalDateFormat(dateFormat, lenient, locale);
+		this.cache = cache;
 	}
 	
 	/**
@@ -201,6 +279,25 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 		}
 	}
 	
+	/**
+	 * Checks the preconditions for creating a new memoizing ParseDateTimeAbstract processor.
+	 * 
+	 * @param dateFormat
+	 *            the date format to use
+	 * @param locale
+	 *            the Locale used to parse the date
+	 * @param cache
+	 *            the cache of parsed values
+	 * @throws NullPointerException
+	 *             if dateFormat, locale or cache is null
+	 */
+	private static void checkPreconditions(final String dateFormat, final Locale locale, final ParseCache<Date> cache) {
+		checkPreconditions(dateFormat, locale);
+		if( cache == null ) {
+			throw new NullPointerException("cache should not be null");
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -215,13 +312,18 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 		}
 		
 		try {
-			if( locale == null ) {
-				formatter = new SimpleDateFormat(dateFormat);
+			Object result;
+			if( cache == null ) {
+				result = parseValue(value, formatters.get());
 			} else {
-				formatter = new SimpleDateFormat(dateFormat, locale);
+				Date parsed = cache.get((String) value);
+				if( parsed == null ) {
+					parsed = (Date) parseValue(value, formatters.get());
+					cache.put((String) value, parsed);
+				}
+				// the cached Date is never handed out, as it could be modified
+				result = parsed.clone();
 			}
-			formatter.setLenient(lenient);
-			Object result = parseValue(value);
 			return next.execute(result, context);
 		}
 		catch(final ParseException e) {
@@ -233,10 +335,13 @@ public abstract class ParseDateTimeAbstract extends CellProcessorAdaptor impleme
 	/**
 	 * @param value
 	 *            the value to be formatted
+	 * @param formatter
+	 *            the formatter to parse the value with (created from the date format, lenience and Locale of this
+	 *            processor, and reused by the current thread)
 	 * @return A Object (Date/Time) parsed from the string.
 	 * @throws ParseException
 	 *             if the string cannot be parsed.
 	 */
-	abstract protected Object parseValue(Object value) throws ParseException;
+	abstract protected Object parseValue(Object value, SimpleDateFormat formatter) throws ParseException;
 	
 }
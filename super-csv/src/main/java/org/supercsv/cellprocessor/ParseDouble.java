@@ -15,9 +15,10 @@
  */
 package org.supercsv.cellprocessor;
 
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CharSequenceParser;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -25,7 +26,7 @@ import org.supercsv.util.CsvContext;
  * 
  * @author Kasper B. Graversen
  */
-public class ParseDouble extends CellProcessorAdaptor implements StringCellProcessor {
+public class ParseDouble extends CellProcessorAdaptor implements CharSequenceCellProcessor {
 	
 	/**
 	 * Constructs a new <tt>ParseDouble</tt> processor, which converts a String to a Double.
@@ -56,12 +57,13 @@ public class ParseDouble extends CellProcessorAdaptor implements StringCellProce
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final Double result;
+		final double result;
 		if( value instanceof Double ) {
-			result = (Double) value;
-		} else if( value instanceof String ) {
+			return next.execute(value, context);
+		} else if( value instanceof CharSequence ) {
+			// Strings and column views are parsed to a primitive, which is passed on without boxing if possible
 			try {
-				result = new Double((String) value);
+				result = CharSequenceParser.parseDouble((CharSequence) value);
 			}
 			catch(final NumberFormatException e) {
 				throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as a Double", value),
@@ -73,6 +75,6 @@ public class ParseDouble extends CellProcessorAdaptor implements StringCellProce
 				"the input value should be of type Double or String but is of type %s", actualClassName), context, this);
 		}
 		
-		return next.execute(result, context);
+		return executeNextDouble(result, context);
 	}
 }
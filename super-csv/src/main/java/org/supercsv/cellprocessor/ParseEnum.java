@@ -15,23 +15,34 @@
  */
 package org.supercsv.cellprocessor;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.supercsv.cellprocessor.ift.CellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CharSequenceLookup;
 import org.supercsv.util.CsvContext;
 
 /**
  * Converts a String to an Enum. Patch originally supplied by Adrian Ber.
+ * <p>
+ * The enum constants are put in a {@link CharSequenceLookup} (keyed by name, ignoring case if required) when the
+ * processor is constructed, so each value is found with a single lookup, which also works on a CharSequence (such as a
+ * column view) without creating a String.
  * 
  * @author James Bassett
  * @since 2.2.0
  */
-public class ParseEnum extends CellProcessorAdaptor implements StringCellProcessor {
+public class ParseEnum extends CellProcessorAdaptor implements CharSequenceCellProcessor {
 	
 	private final Class<? extends Enum<?>> enumClass;
 	
 	private final boolean ignoreCase;
 	
+	// the enum constants by name
+	private final CharSequenceLookup<Enum<?>> constants;
+	
 	/**
 	 * Constructs a new <tt>ParseEnum</tt> processor, which converts a String to a Enum.
 	 * 
@@ -47,6 +58,7 @@ public class ParseEnum extends CellProcessorAdaptor implements StringCellProcess
 		checkPreconditions(enumClass);
 		this.enumClass = enumClass;
 		this.ignoreCase = false;
+		this.constants = createConstants(enumClass, false);
 	}
 	
 	/**
@@ -67,6 +79,7 @@ public class ParseEnum extends CellProcessorAdaptor implements StringCellProcess
 		checkPreconditions(enumClass);
 		this.enumClass = enumClass;
 		this.ignoreCase = ignoreCase;
+		this.constants = createConstants(enumClass, ignoreCase);
 	}
 	
 	/**
@@ -87,6 +100,7 @@ public class ParseEnum extends CellProcessorAdaptor implements StringCellProcess
 		checkPreconditions(enumClass);
 		this.enumClass = enumClass;
 		this.ignoreCase = false;
+		this.constants = createConstants(enumClass, false);
 	}
 	
 	/**
@@ -109,6 +123,7 @@ public class ParseEnum extends CellProcessorAdaptor implements StringCellProcess
 		checkPreconditions(enumClass);
 		this.enumClass = enumClass;
 		this.ignoreCase = ignoreCase;
+		this.constants = createConstants(enumClass, ignoreCase);
 	}
 	
 	/**
@@ -125,6 +140,28 @@ public class ParseEnum extends CellProcessorAdaptor implements StringCellProcess
 		}
 	}
 	
+	/**
+	 * Creates the lookup table of enum constants. If several constants have the same name ignoring case (only relevant
+	 * when ignoring case), the first one declared is kept.
+	 * 
+	 * @param enumClass
+	 *            the enum class
+	 * @param ignoreCase
+	 *            whether the constants are looked up ignoring case
+	 * @return the lookup table
+	 */
+	private static CharSequenceLookup<Enum<?>> createConstants(final Class<? extends Enum<?>> enumClass,
+		final boolean ignoreCase) {
+		final Map<String, Enum<?>> constantsByName = new LinkedHashMap<String, Enum<?>>();
+		final Enum<?>[] enumConstants = enumClass.getEnumConstants();
+		if( enumConstants != null ) {
+			for( final Enum<?> constant : enumConstants ) {
+				constantsByName.put(constant.name(), constant);
+			}
+		}
+		return new CharSequenceLookup<Enum<?>>(constantsByName, ignoreCase);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -134,13 +171,10 @@ public class ParseEnum extends CellProcessorAdaptor implements StringCellProcess
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final String inputString = value.toString();
-		
-		for( final Enum<?> enumConstant : enumClass.getEnumConstants() ) {
-			String constantName = enumConstant.name();
-			if( ignoreCase ? constantName.equalsIgnoreCase(inputString) : constantName.equals(inputString) ) {
-				return enumConstant;
-			}
+		final CharSequence input = value instanceof CharSequence ? (CharSequence) value : value.toString();
+		final Enum<?> enumConstant = constants.get(input);
+		if( enumConstant != null ) {
+			return enumConstant;
 		}
 		
 		throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as a enum of type %s", value,
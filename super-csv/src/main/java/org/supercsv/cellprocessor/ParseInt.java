@@ -15,9 +15,10 @@
  */
 package org.supercsv.cellprocessor;
 
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CharSequenceParser;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -25,7 +26,7 @@ import org.supercsv.util.CsvContext;
  * 
  * @author Kasper B. Graversen
  */
-public class ParseInt extends CellProcessorAdaptor implements StringCellProcessor {
+public class ParseInt extends CellProcessorAdaptor implements CharSequenceCellProcessor {
 	
 	/**
 	 * Constructs a new <tt>ParseInt</tt> processor, which converts a String to an Integer.
@@ -67,6 +68,15 @@ public class ParseInt extends CellProcessorAdaptor implements StringCellProcesso
 				throw new SuperCsvCellProcessorException(
 					String.format("'%s' could not be parsed as an Integer", value), context, this, e);
 			}
+		} else if( value instanceof CharSequence ) {
+			// e.g. a column view, which can be parsed without creating a String
+			try {
+				result = Integer.valueOf(CharSequenceParser.parseInt((CharSequence) value));
+			}
+			catch(final NumberFormatException e) {
+				throw new SuperCsvCellProcessorException(
+					String.format("'%s' could not be parsed as an Integer", value), context, this, e);
+			}
 		} else {
 			final String actualClassName = value.getClass().getName();
 			throw new SuperCsvCellProcessorException(String.format(
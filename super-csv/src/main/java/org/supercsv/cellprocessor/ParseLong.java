@@ -15,9 +15,10 @@
  */
 package org.supercsv.cellprocessor;
 
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CharSequenceParser;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -25,7 +26,7 @@ import org.supercsv.util.CsvContext;
  * 
  * @author Kasper B. Graversen
  */
-public class ParseLong extends CellProcessorAdaptor implements StringCellProcessor {
+public class ParseLong extends CellProcessorAdaptor implements CharSequenceCellProcessor {
 	
 	/**
 	 * Constructs a new <tt>ParseLong</tt> processor, which converts a String to a Long.
@@ -56,12 +57,13 @@ public class ParseLong extends CellProcessorAdaptor implements StringCellProcess
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final Long result;
+		final long result;
 		if( value instanceof Long ) {
-			result = (Long) value;
-		} else if( value instanceof String ) {
+			return next.execute(value, context);
+		} else if( value instanceof CharSequence ) {
+			// Strings and column views are parsed to a primitive, which is passed on without boxing if possible
 			try {
-				result = Long.parseLong((String) value);
+				result = CharSequenceParser.parseLong((CharSequence) value);
 			}
 			catch(final NumberFormatException e) {
 				throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as an Long", value),
@@ -73,6 +75,6 @@ public class ParseLong extends CellProcessorAdaptor implements StringCellProcess
 				"the input value should be of type Long or String but is of type %s", actualClassName), context, this);
 		}
 		
-		return next.execute(result, context);
+		return executeNextLong(result, context);
 	}
 }
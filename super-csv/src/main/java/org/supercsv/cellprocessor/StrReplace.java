@@ -15,7 +15,6 @@
  */
 package org.supercsv.cellprocessor;
 
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.supercsv.cellprocessor.ift.BoolCellProcessor;
@@ -25,10 +24,12 @@ import org.supercsv.cellprocessor.ift.LongCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.RegexMatcher;
 
 /**
  * Replaces each substring of the input string that matches the given regular expression with the given replacement. The
- * regular expression pattern is compiled once then reused for efficiency.
+ * regular expression pattern is compiled once then reused for efficiency, and a regular expression that's just literal
+ * characters is replaced without the regular expression engine (see {@link RegexMatcher}).
  * 
  * @author Kasper B. Graversen
  * @author Dominique De Vito
@@ -37,7 +38,7 @@ import org.supercsv.util.CsvContext;
 public class StrReplace extends CellProcessorAdaptor implements BoolCellProcessor, DateCellProcessor,
 	DoubleCellProcessor, LongCellProcessor, StringCellProcessor {
 	
-	private final Pattern regexPattern;
+	private final RegexMatcher regexMatcher;
 	private final String replacement;
 	
 	/**
@@ -58,7 +59,7 @@ public class StrReplace extends CellProcessorAdaptor implements BoolCellProcesso
 	public StrReplace(final String regex, final String replacement) {
 		super();
 		checkPreconditions(regex, replacement);
-		this.regexPattern = Pattern.compile(regex);
+		this.regexMatcher = new RegexMatcher(regex);
 		this.replacement = replacement;
 	}
 	
@@ -82,7 +83,7 @@ public class StrReplace extends CellProcessorAdaptor implements BoolCellProcesso
 	public StrReplace(final String regex, final String replacement, final StringCellProcessor next) {
 		super(next);
 		checkPreconditions(regex, replacement);
-		this.regexPattern = Pattern.compile(regex);
+		this.regexMatcher = new RegexMatcher(regex);
 		this.replacement = replacement;
 	}
 	
@@ -118,7 +119,7 @@ public class StrReplace extends CellProcessorAdaptor implements BoolCellProcesso
 	 */
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
-		String result = regexPattern.matcher(value.toString()).replaceAll(replacement);
+		String result = regexMatcher.replaceAll(value.toString(), replacement);
 		return next.execute(result, context);
 	}
 	
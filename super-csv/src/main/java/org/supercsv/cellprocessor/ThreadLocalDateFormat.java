@@ -0,0 +1,67 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+/**
+ * Caches a {@link SimpleDateFormat} for each thread that uses a date processor. <tt>SimpleDateFormat</tt> isn't
+ * thread-safe, so this lets a processor compile its date format once per thread instead of once per cell, while still
+ * being safe to share between threads.
+ * 
+ * @since 2.4.1
+ */
+final class ThreadLocalDateFormat extends ThreadLocal<SimpleDateFormat> {
+	
+	private final String dateFormat;
+	
+	private final boolean lenient;
+	
+	private final Locale locale;
+	
+	/**
+	 * Constructs a new <tt>ThreadLocalDateFormat</tt>.
+	 * 
+	 * @param dateFormat
+	 *            the date format
+	 * @param lenient
+	 *            whether date interpretation is lenient
+	 * @param locale
+	 *            the Locale (or null to use the default Locale)
+	 */
+	ThreadLocalDateFormat(final String dateFormat, final boolean lenient, final Locale locale) {
+		this.dateFormat = dateFormat;
+		this.lenient = lenient;
+		this.locale = locale;
+	}
+	
+	/**
+	 * Creates the formatter for the current thread.
+	 * 
+	 * @return the formatter
+	 * @throws IllegalArgumentException
+	 *             if the date format is invalid (in which case the next call to <tt>get()</tt> will try again)
+	 */
+	@Override
+	protected SimpleDateFormat initialValue() {
+		final SimpleDateFormat formatter = locale == null ? new SimpleDateFormat(dateFormat) : new SimpleDateFormat(
+			dateFormat, locale);
+		formatter.setLenient(lenient);
+		return formatter;
+	}
+	
+}
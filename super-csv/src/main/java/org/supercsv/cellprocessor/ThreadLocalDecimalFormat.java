@@ -0,0 +1,70 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import java.text.DecimalFormat;
+
+/**
+ * Caches a {@link DecimalFormat} for each thread that uses a number processor. <tt>DecimalFormat</tt> isn't
+ * thread-safe, so each thread either compiles the pattern once, or gets its own clone of a supplied
+ * <tt>DecimalFormat</tt>.
+ * 
+ * @since 2.4.1
+ */
+final class ThreadLocalDecimalFormat extends ThreadLocal<DecimalFormat> {
+	
+	private final String pattern;
+	
+	private final DecimalFormat prototype;
+	
+	/**
+	 * Constructs a new <tt>ThreadLocalDecimalFormat</tt> that compiles a pattern for each thread.
+	 * 
+	 * @param pattern
+	 *            the DecimalFormat pattern
+	 */
+	ThreadLocalDecimalFormat(final String pattern) {
+		this.pattern = pattern;
+		this.prototype = null;
+	}
+	
+	/**
+	 * Constructs a new <tt>ThreadLocalDecimalFormat</tt> that clones a DecimalFormat for each thread.
+	 * 
+	 * @param prototype
+	 *            the DecimalFormat to clone
+	 */
+	ThreadLocalDecimalFormat(final DecimalFormat prototype) {
+		this.pattern = null;
+		this.prototype = prototype;
+	}
+	
+	/**
+	 * Creates the formatter for the current thread.
+	 * 
+	 * @return the formatter
+	 * @throws IllegalArgumentException
+	 *             if the pattern is invalid (in which case the next call to <tt>get()</tt> will try again)
+	 */
+	@Override
+	protected DecimalFormat initialValue() {
+		if( prototype != null ) {
+			return (DecimalFormat) prototype.clone();
+		}
+		return new DecimalFormat(pattern);
+	}
+	
+}
@@ -16,6 +16,7 @@
 package org.supercsv.cellprocessor;
 
 import org.supercsv.cellprocessor.ift.BoolCellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
 import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
@@ -32,7 +33,7 @@ import org.supercsv.util.CsvContext;
  * @author James Bassett
  */
 public class Trim extends CellProcessorAdaptor implements BoolCellProcessor, DateCellProcessor, DoubleCellProcessor,
-	LongCellProcessor, StringCellProcessor {
+	LongCellProcessor, CharSequenceCellProcessor {
 	
 	/**
 	 * Constructs a new <tt>Trim</tt> processor, which trims a String to ensure it has no surrounding whitespace.
@@ -63,7 +64,32 @@ public class Trim extends CellProcessorAdaptor implements BoolCellProcessor, Dat
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
+		if( value instanceof CharSequence && !(value instanceof String) ) {
+			// e.g. a column view, which is trimmed without creating a String for the untrimmed value
+			final CharSequence trimmed = trim((CharSequence) value);
+			return executeNextCharSequence(trimmed, context);
+		}
+		
 		final String result = value.toString().trim();
 		return next.execute(result, context);
 	}
+	
+	/**
+	 * Trims a CharSequence in the same way as {@link String#trim()}.
+	 * 
+	 * @param value
+	 *            the value to trim
+	 * @return the trimmed value
+	 */
+	private static CharSequence trim(final CharSequence value) {
+		int start = 0;
+		int end = value.length();
+		while( start < end && value.charAt(start) <= ' ' ) {
+			start++;
+		}
+		while( end > start && value.charAt(end - 1) <= ' ' ) {
+			end--;
+		}
+		return start == 0 && end == value.length() ? value : value.subSequence(start, end);
+	}
 }
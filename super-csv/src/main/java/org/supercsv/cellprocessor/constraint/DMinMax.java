@@ -17,9 +17,11 @@ package org.supercsv.cellprocessor.constraint;
 
 import org.supercsv.cellprocessor.CellProcessorAdaptor;
 import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveDoubleCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.util.CharSequenceParser;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -30,7 +32,7 @@ import org.supercsv.util.CsvContext;
  * @author Kasper B. Graversen
  * @author James Bassett
  */
-public class DMinMax extends CellProcessorAdaptor implements StringCellProcessor {
+public class DMinMax extends CellProcessorAdaptor implements PrimitiveDoubleCellProcessor, StringCellProcessor {
 	
 	/** Maximum value for a Double */
 	public static final double MAX_DOUBLE = Double.MAX_VALUE;
@@ -133,26 +135,53 @@ public class DMinMax extends CellProcessorAdaptor implements StringCellProcessor
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final Double result;
 		if( value instanceof Double ) {
-			result = (Double) value;
-		} else {
-			try {
-				result = Double.parseDouble(value.toString());
-			}
-			catch(final NumberFormatException e) {
-				throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as a Double", value),
-					context, this, e);
-			}
+			checkRange(((Double) value).doubleValue(), context);
+			return next.execute(value, context);
 		}
 		
-		if( result < min || result > max ) {
+		final double result;
+		try {
+			result = value instanceof CharSequence ? CharSequenceParser.parseDouble((CharSequence) value) : Double
+				.parseDouble(value.toString());
+		}
+		catch(final NumberFormatException e) {
+			throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as a Double", value),
+				context, this, e);
+		}
+		
+		return executeDouble(result, context);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws SuperCsvConstraintViolationException
+	 *             if value doesn't lie between min and max (inclusive)
+	 * @since 2.4.1
+	 */
+	@Override
+	public Object executeDouble(final double value, final CsvContext context) {
+		checkRange(value, context);
+		return executeNextDouble(value, context);
+	}
+	
+	/**
+	 * Checks that a value lies between min and max (inclusive).
+	 * 
+	 * @param value
+	 *            the value
+	 * @param context
+	 *            the CSV context
+	 * @throws SuperCsvConstraintViolationException
+	 *             if value doesn't lie between min and max (inclusive)
+	 */
+	private void checkRange(final double value, final CsvContext context) {
+		if( value < min || value > max ) {
 			throw new SuperCsvConstraintViolationException(String.format(
-				"%f does not lie between the min (%f) and max (%f) values (inclusive)", result, min, max), context,
+				"%f does not lie between the min (%f) and max (%f) values (inclusive)", value, min, max), context,
 				this);
 		}
-		
-		return next.execute(result, context);
 	}
 	
 }
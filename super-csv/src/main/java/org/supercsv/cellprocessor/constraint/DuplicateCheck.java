@@ -0,0 +1,41 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.constraint;
+
+import org.supercsv.util.CsvContext;
+
+/**
+ * Interface for exact duplicate checks, used to confirm the duplicates suspected by a probabilistic uniqueness
+ * constraint such as {@link UniqueBloomFilter} (for example, by looking the value up in a database or an index of the
+ * keys that have been loaded). A check is only consulted for suspected duplicates, which are rare, so it can be much
+ * slower than the constraint itself.
+ * 
+ * @since 2.4.1
+ */
+public interface DuplicateCheck {
+	
+	/**
+	 * Determines whether a value that the constraint suspects is a duplicate really has been encountered before.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param context
+	 *            the CSV context of the value
+	 * @return true if it's a duplicate, false if the constraint's match was a false positive
+	 */
+	boolean isDuplicate(Object value, CsvContext context);
+	
+}
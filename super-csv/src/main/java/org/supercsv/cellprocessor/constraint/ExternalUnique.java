@@ -0,0 +1,654 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.constraint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the values of a column are unique, like {@link Unique}, but spills to disk rather than running out of
+ * memory on huge files. Unlike {@link UniqueBloomFilter} the check is exact. Values are compared by their String
+ * representation.
+ * <p>
+ * While the values fit within the memory limit they're kept in an open addressing hash table of 64-bit fingerprints
+ * (with the values, and where they were encountered, in parallel arrays), and duplicates are reported as soon as
+ * they're encountered. Once the limit is exceeded, the table is spilled to temporary files, partitioned by
+ * fingerprint, and every subsequent value is appended to its partition without being checked. Those values are
+ * checked by {@link #verify()}, which must be called once every row has been processed: it loads each partition in
+ * turn into the same kind of table (re-partitioning any partition that turns out to be too big for the memory limit),
+ * so the memory used is bounded regardless of the number of rows. The limit is approximate, as the memory used by the
+ * table and its Strings is estimated rather than measured.
+ * <p>
+ * Duplicates are reported with the line and row numbers of the row where the value was repeated, and the row number
+ * where it was first encountered. When a duplicate is only found by {@link #verify()}, the first duplicate (by row
+ * number) is reported.
+ * <p>
+ * The temporary files are deleted by {@link #verify()} and {@link #close()}, so a processor that might have spilled
+ * should be closed if the rows aren't all processed. If the values can't be written to disk, the processor fails
+ * every subsequent value (and {@link #verify()}) rather than silently forgetting the values it had seen, until it's
+ * verified or closed.
+ * 
+ * @since 2.4.1
+ */
+public class ExternalUnique extends CellProcessorAdaptor implements Closeable {
+	
+	private static final int INITIAL_CAPACITY = 1024;
+	
+	// the initial capacity of the table used to check a partition (which may hold only a few values)
+	private static final int PARTITION_INITIAL_CAPACITY = 16;
+	
+	// the fingerprint and row/line numbers in each slot (and the reference to the value)
+	private static final int SLOT_BYTES = 24;
+	
+	// the approximate size of a String in addition to its characters
+	private static final int STRING_OVERHEAD = 48;
+	
+	private static final int PARTITION_BITS = 6;
+	
+	private static final int PARTITIONS = 1 << PARTITION_BITS;
+	
+	private static final int MAX_PARTITION_LEVELS = 64 / PARTITION_BITS;
+	
+	private final long maxMemory;
+	
+	private final File tempDirectory;
+	
+	// the in-memory table, null once spilled
+	private Table table;
+	
+	// the partition files and their streams (null until spilled)
+	private File[] partitionFiles;
+	
+	private DataOutputStream[] partitions;
+	
+	// true if the values couldn't be spilled to disk (so the check can't be completed)
+	private boolean failed;
+	
+	private int columnNumber;
+	
+	/**
+	 * An open addressing hash table of 64-bit fingerprints (a power of 2 in size), with the values, and the row and
+	 * line numbers where they were first encountered, in parallel arrays.
+	 */
+	private static final class Table {
+		
+		private long[] fingerprints;
+		
+		private String[] values;
+		
+		private int[] rowNumbers;
+		
+		private int[] lineNumbers;
+		
+		private int size;
+		
+		private long valueBytes;
+		
+		/**
+		 * Constructs an empty table with the supplied capacity (a power of 2).
+		 */
+		Table(final int capacity) {
+			fingerprints = new long[capacity];
+			values = new String[capacity];
+			rowNumbers = new int[capacity];
+			lineNumbers = new int[capacity];
+		}
+		
+		/**
+		 * Finds the slot of a value: either the slot holding the value, or the empty slot where it should be added.
+		 */
+		int findSlot(final long fingerprint, final String string) {
+			final int mask = values.length - 1;
+			int slot = (int) fingerprint & mask;
+			while( values[slot] != null && (fingerprints[slot] != fingerprint || !values[slot].equals(string)) ) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+		
+		/**
+		 * Adds a value to an empty slot, growing the table if it's half full.
+		 */
+		void add(final int slot, final long fingerprint, final String string, final int rowNumber,
+			final int lineNumber) {
+			fingerprints[slot] = fingerprint;
+			values[slot] = string;
+			rowNumbers[slot] = rowNumber;
+			lineNumbers[slot] = lineNumber;
+			size++;
+			valueBytes += STRING_OVERHEAD + 2L * string.length();
+			
+			if( size * 2 > values.length ) {
+				final long[] oldFingerprints = fingerprints;
+				final String[] oldValues = values;
+				final int[] oldRowNumbers = rowNumbers;
+				final int[] oldLineNumbers = lineNumbers;
+				fingerprints = new long[oldValues.length * 2];
+				values = new String[oldValues.length * 2];
+				rowNumbers = new int[oldValues.length * 2];
+				lineNumbers = new int[oldValues.length * 2];
+				for( int i = 0; i < oldValues.length; i++ ) {
+					if( oldValues[i] != null ) {
+						final int newSlot = findSlot(oldFingerprints[i], oldValues[i]);
+						fingerprints[newSlot] = oldFingerprints[i];
+						values[newSlot] = oldValues[i];
+						rowNumbers[newSlot] = oldRowNumbers[i];
+						lineNumbers[newSlot] = oldLineNumbers[i];
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Gets the approximate memory used by the table.
+		 */
+		long getMemoryUsed() {
+			return (long) values.length * SLOT_BYTES + valueBytes;
+		}
+	}
+	
+	/**
+	 * The details of a duplicate found when checking a partition.
+	 */
+	private static final class Duplicate {
+		
+		private final String value;
+		
+		private final int firstRowNumber;
+		
+		private final int rowNumber;
+		
+		private final int lineNumber;
+		
+		Duplicate(final String value, final int firstRowNumber, final int rowNumber, final int lineNumber) {
+			this.value = value;
+			this.firstRowNumber = firstRowNumber;
+			this.rowNumber = rowNumber;
+			this.lineNumber = lineNumber;
+		}
+	}
+	
+	/**
+	 * Constructs a new <tt>ExternalUnique</tt> processor, which ensures that all rows in a column are unique, spilling
+	 * to the default temporary-file directory when the values exceed the memory limit.
+	 * 
+	 * @param maxMemory
+	 *            the approximate number of bytes of memory to use
+	 * @throws IllegalArgumentException
+	 *             if maxMemory is less than 1
+	 */
+	public ExternalUnique(final long maxMemory) {
+		super();
+		checkPreconditions(maxMemory);
+		this.maxMemory = maxMemory;
+		this.tempDirectory = null;
+		reset();
+	}
+	
+	/**
+	 * Constructs a new <tt>ExternalUnique</tt> processor, which ensures that all rows in a column are unique, spilling
+	 * to the default temporary-file directory when the values exceed the memory limit, then calls the next processor
+	 * in the chain.
+	 * 
+	 * @param maxMemory
+	 *            the approximate number of bytes of memory to use
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws IllegalArgumentException
+	 *             if maxMemory is less than 1
+	 * @throws NullPointerException
+	 *             if next is null
+	 */
+	public ExternalUnique(final long maxMemory, final CellProcessor next) {
+		super(next);
+		checkPreconditions(maxMemory);
+		this.maxMemory = maxMemory;
+		this.tempDirectory = null;
+		reset();
+	}
+	
+	/**
+	 * Constructs a new <tt>ExternalUnique</tt> processor, which ensures that all rows in a column are unique, spilling
+	 * to the supplied directory when the values exceed the memory limit.
+	 * 
+	 * @param maxMemory
+	 *            the approximate number of bytes of memory to use
+	 * @param tempDirectory
+	 *            the directory for the temporary files
+	 * @throws IllegalArgumentException
+	 *             if maxMemory is less than 1
+	 * @throws NullPointerException
+	 *             if tempDirectory is null
+	 */
+	public ExternalUnique(final long maxMemory, final File tempDirectory) {
+		super();
+		checkPreconditions(maxMemory, tempDirectory);
+		this.maxMemory = maxMemory;
+		this.tempDirectory = tempDirectory;
+		reset();
+	}
+	
+	/**
+	 * Constructs a new <tt>ExternalUnique</tt> processor, which ensures that all rows in a column are unique, spilling
+	 * to the supplied directory when the values exceed the memory limit, then calls the next processor in the chain.
+	 * 
+	 * @param maxMemory
+	 *            the approximate number of bytes of memory to use
+	 * @param tempDirectory
+	 *            the directory for the temporary files
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws IllegalArgumentException
+	 *             if maxMemory is less than 1
+	 * @throws NullPointerException
+	 *             if tempDirectory or next is null
+	 */
+	public ExternalUnique(final long maxMemory, final File tempDirectory, final CellProcessor next) {
+		super(next);
+		checkPreconditions(maxMemory, tempDirectory);
+		this.maxMemory = maxMemory;
+		this.tempDirectory = tempDirectory;
+		reset();
+	}
+	
+	/**
+	 * Checks the preconditions for creating a new ExternalUnique processor.
+	 * 
+	 * @param maxMemory
+	 *            the approximate number of bytes of memory to use
+	 * @throws IllegalArgumentException
+	 *             if maxMemory is less than 1
+	 */
+	private static void checkPreconditions(final long maxMemory) {
+		if( maxMemory < 1L ) {
+			throw new IllegalArgumentException(String.format("maxMemory should be > 0 but was %d", maxMemory));
+		}
+	}
+	
+	/**
+	 * Checks the preconditions for creating a new ExternalUnique processor with a temporary-file directory.
+	 * 
+	 * @param maxMemory
+	 *            the approximate number of bytes of memory to use
+	 * @param tempDirectory
+	 *            the directory for the temporary files
+	 * @throws IllegalArgumentException
+	 *             if maxMemory is less than 1
+	 * @throws NullPointerException
+	 *             if tempDirectory is null
+	 */
+	private static void checkPreconditions(final long maxMemory, final File tempDirectory) {
+		checkPreconditions(maxMemory);
+		if( tempDirectory == null ) {
+			throw new NullPointerException("tempDirectory should not be null");
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws SuperCsvCellProcessorException
+	 *             if value is null
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a non-unique value is encountered (before the values are spilled to disk)
+	 * @throws SuperCsvException
+	 *             if the values couldn't be spilled to disk (now or for a previous value)
+	 */
+	public Object execute(final Object value, final CsvContext context) {
+		validateInputNotNull(value, context);
+		
+		if( failed ) {
+			throw new SuperCsvException("uniqueness can't be checked, as the values couldn't be spilled to disk",
+				context);
+		}
+		
+		final String string = value.toString();
+		final long fingerprint = Hashing.hash(string);
+		columnNumber = context.getColumnNumber();
+		if( partitions == null ) {
+			final int slot = table.findSlot(fingerprint, string);
+			if( table.values[slot] != null ) {
+				throw new SuperCsvConstraintViolationException(String.format(
+					"duplicate value '%s' encountered (first encountered on row %d)", string,
+					table.rowNumbers[slot]), context, this);
+			}
+			table.add(slot, fingerprint, string, context.getRowNumber(), context.getLineNumber());
+			if( table.getMemoryUsed() > maxMemory ) {
+				spill(context);
+			}
+		} else {
+			try {
+				write(partitions[partitionOf(fingerprint, 0)], fingerprint, string, context.getRowNumber(),
+					context.getLineNumber());
+			}
+			catch(IOException e) {
+				fail();
+				throw new SuperCsvException("failed to write value to the spill file", context, e);
+			}
+		}
+		
+		return next.execute(value, context);
+	}
+	
+	/**
+	 * Finishes the uniqueness check, checking any values that were spilled to disk, then deletes the temporary files
+	 * and resets the processor (so it can check another file). This should be called once every row has been
+	 * processed.
+	 * 
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a non-unique value was spilled to disk
+	 * @throws SuperCsvException
+	 *             if the spilled values couldn't be read, or couldn't be spilled to disk in the first place
+	 */
+	public void verify() {
+		if( failed ) {
+			close();
+			throw new SuperCsvException("uniqueness can't be verified, as the values couldn't be spilled to disk");
+		}
+		if( partitions == null ) {
+			// everything was checked as it was processed
+			reset();
+			return;
+		}
+		
+		Duplicate first = null;
+		try {
+			for( final DataOutputStream partition : partitions ) {
+				partition.close();
+			}
+			partitions = null;
+			for( final File file : partitionFiles ) {
+				first = earliest(first, checkPartition(file, 1));
+			}
+		}
+		catch(IOException e) {
+			throw new SuperCsvException("failed to check the values spilled to disk", null, e);
+		}
+		finally {
+			close();
+		}
+		
+		if( first != null ) {
+			throw new SuperCsvConstraintViolationException(String.format(
+				"duplicate value '%s' encountered (first encountered on row %d)", first.value, first.firstRowNumber),
+				new CsvContext(first.lineNumber, first.rowNumber, columnNumber), this);
+		}
+	}
+	
+	/**
+	 * Deletes any temporary files and resets the processor.
+	 */
+	public void close() {
+		deleteFiles();
+		failed = false;
+		reset();
+	}
+	
+	/**
+	 * Puts the processor in the failed state after the values couldn't be spilled to disk, deleting the temporary files
+	 * and the in-memory table (the processor can't be used again until it's verified or closed).
+	 */
+	private void fail() {
+		deleteFiles();
+		table = null;
+		failed = true;
+	}
+	
+	/**
+	 * Closes and deletes the temporary files (some of which may not have been created, if spilling failed).
+	 */
+	private void deleteFiles() {
+		if( partitions != null ) {
+			for( final DataOutputStream partition : partitions ) {
+				try {
+					if( partition != null ) {
+						partition.close();
+					}
+				}
+				catch(IOException e) {
+					// nothing more can be done with the file
+				}
+			}
+			partitions = null;
+		}
+		if( partitionFiles != null ) {
+			for( final File file : partitionFiles ) {
+				if( file != null ) {
+					file.delete();
+				}
+			}
+			partitionFiles = null;
+		}
+	}
+	
+	/**
+	 * Determines whether the values have been spilled to disk (so {@link #verify()} has some checking left to do).
+	 * 
+	 * @return true if the values have been spilled
+	 */
+	public boolean isSpilled() {
+		return partitions != null;
+	}
+	
+	/**
+	 * Empties the in-memory table.
+	 */
+	private void reset() {
+		table = new Table(INITIAL_CAPACITY);
+	}
+	
+	/**
+	 * Writes the in-memory table to the partition files (which are kept open for the subsequent values), then empties
+	 * it.
+	 */
+	private void spill(final CsvContext context) {
+		partitionFiles = new File[PARTITIONS];
+		partitions = new DataOutputStream[PARTITIONS];
+		try {
+			for( int i = 0; i < PARTITIONS; i++ ) {
+				partitionFiles[i] = File.createTempFile("supercsv-unique", ".tmp", tempDirectory);
+				partitions[i] = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(
+					partitionFiles[i])));
+			}
+			for( int i = 0; i < table.values.length; i++ ) {
+				if( table.values[i] != null ) {
+					write(partitions[partitionOf(table.fingerprints[i], 0)], table.fingerprints[i], table.values[i],
+						table.rowNumbers[i], table.lineNumbers[i]);
+				}
+			}
+		}
+		catch(IOException e) {
+			fail();
+			throw new SuperCsvException("failed to spill values to disk", context, e);
+		}
+		table = null;
+	}
+	
+	/**
+	 * Checks a partition file for duplicates by loading it into a table. If the table turns out to be too big for the
+	 * memory limit (and holds more than one value), the partition is split into smaller partitions (using the next bits
+	 * of the fingerprints) instead. The file is deleted once it's been checked.
+	 * 
+	 * @return the first duplicate in the partition, or null if there are none
+	 */
+	private Duplicate checkPartition(final File file, final int level) throws IOException {
+		try {
+			final boolean canSplit = level < MAX_PARTITION_LEVELS;
+			final Table partition = new Table(PARTITION_INITIAL_CAPACITY);
+			Duplicate first = null;
+			final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				while( true ) {
+					final long fingerprint;
+					final int rowNumber;
+					final int lineNumber;
+					final String string;
+					try {
+						fingerprint = in.readLong();
+						rowNumber = in.readInt();
+						lineNumber = in.readInt();
+						string = readString(in);
+					}
+					catch(EOFException e) {
+						break;
+					}
+					
+					final int slot = partition.findSlot(fingerprint, string);
+					if( partition.values[slot] == null ) {
+						partition.add(slot, fingerprint, string, rowNumber, lineNumber);
+						if( canSplit && partition.size > 1 && partition.getMemoryUsed() > maxMemory ) {
+							in.close();
+							return checkSubPartitions(file, level);
+						}
+					} else if( partition.rowNumbers[slot] < rowNumber ) {
+						first = earliest(first, new Duplicate(string, partition.rowNumbers[slot], rowNumber,
+							lineNumber));
+					} else {
+						// the value was first encountered on this row (the file isn't in row order)
+						first = earliest(first, new Duplicate(string, rowNumber, partition.rowNumbers[slot],
+							partition.lineNumbers[slot]));
+						partition.rowNumbers[slot] = rowNumber;
+						partition.lineNumbers[slot] = lineNumber;
+					}
+				}
+			}
+			finally {
+				in.close();
+			}
+			return first;
+		}
+		finally {
+			file.delete();
+		}
+	}
+	
+	/**
+	 * Splits a partition file into smaller partitions and checks each of them.
+	 * 
+	 * @return the first duplicate in the partition, or null if there are none
+	 */
+	private Duplicate checkSubPartitions(final File file, final int level) throws IOException {
+		final File[] subFiles = new File[PARTITIONS];
+		final DataOutputStream[] subPartitions = new DataOutputStream[PARTITIONS];
+		try {
+			for( int i = 0; i < PARTITIONS; i++ ) {
+				subFiles[i] = File.createTempFile("supercsv-unique", ".tmp", tempDirectory);
+				subPartitions[i] = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(subFiles[i])));
+			}
+			final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				while( true ) {
+					final long fingerprint;
+					final int rowNumber;
+					final int lineNumber;
+					final String string;
+					try {
+						fingerprint = in.readLong();
+						rowNumber = in.readInt();
+						lineNumber = in.readInt();
+						string = readString(in);
+					}
+					catch(EOFException e) {
+						break;
+					}
+					write(subPartitions[partitionOf(fingerprint, level)], fingerprint, string, rowNumber,
+						lineNumber);
+				}
+			}
+			finally {
+				in.close();
+			}
+			for( final DataOutputStream subPartition : subPartitions ) {
+				subPartition.close();
+			}
+			
+			Duplicate first = null;
+			for( final File subFile : subFiles ) {
+				first = earliest(first, checkPartition(subFile, level + 1));
+			}
+			return first;
+		}
+		finally {
+			for( int i = 0; i < PARTITIONS; i++ ) {
+				if( subPartitions[i] != null ) {
+					subPartitions[i].close();
+				}
+				if( subFiles[i] != null ) {
+					subFiles[i].delete();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets the earlier (by row number) of two duplicates, either of which may be null.
+	 */
+	private static Duplicate earliest(final Duplicate a, final Duplicate b) {
+		if( a == null ) {
+			return b;
+		} else if( b == null ) {
+			return a;
+		}
+		return b.rowNumber < a.rowNumber ? b : a;
+	}
+	
+	/**
+	 * Gets the partition of a fingerprint at a level of partitioning (each level uses the next bits of the
+	 * fingerprint).
+	 */
+	private static int partitionOf(final long fingerprint, final int level) {
+		return (int) (fingerprint >>> (64 - PARTITION_BITS * (level + 1))) & (PARTITIONS - 1);
+	}
+	
+	/**
+	 * Writes a value (and its fingerprint and row/line numbers) to a partition file.
+	 */
+	private static void write(final DataOutputStream out, final long fingerprint, final String string,
+		final int rowNumber, final int lineNumber) throws IOException {
+		out.writeLong(fingerprint);
+		out.writeInt(rowNumber);
+		out.writeInt(lineNumber);
+		out.writeInt(string.length());
+		out.writeChars(string);
+	}
+	
+	/**
+	 * Reads a value written by {@link #write(DataOutputStream, long, String, int, int)}.
+	 */
+	private static String readString(final DataInputStream in) throws IOException {
+		final char[] chars = new char[in.readInt()];
+		for( int i = 0; i < chars.length; i++ ) {
+			chars[i] = in.readChar();
+		}
+		return new String(chars);
+	}
+	
+}
@@ -15,7 +15,6 @@
  */
 package org.supercsv.cellprocessor.constraint;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -25,10 +24,14 @@ import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.SubstringMatcher;
 
 /**
  * Converts the input to a String and ensures that it doesn't contain any of the supplied substrings. For example, this
  * constraint might be handy when reading/writing filenames and wanting to ensure no filename contains ":", "/", etc.
+ * <p>
+ * The substrings are compiled into a {@link SubstringMatcher}, so each value is scanned once however many substrings
+ * there are (which suits large blocklists). A matcher can also be shared by several processors.
  * 
  * @since 1.10
  * @author Kasper B. Graversen
@@ -36,7 +39,7 @@ import org.supercsv.util.CsvContext;
  */
 public class ForbidSubStr extends CellProcessorAdaptor implements StringCellProcessor {
 	
-	private final List<String> forbiddenSubStrings = new ArrayList<String>();
+	private final SubstringMatcher forbiddenSubStrings;
 	
 	/**
 	 * Constructs a new <tt>ForbidSubStr</tt> processor which ensures the input doesn't contain any of the supplied
@@ -52,7 +55,7 @@ public class ForbidSubStr extends CellProcessorAdaptor implements StringCellProc
 	public ForbidSubStr(final List<String> forbiddenSubStrings) {
 		super();
 		checkPreconditions(forbiddenSubStrings);
-		checkAndAddForbiddenStrings(forbiddenSubStrings);
+		this.forbiddenSubStrings = createMatcher(forbiddenSubStrings);
 	}
 	
 	/**
@@ -69,7 +72,7 @@ public class ForbidSubStr extends CellProcessorAdaptor implements StringCellProc
 	public ForbidSubStr(final String... forbiddenSubStrings) {
 		super();
 		checkPreconditions(forbiddenSubStrings);
-		checkAndAddForbiddenStrings(forbiddenSubStrings);
+		this.forbiddenSubStrings = createMatcher(forbiddenSubStrings);
 	}
 	
 	/**
@@ -88,7 +91,7 @@ public class ForbidSubStr extends CellProcessorAdaptor implements StringCellProc
 	public ForbidSubStr(final List<String> forbiddenSubStrings, final CellProcessor next) {
 		super(next);
 		checkPreconditions(forbiddenSubStrings);
-		checkAndAddForbiddenStrings(forbiddenSubStrings);
+		this.forbiddenSubStrings = createMatcher(forbiddenSubStrings);
 	}
 	
 	/**
@@ -122,7 +125,41 @@ public class ForbidSubStr extends CellProcessorAdaptor implements StringCellProc
 	public ForbidSubStr(final String[] forbiddenSubStrings, final CellProcessor next) {
 		super(next);
 		checkPreconditions(forbiddenSubStrings);
-		checkAndAddForbiddenStrings(forbiddenSubStrings);
+		this.forbiddenSubStrings = createMatcher(forbiddenSubStrings);
+	}
+	
+	/**
+	 * Constructs a new <tt>ForbidSubStr</tt> processor which ensures the input doesn't contain any of the substrings
+	 * found by the supplied matcher.
+	 * 
+	 * @param forbiddenSubStrings
+	 *            the matcher of the forbidden substrings
+	 * @throws NullPointerException
+	 *             if forbiddenSubStrings is null
+	 * @since 2.4.1
+	 */
+	public ForbidSubStr(final SubstringMatcher forbiddenSubStrings) {
+		super();
+		checkPreconditions(forbiddenSubStrings);
+		this.forbiddenSubStrings = forbiddenSubStrings;
+	}
+	
+	/**
+	 * Constructs a new <tt>ForbidSubStr</tt> processor which ensures the input doesn't contain any of the substrings
+	 * found by the supplied matcher, then calls the next processor in the chain.
+	 * 
+	 * @param forbiddenSubStrings
+	 *            the matcher of the forbidden substrings
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws NullPointerException
+	 *             if forbiddenSubStrings or next is null
+	 * @since 2.4.1
+	 */
+	public ForbidSubStr(final SubstringMatcher forbiddenSubStrings, final CellProcessor next) {
+		super(next);
+		checkPreconditions(forbiddenSubStrings);
+		this.forbiddenSubStrings = forbiddenSubStrings;
 	}
 	
 	/**
@@ -162,32 +199,48 @@ public class ForbidSubStr extends CellProcessorAdaptor implements StringCellProc
 	}
 	
 	/**
-	 * Adds each forbidden substring, checking that it's not null.
+	 * Checks the preconditions for creating a new ForbidSubStr processor with a matcher of forbidden substrings.
+	 * 
+	 * @param forbiddenSubStrings
+	 *            the matcher of the forbidden substrings
+	 * @throws NullPointerException
+	 *             if forbiddenSubStrings is null
+	 */
+	private static void checkPreconditions(final SubstringMatcher forbiddenSubStrings) {
+		if( forbiddenSubStrings == null ) {
+			throw new NullPointerException("forbiddenSubStrings matcher should not be null");
+		}
+	}
+	
+	/**
+	 * Creates the matcher of the forbidden substrings, checking that each is not null.
 	 * 
 	 * @param forbiddenSubStrings
 	 *            the forbidden substrings
+	 * @return the matcher
 	 * @throws NullPointerException
 	 *             if a forbidden substring is null
 	 */
-	private void checkAndAddForbiddenStrings(final String... forbiddenSubStrings) {
-		checkAndAddForbiddenStrings(Arrays.asList(forbiddenSubStrings));
+	private static SubstringMatcher createMatcher(final String... forbiddenSubStrings) {
+		return createMatcher(Arrays.asList(forbiddenSubStrings));
 	}
 	
 	/**
-	 * Adds each forbidden substring, checking that it's not null.
+	 * Creates the matcher of the forbidden substrings, checking that each is not null.
 	 * 
 	 * @param forbiddenSubStrings
 	 *            the forbidden substrings
+	 * @return the matcher
 	 * @throws NullPointerException
 	 *             if a forbidden substring is null
 	 */
-	private void checkAndAddForbiddenStrings(final List<String> forbiddenSubStrings) {
+	private static SubstringMatcher createMatcher(final List<String> forbiddenSubStrings) {
 		for( String forbidden : forbiddenSubStrings ) {
 			if( forbidden == null ) {
 				throw new NullPointerException("forbidden substring should not be null");
 			}
-			this.forbiddenSubStrings.add(forbidden);
 		}
+		return new SubstringMatcher(forbiddenSubStrings);
 	}
 	
 	/**
@@ -196,18 +249,16 @@ public class ForbidSubStr extends CellProcessorAdaptor implements StringCellProc
 	 * @throws SuperCsvCellProcessorException
 	 *             if value is null
 	 * @throws SuperCsvConstraintViolationException
-	 *             if value is in the forbidden list
+	 *             if value contains one of the forbidden substrings
 	 */
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final String stringValue = value.toString();
-		
-		for( String forbidden : forbiddenSubStrings ) {
-			if( stringValue.contains(forbidden) ) {
-				throw new SuperCsvConstraintViolationException(String.format(
-					"'%s' contains the forbidden substring '%s'", value, forbidden), context, this);
-			}
+		final SubstringMatcher.Match match = forbiddenSubStrings.find(value.toString());
+		if( match != null ) {
+			throw new SuperCsvConstraintViolationException(String.format(
+				"'%s' contains the forbidden substring '%s' at index %d", value, match.getSubstring(), match.getStart()),
+				context, this);
 		}
 		
 		return next.execute(value, context);
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.constraint;
+
+/**
+ * 64-bit hashing for the uniqueness constraints that store fingerprints of their values rather than the values
+ * themselves.
+ * 
+ * @since 2.4.1
+ */
+final class Hashing {
+	
+	private Hashing() {
+		// no instances
+	}
+	
+	/**
+	 * Calculates a 64-bit hash of a String's characters (FNV-1a, mixed so that every bit depends on every character).
+	 * 
+	 * @param string
+	 *            the String
+	 * @return the hash
+	 */
+	static long hash(final String string) {
+		long hash = 0xCBF29CE484222325L ^ string.length();
+		for( int i = 0; i < string.length(); i++ ) {
+			hash = (hash ^ string.charAt(i)) * 0x100000001B3L;
+		}
+		return mix(hash);
+	}
+	
+	/**
+	 * Mixes the bits of a hash (the MurmurHash3 64-bit finalizer).
+	 * 
+	 * @param hash
+	 *            the hash
+	 * @return the mixed hash
+	 */
+	static long mix(final long hash) {
+		long h = hash;
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+	
+}
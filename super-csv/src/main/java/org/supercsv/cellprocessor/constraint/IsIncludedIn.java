@@ -17,17 +17,20 @@ package org.supercsv.cellprocessor.constraint;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.supercsv.cellprocessor.CellProcessorAdaptor;
 import org.supercsv.cellprocessor.ift.BoolCellProcessor;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
 import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.util.CharSequenceLookup;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -39,10 +42,13 @@ import org.supercsv.util.CsvContext;
  * @author James Bassett
  */
 public class IsIncludedIn extends CellProcessorAdaptor implements BoolCellProcessor, DateCellProcessor,
-	DoubleCellProcessor, LongCellProcessor, StringCellProcessor {
+	DoubleCellProcessor, LongCellProcessor, CharSequenceCellProcessor {
 	
 	private final Set<Object> possibleValues = new HashSet<Object>();
 	
+	// the possible values that are Strings (which are looked up directly from String and CharSequence inputs)
+	private final CharSequenceLookup<Object> possibleStrings;
+	
 	/**
 	 * Constructs a new <tt>IsIncludedIn</tt> processor, which ensures that the input value belongs to a specific set of
 	 * given values.
@@ -58,6 +64,7 @@ public class IsIncludedIn extends CellProcessorAdaptor implements BoolCellProces
 		super();
 		checkPreconditions(possibleValues);
 		this.possibleValues.addAll(possibleValues);
+		this.possibleStrings = createLookup(this.possibleValues);
 	}
 	
 	/**
@@ -77,6 +84,7 @@ public class IsIncludedIn extends CellProcessorAdaptor implements BoolCellProces
 		super(next);
 		checkPreconditions(possibleValues);
 		this.possibleValues.addAll(possibleValues);
+		this.possibleStrings = createLookup(this.possibleValues);
 	}
 	
 	/**
@@ -94,6 +102,7 @@ public class IsIncludedIn extends CellProcessorAdaptor implements BoolCellProces
 		super();
 		checkPreconditions(possibleValues);
 		Collections.addAll(this.possibleValues, possibleValues);
+		this.possibleStrings = createLookup(this.possibleValues);
 	}
 	
 	/**
@@ -113,6 +122,7 @@ public class IsIncludedIn extends CellProcessorAdaptor implements BoolCellProces
 		super(next);
 		checkPreconditions(possibleValues);
 		Collections.addAll(this.possibleValues, possibleValues);
+		this.possibleStrings = createLookup(this.possibleValues);
 	}
 	
 	/**
@@ -151,6 +161,23 @@ public class IsIncludedIn extends CellProcessorAdaptor implements BoolCellProces
 		}
 	}
 	
+	/**
+	 * Creates the lookup table of the possible values that are Strings.
+	 * 
+	 * @param possibleValues
+	 *            the possible values
+	 * @return the lookup table
+	 */
+	private static CharSequenceLookup<Object> createLookup(final Set<Object> possibleValues) {
+		final Map<String, Object> possibleStrings = new LinkedHashMap<String, Object>();
+		for( final Object possibleValue : possibleValues ) {
+			if( possibleValue instanceof String ) {
+				possibleStrings.put((String) possibleValue, possibleValue);
+			}
+		}
+		return new CharSequenceLookup<Object>(possibleStrings, false);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -162,11 +189,13 @@ public class IsIncludedIn extends CellProcessorAdaptor implements BoolCellProces
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		if( !possibleValues.contains(value) ) {
+		final boolean included = value instanceof CharSequence ? possibleStrings.containsKey((CharSequence) value)
+			: possibleValues.contains(value);
+		if( !included ) {
 			throw new SuperCsvConstraintViolationException(String.format(
 				"'%s' is not included in the allowed set of values", value), context, this);
 		}
 		
-		return next.execute(value, context);
+		return executeNextCharSequence(value, context);
 	}
 }
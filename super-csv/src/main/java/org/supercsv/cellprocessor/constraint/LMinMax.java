@@ -17,9 +17,11 @@ package org.supercsv.cellprocessor.constraint;
 
 import org.supercsv.cellprocessor.CellProcessorAdaptor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
+import org.supercsv.cellprocessor.ift.PrimitiveLongCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.util.CharSequenceParser;
 import org.supercsv.util.CsvContext;
 
 /**
@@ -30,7 +32,7 @@ import org.supercsv.util.CsvContext;
  * @author Kasper B. Graversen
  * @author James Bassett
  */
-public class LMinMax extends CellProcessorAdaptor implements StringCellProcessor {
+public class LMinMax extends CellProcessorAdaptor implements PrimitiveLongCellProcessor, StringCellProcessor {
 	
 	/** Maximum value for a Long */
 	public static final long MAX_LONG = Long.MAX_VALUE;
@@ -139,26 +141,53 @@ public class LMinMax extends CellProcessorAdaptor implements StringCellProcessor
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final Long result;
 		if( value instanceof Long ) {
-			result = (Long) value;
-		} else {
-			try {
-				result = Long.parseLong(value.toString());
-			}
-			catch(final NumberFormatException e) {
-				throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as a Long", value),
-					context, this, e);
-			}
+			checkRange(((Long) value).longValue(), context);
+			return next.execute(value, context);
 		}
 		
-		if( result < min || result > max ) {
+		final long result;
+		try {
+			result = value instanceof CharSequence ? CharSequenceParser.parseLong((CharSequence) value) : Long
+				.parseLong(value.toString());
+		}
+		catch(final NumberFormatException e) {
+			throw new SuperCsvCellProcessorException(String.format("'%s' could not be parsed as a Long", value),
+				context, this, e);
+		}
+		
+		return executeLong(result, context);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws SuperCsvConstraintViolationException
+	 *             if value doesn't lie between min and max (inclusive)
+	 * @since 2.4.1
+	 */
+	@Override
+	public Object executeLong(final long value, final CsvContext context) {
+		checkRange(value, context);
+		return executeNextLong(value, context);
+	}
+	
+	/**
+	 * Checks that a value lies between min and max (inclusive).
+	 * 
+	 * @param value
+	 *            the value
+	 * @param context
+	 *            the CSV context
+	 * @throws SuperCsvConstraintViolationException
+	 *             if value doesn't lie between min and max (inclusive)
+	 */
+	private void checkRange(final long value, final CsvContext context) {
+		if( value < min || value > max ) {
 			throw new SuperCsvConstraintViolationException(String.format(
-				"%d does not lie between the min (%d) and max (%d) values (inclusive)", result, min, max), context,
+				"%d does not lie between the min (%d) and max (%d) values (inclusive)", value, min, max), context,
 				this);
 		}
-		
-		return next.execute(result, context);
 	}
 	
 }
@@ -18,10 +18,10 @@ package org.supercsv.cellprocessor.constraint;
 import org.supercsv.cellprocessor.CellProcessorAdaptor;
 import org.supercsv.cellprocessor.ift.BoolCellProcessor;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.DateCellProcessor;
 import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
 import org.supercsv.cellprocessor.ift.LongCellProcessor;
-import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.util.CsvContext;
@@ -34,12 +34,15 @@ import org.supercsv.util.CsvContext;
  * <p>
  * If you apply other processors to the column, you can safely omit this processor as all other processors should do a
  * null-check on its input.
+ * <p>
+ * Column views (see {@link CharSequenceCellProcessor}) are passed on as they are if the next processor accepts them,
+ * so a chain such as <tt>new NotNull(new ParseInt())</tt> doesn't need a String to be created for each column.
  * 
  * @since 1.50
  * @author Dominique De Vito
  */
 public class NotNull extends CellProcessorAdaptor implements BoolCellProcessor, DateCellProcessor, DoubleCellProcessor,
-	LongCellProcessor, StringCellProcessor {
+	LongCellProcessor, CharSequenceCellProcessor {
 	
 	/**
 	 * Constructs a new <tt>NotNull</tt> which ensures that the input is not <tt>null</tt>.
@@ -70,6 +73,6 @@ public class NotNull extends CellProcessorAdaptor implements BoolCellProcessor,
 		if (value == null){
 			throw new SuperCsvConstraintViolationException("null value encountered", context, this);
 		}
-		return next.execute(value, context);
+		return executeNextCharSequence(value, context);
 	}
 }
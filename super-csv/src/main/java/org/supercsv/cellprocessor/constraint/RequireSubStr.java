@@ -15,7 +15,6 @@
  */
 package org.supercsv.cellprocessor.constraint;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -25,9 +24,13 @@ import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.SubstringMatcher;
 
 /**
  * Converts the input to a String and ensures that the input contains at least one of the specified substrings.
+ * <p>
+ * The substrings are compiled into a {@link SubstringMatcher}, so each value is scanned once however many substrings
+ * there are. A matcher can also be shared by several processors.
  * 
  * @since 1.10
  * @author Kasper B. Graversen
@@ -35,7 +38,7 @@ import org.supercsv.util.CsvContext;
  */
 public class RequireSubStr extends CellProcessorAdaptor implements StringCellProcessor {
 	
-	private final List<String> requiredSubStrings = new ArrayList<String>();
+	private final SubstringMatcher requiredSubStrings;
 	
 	/**
 	 * Converts the input to a String and ensures that the input contains at least one of the specified substrings.
@@ -50,7 +53,7 @@ public class RequireSubStr extends CellProcessorAdaptor implements StringCellPro
 	public RequireSubStr(final String... requiredSubStrings) {
 		super();
 		checkPreconditions(requiredSubStrings);
-		checkAndAddRequiredSubStrings(requiredSubStrings);
+		this.requiredSubStrings = createMatcher(requiredSubStrings);
 	}
 	
 	/**
@@ -69,7 +72,7 @@ public class RequireSubStr extends CellProcessorAdaptor implements StringCellPro
 	public RequireSubStr(final List<String> requiredSubStrings, final CellProcessor next) {
 		super(next);
 		checkPreconditions(requiredSubStrings);
-		checkAndAddRequiredSubStrings(requiredSubStrings);
+		this.requiredSubStrings = createMatcher(requiredSubStrings);
 	}
 	
 	/**
@@ -86,7 +89,7 @@ public class RequireSubStr extends CellProcessorAdaptor implements StringCellPro
 	public RequireSubStr(final String requiredSubString, final CellProcessor next) {
 		super(next);
 		checkPreconditions(requiredSubString);
-		checkAndAddRequiredSubStrings(requiredSubString);
+		this.requiredSubStrings = createMatcher(requiredSubString);
 	}
 	
 	/**
@@ -105,7 +108,41 @@ public class RequireSubStr extends CellProcessorAdaptor implements StringCellPro
 	public RequireSubStr(final String[] requiredSubStrings, final CellProcessor next) {
 		super(next);
 		checkPreconditions(requiredSubStrings);
-		checkAndAddRequiredSubStrings(requiredSubStrings);
+		this.requiredSubStrings = createMatcher(requiredSubStrings);
+	}
+	
+	/**
+	 * Converts the input to a String and ensures that the input contains at least one of the substrings found by the
+	 * supplied matcher.
+	 * 
+	 * @param requiredSubStrings
+	 *            the matcher of the required substrings
+	 * @throws NullPointerException
+	 *             if requiredSubStrings is null
+	 * @since 2.4.1
+	 */
+	public RequireSubStr(final SubstringMatcher requiredSubStrings) {
+		super();
+		checkPreconditions(requiredSubStrings);
+		this.requiredSubStrings = requiredSubStrings;
+	}
+	
+	/**
+	 * Converts the input to a String, ensures that the input contains at least one of the substrings found by the
+	 * supplied matcher, then calls the next processor in the chain.
+	 * 
+	 * @param requiredSubStrings
+	 *            the matcher of the required substrings
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws NullPointerException
+	 *             if requiredSubStrings or next is null
+	 * @since 2.4.1
+	 */
+	public RequireSubStr(final SubstringMatcher requiredSubStrings, final CellProcessor next) {
+		super(next);
+		checkPreconditions(requiredSubStrings);
+		this.requiredSubStrings = requiredSubStrings;
 	}
 	
 	/**
@@ -145,32 +182,48 @@ public class RequireSubStr extends CellProcessorAdaptor implements StringCellPro
 	}
 	
 	/**
-	 * Adds each required substring, checking that it's not null.
+	 * Checks the preconditions for creating a new RequireSubStr processor with a matcher of required substrings.
+	 * 
+	 * @param requiredSubStrings
+	 *            the matcher of the required substrings
+	 * @throws NullPointerException
+	 *             if requiredSubStrings is null
+	 */
+	private static void checkPreconditions(final SubstringMatcher requiredSubStrings) {
+		if( requiredSubStrings == null ) {
+			throw new NullPointerException("requiredSubStrings matcher should not be null");
+		}
+	}
+	
+	/**
+	 * Creates the matcher of the required substrings, checking that each is not null.
 	 * 
 	 * @param requiredSubStrings
 	 *            the required substrings
+	 * @return the matcher
 	 * @throws NullPointerException
 	 *             if a required substring is null
 	 */
-	private void checkAndAddRequiredSubStrings(final List<String> requiredSubStrings) {
+	private static SubstringMatcher createMatcher(final List<String> requiredSubStrings) {
 		for( String required : requiredSubStrings ) {
 			if( required == null ) {
 				throw new NullPointerException("required substring should not be null");
 			}
-			this.requiredSubStrings.add(required);
 		}
+		return new SubstringMatcher(requiredSubStrings);
 	}
 	
 	/**
-	 * Adds each required substring, checking that it's not null.
+	 * Creates the matcher of the required substrings, checking that each is not null.
 	 * 
 	 * @param requiredSubStrings
 	 *            the required substrings
+	 * @return the matcher
 	 * @throws NullPointerException
 	 *             if a required substring is null
 	 */
-	private void checkAndAddRequiredSubStrings(final String... requiredSubStrings) {
-		checkAndAddRequiredSubStrings(Arrays.asList(requiredSubStrings));
+	private static SubstringMatcher createMatcher(final String... requiredSubStrings) {
+		return createMatcher(Arrays.asList(requiredSubStrings));
 	}
 	
 	/**
@@ -184,12 +237,8 @@ public class RequireSubStr extends CellProcessorAdaptor implements StringCellPro
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final String stringValue = value.toString();
-		
-		for( final String required : requiredSubStrings ) {
-			if( stringValue.contains(required) ) {
-				return next.execute(value, context); // just need to match a single substring
-			}
+		if( requiredSubStrings.containsAny(value.toString()) ) {
+			return next.execute(value, context); // just need to match a single substring
 		}
 		
 		throw new SuperCsvConstraintViolationException(String.format("'%s' does not contain any of the required substrings", value),
@@ -17,26 +17,30 @@ package org.supercsv.cellprocessor.constraint;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.util.CsvContext;
+import org.supercsv.util.RegexMatcher;
 
 /**
  * This constraint ensures that the input data matches the given regular expression.
+ * <p>
+ * Simple regular expressions (such as <tt>^[0-9]+$</tt>) are matched directly, without the regular expression engine
+ * (see {@link RegexMatcher}).
  * 
  * @author Dominique De Vito
  * @author James Bassett
  * @since 1.50
  */
-public class StrRegEx extends CellProcessorAdaptor implements StringCellProcessor {
+public class StrRegEx extends CellProcessorAdaptor implements CharSequenceCellProcessor {
 	
 	private final String regex;
-	private final Pattern regexPattern;
+	private final RegexMatcher regexMatcher;
 	
 	private static final Map<String, String> REGEX_MSGS = new HashMap<String, String>();
 	
@@ -56,7 +60,7 @@ public class StrRegEx extends CellProcessorAdaptor implements StringCellProcesso
 	public StrRegEx(final String regex) {
 		super();
 		checkPreconditions(regex);
-		this.regexPattern = Pattern.compile(regex);
+		this.regexMatcher = new RegexMatcher(regex);
 		this.regex = regex;
 	}
 	
@@ -78,7 +82,7 @@ public class StrRegEx extends CellProcessorAdaptor implements StringCellProcesso
 	public StrRegEx(final String regex, final StringCellProcessor next) {
 		super(next);
 		checkPreconditions(regex);
-		this.regexPattern = Pattern.compile(regex);
+		this.regexMatcher = new RegexMatcher(regex);
 		this.regex = regex;
 	}
 	
@@ -111,7 +115,7 @@ public class StrRegEx extends CellProcessorAdaptor implements StringCellProcesso
 	public Object execute(final Object value, final CsvContext context) {
 		validateInputNotNull(value, context);
 		
-		final boolean matches = regexPattern.matcher((String) value).matches();
+		final boolean matches = regexMatcher.matches((CharSequence) value);
 		if( !matches ) {
 			final String msg = REGEX_MSGS.get(regex);
 			if( msg == null ) {
@@ -123,7 +127,8 @@ public class StrRegEx extends CellProcessorAdaptor implements StringCellProcesso
 						value, msg, regex), context, this);
 			}
 		}
-		return next.execute(value, context);
+		
+		return executeNextCharSequence(value, context);
 	}
 	
 	/**
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.constraint;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the values of a column are unique, using a fixed amount of memory regardless of the number of rows.
+ * <p>
+ * Compared to {@link Unique} and {@link UniqueHashCode}, which store every value (or hashcode) they encounter and so
+ * can run out of memory on huge files, this processor records the values in a Bloom filter that's sized up front from
+ * the expected number of values and the acceptable false positive rate (roughly 1.2 bytes per value for a 1% rate).
+ * The filter is allocated off-heap (in direct buffers), so it doesn't add to the garbage collector's work.
+ * <p>
+ * A Bloom filter never misses a real duplicate, but may report a value as a duplicate when it isn't (a false
+ * positive, at about the configured rate once the expected number of values has been encountered). Suspected
+ * duplicates can be confirmed by an exact {@link DuplicateCheck}; without one, every suspected duplicate is reported
+ * as a probable duplicate.
+ * <p>
+ * Strings and integral numbers (Long, Integer, Short and Byte) are hashed with a 64-bit hash of their contents; other
+ * values are hashed from their <tt>hashCode()</tt>, so for those the false positive rate can't be lower than that of
+ * {@link UniqueHashCode}.
+ * 
+ * @since 2.4.1
+ */
+public class UniqueBloomFilter extends CellProcessorAdaptor {
+	
+	// each buffer of the filter holds 2^27 longs (1 GiB)
+	private static final int CHUNK_SHIFT = 27;
+	
+	private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+	
+	private static final int MAX_HASH_FUNCTIONS = 30;
+	
+	private static final double LN2 = Math.log(2.0);
+	
+	// the filter's bits
+	private final LongBuffer[] chunks;
+	
+	private final long bitCount;
+	
+	private final int hashFunctionCount;
+	
+	// confirms suspected duplicates (null if there isn't one)
+	private final DuplicateCheck duplicateCheck;
+	
+	/**
+	 * Constructs a new <tt>UniqueBloomFilter</tt> processor, which ensures that all rows in a column are (probably)
+	 * unique.
+	 * 
+	 * @param expectedValues
+	 *            the number of values expected in the column
+	 * @param falsePositiveRate
+	 *            the acceptable rate of false positives (e.g. 0.01 for 1%)
+	 * @throws IllegalArgumentException
+	 *             if expectedValues is less than 1, or falsePositiveRate isn't between 0 and 1 (exclusive)
+	 */
+	public UniqueBloomFilter(final long expectedValues, final double falsePositiveRate) {
+		super();
+		checkPreconditions(expectedValues, falsePositiveRate);
+		this.bitCount = optimalBitCount(expectedValues, falsePositiveRate);
+		this.hashFunctionCount = optimalHashFunctionCount(expectedValues, bitCount);
+		this.chunks = allocate(bitCount);
+		this.duplicateCheck = null;
+	}
+	
+	/**
+	 * Constructs a new <tt>UniqueBloomFilter</tt> processor, which ensures that all rows in a column are (probably)
+	 * unique, then calls the next processor in the chain.
+	 * 
+	 * @param expectedValues
+	 *            the number of values expected in the column
+	 * @param falsePositiveRate
+	 *            the acceptable rate of false positives (e.g. 0.01 for 1%)
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws IllegalArgumentException
+	 *             if expectedValues is less than 1, or falsePositiveRate isn't between 0 and 1 (exclusive)
+	 * @throws NullPointerException
+	 *             if next is null
+	 */
+	public UniqueBloomFilter(final long expectedValues, final double falsePositiveRate, final CellProcessor next) {
+		super(next);
+		checkPreconditions(expectedValues, falsePositiveRate);
+		this.bitCount = optimalBitCount(expectedValues, falsePositiveRate);
+		this.hashFunctionCount = optimalHashFunctionCount(expectedValues, bitCount);
+		this.chunks = allocate(bitCount);
+		this.duplicateCheck = null;
+	}
+	
+	/**
+	 * Constructs a new <tt>UniqueBloomFilter</tt> processor, which ensures that all rows in a column are unique, using
+	 * the supplied check to confirm suspected duplicates.
+	 * 
+	 * @param expectedValues
+	 *            the number of values expected in the column
+	 * @param falsePositiveRate
+	 *            the acceptable rate of false positives (e.g. 0.01 for 1%)
+	 * @param duplicateCheck
+	 *            the exact check used to confirm suspected duplicates
+	 * @throws IllegalArgumentException
+	 *             if expectedValues is less than 1, or falsePositiveRate isn't between 0 and 1 (exclusive)
+	 * @throws NullPointerException
+	 *             if duplicateCheck is null
+	 */
+	public UniqueBloomFilter(final long expectedValues, final double falsePositiveRate,
+		final DuplicateCheck duplicateCheck) {
+		super();
+		checkPreconditions(expectedValues, falsePositiveRate, duplicateCheck);
+		this.bitCount = optimalBitCount(expectedValues, falsePositiveRate);
+		this.hashFunctionCount = optimalHashFunctionCount(expectedValues, bitCount);
+		this.chunks = allocate(bitCount);
+		this.duplicateCheck = duplicateCheck;
+	}
+	
+	/**
+	 * Constructs a new <tt>UniqueBloomFilter</tt> processor, which ensures that all rows in a column are unique, using
+	 * the supplied check to confirm suspected duplicates, then calls the next processor in the chain.
+	 * 
+	 * @param expectedValues
+	 *            the number of values expected in the column
+	 * @param falsePositiveRate
+	 *            the acceptable rate of false positives (e.g. 0.01 for 1%)
+	 * @param duplicateCheck
+	 *            the exact check used to confirm suspected duplicates
+	 * @param next
+	 *            the next processor in the chain
+	 * @throws IllegalArgumentException
+	 *             if expectedValues is less than 1, or falsePositiveRate isn't between 0 and 1 (exclusive)
+	 * @throws NullPointerException
+	 *             if duplicateCheck or next is null
+	 */
+	public UniqueBloomFilter(final long expectedValues, final double falsePositiveRate,
+		final DuplicateCheck duplicateCheck, final CellProcessor next) {
+		super(next);
+		checkPreconditions(expectedValues, falsePositiveRate, duplicateCheck);
+		this.bitCount = optimalBitCount(expectedValues, falsePositiveRate);
+		this.hashFunctionCount = optimalHashFunctionCount(expectedValues, bitCount);
+		this.chunks = allocate(bitCount);
+		this.duplicateCheck = duplicateCheck;
+	}
+	
+	/**
+	 * Checks the preconditions for creating a new UniqueBloomFilter processor.
+	 * 
+	 * @param expectedValues
+	 *            the number of values expected in the column
+	 * @param falsePositiveRate
+	 *            the acceptable rate of false positives
+	 * @throws IllegalArgumentException
+	 *             if expectedValues is less than 1, or falsePositiveRate isn't between 0 and 1 (exclusive)
+	 */
+	private static void checkPreconditions(final long expectedValues, final double falsePositiveRate) {
+		if( expectedValues < 1L ) {
+			throw new IllegalArgumentException(String.format("expectedValues should be > 0 but was %d",
+				expectedValues));
+		} else if( !(falsePositiveRate > 0.0 && falsePositiveRate < 1.0) ) {
+			throw new IllegalArgumentException(String.format(
+				"falsePositiveRate should be between 0 and 1 (exclusive) but was %s", falsePositiveRate));
+		}
+	}
+	
+	/**
+	 * Checks the preconditions for creating a new UniqueBloomFilter processor with a duplicate check.
+	 * 
+	 * @param expectedValues
+	 *            the number of values expected in the column
+	 * @param falsePositiveRate
+	 *            the acceptable rate of false positives
+	 * @param duplicateCheck
+	 *            the exact check used to confirm suspected duplicates
+	 * @throws IllegalArgumentException
+	 *             if expectedValues is less than 1, or falsePositiveRate isn't between 0 and 1 (exclusive)
+	 * @throws NullPointerException
+	 *             if duplicateCheck is null
+	 */
+	private static void checkPreconditions(final long expectedValues, final double falsePositiveRate,
+		final DuplicateCheck duplicateCheck) {
+		checkPreconditions(expectedValues, falsePositiveRate);
+		if( duplicateCheck == null ) {
+			throw new NullPointerException("duplicateCheck should not be null");
+		}
+	}
+	
+	/**
+	 * Calculates the number of bits needed for the expected number of values and false positive rate
+	 * (<tt>-n ln(p) / ln(2)^2</tt>), rounded up to a whole number of longs.
+	 */
+	private static long optimalBitCount(final long expectedValues, final double falsePositiveRate) {
+		final double bits = -expectedValues * Math.log(falsePositiveRate) / (LN2 * LN2);
+		final long words = Math.max(1L, (long) Math.ceil(bits / 64.0));
+		return words * 64L;
+	}
+	
+	/**
+	 * Calculates the number of hash functions that minimizes the false positive rate (<tt>m/n ln(2)</tt>).
+	 */
+	private static int optimalHashFunctionCount(final long expectedValues, final long bitCount) {
+		final long count = Math.round((double) bitCount / expectedValues * LN2);
+		return (int) Math.max(1L, Math.min(MAX_HASH_FUNCTIONS, count));
+	}
+	
+	/**
+	 * Allocates the (zeroed) off-heap buffers for the filter's bits.
+	 */
+	private static LongBuffer[] allocate(final long bitCount) {
+		final long words = bitCount >>> 6;
+		final LongBuffer[] chunks = new LongBuffer[(int) ((words + CHUNK_MASK) >>> CHUNK_SHIFT)];
+		for( int i = 0; i < chunks.length; i++ ) {
+			final int chunkWords = (int) Math.min(1L << CHUNK_SHIFT, words - ((long) i << CHUNK_SHIFT));
+			chunks[i] = ByteBuffer.allocateDirect(chunkWords * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+		}
+		return chunks;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws SuperCsvCellProcessorException
+	 *             if value is null
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a duplicate (or, without a duplicate check, a probable duplicate) value is encountered
+	 */
+	public Object execute(final Object value, final CsvContext context) {
+		validateInputNotNull(value, context);
+		
+		if( !add(value) ) {
+			if( duplicateCheck == null ) {
+				throw new SuperCsvConstraintViolationException(String.format(
+					"probable duplicate value '%s' encountered", value), context, this);
+			} else if( duplicateCheck.isDuplicate(value, context) ) {
+				throw new SuperCsvConstraintViolationException(String.format("duplicate value '%s' encountered",
+					value), context, this);
+			}
+		}
+		
+		return next.execute(value, context);
+	}
+	
+	/**
+	 * Adds a value to the filter.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return true if the value definitely hadn't been added before, false if it might have been
+	 */
+	private boolean add(final Object value) {
+		// double hashing: the k bit positions are h1 + i * h2
+		final long h1 = hash(value);
+		final long h2 = Hashing.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+		boolean added = false;
+		long combined = h1;
+		for( int i = 0; i < hashFunctionCount; i++ ) {
+			final long bit = (combined & Long.MAX_VALUE) % bitCount;
+			final long word = bit >>> 6;
+			final LongBuffer chunk = chunks[(int) (word >>> CHUNK_SHIFT)];
+			final int index = (int) word & CHUNK_MASK;
+			final long mask = 1L << bit;
+			final long bits = chunk.get(index);
+			if( (bits & mask) == 0L ) {
+				chunk.put(index, bits | mask);
+				added = true;
+			}
+			combined += h2;
+		}
+		return added;
+	}
+	
+	/**
+	 * Calculates a 64-bit hash of a value that's consistent with its <tt>equals()</tt> method.
+	 */
+	private static long hash(final Object value) {
+		if( value instanceof String ) {
+			return Hashing.hash((String) value);
+		} else if( value instanceof Long || value instanceof Integer || value instanceof Short
+			|| value instanceof Byte ) {
+			return Hashing.mix(((Number) value).longValue());
+		}
+		return Hashing.mix(value.hashCode());
+	}
+	
+	/**
+	 * Gets the number of bits in the filter.
+	 * 
+	 * @return the number of bits
+	 */
+	public long getBitCount() {
+		return bitCount;
+	}
+	
+	/**
+	 * Gets the number of hash functions (bits set for each value).
+	 * 
+	 * @return the number of hash functions
+	 */
+	public int getHashFunctionCount() {
+		return hashFunctionCount;
+	}
+	
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.ift;
+
+/**
+ * Interface to indicate the a <tt>CellProcessor</tt> is capable of processing any CharSequence (not just Strings),
+ * including the column views read by an {@link org.supercsv.io.IColumnViewTokenizer}. As a view is only valid until the
+ * next row is read, the processor must not keep a reference to it, or pass it on to a processor that isn't a
+ * <tt>CharSequenceCellProcessor</tt>.
+ * 
+ * @since 2.4.1
+ */
+public interface CharSequenceCellProcessor extends StringCellProcessor {
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.ift;
+
+import org.supercsv.util.CsvContext;
+
+/**
+ * Interface to indicate that a <tt>CellProcessor</tt> can process double values without boxing them. When the
+ * next processor in a chain is a <tt>PrimitiveDoubleCellProcessor</tt>, processors that produce a double (such as
+ * <tt>ParseDouble</tt>) pass it to {@link #executeDouble(double, CsvContext)}; otherwise they pass a Double to
+ * <tt>execute()</tt>.
+ * 
+ * @since 2.4.1
+ */
+public interface PrimitiveDoubleCellProcessor extends DoubleCellProcessor {
+	
+	/**
+	 * Processes a primitive double. This should have the same result as {@link #execute(Object, CsvContext)} with the
+	 * equivalent Double.
+	 * 
+	 * @param value
+	 *            the value to be processed
+	 * @param context
+	 *            the CSV context
+	 * @return the result of cell processor execution
+	 */
+	Object executeDouble(double value, CsvContext context);
+}
@@ -15,15 +15,17 @@
  */
 package org.supercsv.comment;
 
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.supercsv.util.RegexMatcher;
+
 /**
- * CommentMatcher that matches lines that match a specified regular expression.
+ * CommentMatcher that matches lines that match a specified regular expression. Simple regular expressions (such as
+ * <tt>#.*</tt>) are matched directly, without the regular expression engine (see {@link RegexMatcher}).
  */
 public class CommentMatches implements CommentMatcher {
 	
-	private final Pattern pattern;
+	private final RegexMatcher matcher;
 	
 	/**
 	 * Constructs a new <tt>CommentMatches</tt> comment matcher. Ensure that the regex is efficient (ideally matching start/end
@@ -44,14 +46,14 @@ public class CommentMatches implements CommentMatcher {
 		} else if( regex.length() == 0 ) {
 			throw new IllegalArgumentException("regex should not be empty");
 		}
-		this.pattern = Pattern.compile(regex);
+		this.matcher = new RegexMatcher(regex);
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 */
 	public boolean isComment(String line) {
-		return pattern.matcher(line).matches();
+		return matcher.matches(line);
 	}
 	
 }
@@ -18,9 +18,11 @@ package org.supercsv.io;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.prefs.CsvPreference;
@@ -32,7 +34,7 @@ import org.supercsv.util.Util;
  * @author Kasper B. Graversen
  * @author James Bassett
  */
-public abstract class AbstractCsvReader implements ICsvReader {
+public abstract class AbstractCsvReader implements ICsvColumnProjectionReader {
 	
 	private final ITokenizer tokenizer;
 	
@@ -41,11 +43,34 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	// the current tokenized columns
 	private final List<String> columns = new ArrayList<String>();
 	
+	// the tokenizer (if columns are being read as views), the current column views, and the columns to be processed
+	private final IColumnViewTokenizer viewTokenizer;
+	
+	private final List<CharSequence> columnViews;
+	
+	private final List<Object> sourceColumns;
+	
+	// whether the columns need to be created from the current column views
+	private boolean columnsStale = false;
+	
+	// the columns to read (null to read every column), and whether the tokenizer is skipping the other columns
+	private boolean[] projection;
+	
+	private boolean projectionPushedDown = false;
+	
+	// the last processors supplied (and a copy of them), and a copy without the processors for unprojected columns
+	private CellProcessor[] suppliedProcessors;
+	
+	private CellProcessor[] lastProcessors;
+	
+	private CellProcessor[] projectedProcessors;
+	
 	// the number of CSV records read
 	private int rowNumber = 0;
 	
 	/**
-	 * Constructs a new <tt>AbstractCsvReader</tt>, using the default {@link Tokenizer}.
+	 * Constructs a new <tt>AbstractCsvReader</tt>, using the default {@link Tokenizer} (or a {@link BufferedTokenizer}
+	 * if the <tt>readColumnViews</tt> preference is enabled).
 	 * 
 	 * @param reader
 	 *            the reader
@@ -55,6 +80,24 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	 *             if reader or preferences are null
 	 */
 	public AbstractCsvReader(final Reader reader, final CsvPreference preferences) {
+		this(reader, preferences, preferences != null && preferences.isReadColumnViews());
+	}
+	
+	/**
+	 * Constructs a new <tt>AbstractCsvReader</tt>, using the default {@link Tokenizer} (or a {@link BufferedTokenizer}
+	 * if columns should be read as views).
+	 * 
+	 * @param reader
+	 *            the reader
+	 * @param preferences
+	 *            the CSV preferences
+	 * @param readColumnViews
+	 *            whether to read columns as views (overriding the <tt>readColumnViews</tt> preference)
+	 * @throws NullPointerException
+	 *             if reader or preferences are null
+	 * @since 2.4.1
+	 */
+	protected AbstractCsvReader(final Reader reader, final CsvPreference preferences, final boolean readColumnViews) {
 		if( reader == null ) {
 			throw new NullPointerException("reader should not be null");
 		} else if( preferences == null ) {
@@ -62,7 +105,12 @@ public abstract class AbstractCsvReader implements ICsvReader {
 		}
 		
 		this.preferences = preferences;
-		this.tokenizer = new Tokenizer(reader, preferences);
+		final Reader input = preferences.isPrefetchInput() ? new PrefetchReader(reader) : reader;
+		this.tokenizer = readColumnViews ? new BufferedTokenizer(input, preferences) : new Tokenizer(input,
+			preferences);
+		this.viewTokenizer = getViewTokenizer(tokenizer, readColumnViews);
+		this.columnViews = viewTokenizer != null ? new ArrayList<CharSequence>() : null;
+		this.sourceColumns = viewTokenizer != null ? new ArrayList<Object>() : null;
 	}
 	
 	/**
@@ -78,6 +126,26 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	 *             if tokenizer or preferences are null
 	 */
 	public AbstractCsvReader(final ITokenizer tokenizer, final CsvPreference preferences) {
+		this(tokenizer, preferences, preferences != null && preferences.isReadColumnViews());
+	}
+	
+	/**
+	 * Constructs a new <tt>AbstractCsvReader</tt>, using a custom {@link Tokenizer} (which should have already been set
+	 * up with the Reader, CsvPreference, and CsvContext).
+	 * 
+	 * @param tokenizer
+	 *            the tokenizer
+	 * @param preferences
+	 *            the CSV preferences
+	 * @param readColumnViews
+	 *            whether to read columns as views if the tokenizer supports it (overriding the
+	 *            <tt>readColumnViews</tt> preference)
+	 * @throws NullPointerException
+	 *             if tokenizer or preferences are null
+	 * @since 2.4.1
+	 */
+	protected AbstractCsvReader(final ITokenizer tokenizer, final CsvPreference preferences,
+		final boolean readColumnViews) {
 		if( tokenizer == null ) {
 			throw new NullPointerException("tokenizer should not be null");
 		} else if( preferences == null ) {
@@ -86,6 +154,25 @@ public abstract class AbstractCsvReader implements ICsvReader {
 		
 		this.preferences = preferences;
 		this.tokenizer = tokenizer;
+		this.viewTokenizer = getViewTokenizer(tokenizer, readColumnViews);
+		this.columnViews = viewTokenizer != null ? new ArrayList<CharSequence>() : null;
+		this.sourceColumns = viewTokenizer != null ? new ArrayList<Object>() : null;
+	}
+	
+	/**
+	 * Gets the tokenizer to read column views from, if columns should be read as views and the tokenizer supports it.
+	 * 
+	 * @param tokenizer
+	 *            the tokenizer
+	 * @param readColumnViews
+	 *            whether to read columns as views
+	 * @return the tokenizer, or null if columns should be read as Strings
+	 */
+	private static IColumnViewTokenizer getViewTokenizer(final ITokenizer tokenizer, final boolean readColumnViews) {
+		if( readColumnViews && tokenizer instanceof IColumnViewTokenizer ) {
+			return (IColumnViewTokenizer) tokenizer;
+		}
+		return null;
 	}
 	
 	/**
@@ -99,7 +186,7 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	 * {@inheritDoc}
 	 */
 	public String get(final int n) {
-		return columns.get(n - 1); // column numbers start at 1
+		return getColumns().get(n - 1); // column numbers start at 1
 	}
 	
 	/**
@@ -114,7 +201,8 @@ public abstract class AbstractCsvReader implements ICsvReader {
 		}
 		
 		if( readRow() ) {
-			return columns.toArray(new String[columns.size()]);
+			final List<String> header = getColumns();
+			return header.toArray(new String[header.size()]);
 		}
 		
 		return null;
@@ -145,7 +233,61 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	 * {@inheritDoc}
 	 */
 	public int length() {
-		return columns.size();
+		return columnsStale ? columnViews.size() : columns.size();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setColumnProjection(final int... columnNumbers) {
+		boolean[] columns = null;
+		if( columnNumbers != null ) {
+			int maxColumnNumber = 0;
+			for( final int columnNumber : columnNumbers ) {
+				if( columnNumber < 1 ) {
+					throw new IllegalArgumentException(String.format(
+						"column numbers should be > 0 but %d was supplied", columnNumber));
+				}
+				maxColumnNumber = Math.max(maxColumnNumber, columnNumber);
+			}
+			columns = new boolean[maxColumnNumber];
+			for( final int columnNumber : columnNumbers ) {
+				columns[columnNumber - 1] = true;
+			}
+		}
+		
+		projection = columns;
+		suppliedProcessors = null;
+		lastProcessors = null;
+		projectedProcessors = null;
+		if( tokenizer instanceof IColumnProjectionTokenizer ) {
+			((IColumnProjectionTokenizer) tokenizer).setColumnProjection(columns);
+			projectionPushedDown = true;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setColumnProjection(final String[] header, final String... columnNames) {
+		if( header == null ) {
+			throw new NullPointerException("header should not be null");
+		} else if( columnNames == null ) {
+			throw new NullPointerException("columnNames should not be null");
+		}
+		
+		final int[] columnNumbers = new int[columnNames.length];
+		for( int i = 0; i < columnNames.length; i++ ) {
+			for( int j = 0; j < header.length && columnNumbers[i] == 0; j++ ) {
+				if( header[j] != null && header[j].equals(columnNames[i]) ) {
+					columnNumbers[i] = j + 1;
+				}
+			}
+			if( columnNumbers[i] == 0 ) {
+				throw new IllegalArgumentException(String.format("the column '%s' isn't in the header", columnNames[i]));
+			}
+		}
+		setColumnProjection(columnNumbers);
 	}
 	
 	/**
@@ -154,9 +296,27 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	 * @return the tokenized columns
 	 */
 	protected List<String> getColumns() {
+		if( columnsStale ) {
+			columns.clear();
+			for( final CharSequence view : columnViews ) {
+				columns.add(view != null ? view.toString() : null);
+			}
+			columnsStale = false;
+		}
 		return columns;
 	}
 	
+	/**
+	 * Gets the tokenized columns without converting them to Strings. If the columns are read as views, then the views
+	 * are only valid until the next row is read.
+	 * 
+	 * @return the tokenized columns (as views, or as Strings if the tokenizer doesn't support views)
+	 * @since 2.4.1
+	 */
+	protected List<? extends CharSequence> getColumnViews() {
+		return viewTokenizer != null ? columnViews : columns;
+	}
+	
 	/**
 	 * Gets the preferences.
 	 * 
@@ -176,20 +336,52 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	 *             on errors in parsing the input
 	 */
 	protected boolean readRow() throws IOException {
+		if( viewTokenizer != null ) {
+			columns.clear();
+			columnsStale = true;
+			if( viewTokenizer.readColumnViews(columnViews) ) {
+				rowNumber++;
+				if( projection != null && !projectionPushedDown ) {
+					discardUnprojectedColumns(columnViews);
+				}
+				return true;
+			}
+			return false;
+		}
+		
 		if( tokenizer.readColumns(columns) ) {
 			rowNumber++;
+			if( projection != null && !projectionPushedDown ) {
+				discardUnprojectedColumns(columns);
+			}
 			return true;
 		}
 		return false;
 	}
 	
+	/**
+	 * Replaces the columns that aren't in the column projection with <tt>null</tt> (for tokenizers that don't support
+	 * projection).
+	 * 
+	 * @param row
+	 *            the columns of the row
+	 */
+	private void discardUnprojectedColumns(final List<? extends CharSequence> row) {
+		for( int i = 0; i < row.size(); i++ ) {
+			if( !ColumnProjection.isProjected(projection, i) ) {
+				row.set(i, null);
+			}
+		}
+	}
+	
 	/**
 	 * Executes the supplied cell processors on the last row of CSV that was read and populates the supplied List of
-	 * processed columns.
+	 * processed columns. If the columns were read as views, then they're only passed to the processors that are
+	 * {@link CharSequenceCellProcessor}s as views (the other columns are converted to Strings).
 	 * 
 	 * @param processedColumns
 	 *            the List to populate with processed columns
-	 * @param processors
+	 * @param allProcessors
 	 *            the cell processors
 	 * @return the updated List
 	 * @throws NullPointerException
@@ -199,9 +391,59 @@ public abstract class AbstractCsvReader implements ICsvReader {
 	 * @throws SuperCsvException
 	 *             if the wrong number of processors are supplied, or CellProcessor execution failed
 	 */
-	protected List<Object> executeProcessors(final List<Object> processedColumns, final CellProcessor[] processors) {
-		Util.executeCellProcessors(processedColumns, getColumns(), processors, getLineNumber(), getRowNumber());
+	protected List<Object> executeProcessors(final List<Object> processedColumns,
+		final CellProcessor[] allProcessors) {
+		
+		// the processors for columns that aren't in the projection are never executed
+		final CellProcessor[] processors = getProjectedProcessors(allProcessors);
+		
+		if( !columnsStale || processors == null ) {
+			Util.executeCellProcessors(processedColumns, getColumns(), processors, getLineNumber(), getRowNumber());
+			return processedColumns;
+		}
+		
+		sourceColumns.clear();
+		for( int i = 0; i < columnViews.size(); i++ ) {
+			sourceColumns.add(Util.toProcessorInput(columnViews.get(i), i < processors.length ? processors[i] : null));
+		}
+		
+		try {
+			Util.executeCellProcessors(processedColumns, sourceColumns, processors, getLineNumber(), getRowNumber());
+		}
+		catch(SuperCsvException e) {
+			// the views won't be valid once the next row is read
+			if( e.getCsvContext() != null ) {
+				e.getCsvContext().setRowSource(new ArrayList<Object>(getColumns()));
+			}
+			throw e;
+		}
 		return processedColumns;
 	}
 	
+	/**
+	 * Gets a copy of the supplied processors without the processors for columns that aren't in the column projection
+	 * (the copy is reused while the same processors are supplied). Supplying the same array again is the cheapest case,
+	 * as its elements aren't compared, so an array whose elements are changed between rows should be a new array.
+	 * 
+	 * @param processors
+	 *            the cell processors
+	 * @return the processors for the projected columns (or the supplied processors if there's no column projection)
+	 * @since 2.4.1
+	 */
+	protected CellProcessor[] getProjectedProcessors(final CellProcessor[] processors) {
+		if( projection == null || processors == null ) {
+			return processors;
+		} else if( processors == suppliedProcessors ) {
+			return projectedProcessors;
+		} else if( lastProcessors == null || !Arrays.equals(lastProcessors, processors) ) {
+			projectedProcessors = new CellProcessor[processors.length];
+			for( int i = 0; i < processors.length; i++ ) {
+				projectedProcessors[i] = ColumnProjection.isProjected(projection, i) ? processors[i] : null;
+			}
+			lastProcessors = processors.clone();
+		}
+		suppliedProcessors = processors;
+		return projectedProcessors;
+	}
+	
 }
@@ -0,0 +1,833 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+import org.supercsv.comment.CommentMatcher;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * A Tokenizer that works directly on a reusable character buffer, instead of reading the CSV file line by line. It
+ * produces exactly the same columns, line numbers and untokenized rows as the default {@link Tokenizer}, but avoids
+ * creating a String for every line and copying each character into intermediate buffers: unquoted columns are created
+ * straight from the buffer in a single pass, and only quoted columns are unescaped character by character.
+ * <p>
+ * The buffer always holds the whole of the current row, so it will grow if a row is larger than the buffer. The
+ * untokenized row is only created from the buffer when {@link #getUntokenizedRow()} is called.
+ * </p>
+ * <p>
+ * It can be used with any of the readers, e.g.
+ * {@code new CsvListReader(new BufferedTokenizer(reader, preferences), preferences)}. It can also read columns as views
+ * of its buffer (see {@link #readColumnViews(List)}), so that no Strings are created for columns that are processed
+ * by a {@link org.supercsv.cellprocessor.ift.CharSequenceCellProcessor}.
+ * </p>
+ * 
+ * @since 2.4.1
+ */
+public class BufferedTokenizer implements IColumnViewTokenizer, IColumnProjectionTokenizer {
+	
+	/** the default size of the character buffer */
+	public static final int DEFAULT_BUFFER_SIZE = 65536;
+	
+	private static final char NEWLINE = '\n';
+	
+	private static final char CARRIAGE_RETURN = '\r';
+	
+	private static final char SPACE = ' ';
+	
+	/* returned by the scanning methods when the end of the input is reached */
+	private static final int EOF = -1;
+	
+	private final Reader reader;
+	
+	private final CsvPreference preferences;
+	
+	private final StringBuilder currentColumn = new StringBuilder();
+	
+	private final char quoteChar;
+	
+	private final int delimiterChar;
+	
+	private final boolean surroundingSpacesNeedQuotes;
+	
+	private final boolean ignoreEmptyLines;
+	
+	private final CommentMatcher commentMatcher;
+	
+	private final int maxLinesPerRow;
+	
+	private final EmptyColumnParsing emptyColumnParsing;
+	
+	private final char quoteEscapeChar;
+	
+	private char[] buffer;
+	
+	/* the position of the next character to read from the buffer */
+	private int position = 0;
+	
+	/* the number of valid characters in the buffer */
+	private int limit = 0;
+	
+	private boolean endOfInput = false;
+	
+	/* the start of the current row in the buffer */
+	private int rowStart = 0;
+	
+	/* the end of the current row (excluding the line terminator) in the buffer, or -1 if it's still being read */
+	private int rowEnd = 0;
+	
+	/* the start of the current column in the buffer */
+	private int columnStart = 0;
+	
+	private int lineNumber = 0;
+	
+	/* the raw, untokenized CSV row (created on demand) */
+	private String untokenizedRow;
+	
+	/* the number of columns in the current row */
+	private int columnCount = 0;
+	
+	/* the start and end of each unquoted column, relative to the start of the row (-1 for a null column) */
+	private int[] columnStarts = new int[16];
+	
+	private int[] columnEnds = new int[16];
+	
+	/* the unescaped value of each quoted column (null for unquoted columns) */
+	private String[] quotedColumns = new String[16];
+	
+	/* the reusable column views */
+	private ColumnView[] views = new ColumnView[16];
+	
+	/* the columns to read (null to read every column) */
+	private boolean[] projection;
+	
+	/* the cache used to deduplicate column Strings (null if disabled) */
+	private final ColumnStringCache stringCache;
+	
+	/**
+	 * Enumeration of tokenizer states. QUOTE_MODE is activated between quotes.
+	 */
+	private enum TokenizerState {
+		NORMAL, QUOTE_MODE;
+	}
+	
+	/**
+	 * Constructs a new <tt>BufferedTokenizer</tt> with the default buffer size.
+	 * 
+	 * @param reader
+	 *            the reader
+	 * @param preferences
+	 *            the CSV preferences
+	 * @throws NullPointerException
+	 *             if reader or preferences is null
+	 */
+	public BufferedTokenizer(final Reader reader, final CsvPreference preferences) {
+		this(reader, preferences, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Constructs a new <tt>BufferedTokenizer</tt>.
+	 * 
+	 * @param reader
+	 *            the reader
+	 * @param preferences
+	 *            the CSV preferences
+	 * @param bufferSize
+	 *            the initial size of the character buffer (it will grow if a row doesn't fit)
+	 * @throws NullPointerException
+	 *             if reader or preferences is null
+	 * @throws IllegalArgumentException
+	 *             if bufferSize &lt; 1
+	 */
+	public BufferedTokenizer(final Reader reader, final CsvPreference preferences, final int bufferSize) {
+		if( reader == null ) {
+			throw new NullPointerException("reader should not be null");
+		} else if( preferences == null ) {
+			throw new NullPointerException("preferences should not be null");
+		} else if( bufferSize < 1 ) {
+			throw new IllegalArgumentException(String.format("bufferSize should be > 0 but was %d", bufferSize));
+		}
+		this.reader = reader;
+		this.preferences = preferences;
+		this.buffer = new char[bufferSize];
+		this.quoteChar = preferences.getQuoteChar();
+		this.delimiterChar = preferences.getDelimiterChar();
+		this.surroundingSpacesNeedQuotes = preferences.isSurroundingSpacesNeedQuotes();
+		this.ignoreEmptyLines = preferences.isIgnoreEmptyLines();
+		this.commentMatcher = preferences.getCommentMatcher();
+		this.maxLinesPerRow = preferences.getMaxLinesPerRow();
+		this.emptyColumnParsing = preferences.getEmptyColumnParsing();
+		this.quoteEscapeChar = preferences.getQuoteEscapeChar();
+		this.stringCache = preferences.getDeduplicateStrings() > 0 ? new ColumnStringCache(
+			preferences.getDeduplicateStrings()) : null;
+	}
+	
+	/**
+	 * Closes the underlying reader.
+	 */
+	public void close() throws IOException {
+		reader.close();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getUntokenizedRow() {
+		if( untokenizedRow == null ) {
+			untokenizedRow = createUntokenizedRow(rowStart, rowEnd >= 0 ? rowEnd : position);
+		}
+		return untokenizedRow;
+	}
+	
+	/**
+	 * Gets the CSV preferences.
+	 * 
+	 * @return the preferences
+	 */
+	protected CsvPreference getPreferences() {
+		return preferences;
+	}
+	
+	/**
+	 * Gets the cache used to deduplicate the Strings read from each column.
+	 * 
+	 * @return the cache, or null if the <tt>deduplicateStrings</tt> preference isn't enabled
+	 * @since 2.4.1
+	 */
+	public ColumnStringCache getStringCache() {
+		return stringCache;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setColumnProjection(final boolean[] projection) {
+		this.projection = ColumnProjection.copy(projection);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean readColumns(final List<String> columns) throws IOException {
+		
+		if( columns == null ) {
+			throw new NullPointerException("columns should not be null");
+		}
+		
+		// clear the reusable List
+		columns.clear();
+		
+		if( !readRow() ) {
+			return false;
+		}
+		for( int i = 0; i < columnCount; i++ ) {
+			final int start = columnStarts[i];
+			if( quotedColumns[i] != null ) {
+				columns.add(quotedColumns[i]);
+			} else {
+				columns.add(start < 0 ? null : createString(i, rowStart + start, columnEnds[i] - start));
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Creates the String for a column from the buffer (deduplicating it if the <tt>deduplicateStrings</tt> preference
+	 * is enabled).
+	 * 
+	 * @param columnIndex
+	 *            the index of the column
+	 * @param offset
+	 *            the offset of the column in the buffer
+	 * @param length
+	 *            the length of the column
+	 * @return the String
+	 */
+	private String createString(final int columnIndex, final int offset, final int length) {
+		return stringCache != null ? stringCache.get(columnIndex, buffer, offset, length) : new String(buffer, offset,
+			length);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean readColumnViews(final List<CharSequence> columns) throws IOException {
+		
+		if( columns == null ) {
+			throw new NullPointerException("columns should not be null");
+		}
+		
+		// clear the reusable List
+		columns.clear();
+		
+		if( !readRow() ) {
+			return false;
+		}
+		if( views.length < columnCount ) {
+			final ColumnView[] largerViews = new ColumnView[columnStarts.length];
+			System.arraycopy(views, 0, largerViews, 0, views.length);
+			views = largerViews;
+		}
+		for( int i = 0; i < columnCount; i++ ) {
+			final int start = columnStarts[i];
+			if( quotedColumns[i] != null ) {
+				columns.add(quotedColumns[i]);
+			} else if( start < 0 ) {
+				columns.add(null);
+			} else if( views[i] == null ) {
+				views[i] = new ColumnView(buffer, rowStart + start, columnEnds[i] - start);
+				columns.add(views[i]);
+			} else {
+				columns.add(views[i].set(buffer, rowStart + start, columnEnds[i] - start));
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Reads the next row, recording where each column is in the buffer (the columns can't be created until the whole
+	 * row has been read, as the buffer may move while it's being filled).
+	 * 
+	 * @return true if a row was read, or false if EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean readRow() throws IOException {
+		
+		// clear the previous row
+		untokenizedRow = null;
+		for( int i = 0; i < columnCount; i++ ) {
+			quotedColumns[i] = null;
+		}
+		columnCount = 0;
+		
+		// move to the start of the next row (ignoring empty lines/comments if necessary)
+		if( !skipToRow() ) {
+			rowEnd = rowStart;
+			return false; // EOF
+		}
+		rowEnd = -1;
+		
+		while( true ) {
+			columnStart = position;
+			
+			// scan the column in a single pass, hoping it's unquoted
+			final int c = scanUnquoted();
+			
+			if( c == quoteChar ) {
+				// the column contains a quote, so go back and unescape it character by character
+				position = columnStart;
+				if( readQuotedColumn() ) {
+					return true;
+				}
+			} else {
+				addColumn(columnStart, position);
+				if( c != delimiterChar ) {
+					endRow();
+					return true;
+				}
+				position++; // skip the delimiter
+			}
+		}
+	}
+	
+	/**
+	 * Moves to the start of the next row, skipping empty lines (if ignoreEmptyLines is enabled) and comments (if a
+	 * comment matcher is configured), and increments the line number.
+	 * 
+	 * @return true if a row was found, or false if EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean skipToRow() throws IOException {
+		while( true ) {
+			rowStart = position;
+			if( position == limit && !fill() ) {
+				return false;
+			}
+			
+			final char c = buffer[position];
+			final boolean emptyLine = c == NEWLINE || c == CARRIAGE_RETURN;
+			if( ignoreEmptyLines && emptyLine ) {
+				lineNumber++;
+				skipLineTerminator();
+				
+			} else if( commentMatcher != null && isComment() ) {
+				lineNumber++;
+				skipLineTerminator();
+				
+			} else {
+				lineNumber++;
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * Determines whether the line at the current position is a comment. If it is, the position is moved to the end of
+	 * the line, otherwise the position is unchanged.
+	 * 
+	 * @return true if the line is a comment
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean isComment() throws IOException {
+		int c;
+		while( (c = peek()) != EOF && c != NEWLINE && c != CARRIAGE_RETURN ) {
+			position++;
+		}
+		
+		// the line starts at the start of the row (even if the buffer was compacted while scanning)
+		if( commentMatcher.isComment(new String(buffer, rowStart, position - rowStart)) ) {
+			return true;
+		}
+		position = rowStart;
+		return false;
+	}
+	
+	/**
+	 * Scans from the current position until a delimiter, quote, line terminator or the end of the input is reached.
+	 * 
+	 * @return the character the scan stopped at, or EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private int scanUnquoted() throws IOException {
+		while( true ) {
+			final char[] buf = buffer;
+			final int end = limit;
+			int pos = position;
+			while( pos < end ) {
+				final char c = buf[pos];
+				if( c == delimiterChar || c == quoteChar || c == NEWLINE || c == CARRIAGE_RETURN ) {
+					position = pos;
+					return c;
+				}
+				pos++;
+			}
+			position = pos;
+			if( !fill() ) {
+				return EOF;
+			}
+		}
+	}
+	
+	/**
+	 * Reads a column containing quotes (starting at the current position) using the same rules as the default
+	 * {@link Tokenizer}, and adds it to the columns of the row.
+	 * 
+	 * @return true if the end of the row was reached, or false if the column was ended by a delimiter
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean readQuotedColumn() throws IOException {
+		
+		currentColumn.setLength(0);
+		final boolean projected = ColumnProjection.isProjected(projection, columnCount); // otherwise it isn't built
+		
+		TokenizerState state = TokenizerState.NORMAL;
+		int quoteScopeStartingLine = -1; // the line number where a potential multi-line cell starts
+		int potentialSpaces = 0; // keep track of spaces (so leading/trailing space can be removed if required)
+		
+		// the quoted section (relative to the start of the row), while the column is identical to it
+		int verbatimStart = -1;
+		int verbatimEnd = -1;
+		boolean verbatim = true;
+		while( true ) {
+			final int next = peek();
+			final boolean endOfLineReached = next == EOF || next == NEWLINE || next == CARRIAGE_RETURN;
+			
+			if( endOfLineReached ) {
+				if( TokenizerState.NORMAL.equals(state) ) {
+					if( projected && !surroundingSpacesNeedQuotes && potentialSpaces > 0 ) {
+						appendSpaces(currentColumn, potentialSpaces);
+						verbatim = false;
+					}
+					addCurrentColumn(verbatim ? verbatimStart : -1, verbatimEnd);
+					endRow();
+					return true;
+				}
+				
+				/*
+				 * Newline. Doesn't count as newline while in QUOTESCOPE. Add the newline char, then continue on the next
+				 * line.
+				 */
+				if( projected ) {
+					currentColumn.append(NEWLINE);
+				}
+				verbatim = false;
+				rowEnd = position; // in case the row can't be completed
+				
+				if( maxLinesPerRow > 0 && lineNumber - quoteScopeStartingLine + 1 >= maxLinesPerRow ) {
+					untokenizedRow = createUntokenizedRow(rowStart, rowEnd) + NEWLINE;
+					String msg = maxLinesPerRow == 1 ? String.format(
+						"unexpected end of line while reading quoted column on line %d", lineNumber) : String.format(
+						"max number of lines to read exceeded while reading quoted column"
+							+ " beginning on line %d and ending on line %d", quoteScopeStartingLine, lineNumber);
+					throw new SuperCsvException(msg);
+				}
+				
+				if( next != EOF ) {
+					skipLineTerminator();
+				}
+				if( peek() == EOF ) {
+					untokenizedRow = createUntokenizedRow(rowStart, rowEnd) + NEWLINE;
+					throw new SuperCsvException(String.format(
+						"unexpected end of file while reading quoted column beginning on line %d and ending on line %d",
+						quoteScopeStartingLine, lineNumber));
+				}
+				rowEnd = -1;
+				lineNumber++;
+				continue;
+			}
+			
+			final char c = (char) next;
+			
+			if( TokenizerState.NORMAL.equals(state) ) {
+				
+				if( c == delimiterChar ) {
+					/*
+					 * Delimiter. Save the column (trim trailing space if required) then continue to the next column.
+					 */
+					if( projected && !surroundingSpacesNeedQuotes && potentialSpaces > 0 ) {
+						appendSpaces(currentColumn, potentialSpaces);
+						verbatim = false;
+					}
+					addCurrentColumn(verbatim ? verbatimStart : -1, verbatimEnd);
+					position++;
+					return false;
+					
+				} else if( c == SPACE ) {
+					potentialSpaces++;
+					
+				} else if( c == quoteChar ) {
+					state = TokenizerState.QUOTE_MODE;
+					quoteScopeStartingLine = lineNumber;
+					
+					// cater for spaces before a quoted section (be lenient!)
+					if( projected && (!surroundingSpacesNeedQuotes || currentColumn.length() > 0) ) {
+						appendSpaces(currentColumn, potentialSpaces);
+					}
+					potentialSpaces = 0;
+					
+					if( verbatimStart < 0 && currentColumn.length() == 0 ) {
+						verbatimStart = position + 1 - rowStart;
+					} else {
+						verbatim = false;
+					}
+					
+				} else {
+					if( projected ) {
+						if( !surroundingSpacesNeedQuotes || currentColumn.length() > 0 ) {
+							appendSpaces(currentColumn, potentialSpaces);
+						}
+						currentColumn.append(c);
+					}
+					potentialSpaces = 0;
+					verbatim = false;
+				}
+				
+			} else {
+				
+				if( c == quoteEscapeChar ) {
+					position++;
+					final int following = peek();
+					
+					if( following == quoteChar ) {
+						// an escaped quote (e.g. "" or \")
+						if( projected ) {
+							currentColumn.append(quoteChar);
+						}
+						verbatim = false;
+					} else if( following == quoteEscapeChar ) {
+						// a double escape (normally \\)
+						if( projected ) {
+							currentColumn.append(c);
+						}
+						verbatim = false;
+					} else {
+						position--;
+						if( quoteEscapeChar == quoteChar ) {
+							// a lone quote, which is the end of the quoted section
+							state = TokenizerState.NORMAL;
+							quoteScopeStartingLine = -1;
+							verbatimEnd = position - rowStart;
+						} else {
+							// escape char wasn't before another escape char or a quote char, so process it normally
+							if( projected ) {
+								currentColumn.append(c);
+							}
+						}
+					}
+					
+				} else if( c == quoteChar ) {
+					state = TokenizerState.NORMAL;
+					quoteScopeStartingLine = -1;
+					verbatimEnd = position - rowStart;
+					
+					position++;
+					final boolean nextCharIsQuote = peek() == quoteChar;
+					position--;
+					if( quoteEscapeChar != quoteChar && nextCharIsQuote ) {
+						throw new SuperCsvException("Encountered repeat quote char (" + quoteChar
+							+ ") when quoteEscapeChar was (" + quoteEscapeChar + ")"
+							+ ".  Cannot process data where quotes are escaped both with " + quoteChar + " and with "
+							+ quoteEscapeChar);
+					}
+					
+				} else if( projected ) {
+					currentColumn.append(c);
+				}
+			}
+			
+			position++;
+		}
+	}
+	
+	/**
+	 * Adds a column (without quotes) in the buffer to the columns of the row, trimming surrounding spaces if required.
+	 * Empty columns are added as <tt>null</tt>.
+	 * 
+	 * @param start
+	 *            the start of the column in the buffer
+	 * @param end
+	 *            the end of the column in the buffer
+	 */
+	private void addColumn(int start, int end) {
+		if( !ColumnProjection.isProjected(projection, columnCount) ) {
+			addColumn(-1, -1, null); // not in the column projection
+			return;
+		}
+		if( surroundingSpacesNeedQuotes ) {
+			while( start < end && buffer[start] == SPACE ) {
+				start++;
+			}
+			while( end > start && buffer[end - 1] == SPACE ) {
+				end--;
+			}
+		}
+		if( start < end ) {
+			addColumn(start - rowStart, end - rowStart, null);
+		} else {
+			addColumn(-1, -1, null);
+		}
+	}
+	
+	/**
+	 * Adds the currentColumn to the columns of the row, managing the case where currentColumn is empty (using the
+	 * emptyColumnParsing preference). If the column is identical to its quoted section in the buffer, then it's added
+	 * as an unquoted column, so it doesn't have to be copied.
+	 * 
+	 * @param verbatimStart
+	 *            the start of the quoted section (relative to the start of the row), or -1 if the column isn't
+	 *            identical to it
+	 * @param verbatimEnd
+	 *            the end of the quoted section (relative to the start of the row)
+	 */
+	private void addCurrentColumn(final int verbatimStart, final int verbatimEnd) {
+		final int length = currentColumn.length();
+		if( !ColumnProjection.isProjected(projection, columnCount) ) {
+			addColumn(-1, -1, null); // not in the column projection
+		} else if( length > 0 && verbatimStart >= 0 && verbatimEnd - verbatimStart == length ) {
+			addColumn(verbatimStart, verbatimEnd, null);
+		} else if( length > 0 ) {
+			addColumn(0, 0, stringCache != null ? stringCache.get(columnCount, currentColumn) : currentColumn
+				.toString());
+		} else {
+			final boolean previousCharIsQuote = position > rowStart && buffer[position - 1] == quoteChar;
+			if( previousCharIsQuote && emptyColumnParsing.equals(EmptyColumnParsing.ParseEmptyColumnsAsEmptyString) ) {
+				addColumn(0, 0, "");
+			} else {
+				addColumn(-1, -1, null);
+			}
+		}
+	}
+	
+	/**
+	 * Adds a column to the columns of the row, growing the arrays if necessary.
+	 * 
+	 * @param start
+	 *            the start of the column, relative to the start of the row (-1 for a null column)
+	 * @param end
+	 *            the end of the column, relative to the start of the row
+	 * @param quoted
+	 *            the unescaped value of a quoted column, or null
+	 */
+	private void addColumn(final int start, final int end, final String quoted) {
+		if( columnCount == columnStarts.length ) {
+			final int size = columnCount * 2;
+			columnStarts = grow(columnStarts, size);
+			columnEnds = grow(columnEnds, size);
+			final String[] largerQuoted = new String[size];
+			System.arraycopy(quotedColumns, 0, largerQuoted, 0, columnCount);
+			quotedColumns = largerQuoted;
+		}
+		columnStarts[columnCount] = start;
+		columnEnds[columnCount] = end;
+		quotedColumns[columnCount] = quoted;
+		columnCount++;
+	}
+	
+	/**
+	 * Copies an array into a larger array.
+	 * 
+	 * @param array
+	 *            the array
+	 * @param size
+	 *            the size of the larger array
+	 * @return the larger array
+	 */
+	private static int[] grow(final int[] array, final int size) {
+		final int[] larger = new int[size];
+		System.arraycopy(array, 0, larger, 0, array.length);
+		return larger;
+	}
+	
+	/**
+	 * Marks the end of the current row and skips over its line terminator.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private void endRow() throws IOException {
+		rowEnd = position;
+		skipLineTerminator();
+	}
+	
+	/**
+	 * Skips over the line terminator (\n, \r or \r\n) at the current position (if there is one).
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private void skipLineTerminator() throws IOException {
+		final int c = peek();
+		if( c == CARRIAGE_RETURN ) {
+			position++;
+			if( peek() == NEWLINE ) {
+				position++;
+			}
+		} else if( c == NEWLINE ) {
+			position++;
+		}
+	}
+	
+	/**
+	 * Returns the character at the current position without consuming it, filling the buffer if necessary.
+	 * 
+	 * @return the character, or EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private int peek() throws IOException {
+		if( position == limit && !fill() ) {
+			return EOF;
+		}
+		return buffer[position];
+	}
+	
+	/**
+	 * Reads more characters into the buffer. If the buffer is full, then the current row is moved to the start of the
+	 * buffer (or the buffer is enlarged if the row already starts there).
+	 * 
+	 * @return true if more characters were read, or false if EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean fill() throws IOException {
+		if( endOfInput ) {
+			return false;
+		}
+		
+		if( limit == buffer.length ) {
+			if( rowStart > 0 ) {
+				final int shift = rowStart;
+				System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+				limit -= shift;
+				position -= shift;
+				columnStart -= shift;
+				if( rowEnd >= 0 ) {
+					rowEnd -= shift;
+				}
+				rowStart = 0;
+			} else {
+				final char[] larger = new char[buffer.length * 2];
+				System.arraycopy(buffer, 0, larger, 0, limit);
+				buffer = larger;
+			}
+		}
+		
+		final int read = reader.read(buffer, limit, buffer.length - limit);
+		if( read < 0 ) {
+			endOfInput = true;
+			return false;
+		}
+		limit += read;
+		return true;
+	}
+	
+	/**
+	 * Creates the untokenized row from the buffer. Line terminators within the row are replaced with \n, to match the
+	 * default Tokenizer.
+	 * 
+	 * @param start
+	 *            the start of the row in the buffer
+	 * @param end
+	 *            the end of the row in the buffer
+	 * @return the untokenized row
+	 */
+	private String createUntokenizedRow(final int start, final int end) {
+		final StringBuilder row = new StringBuilder(end - start);
+		for( int i = start; i < end; i++ ) {
+			final char c = buffer[i];
+			if( c == CARRIAGE_RETURN ) {
+				row.append(NEWLINE);
+				if( i + 1 < end && buffer[i + 1] == NEWLINE ) {
+					i++;
+				}
+			} else {
+				row.append(c);
+			}
+		}
+		return row.toString();
+	}
+	
+	/**
+	 * Appends the required number of spaces to the StringBuilder.
+	 * 
+	 * @param sb
+	 *            the StringBuilder
+	 * @param spaces
+	 *            the required number of spaces to append
+	 */
+	private static void appendSpaces(final StringBuilder sb, final int spaces) {
+		for( int i = 0; i < spaces; i++ ) {
+			sb.append(SPACE);
+		}
+	}
+	
+}
@@ -0,0 +1,526 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.util.Arrays;
+
+/**
+ * A reusable batch of rows stored as column vectors, filled by a {@link CsvColumnarReader}. Each column is stored in a
+ * primitive array according to its {@link ColumnType} (so no values are boxed), with a bitmap recording which rows are
+ * <tt>null</tt> (the value in the array is 0/false for a null row). String columns are dictionary-encoded: each
+ * distinct value is stored once in the column's dictionary, and the column vector holds each row's code. The
+ * dictionaries are emptied along with the rest of the batch, so a code only means the same value within a batch (and
+ * a dictionary never holds more values than the capacity of the batch).
+ * <p>
+ * The vectors are reused by the next batch read into the same <tt>ColumnBatch</tt>, and are sized to the capacity of
+ * the batch (only the first {@link #size()} elements are valid).
+ * 
+ * @since 2.4.1
+ */
+public class ColumnBatch {
+	
+	private final ColumnType[] schema;
+	
+	private final int capacity;
+	
+	private int size = 0;
+	
+	// the vector of each column (an int[], long[], double[] or boolean[] - or null for ignored columns)
+	private final Object[] vectors;
+	
+	// the null bitmap of each column
+	private final long[][] nulls;
+	
+	// the dictionary of each String column
+	private final Dictionary[] dictionaries;
+	
+	/**
+	 * A dictionary of the distinct values of a String column, which can be looked up from the characters of a column
+	 * without creating a String.
+	 */
+	private static final class Dictionary {
+		
+		// the values (indexed by code)
+		private String[] values = new String[16];
+		
+		// an open addressing hash table of codes + 1 (0 is an empty slot)
+		private int[] table = new int[32];
+		
+		private int size = 0;
+		
+		/**
+		 * Gets the code of a value, adding it to the dictionary if necessary.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the code
+		 */
+		int encode(final CharSequence value) {
+			final int length = value.length();
+			int hash = 0;
+			for( int i = 0; i < length; i++ ) {
+				hash = 31 * hash + value.charAt(i);
+			}
+			
+			final int mask = table.length - 1;
+			int slot = (hash ^ (hash >>> 16)) & mask;
+			for( int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask ) {
+				final String existing = values[entry - 1];
+				if( existing.hashCode() == hash && existing.length() == length && contentEquals(existing, value) ) {
+					return entry - 1;
+				}
+			}
+			
+			if( size == values.length ) {
+				final String[] largerValues = new String[values.length * 2];
+				System.arraycopy(values, 0, largerValues, 0, size);
+				values = largerValues;
+			}
+			values[size] = value.toString();
+			table[slot] = ++size;
+			if( size * 2 > table.length ) {
+				rehash();
+			}
+			return size - 1;
+		}
+		
+		/**
+		 * Empties the dictionary, keeping its arrays for the next batch.
+		 */
+		void clear() {
+			Arrays.fill(values, 0, size, null);
+			Arrays.fill(table, 0);
+			size = 0;
+		}
+		
+		/**
+		 * Doubles the size of the hash table.
+		 */
+		private void rehash() {
+			table = new int[table.length * 2];
+			final int mask = table.length - 1;
+			for( int code = 0; code < size; code++ ) {
+				final int hash = values[code].hashCode();
+				int slot = (hash ^ (hash >>> 16)) & mask;
+				while( table[slot] != 0 ) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = code + 1;
+			}
+		}
+		
+		/**
+		 * Determines whether a String has the same characters as a CharSequence (of the same length).
+		 * 
+		 * @param existing
+		 *            the String
+		 * @param value
+		 *            the CharSequence
+		 * @return true if the characters are the same
+		 */
+		private static boolean contentEquals(final String existing, final CharSequence value) {
+			for( int i = 0; i < existing.length(); i++ ) {
+				if( existing.charAt(i) != value.charAt(i) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+	
+	/**
+	 * Constructs a new <tt>ColumnBatch</tt>.
+	 * 
+	 * @param schema
+	 *            the type of each column
+	 * @param capacity
+	 *            the maximum number of rows in a batch
+	 * @throws NullPointerException
+	 *             if schema or one of its elements is null
+	 * @throws IllegalArgumentException
+	 *             if capacity is less than 1
+	 */
+	public ColumnBatch(final ColumnType[] schema, final int capacity) {
+		if( schema == null ) {
+			throw new NullPointerException("schema should not be null");
+		} else if( capacity < 1 ) {
+			throw new IllegalArgumentException(String.format("capacity should be > 0 but was %d", capacity));
+		}
+		
+		this.schema = schema.clone();
+		this.capacity = capacity;
+		this.vectors = new Object[schema.length];
+		this.nulls = new long[schema.length][];
+		this.dictionaries = new Dictionary[schema.length];
+		for( int i = 0; i < schema.length; i++ ) {
+			if( schema[i] == null ) {
+				throw new NullPointerException(String.format("the type of column %d should not be null", i));
+			}
+			switch( schema[i] ) {
+				case INT:
+					vectors[i] = new int[capacity];
+					break;
+				case LONG:
+					vectors[i] = new long[capacity];
+					break;
+				case DOUBLE:
+					vectors[i] = new double[capacity];
+					break;
+				case BOOLEAN:
+					vectors[i] = new boolean[capacity];
+					break;
+				case STRING:
+					vectors[i] = new int[capacity];
+					dictionaries[i] = new Dictionary();
+					break;
+				default:
+					continue; // ignored
+			}
+			nulls[i] = new long[(capacity + 63) >>> 6];
+		}
+	}
+	
+	/**
+	 * Gets the type of each column.
+	 * 
+	 * @return the schema
+	 */
+	public ColumnType[] getSchema() {
+		return schema.clone();
+	}
+	
+	/**
+	 * Gets the type of a column.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the type of the column
+	 */
+	public ColumnType getType(final int column) {
+		return schema[column];
+	}
+	
+	/**
+	 * Gets the number of columns.
+	 * 
+	 * @return the number of columns
+	 */
+	public int getColumnCount() {
+		return schema.length;
+	}
+	
+	/**
+	 * Gets the maximum number of rows in a batch.
+	 * 
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Gets the number of rows in the batch.
+	 * 
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Gets the vector of an INT column.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the vector (only the first {@link #size()} elements are valid)
+	 * @throws IllegalArgumentException
+	 *             if the column isn't an INT column
+	 */
+	public int[] getInts(final int column) {
+		return (int[]) getVector(column, ColumnType.INT);
+	}
+	
+	/**
+	 * Gets the vector of a LONG column.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the vector (only the first {@link #size()} elements are valid)
+	 * @throws IllegalArgumentException
+	 *             if the column isn't a LONG column
+	 */
+	public long[] getLongs(final int column) {
+		return (long[]) getVector(column, ColumnType.LONG);
+	}
+	
+	/**
+	 * Gets the vector of a DOUBLE column.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the vector (only the first {@link #size()} elements are valid)
+	 * @throws IllegalArgumentException
+	 *             if the column isn't a DOUBLE column
+	 */
+	public double[] getDoubles(final int column) {
+		return (double[]) getVector(column, ColumnType.DOUBLE);
+	}
+	
+	/**
+	 * Gets the vector of a BOOLEAN column.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the vector (only the first {@link #size()} elements are valid)
+	 * @throws IllegalArgumentException
+	 *             if the column isn't a BOOLEAN column
+	 */
+	public boolean[] getBooleans(final int column) {
+		return (boolean[]) getVector(column, ColumnType.BOOLEAN);
+	}
+	
+	/**
+	 * Gets the vector of dictionary codes of a STRING column (see {@link #getDictionaryValue(int, int)}).
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the vector (only the first {@link #size()} elements are valid)
+	 * @throws IllegalArgumentException
+	 *             if the column isn't a STRING column
+	 */
+	public int[] getCodes(final int column) {
+		return (int[]) getVector(column, ColumnType.STRING);
+	}
+	
+	/**
+	 * Gets a value from the dictionary of a STRING column (which only holds the values of the current batch).
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @param code
+	 *            the code of the value
+	 * @return the value
+	 * @throws IllegalArgumentException
+	 *             if the column isn't a STRING column
+	 * @throws IndexOutOfBoundsException
+	 *             if the code isn't in the dictionary
+	 */
+	public String getDictionaryValue(final int column, final int code) {
+		getVector(column, ColumnType.STRING);
+		final Dictionary dictionary = dictionaries[column];
+		if( code < 0 || code >= dictionary.size ) {
+			throw new IndexOutOfBoundsException(String.format("code %d isn't in the dictionary of column %d", code,
+				column));
+		}
+		return dictionary.values[code];
+	}
+	
+	/**
+	 * Gets the number of values in the dictionary of a STRING column.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the number of values
+	 * @throws IllegalArgumentException
+	 *             if the column isn't a STRING column
+	 */
+	public int getDictionarySize(final int column) {
+		getVector(column, ColumnType.STRING);
+		return dictionaries[column].size;
+	}
+	
+	/**
+	 * Gets the value of a STRING column in a row.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @param row
+	 *            the index of the row in the batch (starting at 0)
+	 * @return the value (or null)
+	 * @throws IllegalArgumentException
+	 *             if the column isn't a STRING column
+	 * @throws IndexOutOfBoundsException
+	 *             if there's no row with the supplied index
+	 */
+	public String getString(final int column, final int row) {
+		final int[] codes = getCodes(column);
+		return isNull(column, row) ? null : dictionaries[column].values[codes[row]];
+	}
+	
+	/**
+	 * Determines whether a column is null in a row.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @param row
+	 *            the index of the row in the batch (starting at 0)
+	 * @return true if the column is null
+	 * @throws IllegalArgumentException
+	 *             if the column is ignored
+	 * @throws IndexOutOfBoundsException
+	 *             if there's no row with the supplied index
+	 */
+	public boolean isNull(final int column, final int row) {
+		if( row < 0 || row >= size ) {
+			throw new IndexOutOfBoundsException(String.format("row %d is out of range for a batch of %d rows", row,
+				size));
+		}
+		return (getNulls(column)[row >>> 6] & (1L << row)) != 0;
+	}
+	
+	/**
+	 * Gets the null bitmap of a column, where bit <tt>(row % 64)</tt> of element <tt>(row / 64)</tt> is set if the
+	 * column is null in that row.
+	 * 
+	 * @param column
+	 *            the index of the column (starting at 0)
+	 * @return the null bitmap
+	 * @throws IllegalArgumentException
+	 *             if the column is ignored
+	 */
+	public long[] getNulls(final int column) {
+		if( nulls[column] == null ) {
+			throw new IllegalArgumentException(String.format("column %d is ignored", column));
+		}
+		return nulls[column];
+	}
+	
+	/**
+	 * Gets the vector of a column, checking its type.
+	 * 
+	 * @param column
+	 *            the index of the column
+	 * @param type
+	 *            the expected type
+	 * @return the vector
+	 * @throws IllegalArgumentException
+	 *             if the column isn't of the expected type
+	 */
+	private Object getVector(final int column, final ColumnType type) {
+		if( schema[column] != type ) {
+			throw new IllegalArgumentException(String.format("column %d is a %s column, not a %s column", column,
+				schema[column], type));
+		}
+		return vectors[column];
+	}
+	
+	/**
+	 * Checks the maximum number of rows to read into the batch, and empties the batch (including the dictionaries).
+	 * 
+	 * @param maxRows
+	 *            the maximum number of rows to read
+	 * @throws IllegalArgumentException
+	 *             if maxRows is less than 1, or greater than the capacity
+	 */
+	void clear(final int maxRows) {
+		if( maxRows < 1 || maxRows > capacity ) {
+			throw new IllegalArgumentException(String.format("maxRows should be between 1 and %d but was %d",
+				capacity, maxRows));
+		}
+		for( final long[] bitmap : nulls ) {
+			if( bitmap != null ) {
+				Arrays.fill(bitmap, 0L);
+			}
+		}
+		for( final Dictionary dictionary : dictionaries ) {
+			if( dictionary != null ) {
+				dictionary.clear();
+			}
+		}
+		size = 0;
+	}
+	
+	/**
+	 * Adds a row to the batch (after its values have been set).
+	 */
+	void addRow() {
+		size++;
+	}
+	
+	/**
+	 * Clears the values set for the next row, after it failed to be read.
+	 */
+	void discardRow() {
+		for( final long[] bitmap : nulls ) {
+			if( bitmap != null ) {
+				bitmap[size >>> 6] &= ~(1L << size);
+			}
+		}
+	}
+	
+	/**
+	 * Marks a column as null in the next row.
+	 * 
+	 * @param column
+	 *            the index of the column
+	 */
+	void setNull(final int column) {
+		nulls[column][size >>> 6] |= 1L << size;
+		switch( schema[column] ) {
+			case INT:
+			case STRING:
+				((int[]) vectors[column])[size] = 0;
+				break;
+			case LONG:
+				((long[]) vectors[column])[size] = 0L;
+				break;
+			case DOUBLE:
+				((double[]) vectors[column])[size] = 0.0;
+				break;
+			case BOOLEAN:
+				((boolean[]) vectors[column])[size] = false;
+				break;
+			default:
+				break;
+		}
+	}
+	
+	/**
+	 * Sets the value of an INT column in the next row.
+	 */
+	void setInt(final int column, final int value) {
+		((int[]) vectors[column])[size] = value;
+	}
+	
+	/**
+	 * Sets the value of a LONG column in the next row.
+	 */
+	void setLong(final int column, final long value) {
+		((long[]) vectors[column])[size] = value;
+	}
+	
+	/**
+	 * Sets the value of a DOUBLE column in the next row.
+	 */
+	void setDouble(final int column, final double value) {
+		((double[]) vectors[column])[size] = value;
+	}
+	
+	/**
+	 * Sets the value of a BOOLEAN column in the next row.
+	 */
+	void setBoolean(final int column, final boolean value) {
+		((boolean[]) vectors[column])[size] = value;
+	}
+	
+	/**
+	 * Sets the value of a STRING column in the next row, adding it to the column's dictionary if necessary.
+	 */
+	void setString(final int column, final CharSequence value) {
+		((int[]) vectors[column])[size] = dictionaries[column].encode(value);
+	}
+	
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+/**
+ * Helper methods for the column projections used by the readers and tokenizers (see
+ * {@link ICsvColumnProjectionReader} and {@link IColumnProjectionTokenizer}).
+ * 
+ * @since 2.4.1
+ */
+final class ColumnProjection {
+	
+	// no instantiation
+	private ColumnProjection() {
+	}
+	
+	/**
+	 * Determines whether the column with the supplied index should be read, according to the column projection.
+	 * 
+	 * @param projection
+	 *            an array where element i is true if the column with index i should be read, or null to read every
+	 *            column
+	 * @param index
+	 *            the index of the column
+	 * @return true if the column should be read
+	 */
+	static boolean isProjected(final boolean[] projection, final int index) {
+		return projection == null || (index < projection.length && projection[index]);
+	}
+	
+	/**
+	 * Copies a column projection, so that it can't be changed by the caller.
+	 * 
+	 * @param projection
+	 *            the projection (may be null)
+	 * @return the copy, or null if the projection was null
+	 */
+	static boolean[] copy(final boolean[] projection) {
+		return projection != null ? projection.clone() : null;
+	}
+	
+}
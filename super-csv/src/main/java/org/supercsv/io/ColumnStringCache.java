@@ -0,0 +1,314 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+/**
+ * A cache of the Strings read from each column, so that repeated values (such as country codes or status flags) share
+ * a single String instead of each occurrence creating a new one. A value is looked up directly from the characters
+ * being tokenized, so a cache hit doesn't allocate anything.
+ * <p>
+ * Each column has its own cache, which is bounded by a maximum cardinality: once a column has more distinct values
+ * than that, its cache is discarded and every subsequent value in that column is created as a new String (so
+ * high-cardinality columns switch the cache off automatically). Hits and misses are counted for each column.
+ * <p>
+ * A ColumnStringCache is used by a single tokenizer (see {@link org.supercsv.prefs.CsvPreference.Builder#deduplicateStrings(int)}), and
+ * isn't thread-safe.
+ * 
+ * @since 2.4.1
+ */
+public final class ColumnStringCache {
+	
+	private static final int INITIAL_CAPACITY = 16;
+	
+	private final int maxCardinality;
+	
+	// the cache of each column (indexed by column index)
+	private Column[] columns = new Column[0];
+	
+	/**
+	 * The cache (and counters) of a single column.
+	 */
+	private static final class Column {
+		
+		// an open addressing hash table of the cached Strings (null when the cache has been discarded)
+		private String[] table = new String[INITIAL_CAPACITY];
+		
+		private int size = 0;
+		
+		private long hits = 0L;
+		
+		private long misses = 0L;
+	}
+	
+	/**
+	 * Constructs a new <tt>ColumnStringCache</tt>.
+	 * 
+	 * @param maxCardinality
+	 *            the maximum number of distinct values to cache for each column
+	 * @throws IllegalArgumentException
+	 *             if maxCardinality is less than 1
+	 */
+	public ColumnStringCache(final int maxCardinality) {
+		if( maxCardinality < 1 ) {
+			throw new IllegalArgumentException(String.format("maxCardinality should be > 0 but was %d",
+				maxCardinality));
+		}
+		this.maxCardinality = maxCardinality;
+	}
+	
+	/**
+	 * Gets the String with the supplied characters, from the cache of the column if possible.
+	 * 
+	 * @param columnIndex
+	 *            the index of the column (starting at 0)
+	 * @param chars
+	 *            the characters
+	 * @param offset
+	 *            the offset of the first character
+	 * @param length
+	 *            the number of characters
+	 * @return the String
+	 */
+	public String get(final int columnIndex, final char[] chars, final int offset, final int length) {
+		final Column column = getColumn(columnIndex);
+		if( column.table == null ) {
+			column.misses++;
+			return new String(chars, offset, length);
+		}
+		
+		int hash = 0;
+		for( int i = offset; i < offset + length; i++ ) {
+			hash = 31 * hash + chars[i];
+		}
+		
+		final int mask = column.table.length - 1;
+		int slot = spread(hash) & mask;
+		for( String cached; (cached = column.table[slot]) != null; slot = (slot + 1) & mask ) {
+			if( cached.hashCode() == hash && cached.length() == length && equals(cached, chars, offset) ) {
+				column.hits++;
+				return cached;
+			}
+		}
+		
+		column.misses++;
+		final String value = new String(chars, offset, length);
+		add(column, value, slot);
+		return value;
+	}
+	
+	/**
+	 * Gets the String with the supplied characters, from the cache of the column if possible.
+	 * 
+	 * @param columnIndex
+	 *            the index of the column (starting at 0)
+	 * @param chars
+	 *            the characters
+	 * @return the String
+	 */
+	public String get(final int columnIndex, final CharSequence chars) {
+		final Column column = getColumn(columnIndex);
+		if( column.table == null ) {
+			column.misses++;
+			return chars.toString();
+		}
+		
+		final int length = chars.length();
+		int hash = 0;
+		for( int i = 0; i < length; i++ ) {
+			hash = 31 * hash + chars.charAt(i);
+		}
+		
+		final int mask = column.table.length - 1;
+		int slot = spread(hash) & mask;
+		for( String cached; (cached = column.table[slot]) != null; slot = (slot + 1) & mask ) {
+			if( cached.hashCode() == hash && cached.length() == length && equals(cached, chars) ) {
+				column.hits++;
+				return cached;
+			}
+		}
+		
+		column.misses++;
+		final String value = chars.toString();
+		add(column, value, slot);
+		return value;
+	}
+	
+	/**
+	 * Adds a value to the cache of a column (in the empty slot found by the lookup), growing the table if necessary. If
+	 * the column already has the maximum number of distinct values, then its cache is discarded instead.
+	 * 
+	 * @param column
+	 *            the column
+	 * @param value
+	 *            the value
+	 * @param slot
+	 *            the empty slot
+	 */
+	private void add(final Column column, final String value, final int slot) {
+		if( column.size == maxCardinality ) {
+			column.table = null; // too many distinct values to be worth caching
+			return;
+		}
+		
+		column.table[slot] = value;
+		column.size++;
+		if( column.size * 2 > column.table.length ) {
+			final String[] oldTable = column.table;
+			column.table = new String[oldTable.length * 2];
+			final int mask = column.table.length - 1;
+			for( final String cached : oldTable ) {
+				if( cached != null ) {
+					int newSlot = spread(cached.hashCode()) & mask;
+					while( column.table[newSlot] != null ) {
+						newSlot = (newSlot + 1) & mask;
+					}
+					column.table[newSlot] = cached;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets the cache of a column, creating it if necessary.
+	 * 
+	 * @param columnIndex
+	 *            the index of the column
+	 * @return the cache of the column
+	 */
+	private Column getColumn(final int columnIndex) {
+		if( columnIndex >= columns.length ) {
+			final Column[] largerColumns = new Column[Math.max(columnIndex + 1, columns.length * 2)];
+			System.arraycopy(columns, 0, largerColumns, 0, columns.length);
+			columns = largerColumns;
+		}
+		Column column = columns[columnIndex];
+		if( column == null ) {
+			column = new Column();
+			columns[columnIndex] = column;
+		}
+		return column;
+	}
+	
+	/**
+	 * Spreads the high bits of a hash code into the low bits (used to choose the slot in a table).
+	 * 
+	 * @param hash
+	 *            the hash code
+	 * @return the spread hash code
+	 */
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+	
+	/**
+	 * Determines whether a String has the same characters as a section of a char array (of the same length).
+	 * 
+	 * @param value
+	 *            the String
+	 * @param chars
+	 *            the characters
+	 * @param offset
+	 *            the offset of the first character
+	 * @return true if the characters are the same
+	 */
+	private static boolean equals(final String value, final char[] chars, final int offset) {
+		for( int i = 0; i < value.length(); i++ ) {
+			if( value.charAt(i) != chars[offset + i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Determines whether a String has the same characters as a CharSequence (of the same length).
+	 * 
+	 * @param value
+	 *            the String
+	 * @param chars
+	 *            the characters
+	 * @return true if the characters are the same
+	 */
+	private static boolean equals(final String value, final CharSequence chars) {
+		for( int i = 0; i < value.length(); i++ ) {
+			if( value.charAt(i) != chars.charAt(i) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Gets the number of values that were found in the cache of a column.
+	 * 
+	 * @param columnIndex
+	 *            the index of the column (starting at 0)
+	 * @return the number of cache hits
+	 */
+	public long getHits(final int columnIndex) {
+		return columnIndex < columns.length && columns[columnIndex] != null ? columns[columnIndex].hits : 0L;
+	}
+	
+	/**
+	 * Gets the number of values in a column that had to be created as new Strings (including all of the values read
+	 * after its cache was discarded).
+	 * 
+	 * @param columnIndex
+	 *            the index of the column (starting at 0)
+	 * @return the number of cache misses
+	 */
+	public long getMisses(final int columnIndex) {
+		return columnIndex < columns.length && columns[columnIndex] != null ? columns[columnIndex].misses : 0L;
+	}
+	
+	/**
+	 * Gets the total number of values that were found in the cache of every column.
+	 * 
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		long hits = 0L;
+		for( final Column column : columns ) {
+			hits += column != null ? column.hits : 0L;
+		}
+		return hits;
+	}
+	
+	/**
+	 * Gets the total number of values that had to be created as new Strings in every column.
+	 * 
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		long misses = 0L;
+		for( final Column column : columns ) {
+			misses += column != null ? column.misses : 0L;
+		}
+		return misses;
+	}
+	
+	/**
+	 * Determines whether a column is still being cached (i.e. it hasn't exceeded the maximum cardinality).
+	 * 
+	 * @param columnIndex
+	 *            the index of the column (starting at 0)
+	 * @return true if the column is being cached
+	 */
+	public boolean isCaching(final int columnIndex) {
+		return columnIndex >= columns.length || columns[columnIndex] == null || columns[columnIndex].table != null;
+	}
+	
+}
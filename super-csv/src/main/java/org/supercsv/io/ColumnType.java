@@ -0,0 +1,47 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+/**
+ * The types of column that can be read by a {@link CsvColumnarReader}. Each type is parsed with the same semantics as
+ * the equivalent cell processor, and a <tt>null</tt> column is recorded in the column's null bitmap.
+ * 
+ * @since 2.4.1
+ */
+public enum ColumnType {
+	
+	/** An int column, parsed like <tt>ParseInt</tt>. */
+	INT,
+	
+	/** A long column, parsed like <tt>ParseLong</tt>. */
+	LONG,
+	
+	/** A double column, parsed like <tt>ParseDouble</tt>. */
+	DOUBLE,
+	
+	/**
+	 * A boolean column, parsed like <tt>ParseBool</tt> with its default values (<tt>"true"</tt>, <tt>"t"</tt>,
+	 * <tt>"y"</tt> and <tt>"1"</tt> are true, <tt>"false"</tt>, <tt>"f"</tt>, <tt>"n"</tt> and <tt>"0"</tt> are false,
+	 * ignoring case).
+	 */
+	BOOLEAN,
+	
+	/** A String column, dictionary-encoded (each distinct value is stored once, and each row has its code). */
+	STRING,
+	
+	/** A column that isn't read. */
+	IGNORE;
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+/**
+ * A <tt>CharSequence</tt> view of part of a tokenizer's character buffer. Views are reused by the tokenizer, so they are
+ * only valid until the next row is read.
+ * 
+ * @since 2.4.1
+ */
+final class ColumnView implements CharSequence {
+	
+	private char[] buffer;
+	
+	private int offset;
+	
+	private int length;
+	
+	/**
+	 * Constructs a new <tt>ColumnView</tt>.
+	 * 
+	 * @param buffer
+	 *            the character buffer
+	 * @param offset
+	 *            the start of the view in the buffer
+	 * @param length
+	 *            the length of the view
+	 */
+	ColumnView(final char[] buffer, final int offset, final int length) {
+		set(buffer, offset, length);
+	}
+	
+	/**
+	 * Points the view at a different part of a buffer.
+	 * 
+	 * @param buffer
+	 *            the character buffer
+	 * @param offset
+	 *            the start of the view in the buffer
+	 * @param length
+	 *            the length of the view
+	 * @return the view
+	 */
+	ColumnView set(final char[] buffer, final int offset, final int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+		return this;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public int length() {
+		return length;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public char charAt(final int index) {
+		if( index < 0 || index >= length ) {
+			throw new IndexOutOfBoundsException(String.format("index %d is outside the view of length %d", index,
+				length));
+		}
+		return buffer[offset + index];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public CharSequence subSequence(final int start, final int end) {
+		if( start < 0 || end > length || start > end ) {
+			throw new IndexOutOfBoundsException(String.format("[%d, %d) is outside the view of length %d", start,
+				end, length));
+		}
+		return new ColumnView(buffer, offset + start, end - start);
+	}
+	
+	/**
+	 * Creates a String containing the characters of the view.
+	 * 
+	 * @return the String
+	 */
+	@Override
+	public String toString() {
+		return new String(buffer, offset, length);
+	}
+	
+}
@@ -41,7 +41,7 @@ import org.supercsv.util.MethodCache;
  * @author James Bassett
  * @author Fabian Seifert
  */
-public class CsvBeanReader extends AbstractCsvReader implements ICsvBeanReader {
+public class CsvBeanReader extends AbstractCsvReader implements ICsvBatchBeanReader {
 	
 	// temporary storage of processed columns to be mapped to the bean
 	private final List<Object> processedColumns = new ArrayList<Object>();
@@ -280,4 +280,32 @@ public class CsvBeanReader extends AbstractCsvReader implements ICsvBeanReader {
 		return null; // EOF
 	}
 	
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public <T> int readBatch(final int maxRows, final RowBatch<T> batch, final Class<T> clazz,
+		final String[] nameMapping, final CellProcessor... processors) throws IOException {
+		
+		if( batch == null ) {
+			throw new NullPointerException("batch should not be null");
+		} else if( clazz == null ) {
+			throw new NullPointerException("clazz should not be null");
+		} else if( nameMapping == null ) {
+			throw new NullPointerException("nameMapping should not be null");
+		} else if( processors == null ) {
+			throw new NullPointerException("processors should not be null");
+		}
+		
+		batch.clear(maxRows);
+		while( batch.size() < maxRows ) {
+			// beans aren't reused, as columns that are null or not mapped would leave the previous row's values
+			final T bean = readIntoBean(instantiateBean(clazz), nameMapping, processors);
+			if( bean == null ) {
+				break; // EOF
+			}
+			batch.add(bean, getLineNumber(), getRowNumber());
+		}
+		return batch.size();
+	}
 }
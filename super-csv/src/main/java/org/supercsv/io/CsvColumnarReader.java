@@ -0,0 +1,217 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CharSequenceParser;
+import org.supercsv.util.CsvContext;
+
+/**
+ * CsvColumnarReader reads batches of rows into column vectors (see {@link ColumnBatch}), parsing each column straight
+ * from the tokenizer's buffer according to the batch's schema instead of creating a String and processing it with a
+ * CellProcessor. Numbers are parsed like {@link org.supercsv.cellprocessor.ParseInt ParseInt},
+ * {@link org.supercsv.cellprocessor.ParseLong ParseLong} and {@link org.supercsv.cellprocessor.ParseDouble
+ * ParseDouble}, and booleans like {@link org.supercsv.cellprocessor.ParseBool ParseBool} (ignoring case). Empty
+ * columns are read as <tt>null</tt> (according to the <tt>emptyColumnParsing</tt> preference), and any other value
+ * that can't be parsed is an error.
+ * <p>
+ * Columns are always read as views of the tokenizer's buffer (if the tokenizer supports it), regardless of the
+ * <tt>readColumnViews</tt> preference. Setting a column projection (see {@link #setColumnProjection(int...)}) that
+ * excludes the {@link ColumnType#IGNORE ignored} columns avoids decoding them altogether.
+ * 
+ * @since 2.4.1
+ */
+public class CsvColumnarReader extends AbstractCsvReader implements ICsvColumnarReader {
+	
+	private static final String[] TRUE_VALUES = { "1", "true", "t", "y" };
+	
+	private static final String[] FALSE_VALUES = { "0", "false", "f", "n" };
+	
+	/**
+	 * Constructs a new <tt>CsvColumnarReader</tt> with the supplied Reader and CSV preferences, using a
+	 * {@link BufferedTokenizer}.
+	 * 
+	 * @param reader
+	 *            the reader
+	 * @param preferences
+	 *            the CSV preferences
+	 * @throws NullPointerException
+	 *             if reader or preferences are null
+	 */
+	public CsvColumnarReader(final Reader reader, final CsvPreference preferences) {
+		super(reader, preferences, true);
+	}
+	
+	/**
+	 * Constructs a new <tt>CsvColumnarReader</tt> with the supplied (custom) Tokenizer and CSV preferences. The
+	 * tokenizer should be set up with the Reader (CSV input) and CsvPreference beforehand.
+	 * 
+	 * @param tokenizer
+	 *            the tokenizer
+	 * @param preferences
+	 *            the CSV preferences
+	 * @throws NullPointerException
+	 *             if tokenizer or preferences are null
+	 */
+	public CsvColumnarReader(final ITokenizer tokenizer, final CsvPreference preferences) {
+		super(tokenizer, preferences, true);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public int readBatch(final int maxRows, final ColumnBatch batch) throws IOException {
+		
+		if( batch == null ) {
+			throw new NullPointerException("batch should not be null");
+		}
+		
+		batch.clear(maxRows);
+		while( batch.size() < maxRows && readRow() ) {
+			final List<? extends CharSequence> columns = getColumnViews();
+			if( columns.size() != batch.getColumnCount() ) {
+				throw new SuperCsvException(String.format(
+					"The number of columns to be read (%d) must match the number of columns in the schema (%d)",
+					columns.size(), batch.getColumnCount()), createContext(1));
+			}
+			
+			try {
+				for( int i = 0; i < columns.size(); i++ ) {
+					readColumn(batch, i, columns.get(i));
+				}
+			}
+			catch(SuperCsvException e) {
+				batch.discardRow();
+				throw e;
+			}
+			batch.addRow();
+		}
+		return batch.size();
+	}
+	
+	/**
+	 * Parses a column into the next row of the batch.
+	 * 
+	 * @param batch
+	 *            the batch
+	 * @param column
+	 *            the index of the column
+	 * @param value
+	 *            the value of the column
+	 * @throws SuperCsvException
+	 *             if the value couldn't be parsed
+	 */
+	private void readColumn(final ColumnBatch batch, final int column, final CharSequence value) {
+		final ColumnType type = batch.getType(column);
+		if( type == ColumnType.IGNORE ) {
+			return;
+		} else if( value == null ) {
+			batch.setNull(column);
+			return;
+		}
+		
+		try {
+			switch( type ) {
+				case INT:
+					batch.setInt(column, CharSequenceParser.parseInt(value));
+					break;
+				case LONG:
+					batch.setLong(column, CharSequenceParser.parseLong(value));
+					break;
+				case DOUBLE:
+					batch.setDouble(column, CharSequenceParser.parseDouble(value));
+					break;
+				case BOOLEAN:
+					batch.setBoolean(column, parseBoolean(value, column));
+					break;
+				default:
+					batch.setString(column, value);
+					break;
+			}
+		}
+		catch(final NumberFormatException e) {
+			throw new SuperCsvException(String.format("'%s' could not be parsed as %s", value,
+				type == ColumnType.INT ? "an Integer" : type == ColumnType.LONG ? "a Long" : "a Double"),
+				createContext(column + 1), e);
+		}
+	}
+	
+	/**
+	 * Parses a boolean, ignoring case.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param column
+	 *            the index of the column
+	 * @return the boolean
+	 * @throws SuperCsvException
+	 *             if the value isn't a true or false value
+	 */
+	private boolean parseBoolean(final CharSequence value, final int column) {
+		for( final String trueValue : TRUE_VALUES ) {
+			if( equalsIgnoreCase(trueValue, value) ) {
+				return true;
+			}
+		}
+		for( final String falseValue : FALSE_VALUES ) {
+			if( equalsIgnoreCase(falseValue, value) ) {
+				return false;
+			}
+		}
+		throw new SuperCsvException(String.format("'%s' could not be parsed as a Boolean", value),
+			createContext(column + 1));
+	}
+	
+	/**
+	 * Determines whether a value has the same characters as a (lowercase) String, ignoring case.
+	 * 
+	 * @param expected
+	 *            the lowercase String
+	 * @param value
+	 *            the value
+	 * @return true if they're equal (ignoring case)
+	 */
+	private static boolean equalsIgnoreCase(final String expected, final CharSequence value) {
+		if( expected.length() != value.length() ) {
+			return false;
+		}
+		for( int i = 0; i < expected.length(); i++ ) {
+			if( expected.charAt(i) != Character.toLowerCase(value.charAt(i)) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Creates the context for an exception in the current row.
+	 * 
+	 * @param columnNumber
+	 *            the column number (starting at 1)
+	 * @return the context
+	 */
+	private CsvContext createContext(final int columnNumber) {
+		final CsvContext context = new CsvContext(getLineNumber(), getRowNumber(), columnNumber);
+		context.setRowSource(new ArrayList<Object>(getColumns()));
+		return context;
+	}
+}
@@ -29,7 +29,7 @@ import org.supercsv.prefs.CsvPreference;
  * @author Kasper B. Graversen
  * @author James Bassett
  */
-public class CsvListReader extends AbstractCsvReader implements ICsvListReader {
+public class CsvListReader extends AbstractCsvReader implements ICsvBatchListReader {
 	
 	/**
 	 * Constructs a new <tt>CsvListReader</tt> with the supplied Reader and CSV preferences. Note that the
@@ -93,6 +93,30 @@ public class CsvListReader extends AbstractCsvReader implements ICsvListReader {
 	 * {@inheritDoc}
 	 */
 	public List<Object> executeProcessors(final CellProcessor... processors) {
-		return super.executeProcessors(new ArrayList<Object>(getColumns().size()), processors);
+		return super.executeProcessors(new ArrayList<Object>(length()), processors);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public int readBatch(final int maxRows, final RowBatch<List<Object>> batch, final CellProcessor... processors)
+		throws IOException {
+		
+		if( batch == null ) {
+			throw new NullPointerException("batch should not be null");
+		} else if( processors == null ) {
+			throw new NullPointerException("processors should not be null");
+		}
+		
+		batch.clear(maxRows);
+		while( batch.size() < maxRows && readRow() ) {
+			List<Object> row = batch.getReusableRow(batch.size());
+			if( row == null ) {
+				row = new ArrayList<Object>(length());
+			}
+			super.executeProcessors(row, processors);
+			batch.add(row, getLineNumber(), getRowNumber());
+		}
+		return batch.size();
 	}
 }
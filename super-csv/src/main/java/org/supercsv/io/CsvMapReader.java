@@ -33,7 +33,7 @@ import org.supercsv.util.Util;
  * @author Kasper B. Graversen
  * @author James Bassett
  */
-public class CsvMapReader extends AbstractCsvReader implements ICsvMapReader {
+public class CsvMapReader extends AbstractCsvReader implements ICsvBatchMapReader {
 	
 	/**
 	 * Constructs a new <tt>CsvMapReader</tt> with the supplied Reader and CSV preferences. Note that the
@@ -96,8 +96,7 @@ public class CsvMapReader extends AbstractCsvReader implements ICsvMapReader {
 		
 		if( readRow() ) {
 			// process the columns
-			final List<Object> processedColumns = executeProcessors(new ArrayList<Object>(getColumns().size()),
-				processors);
+			final List<Object> processedColumns = executeProcessors(new ArrayList<Object>(length()), processors);
 			
 			// convert the List to a Map
 			final Map<String, Object> destination = new HashMap<String, Object>(processedColumns.size());
@@ -107,4 +106,32 @@ public class CsvMapReader extends AbstractCsvReader implements ICsvMapReader {
 		
 		return null; // EOF
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public int readBatch(final int maxRows, final RowBatch<Map<String, Object>> batch, final String[] nameMapping,
+		final CellProcessor[] processors) throws IOException {
+		
+		if( batch == null ) {
+			throw new NullPointerException("batch should not be null");
+		} else if( nameMapping == null ) {
+			throw new NullPointerException("nameMapping should not be null");
+		} else if( processors == null ) {
+			throw new NullPointerException("processors should not be null");
+		}
+		
+		batch.clear(maxRows);
+		final List<Object> processedColumns = new ArrayList<Object>();
+		while( batch.size() < maxRows && readRow() ) {
+			executeProcessors(processedColumns, processors);
+			Map<String, Object> row = batch.getReusableRow(batch.size());
+			if( row == null ) {
+				row = new HashMap<String, Object>(processedColumns.size());
+			}
+			Util.filterListToMap(row, nameMapping, processedColumns);
+			batch.add(row, getLineNumber(), getRowNumber());
+		}
+		return batch.size();
+	}
 }
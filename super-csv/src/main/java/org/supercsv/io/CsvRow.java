@@ -0,0 +1,192 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.util.CsvContext;
+import org.supercsv.util.Util;
+
+/**
+ * A row of CSV read by a {@link CsvRowReader}. The row holds the tokenized columns (usually as views of the tokenizer's
+ * buffer), and each column is only converted to a String and executed through its cell processor the first time it's
+ * accessed with {@link #get(int)}. The result is kept for the lifetime of the row, so each processor is executed at most
+ * once per column.
+ * <p>
+ * The row is only available until its reader reads the next row - after that, accessing a column that hasn't been
+ * accessed before throws an <tt>IllegalStateException</tt> (use {@link #toList()} to keep the whole row). The
+ * <tt>CsvContext</tt> passed to the cell processors doesn't contain the row source, but the context of any exception
+ * thrown while processing does.
+ * 
+ * @since 2.4.1
+ */
+public final class CsvRow {
+	
+	private final AbstractCsvReader reader;
+	
+	private final List<? extends CharSequence> columns;
+	
+	private final CellProcessor[] processors;
+	
+	private final int lineNumber;
+	
+	private final int rowNumber;
+	
+	// the processed columns, and whether each column has been processed
+	private final Object[] values;
+	
+	private final boolean[] processed;
+	
+	/**
+	 * Constructs a new <tt>CsvRow</tt>.
+	 * 
+	 * @param reader
+	 *            the reader that read the row
+	 * @param columns
+	 *            the tokenized columns (only valid until the reader reads the next row)
+	 * @param processors
+	 *            the cell processors (one per column), or null if the columns shouldn't be processed
+	 * @param lineNumber
+	 *            the line number of the row
+	 * @param rowNumber
+	 *            the row number of the row
+	 */
+	CsvRow(final AbstractCsvReader reader, final List<? extends CharSequence> columns,
+		final CellProcessor[] processors, final int lineNumber, final int rowNumber) {
+		this.reader = reader;
+		this.columns = columns;
+		this.processors = processors;
+		this.lineNumber = lineNumber;
+		this.rowNumber = rowNumber;
+		this.values = new Object[columns.size()];
+		this.processed = new boolean[columns.size()];
+	}
+	
+	/**
+	 * Gets the processed value of a column, processing it if it hasn't been accessed before.
+	 * 
+	 * @param index
+	 *            the index of the column (starting at 0)
+	 * @return the processed value of the column
+	 * @throws IndexOutOfBoundsException
+	 *             if there's no column with the supplied index
+	 * @throws IllegalStateException
+	 *             if the column hasn't been accessed before, and the reader has since read another row
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a CellProcessor constraint failed
+	 * @throws SuperCsvException
+	 *             if CellProcessor execution failed
+	 */
+	public Object get(final int index) {
+		if( index < 0 || index >= values.length ) {
+			throw new IndexOutOfBoundsException(String.format("index %d is out of range for a row of %d columns",
+				index, values.length));
+		}
+		
+		if( !processed[index] ) {
+			values[index] = process(index);
+			processed[index] = true;
+		}
+		return values[index];
+	}
+	
+	/**
+	 * Processes a column.
+	 * 
+	 * @param index
+	 *            the index of the column
+	 * @return the processed value of the column
+	 */
+	private Object process(final int index) {
+		if( reader.getRowNumber() != rowNumber ) {
+			throw new IllegalStateException(String.format(
+				"column %d of row %d can't be processed, as the reader has since read row %d", index + 1, rowNumber,
+				reader.getRowNumber()));
+		}
+		
+		final CharSequence column = columns.get(index);
+		final CellProcessor processor = processors != null ? processors[index] : null;
+		if( processor == null ) {
+			return column != null ? column.toString() : null; // no processing required
+		}
+		
+		try {
+			return processor.execute(Util.toProcessorInput(column, processor), new CsvContext(lineNumber, rowNumber,
+				index + 1));
+		}
+		catch(SuperCsvException e) {
+			if( e.getCsvContext() != null ) {
+				final List<Object> rowSource = new ArrayList<Object>(columns.size());
+				for( final CharSequence sourceColumn : columns ) {
+					rowSource.add(sourceColumn != null ? sourceColumn.toString() : null);
+				}
+				e.getCsvContext().setRowSource(rowSource);
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * Processes every column that hasn't been accessed before, and returns the processed columns.
+	 * 
+	 * @return a List of the processed columns
+	 * @throws IllegalStateException
+	 *             if a column hasn't been accessed before, and the reader has since read another row
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a CellProcessor constraint failed
+	 * @throws SuperCsvException
+	 *             if CellProcessor execution failed
+	 */
+	public List<Object> toList() {
+		final List<Object> list = new ArrayList<Object>(values.length);
+		for( int i = 0; i < values.length; i++ ) {
+			list.add(get(i));
+		}
+		return list;
+	}
+	
+	/**
+	 * Gets the number of columns in the row.
+	 * 
+	 * @return the number of columns
+	 */
+	public int size() {
+		return values.length;
+	}
+	
+	/**
+	 * Gets the line number of the row (the line number of the last line if the row spans multiple lines).
+	 * 
+	 * @return the line number
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+	
+	/**
+	 * Gets the row number of the row.
+	 * 
+	 * @return the row number
+	 */
+	public int getRowNumber() {
+		return rowNumber;
+	}
+	
+}
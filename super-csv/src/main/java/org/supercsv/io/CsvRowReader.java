@@ -0,0 +1,104 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
+
+/**
+ * CsvRowReader reads each row of a CSV file into a {@link CsvRow}, which only decodes and processes a column when it's
+ * first accessed. This is useful when most rows are discarded after looking at a few of their columns. Columns are
+ * always read as views of the tokenizer's buffer (if the tokenizer supports it), regardless of the
+ * <tt>readColumnViews</tt> preference.
+ * 
+ * @since 2.4.1
+ */
+public class CsvRowReader extends AbstractCsvReader implements ICsvRowReader {
+	
+	/**
+	 * Constructs a new <tt>CsvRowReader</tt> with the supplied Reader and CSV preferences, using a
+	 * {@link BufferedTokenizer}.
+	 * 
+	 * @param reader
+	 *            the reader
+	 * @param preferences
+	 *            the CSV preferences
+	 * @throws NullPointerException
+	 *             if reader or preferences are null
+	 */
+	public CsvRowReader(final Reader reader, final CsvPreference preferences) {
+		super(reader, preferences, true);
+	}
+	
+	/**
+	 * Constructs a new <tt>CsvRowReader</tt> with the supplied (custom) Tokenizer and CSV preferences. The tokenizer
+	 * should be set up with the Reader (CSV input) and CsvPreference beforehand.
+	 * 
+	 * @param tokenizer
+	 *            the tokenizer
+	 * @param preferences
+	 *            the CSV preferences
+	 * @throws NullPointerException
+	 *             if tokenizer or preferences are null
+	 */
+	public CsvRowReader(final ITokenizer tokenizer, final CsvPreference preferences) {
+		super(tokenizer, preferences, true);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public CsvRow read() throws IOException {
+		
+		if( readRow() ) {
+			return new CsvRow(this, getColumnViews(), null, getLineNumber(), getRowNumber());
+		}
+		
+		return null; // EOF
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public CsvRow read(final CellProcessor... processors) throws IOException {
+		
+		if( processors == null ) {
+			throw new NullPointerException("processors should not be null");
+		}
+		
+		if( readRow() ) {
+			final List<? extends CharSequence> columns = getColumnViews();
+			if( columns.size() != processors.length ) {
+				final CsvContext context = new CsvContext(getLineNumber(), getRowNumber(), 1);
+				context.setRowSource(new ArrayList<Object>(getColumns()));
+				throw new SuperCsvException(String.format(
+					"The number of columns to be processed (%d) must match the number of CellProcessors (%d): check that the number"
+						+ " of CellProcessors you have defined matches the expected number of columns being read/written",
+					columns.size(), processors.length), context);
+			}
+			return new CsvRow(this, columns, getProjectedProcessors(processors), getLineNumber(), getRowNumber());
+		}
+		
+		return null; // EOF
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+/**
+ * A tokenizer that can skip over the columns that aren't needed without creating their values. Readers push their
+ * column projection down to the tokenizer when it supports it (see
+ * {@link ICsvColumnProjectionReader#setColumnProjection(int...)}).
+ * 
+ * @since 2.4.1
+ */
+public interface IColumnProjectionTokenizer extends ITokenizer {
+	
+	/**
+	 * Sets the columns to read. The columns that aren't included in the projection are still tokenized (so that the
+	 * row can be split correctly), but are added to the List of columns as <tt>null</tt>.
+	 * 
+	 * @param projection
+	 *            an array where element i is true if the column with index i (column number i + 1) should be read
+	 *            (columns beyond the end of the array aren't read), or null to read every column
+	 */
+	void setColumnProjection(boolean[] projection);
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * A tokenizer that can also read each column of a row as a <tt>CharSequence</tt> view of its character buffer, rather
+ * than creating a String for every column. Readers use these views when the <tt>readColumnViews</tt> preference is
+ * enabled (see {@link org.supercsv.prefs.CsvPreference.Builder#readColumnViews(boolean)}).
+ * 
+ * @since 2.4.1
+ */
+public interface IColumnViewTokenizer extends ITokenizer {
+	
+	/**
+	 * Reads a CSV row into the supplied List of columns, in the same way as {@link #readColumns(List)}. Columns that
+	 * don't need to be unescaped are added as views of the tokenizer's buffer, which are only valid until the next row
+	 * is read (calling <tt>toString()</tt> on a view creates a String that is always valid). Columns containing quotes
+	 * are added as Strings.
+	 * 
+	 * @param columns
+	 *            the List of columns to read into
+	 * @return true if something was read, or false if EOF
+	 * @throws IOException
+	 *             when an IOException occurs
+	 * @throws NullPointerException
+	 *             if columns is null
+	 * @throws SuperCsvException
+	 *             on errors in parsing the input
+	 */
+	boolean readColumnViews(List<CharSequence> columns) throws IOException;
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.exception.SuperCsvReflectionException;
+
+/**
+ * A bean reader that can read several rows at a time into a reusable {@link RowBatch}.
+ * 
+ * @since 2.4.1
+ */
+public interface ICsvBatchBeanReader extends ICsvBeanReader {
+	
+	/**
+	 * Reads up to <tt>maxRows</tt> rows of a CSV file into a reusable batch of beans, mapping and processing each row
+	 * as with {@link #read(Class, String[], CellProcessor...)}. A new bean is instantiated for every row (unlike the
+	 * Lists and Maps of the other readers, beans aren't reused, as a column that is null or not mapped would leave the
+	 * value from the previous row in the bean). If an exception is thrown, the batch contains the rows read before the
+	 * row that failed.
+	 * 
+	 * @param maxRows
+	 *            the maximum number of rows to read (no greater than the capacity of the batch)
+	 * @param batch
+	 *            the batch to read the beans into
+	 * @param clazz
+	 *            the type of bean to instantiate for each row
+	 * @param nameMapping
+	 *            an array of Strings linking the CSV columns to their corresponding field in the bean (the array length
+	 *            should match the number of columns). A <tt>null</tt> entry in the array indicates that the column
+	 *            should be ignored (the field in the bean will be null - or its default value).
+	 * @param processors
+	 *            an array of CellProcessors used to further process data before it is populated on each bean (each
+	 *            element in the processors array corresponds with a CSV column - the number of processors should match
+	 *            the number of columns). A <tt>null</tt> entry indicates no further processing is required (the
+	 *            unprocessed String value will be set on the bean's field).
+	 * @param <T>
+	 *            the bean type
+	 * @return the number of rows read (0 if EOF)
+	 * @throws IOException
+	 *             if an I/O error occurred
+	 * @throws IllegalArgumentException
+	 *             if maxRows is less than 1, or greater than the capacity of the batch
+	 * @throws NullPointerException
+	 *             if batch, clazz, nameMapping or processors is null
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a CellProcessor constraint failed
+	 * @throws SuperCsvException
+	 *             if there was a general exception while reading/processing
+	 * @throws SuperCsvReflectionException
+	 *             if there was an reflection exception while mapping the values to the bean
+	 * @since 2.4.1
+	 */
+	<T> int readBatch(int maxRows, RowBatch<T> batch, Class<T> clazz, String[] nameMapping,
+		CellProcessor... processors) throws IOException;
+	
+}
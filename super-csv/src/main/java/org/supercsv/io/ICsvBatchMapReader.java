@@ -0,0 +1,66 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * A map reader that can read several rows at a time into a reusable {@link RowBatch}.
+ * 
+ * @since 2.4.1
+ */
+public interface ICsvBatchMapReader extends ICsvMapReader {
+	
+	/**
+	 * Reads up to <tt>maxRows</tt> rows of a CSV file into a reusable batch, mapping and processing each row as with
+	 * {@link #read(String[], CellProcessor[])}. The Map of each row in the batch is reused by the next batch read into
+	 * it. If an exception is thrown, the batch contains the rows read before the row that failed.
+	 * 
+	 * @param maxRows
+	 *            the maximum number of rows to read (no greater than the capacity of the batch)
+	 * @param batch
+	 *            the batch to read the rows into
+	 * @param nameMapping
+	 *            an array of Strings linking the CSV columns to their corresponding entry in the Map (the array length
+	 *            should match the number of columns). A <tt>null</tt> entry in the array indicates that the column
+	 *            should be ignored (e.g. not added to the Map).
+	 * @param processors
+	 *            an array of CellProcessors used to further process data before it is added to each Map (each element
+	 *            in the processors array corresponds with a CSV column - the number of processors should match the
+	 *            number of columns). A <tt>null</tt> entry indicates no further processing is required (the
+	 *            unprocessed String value will be added to the Map).
+	 * @return the number of rows read (0 if EOF)
+	 * @throws IOException
+	 *             if an I/O error occurred
+	 * @throws IllegalArgumentException
+	 *             if maxRows is less than 1, or greater than the capacity of the batch
+	 * @throws NullPointerException
+	 *             if batch, nameMapping or processors is null
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a CellProcessor constraint failed
+	 * @throws SuperCsvException
+	 *             if there was a general exception while reading/processing
+	 * @since 2.4.1
+	 */
+	int readBatch(int maxRows, RowBatch<Map<String, Object>> batch, String[] nameMapping, CellProcessor[] processors)
+		throws IOException;
+	
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+/**
+ * A CSV reader that can be told to read only some of the columns of each row.
+ * 
+ * @since 2.4.1
+ */
+public interface ICsvColumnProjectionReader extends ICsvReader {
+	
+	/**
+	 * Sets the columns that should be read from each subsequent row (typically called after reading the header). The
+	 * other columns are read as <tt>null</tt>, and the cell processors for them are never executed. When the tokenizer
+	 * supports it (see {@link IColumnProjectionTokenizer}), it skips over the other columns without creating their
+	 * values.
+	 * 
+	 * @param columnNumbers
+	 *            the numbers of the columns to read (column numbers begin at 1), or null to read every column
+	 * @throws IllegalArgumentException
+	 *             if a column number is less than 1
+	 * @since 2.4.1
+	 */
+	void setColumnProjection(int... columnNumbers);
+	
+	/**
+	 * Sets the columns that should be read from each subsequent row, using the names in the header (see
+	 * {@link #setColumnProjection(int...)}).
+	 * 
+	 * @param header
+	 *            the header
+	 * @param columnNames
+	 *            the names of the columns to read
+	 * @throws NullPointerException
+	 *             if header or columnNames is null
+	 * @throws IllegalArgumentException
+	 *             if a column name isn't in the header
+	 * @since 2.4.1
+	 */
+	void setColumnProjection(String[] header, String... columnNames);
+	
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * Interface for readers that read batches of rows into column vectors (see {@link ColumnBatch}).
+ * 
+ * @since 2.4.1
+ */
+public interface ICsvColumnarReader extends ICsvReader {
+	
+	/**
+	 * Reads up to <tt>maxRows</tt> rows of a CSV file into a batch, parsing each column according to the batch's
+	 * schema. The previous contents of the batch (including its dictionaries) are replaced.
+	 * 
+	 * @param maxRows
+	 *            the maximum number of rows to read
+	 * @param batch
+	 *            the batch to read into
+	 * @return the number of rows read (0 if EOF)
+	 * @throws IOException
+	 *             if an I/O error occurred
+	 * @throws NullPointerException
+	 *             if batch is null
+	 * @throws IllegalArgumentException
+	 *             if maxRows is less than 1, or greater than the capacity of the batch
+	 * @throws SuperCsvException
+	 *             if a row doesn't have the same number of columns as the schema, a column couldn't be parsed, or there
+	 *             was a general exception while reading
+	 */
+	int readBatch(int maxRows, ColumnBatch batch) throws IOException;
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * Interface for readers that read into lazily processed rows (see {@link CsvRow}).
+ * 
+ * @since 2.4.1
+ */
+public interface ICsvRowReader extends ICsvReader {
+	
+	/**
+	 * Reads a row of a CSV file without processing it. Each column is converted to a String the first time it's
+	 * accessed.
+	 * 
+	 * @return the row, or null if EOF
+	 * @throws IOException
+	 *             if an I/O error occurred
+	 * @throws SuperCsvException
+	 *             if there was a general exception while reading
+	 */
+	CsvRow read() throws IOException;
+	
+	/**
+	 * Reads a row of a CSV file. Each column is only processed by its cell processor the first time it's accessed, so
+	 * the processors array shouldn't be modified while the row is in use.
+	 * 
+	 * @param processors
+	 *            an array of CellProcessors used to process each column when it's accessed (each element in the
+	 *            processors array corresponds with a CSV column - the number of processors should match the number of
+	 *            columns). A <tt>null</tt> entry indicates no further processing is required (the unprocessed String
+	 *            value will be returned).
+	 * @return the row, or null if EOF
+	 * @throws IOException
+	 *             if an I/O error occurred
+	 * @throws NullPointerException
+	 *             if processors is null
+	 * @throws SuperCsvException
+	 *             if the wrong number of processors are supplied, or there was a general exception while reading
+	 */
+	CsvRow read(CellProcessor... processors) throws IOException;
+}
@@ -0,0 +1,1036 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+
+import org.supercsv.comment.CommentMatcher;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * A Tokenizer that reads a UTF-8 (or ASCII) encoded file by memory-mapping it in windows, and finds the delimiters,
+ * quotes and line terminators on the raw bytes. This is possible because all of the characters that have a meaning in
+ * CSV (the quote, quote escape and delimiter characters, spaces and line terminators) are ASCII, and in UTF-8 ASCII
+ * bytes never appear within multi-byte characters. The file is never decoded as a whole: each column's bytes are only
+ * decoded when the column is added to the List of columns (and the untokenized row only when it's requested).
+ * <p>
+ * It produces exactly the same columns, line numbers and untokenized rows as the default {@link Tokenizer} reading
+ * the same file with a UTF-8 <tt>Reader</tt>, and can be used with any of the readers, e.g.
+ * {@code new CsvListReader(new MappedFileTokenizer(file, preferences), preferences)}. Valid UTF-8 is decoded directly;
+ * a column containing malformed UTF-8 is decoded by a UTF-8 <tt>CharsetDecoder</tt> instead, which replaces malformed
+ * sequences with the Unicode replacement character (U+FFFD) exactly as an <tt>InputStreamReader</tt> does. The bytes
+ * either side of a quote (or quote escape) that is removed from a column are decoded separately, so they can't be
+ * joined into a character that isn't in the file.
+ * </p>
+ * <p>
+ * The window always holds the whole of the current row, so it will grow if a row is larger than the window.
+ * </p>
+ * 
+ * @since 2.4.1
+ */
+public class MappedFileTokenizer implements IColumnProjectionTokenizer {
+	
+	/** the default size of each mapped window of the file */
+	public static final int DEFAULT_WINDOW_SIZE = 32 * 1024 * 1024;
+	
+	private static final byte NEWLINE = '\n';
+	
+	private static final byte CARRIAGE_RETURN = '\r';
+	
+	private static final byte SPACE = ' ';
+	
+	/* the largest character that can be a quote, quote escape or delimiter character */
+	private static final int MAX_ASCII = 0x7F;
+	
+	/* returned by the scanning methods when the end of the file is reached */
+	private static final int EOF = -1;
+	
+	private final FileChannel channel;
+	
+	/* the offset in the file where reading stops */
+	private final long end;
+	
+	private final CsvPreference preferences;
+	
+	private final byte quoteChar;
+	
+	private final byte delimiterChar;
+	
+	private final byte quoteEscapeChar;
+	
+	private final boolean surroundingSpacesNeedQuotes;
+	
+	private final boolean ignoreEmptyLines;
+	
+	private final CommentMatcher commentMatcher;
+	
+	private final int maxLinesPerRow;
+	
+	private final EmptyColumnParsing emptyColumnParsing;
+	
+	private int windowSize;
+	
+	/* the mapped window of the file */
+	private ByteBuffer window;
+	
+	/* the offset in the file of the start of the window */
+	private long windowOffset = 0L;
+	
+	/* the position of the next byte to read from the window */
+	private int position = 0;
+	
+	/* the number of valid bytes in the window */
+	private int limit = 0;
+	
+	/* the start of the current row in the window */
+	private int rowStart = 0;
+	
+	/* the end of the current row (excluding the line terminator) in the window, or -1 if it's still being read */
+	private int rowEnd = 0;
+	
+	/* the start of the current column in the window */
+	private int columnStart = 0;
+	
+	private int lineNumber = 0;
+	
+	/* the unescaped bytes of the current quoted column */
+	private ByteBuffer currentColumn = ByteBuffer.allocate(256);
+	
+	/* the positions in currentColumn where a quote or escape byte was removed (each segment is decoded separately) */
+	private int[] segmentEnds = new int[16];
+	
+	/* the number of segmentEnds */
+	private int segmentCount = 0;
+	
+	/* reusable buffer for decoding bytes into characters */
+	private char[] decoded = new char[256];
+	
+	/* the decoder used for columns containing malformed UTF-8 (created on demand) */
+	private CharsetDecoder decoder;
+	
+	/* the raw, untokenized CSV row (created on demand) */
+	private String untokenizedRow;
+	
+	/* the columns to read (null to read every column) */
+	private boolean[] projection;
+	
+	/* the cache used to deduplicate column Strings (null if disabled) */
+	private final ColumnStringCache stringCache;
+	
+	/**
+	 * Enumeration of tokenizer states. QUOTE_MODE is activated between quotes.
+	 */
+	private enum TokenizerState {
+		NORMAL, QUOTE_MODE;
+	}
+	
+	/**
+	 * Constructs a new <tt>MappedFileTokenizer</tt> that reads the supplied file, using the default window size.
+	 * 
+	 * @param file
+	 *            the file to read
+	 * @param preferences
+	 *            the CSV preferences
+	 * @throws IOException
+	 *             if the file can't be opened
+	 * @throws NullPointerException
+	 *             if file or preferences is null
+	 * @throws IllegalArgumentException
+	 *             if the quote, quote escape or delimiter character isn't ASCII
+	 */
+	public MappedFileTokenizer(final File file, final CsvPreference preferences) throws IOException {
+		this(openChannel(file, preferences), preferences, DEFAULT_WINDOW_SIZE);
+	}
+	
+	/**
+	 * Constructs a new <tt>MappedFileTokenizer</tt> that reads the supplied channel (from its current position to the
+	 * end of the file). The channel is closed when the tokenizer is closed.
+	 * 
+	 * @param channel
+	 *            the file channel to read
+	 * @param preferences
+	 *            the CSV preferences
+	 * @param windowSize
+	 *            the size of each mapped window of the file (it will grow if a row doesn't fit)
+	 * @throws IOException
+	 *             if the channel's position or size can't be determined
+	 * @throws NullPointerException
+	 *             if channel or preferences is null
+	 * @throws IllegalArgumentException
+	 *             if windowSize &lt; 1, or the quote, quote escape or delimiter character isn't ASCII
+	 */
+	public MappedFileTokenizer(final FileChannel channel, final CsvPreference preferences, final int windowSize)
+		throws IOException {
+		this(channel, preferences, windowSize, position(channel), channel.size(), 0);
+	}
+	
+	/**
+	 * Constructs a new <tt>MappedFileTokenizer</tt> that reads a range of the supplied channel. The start of the range
+	 * must be the start of a line that is not within a quoted column.
+	 * 
+	 * @param channel
+	 *            the file channel to read
+	 * @param preferences
+	 *            the CSV preferences
+	 * @param windowSize
+	 *            the size of each mapped window of the file (it will grow if a row doesn't fit)
+	 * @param start
+	 *            the offset in the file to start reading from
+	 * @param end
+	 *            the offset in the file to stop reading at
+	 * @param lineNumber
+	 *            the number of lines in the file before the start offset
+	 * @throws NullPointerException
+	 *             if channel or preferences is null
+	 * @throws IllegalArgumentException
+	 *             if windowSize &lt; 1, or the quote, quote escape or delimiter character isn't ASCII
+	 */
+	MappedFileTokenizer(final FileChannel channel, final CsvPreference preferences, final int windowSize,
+		final long start, final long end, final int lineNumber) {
+		if( channel == null ) {
+			throw new NullPointerException("channel should not be null");
+		} else if( windowSize < 1 ) {
+			throw new IllegalArgumentException(String.format("windowSize should be > 0 but was %d", windowSize));
+		}
+		checkPreferences(preferences);
+		
+		this.channel = channel;
+		this.end = end;
+		this.windowOffset = start;
+		this.lineNumber = lineNumber;
+		this.windowSize = windowSize;
+		this.window = ByteBuffer.allocate(0);
+		this.preferences = preferences;
+		this.quoteChar = (byte) preferences.getQuoteChar();
+		this.delimiterChar = (byte) preferences.getDelimiterChar();
+		this.quoteEscapeChar = (byte) preferences.getQuoteEscapeChar();
+		this.surroundingSpacesNeedQuotes = preferences.isSurroundingSpacesNeedQuotes();
+		this.ignoreEmptyLines = preferences.isIgnoreEmptyLines();
+		this.commentMatcher = preferences.getCommentMatcher();
+		this.maxLinesPerRow = preferences.getMaxLinesPerRow();
+		this.emptyColumnParsing = preferences.getEmptyColumnParsing();
+		this.stringCache = preferences.getDeduplicateStrings() > 0 ? new ColumnStringCache(
+			preferences.getDeduplicateStrings()) : null;
+	}
+	
+	/**
+	 * Opens a read-only channel for the file, after checking the preferences (so the channel isn't left open if they're
+	 * invalid).
+	 * 
+	 * @param file
+	 *            the file
+	 * @param preferences
+	 *            the CSV preferences
+	 * @return the channel
+	 * @throws IOException
+	 *             if the file can't be opened
+	 * @throws NullPointerException
+	 *             if file or preferences is null
+	 * @throws IllegalArgumentException
+	 *             if the quote, quote escape or delimiter character isn't ASCII
+	 */
+	private static FileChannel openChannel(final File file, final CsvPreference preferences) throws IOException {
+		if( file == null ) {
+			throw new NullPointerException("file should not be null");
+		}
+		checkPreferences(preferences);
+		return new FileInputStream(file).getChannel();
+	}
+	
+	/**
+	 * Gets the position of a channel, checking that it's not null.
+	 * 
+	 * @param channel
+	 *            the channel
+	 * @return the position
+	 * @throws IOException
+	 *             if the position can't be determined
+	 * @throws NullPointerException
+	 *             if channel is null
+	 */
+	private static long position(final FileChannel channel) throws IOException {
+		if( channel == null ) {
+			throw new NullPointerException("channel should not be null");
+		}
+		return channel.position();
+	}
+	
+	/**
+	 * Checks that the preferences are not null, and that the characters with special meaning in CSV are ASCII.
+	 * 
+	 * @param preferences
+	 *            the CSV preferences
+	 * @throws NullPointerException
+	 *             if preferences is null
+	 * @throws IllegalArgumentException
+	 *             if the quote, quote escape or delimiter character isn't ASCII
+	 */
+	private static void checkPreferences(final CsvPreference preferences) {
+		if( preferences == null ) {
+			throw new NullPointerException("preferences should not be null");
+		}
+		checkAscii("quoteChar", preferences.getQuoteChar());
+		checkAscii("quoteEscapeChar", preferences.getQuoteEscapeChar());
+		checkAscii("delimiterChar", preferences.getDelimiterChar());
+	}
+	
+	/**
+	 * Checks that a character with special meaning in CSV is ASCII (so that it can be found on the raw bytes).
+	 * 
+	 * @param name
+	 *            the name of the preference
+	 * @param c
+	 *            the character
+	 * @throws IllegalArgumentException
+	 *             if the character isn't ASCII
+	 */
+	private static void checkAscii(final String name, final int c) {
+		if( c > MAX_ASCII ) {
+			throw new IllegalArgumentException(String.format("%s must be an ASCII character but was %c", name, c));
+		}
+	}
+	
+	/**
+	 * Closes the underlying file channel.
+	 */
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getUntokenizedRow() {
+		if( untokenizedRow == null ) {
+			untokenizedRow = createUntokenizedRow(rowStart, rowEnd >= 0 ? rowEnd : position);
+		}
+		return untokenizedRow;
+	}
+	
+	/**
+	 * Gets the CSV preferences.
+	 * 
+	 * @return the preferences
+	 */
+	protected CsvPreference getPreferences() {
+		return preferences;
+	}
+	
+	/**
+	 * Gets the offset in the file of the next byte to be read (i.e. the start of the next line after a row has been
+	 * read).
+	 * 
+	 * @return the offset in the file
+	 */
+	long getOffset() {
+		return windowOffset + position;
+	}
+	
+	/**
+	 * Gets the cache used to deduplicate the Strings read from each column.
+	 * 
+	 * @return the cache, or null if the <tt>deduplicateStrings</tt> preference isn't enabled
+	 * @since 2.4.1
+	 */
+	public ColumnStringCache getStringCache() {
+		return stringCache;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setColumnProjection(final boolean[] projection) {
+		this.projection = ColumnProjection.copy(projection);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean readColumns(final List<String> columns) throws IOException {
+		
+		if( columns == null ) {
+			throw new NullPointerException("columns should not be null");
+		}
+		
+		// clear the reusable List and the previous row
+		columns.clear();
+		untokenizedRow = null;
+		
+		// move to the start of the next row (ignoring empty lines/comments if necessary)
+		if( !skipToRow() ) {
+			rowEnd = rowStart;
+			return false; // EOF
+		}
+		rowEnd = -1;
+		
+		while( true ) {
+			columnStart = position;
+			
+			// scan the column in a single pass, hoping it's unquoted
+			final int b = scanUnquoted();
+			
+			if( b == quoteChar ) {
+				// the column contains a quote, so go back and unescape it byte by byte
+				position = columnStart;
+				if( readQuotedColumn(columns) ) {
+					return true;
+				}
+			} else {
+				addColumn(columns, columnStart, position);
+				if( b != delimiterChar ) {
+					endRow();
+					return true;
+				}
+				position++; // skip the delimiter
+			}
+		}
+	}
+	
+	/**
+	 * Moves to the start of the next row, skipping empty lines (if ignoreEmptyLines is enabled) and comments (if a
+	 * comment matcher is configured), and increments the line number.
+	 * 
+	 * @return true if a row was found, or false if EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean skipToRow() throws IOException {
+		while( true ) {
+			rowStart = position;
+			final int b = peek();
+			if( b == EOF ) {
+				return false;
+			}
+			
+			final boolean emptyLine = b == NEWLINE || b == CARRIAGE_RETURN;
+			if( ignoreEmptyLines && emptyLine ) {
+				lineNumber++;
+				skipLineTerminator();
+				
+			} else if( commentMatcher != null && isComment() ) {
+				lineNumber++;
+				skipLineTerminator();
+				
+			} else {
+				lineNumber++;
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * Determines whether the line at the current position is a comment. If it is, the position is moved to the end of
+	 * the line, otherwise the position is unchanged.
+	 * 
+	 * @return true if the line is a comment
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean isComment() throws IOException {
+		int b;
+		while( (b = peek()) != EOF && b != NEWLINE && b != CARRIAGE_RETURN ) {
+			position++;
+		}
+		
+		// the line starts at the start of the row (even if the window was moved while scanning)
+		if( commentMatcher.isComment(decode(window, rowStart, position)) ) {
+			return true;
+		}
+		position = rowStart;
+		return false;
+	}
+	
+	/**
+	 * Scans from the current position until a delimiter, quote, line terminator or the end of the file is reached.
+	 * 
+	 * @return the byte the scan stopped at, or EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private int scanUnquoted() throws IOException {
+		while( true ) {
+			final ByteBuffer buf = window;
+			final int end = limit;
+			int pos = position;
+			while( pos < end ) {
+				final byte b = buf.get(pos);
+				if( b == delimiterChar || b == quoteChar || b == NEWLINE || b == CARRIAGE_RETURN ) {
+					position = pos;
+					return b;
+				}
+				pos++;
+			}
+			position = pos;
+			if( !fill() ) {
+				return EOF;
+			}
+		}
+	}
+	
+	/**
+	 * Reads a column containing quotes (starting at the current position) using the same rules as the default
+	 * {@link Tokenizer}, and adds it to the List of columns.
+	 * 
+	 * @param columns
+	 *            the List of columns to add to
+	 * @return true if the end of the row was reached, or false if the column was ended by a delimiter
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean readQuotedColumn(final List<String> columns) throws IOException {
+		
+		currentColumn.clear();
+		segmentCount = 0;
+		final boolean projected = ColumnProjection.isProjected(projection, columns.size()); // otherwise it isn't built
+		
+		TokenizerState state = TokenizerState.NORMAL;
+		int quoteScopeStartingLine = -1; // the line number where a potential multi-line cell starts
+		int potentialSpaces = 0; // keep track of spaces (so leading/trailing space can be removed if required)
+		while( true ) {
+			final int next = peek();
+			final boolean endOfLineReached = next == EOF || next == NEWLINE || next == CARRIAGE_RETURN;
+			
+			if( endOfLineReached ) {
+				if( TokenizerState.NORMAL.equals(state) ) {
+					if( projected && !surroundingSpacesNeedQuotes ) {
+						appendSpaces(potentialSpaces);
+					}
+					addCurrentColumn(columns);
+					endRow();
+					return true;
+				}
+				
+				/*
+				 * Newline. Doesn't count as newline while in QUOTESCOPE. Add the newline char, then continue on the next
+				 * line.
+				 */
+				if( projected ) {
+					append(NEWLINE);
+				}
+				rowEnd = position; // in case the row can't be completed
+				
+				if( maxLinesPerRow > 0 && lineNumber - quoteScopeStartingLine + 1 >= maxLinesPerRow ) {
+					untokenizedRow = createUntokenizedRow(rowStart, rowEnd) + '\n';
+					String msg = maxLinesPerRow == 1 ? String.format(
+						"unexpected end of line while reading quoted column on line %d", lineNumber) : String.format(
+						"max number of lines to read exceeded while reading quoted column"
+							+ " beginning on line %d and ending on line %d", quoteScopeStartingLine, lineNumber);
+					if( next != EOF ) {
+						skipLineTerminator(); // so the next row starts on the next line, like the Tokenizer
+					}
+					throw new SuperCsvException(msg);
+				}
+				
+				if( next != EOF ) {
+					skipLineTerminator();
+				}
+				if( peek() == EOF ) {
+					untokenizedRow = createUntokenizedRow(rowStart, rowEnd) + '\n';
+					throw new SuperCsvException(String.format(
+						"unexpected end of file while reading quoted column beginning on line %d and ending on line %d",
+						quoteScopeStartingLine, lineNumber));
+				}
+				rowEnd = -1;
+				lineNumber++;
+				continue;
+			}
+			
+			final byte b = (byte) next;
+			
+			if( TokenizerState.NORMAL.equals(state) ) {
+				
+				if( b == delimiterChar ) {
+					/*
+					 * Delimiter. Save the column (trim trailing space if required) then continue to the next column.
+					 */
+					if( projected && !surroundingSpacesNeedQuotes ) {
+						appendSpaces(potentialSpaces);
+					}
+					addCurrentColumn(columns);
+					position++;
+					return false;
+					
+				} else if( b == SPACE ) {
+					potentialSpaces++;
+					
+				} else if( b == quoteChar ) {
+					state = TokenizerState.QUOTE_MODE;
+					quoteScopeStartingLine = lineNumber;
+					
+					// cater for spaces before a quoted section (be lenient!)
+					if( projected && (!surroundingSpacesNeedQuotes || currentColumn.position() > 0) ) {
+						appendSpaces(potentialSpaces);
+					}
+					potentialSpaces = 0;
+					endSegment();
+					
+				} else {
+					if( projected ) {
+						if( !surroundingSpacesNeedQuotes || currentColumn.position() > 0 ) {
+							appendSpaces(potentialSpaces);
+						}
+						append(b);
+					}
+					potentialSpaces = 0;
+				}
+				
+			} else {
+				
+				if( b == quoteEscapeChar ) {
+					position++;
+					final int following = peek();
+					
+					if( following == quoteChar ) {
+						// an escaped quote (e.g. "" or \")
+						endSegment();
+						if( projected ) {
+							append(quoteChar);
+						}
+					} else if( following == quoteEscapeChar ) {
+						// a double escape (normally \\)
+						endSegment();
+						if( projected ) {
+							append(b);
+						}
+					} else {
+						position--;
+						if( quoteEscapeChar == quoteChar ) {
+							// a lone quote, which is the end of the quoted section
+							state = TokenizerState.NORMAL;
+							quoteScopeStartingLine = -1;
+							endSegment();
+						} else {
+							// escape char wasn't before another escape char or a quote char, so process it normally
+							if( projected ) {
+								append(b);
+							}
+						}
+					}
+					
+				} else if( b == quoteChar ) {
+					state = TokenizerState.NORMAL;
+					quoteScopeStartingLine = -1;
+					endSegment();
+					
+					position++;
+					final boolean nextCharIsQuote = peek() == quoteChar;
+					position--;
+					if( quoteEscapeChar != quoteChar && nextCharIsQuote ) {
+						throw new SuperCsvException("Encountered repeat quote char (" + (char) quoteChar
+							+ ") when quoteEscapeChar was (" + (char) quoteEscapeChar + ")"
+							+ ".  Cannot process data where quotes are escaped both with " + (char) quoteChar
+							+ " and with " + (char) quoteEscapeChar);
+					}
+					
+				} else if( projected ) {
+					append(b);
+				}
+			}
+			
+			position++;
+		}
+	}
+	
+	/**
+	 * Adds a column (without quotes) straight from the window to the List of columns, trimming surrounding spaces if
+	 * required. Empty columns are added as <tt>null</tt>.
+	 * 
+	 * @param columns
+	 *            the List of columns
+	 * @param start
+	 *            the start of the column in the window
+	 * @param end
+	 *            the end of the column in the window
+	 */
+	private void addColumn(final List<String> columns, int start, int end) {
+		if( !ColumnProjection.isProjected(projection, columns.size()) ) {
+			columns.add(null); // not in the column projection, so it isn't decoded
+			return;
+		}
+		if( surroundingSpacesNeedQuotes ) {
+			while( start < end && window.get(start) == SPACE ) {
+				start++;
+			}
+			while( end > start && window.get(end - 1) == SPACE ) {
+				end--;
+			}
+		}
+		columns.add(start < end ? decodeColumn(columns.size(), window, start, end) : null);
+	}
+	
+	/**
+	 * Adds the currentColumn to the List of columns, managing the case where currentColumn is empty (using the
+	 * emptyColumnParsing preference).
+	 * 
+	 * @param columns
+	 *            the List of columns
+	 */
+	private void addCurrentColumn(final List<String> columns) {
+		if( !ColumnProjection.isProjected(projection, columns.size()) ) {
+			columns.add(null); // not in the column projection, so it isn't decoded
+		} else if( currentColumn.position() > 0 ) {
+			columns.add(decodeCurrentColumn(columns.size()));
+		} else {
+			final boolean previousCharIsQuote = position > rowStart && window.get(position - 1) == quoteChar;
+			columns.add(previousCharIsQuote
+				&& emptyColumnParsing.equals(EmptyColumnParsing.ParseEmptyColumnsAsEmptyString) ? "" : null);
+		}
+	}
+	
+	/**
+	 * Ends the current segment of the current (quoted) column, as a quote or escape byte is being removed from it.
+	 * The bytes either side of the removed byte are decoded separately (as they would be by a <tt>Reader</tt>).
+	 */
+	private void endSegment() {
+		if( segmentCount == segmentEnds.length ) {
+			final int[] larger = new int[segmentEnds.length * 2];
+			System.arraycopy(segmentEnds, 0, larger, 0, segmentCount);
+			segmentEnds = larger;
+		}
+		segmentEnds[segmentCount++] = currentColumn.position();
+	}
+	
+	/**
+	 * Appends a byte to the current (quoted) column, growing it if necessary.
+	 * 
+	 * @param b
+	 *            the byte
+	 */
+	private void append(final byte b) {
+		if( !currentColumn.hasRemaining() ) {
+			final ByteBuffer larger = ByteBuffer.allocate(currentColumn.capacity() * 2);
+			currentColumn.flip();
+			larger.put(currentColumn);
+			currentColumn = larger;
+		}
+		currentColumn.put(b);
+	}
+	
+	/**
+	 * Appends the required number of spaces to the current (quoted) column.
+	 * 
+	 * @param spaces
+	 *            the required number of spaces to append
+	 */
+	private void appendSpaces(final int spaces) {
+		for( int i = 0; i < spaces; i++ ) {
+			append(SPACE);
+		}
+	}
+	
+	/**
+	 * Marks the end of the current row and skips over its line terminator.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private void endRow() throws IOException {
+		rowEnd = position;
+		skipLineTerminator();
+	}
+	
+	/**
+	 * Skips over the line terminator (\n, \r or \r\n) at the current position (if there is one).
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private void skipLineTerminator() throws IOException {
+		final int b = peek();
+		if( b == CARRIAGE_RETURN ) {
+			position++;
+			if( peek() == NEWLINE ) {
+				position++;
+			}
+		} else if( b == NEWLINE ) {
+			position++;
+		}
+	}
+	
+	/**
+	 * Returns the byte at the current position without consuming it, moving the window if necessary.
+	 * 
+	 * @return the (unsigned) byte, or EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private int peek() throws IOException {
+		if( position == limit && !fill() ) {
+			return EOF;
+		}
+		return window.get(position) & 0xFF;
+	}
+	
+	/**
+	 * Maps more of the file. The new window starts at the start of the current row, and is enlarged if the current
+	 * window already started there.
+	 * 
+	 * @return true if more bytes are available, or false if EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private boolean fill() throws IOException {
+		if( windowOffset + limit >= end ) {
+			return false;
+		}
+		
+		final int shift = rowStart;
+		if( shift == 0 && limit > 0 ) {
+			windowSize = (int) Math.min(Integer.MAX_VALUE, (long) windowSize * 2);
+		}
+		windowOffset += shift;
+		final long size = Math.min(Math.max(windowSize, limit - shift + 1), end - windowOffset);
+		if( size > Integer.MAX_VALUE ) {
+			throw new SuperCsvException(String.format("row beginning on line %d is too large to be mapped",
+				lineNumber));
+		}
+		window = channel.map(FileChannel.MapMode.READ_ONLY, windowOffset, size);
+		limit = (int) size;
+		position -= shift;
+		columnStart -= shift;
+		if( rowEnd >= 0 ) {
+			rowEnd -= shift;
+		}
+		rowStart = 0;
+		return true;
+	}
+	
+	/**
+	 * Creates the untokenized row from the window. Line terminators within the row are replaced with \n, to match the
+	 * default Tokenizer.
+	 * 
+	 * @param start
+	 *            the start of the row in the window
+	 * @param end
+	 *            the end of the row in the window
+	 * @return the untokenized row
+	 */
+	private String createUntokenizedRow(final int start, final int end) {
+		final String row = decode(window, start, end);
+		return row.indexOf('\r') < 0 ? row : row.replace("\r\n", "\n").replace('\r', '\n');
+	}
+	
+	/**
+	 * Decodes UTF-8 bytes into a String.
+	 * 
+	 * @param bytes
+	 *            the buffer containing the bytes
+	 * @param start
+	 *            the position of the first byte
+	 * @param end
+	 *            the position after the last byte
+	 * @return the decoded String
+	 */
+	private String decode(final ByteBuffer bytes, final int start, final int end) {
+		ensureDecodedCapacity(end - start);
+		return new String(decoded, 0, decodeChars(bytes, start, end, 0));
+	}
+	
+	/**
+	 * Decodes the UTF-8 bytes of a column into a String (deduplicating it if the <tt>deduplicateStrings</tt>
+	 * preference is enabled).
+	 * 
+	 * @param columnIndex
+	 *            the index of the column
+	 * @param bytes
+	 *            the buffer containing the bytes
+	 * @param start
+	 *            the position of the first byte
+	 * @param end
+	 *            the position after the last byte
+	 * @return the decoded String
+	 */
+	private String decodeColumn(final int columnIndex, final ByteBuffer bytes, final int start, final int end) {
+		ensureDecodedCapacity(end - start);
+		return createColumn(columnIndex, decodeChars(bytes, start, end, 0));
+	}
+	
+	/**
+	 * Decodes the UTF-8 bytes of the current (quoted) column into a String, decoding each of its segments separately
+	 * (deduplicating it if the <tt>deduplicateStrings</tt> preference is enabled).
+	 * 
+	 * @param columnIndex
+	 *            the index of the column
+	 * @return the decoded String
+	 */
+	private String decodeCurrentColumn(final int columnIndex) {
+		final int end = currentColumn.position();
+		ensureDecodedCapacity(end);
+		int count = 0;
+		int start = 0;
+		for( int i = 0; i < segmentCount; i++ ) {
+			count += decodeChars(currentColumn, start, segmentEnds[i], count);
+			start = segmentEnds[i];
+		}
+		count += decodeChars(currentColumn, start, end, count);
+		return createColumn(columnIndex, count);
+	}
+	
+	/**
+	 * Creates a column String from the decoded characters (deduplicating it if the <tt>deduplicateStrings</tt>
+	 * preference is enabled).
+	 * 
+	 * @param columnIndex
+	 *            the index of the column
+	 * @param count
+	 *            the number of decoded characters
+	 * @return the String
+	 */
+	private String createColumn(final int columnIndex, final int count) {
+		return stringCache != null ? stringCache.get(columnIndex, decoded, 0, count) : new String(decoded, 0, count);
+	}
+	
+	/**
+	 * Ensures that the reusable char array can hold the characters decoded from the required number of bytes (each
+	 * byte decodes to at most one character).
+	 * 
+	 * @param bytes
+	 *            the number of bytes
+	 */
+	private void ensureDecodedCapacity(final int bytes) {
+		if( decoded.length < bytes ) {
+			decoded = new char[bytes];
+		}
+	}
+	
+	/**
+	 * Decodes UTF-8 bytes into the reusable char array (which must have room for them).
+	 * 
+	 * @param bytes
+	 *            the buffer containing the bytes
+	 * @param start
+	 *            the position of the first byte
+	 * @param end
+	 *            the position after the last byte
+	 * @param offset
+	 *            the position in the char array to decode to
+	 * @return the number of decoded characters
+	 */
+	private int decodeChars(final ByteBuffer bytes, final int start, final int end, final int offset) {
+		final char[] chars = decoded;
+		int count = offset;
+		int i = start;
+		while( i < end ) {
+			final int b = bytes.get(i++);
+			if( b >= 0 ) {
+				chars[count++] = (char) b; // ASCII
+				continue;
+			}
+			
+			// the number of continuation bytes, and the bits of the first byte
+			final int continuationBytes;
+			int codePoint;
+			if( (b & 0xE0) == 0xC0 ) {
+				continuationBytes = 1;
+				codePoint = b & 0x1F;
+			} else if( (b & 0xF0) == 0xE0 ) {
+				continuationBytes = 2;
+				codePoint = b & 0x0F;
+			} else if( (b & 0xF8) == 0xF0 ) {
+				continuationBytes = 3;
+				codePoint = b & 0x07;
+			} else {
+				return decodeMalformed(bytes, start, end, offset);
+			}
+			
+			int read = 0;
+			while( read < continuationBytes && i < end && (bytes.get(i) & 0xC0) == 0x80 ) {
+				codePoint = (codePoint << 6) | (bytes.get(i++) & 0x3F);
+				read++;
+			}
+			if( read < continuationBytes || isOverlongOrInvalid(codePoint, continuationBytes) ) {
+				return decodeMalformed(bytes, start, end, offset);
+			} else if( codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT ) {
+				count += Character.toChars(codePoint, chars, count);
+			} else {
+				chars[count++] = (char) codePoint;
+			}
+		}
+		return count - offset;
+	}
+	
+	/**
+	 * Decodes bytes containing malformed UTF-8 into the reusable char array, using a <tt>CharsetDecoder</tt> so that
+	 * the malformed sequences are replaced in exactly the same way as by an <tt>InputStreamReader</tt>. The bytes are
+	 * always either side of ASCII bytes in the file (delimiters, quotes, escapes, line terminators or spaces, which are
+	 * never part of a multi-byte sequence), so decoding them on their own gives the same characters as decoding the
+	 * whole file.
+	 * 
+	 * @param bytes
+	 *            the buffer containing the bytes
+	 * @param start
+	 *            the position of the first byte
+	 * @param end
+	 *            the position after the last byte
+	 * @param offset
+	 *            the position in the char array to decode to
+	 * @return the number of decoded characters
+	 */
+	private int decodeMalformed(final ByteBuffer bytes, final int start, final int end, final int offset) {
+		if( decoder == null ) {
+			decoder = Charset.forName("UTF-8").newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+		final ByteBuffer in = bytes.duplicate();
+		in.limit(end);
+		in.position(start);
+		
+		// each byte decodes to at most one character
+		final CharBuffer out = CharBuffer.wrap(decoded, offset, decoded.length - offset);
+		decoder.reset();
+		decoder.decode(in, out, true);
+		decoder.flush(out);
+		return out.position() - offset;
+	}
+	
+	/**
+	 * Checks whether a decoded UTF-8 sequence is an overlong encoding, a surrogate or out of the Unicode range.
+	 * 
+	 * @param codePoint
+	 *            the decoded code point
+	 * @param continuationBytes
+	 *            the number of continuation bytes in the sequence
+	 * @return true if the sequence is not valid UTF-8
+	 */
+	private static boolean isOverlongOrInvalid(final int codePoint, final int continuationBytes) {
+		switch( continuationBytes ) {
+			case 1:
+				return codePoint < 0x80;
+			case 2:
+				return codePoint < 0x800 || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE);
+			default:
+				return codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT || codePoint > Character.MAX_CODE_POINT;
+		}
+	}
+	
+}
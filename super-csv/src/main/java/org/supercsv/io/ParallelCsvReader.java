@@ -0,0 +1,654 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.Util;
+
+/**
+ * Reads a single (large) UTF-8 or ASCII CSV file using multiple threads. The file is split into chunks of bytes, and
+ * each chunk is tokenized (using a {@link MappedFileTokenizer}) and has its cell processors executed on one of the
+ * threads of the supplied <tt>ExecutorService</tt>. The processed rows are then returned by {@link #read(CellProcessor...)}
+ * either in the same order as the file, or in the order the chunks are completed.
+ * <p>
+ * The chunks don't have to start and end at row boundaries. Before any rows are read, every chunk is scanned in parallel
+ * to count its quotes, lines and rows, which is enough to work out the actual row boundaries (even if a quoted column
+ * spans several lines), and the line and row number of the first row in each chunk. This means that the line and row
+ * numbers reported by {@link #getLineNumber()}, {@link #getRowNumber()} and in the <tt>CsvContext</tt> of any exceptions
+ * are exactly the same as if the file was read by a single {@link CsvListReader}.
+ * </p>
+ * <p>
+ * As the boundaries are found by counting quotes, parallel reading is not supported when quotes are escaped with a
+ * different character (see {@link CsvPreference.Builder#setQuoteEscapeChar(char)}), when comments are skipped, or
+ * when the number of lines per row is limited (see {@link CsvPreference.Builder#maxLinesPerRow(int)}), as the
+ * tokenizer would then give up on a row that the scan counts as continuing to the next closing quote.
+ * The cell processors are shared by all of the threads, so they must be thread-safe.
+ * </p>
+ * 
+ * @since 2.4.1
+ */
+public class ParallelCsvReader implements Closeable {
+	
+	/** the default size of each chunk of the file */
+	public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+	
+	private static final byte NEWLINE = '\n';
+	
+	private static final byte CARRIAGE_RETURN = '\r';
+	
+	/* the size of the window used to read the header */
+	private static final int HEADER_WINDOW_SIZE = 64 * 1024;
+	
+	private final FileChannel channel;
+	
+	private final long fileSize;
+	
+	private final CsvPreference preferences;
+	
+	private final ExecutorService executor;
+	
+	private final int chunkSize;
+	
+	private final boolean ordered;
+	
+	/* the maximum number of chunks being processed at once */
+	private final int maxPendingChunks;
+	
+	/* the offset in the file where the rows start, and the number of lines and rows before it */
+	private long dataStart = 0L;
+	
+	private int linesBeforeData = 0;
+	
+	private int rowsBeforeData = 0;
+	
+	private CellProcessor[] processors;
+	
+	/* the chunks (between row boundaries) that haven't been submitted for processing yet */
+	private LinkedList<ChunkTask> unsubmitted;
+	
+	/* the submitted chunks in file order (when ordered), otherwise the service completing them */
+	private final LinkedList<Future<ChunkResult>> pending = new LinkedList<Future<ChunkResult>>();
+	
+	private CompletionService<ChunkResult> completionService;
+	
+	private ChunkResult current;
+	
+	/* the index of the next row to return from the current chunk */
+	private int currentIndex = 0;
+	
+	private int lineNumber = 0;
+	
+	private int rowNumber = 0;
+	
+	/**
+	 * Constructs a new <tt>ParallelCsvReader</tt> that reads the file in chunks of the default size, returning rows in
+	 * the same order as the file.
+	 * 
+	 * @param file
+	 *            the file to read
+	 * @param preferences
+	 *            the CSV preferences
+	 * @param executor
+	 *            the executor to process the chunks with (it is not shut down when the reader is closed)
+	 * @throws IOException
+	 *             if the file can't be opened
+	 * @throws NullPointerException
+	 *             if file, preferences or executor is null
+	 * @throws IllegalArgumentException
+	 *             if the preferences don't support parallel reading
+	 */
+	public ParallelCsvReader(final File file, final CsvPreference preferences, final ExecutorService executor)
+		throws IOException {
+		this(file, preferences, executor, DEFAULT_CHUNK_SIZE, true);
+	}
+	
+	/**
+	 * Constructs a new <tt>ParallelCsvReader</tt>.
+	 * 
+	 * @param file
+	 *            the file to read
+	 * @param preferences
+	 *            the CSV preferences
+	 * @param executor
+	 *            the executor to process the chunks with (it is not shut down when the reader is closed)
+	 * @param chunkSize
+	 *            the approximate number of bytes in each chunk
+	 * @param ordered
+	 *            whether rows should be returned in the same order as the file (if false, each chunk's rows are
+	 *            returned as soon as the chunk has been processed)
+	 * @throws IOException
+	 *             if the file can't be opened
+	 * @throws NullPointerException
+	 *             if file, preferences or executor is null
+	 * @throws IllegalArgumentException
+	 *             if chunkSize &lt; 1, or the preferences don't support parallel reading
+	 */
+	public ParallelCsvReader(final File file, final CsvPreference preferences, final ExecutorService executor,
+		final int chunkSize, final boolean ordered) throws IOException {
+		if( file == null ) {
+			throw new NullPointerException("file should not be null");
+		} else if( preferences == null ) {
+			throw new NullPointerException("preferences should not be null");
+		} else if( executor == null ) {
+			throw new NullPointerException("executor should not be null");
+		} else if( chunkSize < 1 ) {
+			throw new IllegalArgumentException(String.format("chunkSize should be > 0 but was %d", chunkSize));
+		} else if( preferences.getQuoteEscapeChar() != preferences.getQuoteChar() ) {
+			throw new IllegalArgumentException(
+				"parallel reading is not supported when the quoteEscapeChar is different to the quoteChar");
+		} else if( preferences.getCommentMatcher() != null ) {
+			throw new IllegalArgumentException("parallel reading is not supported when comments are skipped");
+		} else if( preferences.getMaxLinesPerRow() > 0 ) {
+			throw new IllegalArgumentException("parallel reading is not supported when maxLinesPerRow is set");
+		}
+		
+		this.preferences = preferences;
+		this.executor = executor;
+		this.chunkSize = chunkSize;
+		this.ordered = ordered;
+		this.maxPendingChunks = Runtime.getRuntime().availableProcessors() * 2;
+		this.channel = new FileInputStream(file).getChannel();
+		this.fileSize = channel.size();
+	}
+	
+	/**
+	 * Reads the header (the first row of the file). This must be called before any rows are read.
+	 * 
+	 * @return the header, or null if the file is empty
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws IllegalStateException
+	 *             if rows have already been read
+	 * @throws SuperCsvException
+	 *             on errors in parsing the input
+	 */
+	public String[] getHeader() throws IOException {
+		if( unsubmitted != null || rowsBeforeData > 0 ) {
+			throw new IllegalStateException("the header must be read before any rows are read");
+		}
+		
+		final MappedFileTokenizer tokenizer = new MappedFileTokenizer(channel, preferences, HEADER_WINDOW_SIZE, 0L,
+			fileSize, 0);
+		final List<String> header = new ArrayList<String>();
+		if( !tokenizer.readColumns(header) ) {
+			return null;
+		}
+		
+		dataStart = tokenizer.getOffset();
+		linesBeforeData = tokenizer.getLineNumber();
+		rowsBeforeData = 1;
+		lineNumber = linesBeforeData;
+		rowNumber = rowsBeforeData;
+		return header.toArray(new String[header.size()]);
+	}
+	
+	/**
+	 * Reads the next row, executing the supplied processors on each column. The processors are executed in parallel
+	 * on rows that haven't been returned yet, so every call must supply the same processors.
+	 * <p>
+	 * If a row can't be tokenized (e.g. a quoted column spans more than the maximum lines per row) or processed, the
+	 * exception is thrown in place of the row and the next call carries on with the following row, just like the other
+	 * readers. Only an I/O error, or a row the tokenizer can't get past (e.g. one too large to be mapped), stops the
+	 * rest of its chunk from being read: the rows before it are returned first, then the exception is thrown, then
+	 * reading carries on with the next chunk.
+	 * </p>
+	 * 
+	 * @param processors
+	 *            the cell processors (a <tt>null</tt> processor means the column isn't processed)
+	 * @return the processed columns of the next row, or null if EOF
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws NullPointerException
+	 *             if processors is null
+	 * @throws IllegalArgumentException
+	 *             if the processors are different to the processors supplied in the first call
+	 * @throws SuperCsvConstraintViolationException
+	 *             if a CellProcessor constraint failed
+	 * @throws SuperCsvException
+	 *             if the wrong number of processors are supplied, or CellProcessor execution failed
+	 */
+	public List<Object> read(final CellProcessor... processors) throws IOException {
+		if( processors == null ) {
+			throw new NullPointerException("processors should not be null");
+		}
+		
+		if( this.processors == null ) {
+			this.processors = processors.clone();
+			start();
+		} else if( !Arrays.equals(this.processors, processors) ) {
+			throw new IllegalArgumentException("the same processors must be supplied to every call to read()");
+		}
+		
+		while( current == null || currentIndex == current.rows.size() ) {
+			if( current != null && current.failure != null ) {
+				// the rest of the chunk couldn't be read
+				final Exception failure = current.failure;
+				current.failure = null;
+				lineNumber = current.failureLineNumber;
+				if( failure instanceof IOException ) {
+					throw (IOException) failure;
+				}
+				throw (RuntimeException) failure;
+			}
+			
+			current = nextChunk();
+			currentIndex = 0;
+			if( current == null ) {
+				return null; // EOF
+			}
+		}
+		
+		final int index = currentIndex++;
+		lineNumber = current.lineNumbers[index];
+		rowNumber = current.rowNumbers[index];
+		if( current.rowFailures != null && current.rowFailures.containsKey(index) ) {
+			throw current.rowFailures.get(index);
+		}
+		return current.rows.get(index);
+	}
+	
+	/**
+	 * Gets the line number of the last line of the row that was just read (the first line is line 1).
+	 * 
+	 * @return the line number
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+	
+	/**
+	 * Gets the number of the row that was just read (the first row is row 1, which is the header if it was read).
+	 * 
+	 * @return the row number
+	 */
+	public int getRowNumber() {
+		return rowNumber;
+	}
+	
+	/**
+	 * Cancels any chunks that are still being processed and closes the file. The executor is not shut down.
+	 */
+	public void close() throws IOException {
+		for( final Future<ChunkResult> future : pending ) {
+			future.cancel(true);
+		}
+		pending.clear();
+		if( unsubmitted != null ) {
+			unsubmitted.clear();
+		}
+		channel.close();
+	}
+	
+	/**
+	 * Scans all of the chunks of the file in parallel, then works out the row boundaries and the line/row numbers at
+	 * the start of each chunk, and submits the first chunks for processing.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private void start() throws IOException {
+		
+		final List<Future<ChunkScan>> scans = new ArrayList<Future<ChunkScan>>();
+		for( long start = dataStart; start < fileSize; start += chunkSize ) {
+			final long end = Math.min(fileSize, start + chunkSize);
+			scans.add(executor.submit(new ChunkScan(channel, fileSize, dataStart, start, end, preferences)));
+		}
+		
+		unsubmitted = new LinkedList<ChunkTask>();
+		boolean insideQuotes = false;
+		int lines = linesBeforeData;
+		int rows = rowsBeforeData;
+		ChunkTask previous = null;
+		for( final Future<ChunkScan> future : scans ) {
+			final ChunkScan scan = getResult(future);
+			final int state = insideQuotes ? 1 : 0;
+			
+			if( scan.firstLineStart[state] >= 0 ) {
+				// a row starts in this chunk, so it's a boundary
+				if( previous != null ) {
+					previous.end = scan.firstLineStart[state];
+				}
+				previous = new ChunkTask(channel, preferences, processors, scan.firstLineStart[state], fileSize, lines
+					+ scan.linesBeforeFirst[state], rows);
+				unsubmitted.add(previous);
+			}
+			
+			insideQuotes ^= scan.oddQuotes;
+			lines += scan.lines;
+			rows += scan.rows[state];
+		}
+		
+		if( !ordered ) {
+			completionService = new ExecutorCompletionService<ChunkResult>(executor);
+		}
+		while( pending.size() < maxPendingChunks && submitNext() ) {
+		}
+	}
+	
+	/**
+	 * Submits the next chunk for processing.
+	 * 
+	 * @return true if a chunk was submitted, or false if there are no chunks left
+	 */
+	private boolean submitNext() {
+		final ChunkTask task = unsubmitted.poll();
+		if( task == null ) {
+			return false;
+		}
+		pending.add(ordered ? executor.submit(task) : completionService.submit(task));
+		return true;
+	}
+	
+	/**
+	 * Gets the next processed chunk, and submits another chunk for processing.
+	 * 
+	 * @return the next chunk, or null if there are no chunks left
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private ChunkResult nextChunk() throws IOException {
+		if( pending.isEmpty() ) {
+			return null;
+		}
+		
+		final Future<ChunkResult> future;
+		if( ordered ) {
+			future = pending.removeFirst();
+		} else {
+			try {
+				future = completionService.take();
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while waiting for a chunk to be processed");
+			}
+			pending.remove(future);
+		}
+		
+		final ChunkResult result = getResult(future);
+		submitNext();
+		return result;
+	}
+	
+	/**
+	 * Waits for a task to complete, rethrowing any exception it threw.
+	 * 
+	 * @param future
+	 *            the future result of the task
+	 * @return the result
+	 * @throws IOException
+	 *             if the task threw an IOException
+	 */
+	private static <T> T getResult(final Future<T> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while waiting for a chunk to be processed");
+		}
+		catch(ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if( cause instanceof IOException ) {
+				throw (IOException) cause;
+			} else if( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			} else if( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new SuperCsvException("unexpected exception while reading in parallel", null, cause);
+		}
+	}
+	
+	/**
+	 * Scans a chunk of the file, counting the quotes, lines and rows. As it's not known whether the chunk starts within
+	 * a quoted column until the previous chunks have been scanned, the line and row boundaries are counted for both
+	 * possibilities.
+	 */
+	private static final class ChunkScan implements Callable<ChunkScan> {
+		
+		private final FileChannel channel;
+		
+		private final long fileSize;
+		
+		private final long dataStart;
+		
+		private final long start;
+		
+		private final long end;
+		
+		private final byte quoteChar;
+		
+		private final boolean ignoreEmptyLines;
+		
+		/* whether the chunk contains an odd number of quotes */
+		boolean oddQuotes;
+		
+		/* the number of lines ending in the chunk */
+		int lines;
+		
+		/* indexed by whether the chunk starts within quotes: the first line start outside quotes (or -1 if none) */
+		final long[] firstLineStart = { -1L, -1L };
+		
+		/* indexed by whether the chunk starts within quotes: the number of lines ending before firstLineStart */
+		final int[] linesBeforeFirst = new int[2];
+		
+		/* indexed by whether the chunk starts within quotes: the number of rows starting in the chunk */
+		final int[] rows = new int[2];
+		
+		ChunkScan(final FileChannel channel, final long fileSize, final long dataStart, final long start,
+			final long end, final CsvPreference preferences) {
+			this.channel = channel;
+			this.fileSize = fileSize;
+			this.dataStart = dataStart;
+			this.start = start;
+			this.end = end;
+			this.quoteChar = (byte) preferences.getQuoteChar();
+			this.ignoreEmptyLines = preferences.isIgnoreEmptyLines();
+		}
+		
+		public ChunkScan call() throws IOException {
+			// map the byte either side of the chunk as well, to check for line terminators
+			final long mapStart = Math.max(dataStart, start - 1);
+			final long mapEnd = Math.min(fileSize, end + 1);
+			final ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+			final int first = (int) (start - mapStart);
+			final int last = (int) (end - mapStart);
+			final int size = (int) (mapEnd - mapStart);
+			
+			int quotes = 0;
+			for( int i = first; i < last; i++ ) {
+				final byte b = bytes.get(i);
+				
+				// is this the start of a line (the start of the data, or after \n, or after \r that isn't before \n)
+				final boolean lineStart;
+				if( i == 0 && mapStart == dataStart ) {
+					lineStart = true;
+				} else {
+					final byte previous = bytes.get(i - 1);
+					lineStart = previous == NEWLINE || (previous == CARRIAGE_RETURN && b != NEWLINE);
+				}
+				
+				if( lineStart ) {
+					final boolean row = !ignoreEmptyLines || (b != NEWLINE && b != CARRIAGE_RETURN);
+					final int state = quotes & 1; // the state (if the chunk started outside quotes) that's outside
+					if( firstLineStart[state] < 0 ) {
+						firstLineStart[state] = mapStart + i;
+						linesBeforeFirst[state] = lines;
+					}
+					if( row ) {
+						rows[state]++;
+					}
+				}
+				
+				if( b == quoteChar ) {
+					quotes++;
+				} else if( b == NEWLINE || (b == CARRIAGE_RETURN && (i + 1 == size || bytes.get(i + 1) != NEWLINE)) ) {
+					lines++;
+				}
+			}
+			oddQuotes = (quotes & 1) == 1;
+			return this;
+		}
+	}
+	
+	/**
+	 * Tokenizes the rows between two row boundaries, and executes the cell processors on them.
+	 */
+	private static final class ChunkTask implements Callable<ChunkResult> {
+		
+		private final FileChannel channel;
+		
+		private final CsvPreference preferences;
+		
+		private final CellProcessor[] processors;
+		
+		private final long start;
+		
+		/* the end of the chunk (updated once the start of the next chunk is known) */
+		long end;
+		
+		private final int linesBefore;
+		
+		private final int rowsBefore;
+		
+		ChunkTask(final FileChannel channel, final CsvPreference preferences, final CellProcessor[] processors,
+			final long start, final long end, final int linesBefore, final int rowsBefore) {
+			this.channel = channel;
+			this.preferences = preferences;
+			this.processors = processors;
+			this.start = start;
+			this.end = end;
+			this.linesBefore = linesBefore;
+			this.rowsBefore = rowsBefore;
+		}
+		
+		public ChunkResult call() {
+			final int windowSize = (int) Math.max(1L, Math.min(end - start, Integer.MAX_VALUE));
+			final MappedFileTokenizer tokenizer = new MappedFileTokenizer(channel, preferences, windowSize, start,
+				end, linesBefore);
+			final ChunkResult result = new ChunkResult();
+			final List<String> columns = new ArrayList<String>();
+			int rowNumber = rowsBefore;
+			try {
+				while( true ) {
+					final long offset = tokenizer.getOffset();
+					try {
+						if( !tokenizer.readColumns(columns) ) {
+							break;
+						}
+					}
+					catch(RuntimeException e) {
+						if( tokenizer.getOffset() == offset ) {
+							throw e; // the tokenizer can't get past the row
+						}
+						
+						// like the other readers, carry on tokenizing after the row (which doesn't get a row number)
+						result.addFailure(e, tokenizer.getLineNumber(), rowNumber);
+						continue;
+					}
+					
+					rowNumber++;
+					final List<Object> processed = new ArrayList<Object>(columns.size());
+					try {
+						Util.executeCellProcessors(processed, columns, processors, tokenizer.getLineNumber(),
+							rowNumber);
+						result.add(processed, tokenizer.getLineNumber(), rowNumber);
+					}
+					catch(RuntimeException e) {
+						// reported when the row is read, so the reader can carry on with the next row
+						result.addFailure(e, tokenizer.getLineNumber(), rowNumber);
+					}
+				}
+			}
+			catch(IOException e) {
+				result.failure = e;
+				result.failureLineNumber = tokenizer.getLineNumber();
+			}
+			catch(RuntimeException e) {
+				result.failure = e;
+				result.failureLineNumber = tokenizer.getLineNumber();
+			}
+			return result;
+		}
+	}
+	
+	/**
+	 * The processed rows of a chunk.
+	 */
+	private static final class ChunkResult {
+		
+		final List<List<Object>> rows = new ArrayList<List<Object>>();
+		
+		int[] lineNumbers = new int[64];
+		
+		int[] rowNumbers = new int[64];
+		
+		/* the exceptions thrown by the tokenizer or cell processors, by the index of the row */
+		Map<Integer, RuntimeException> rowFailures;
+		
+		/* the exception that stopped the rest of the chunk from being tokenized (after the rows before it) */
+		Exception failure;
+		
+		int failureLineNumber;
+		
+		void addFailure(final RuntimeException e, final int lineNumber, final int rowNumber) {
+			if( rowFailures == null ) {
+				rowFailures = new HashMap<Integer, RuntimeException>();
+			}
+			rowFailures.put(rows.size(), e);
+			add(null, lineNumber, rowNumber);
+		}
+		
+		void add(final List<Object> row, final int lineNumber, final int rowNumber) {
+			if( rows.size() == lineNumbers.length ) {
+				final int[] largerLines = new int[lineNumbers.length * 2];
+				System.arraycopy(lineNumbers, 0, largerLines, 0, lineNumbers.length);
+				lineNumbers = largerLines;
+				final int[] largerRows = new int[rowNumbers.length * 2];
+				System.arraycopy(rowNumbers, 0, largerRows, 0, rowNumbers.length);
+				rowNumbers = largerRows;
+			}
+			lineNumbers[rows.size()] = lineNumber;
+			rowNumbers[rows.size()] = rowNumber;
+			rows.add(row);
+		}
+	}
+	
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A Reader that reads ahead on a background thread. While the tokenizer works on one buffer of input, the next buffer
+ * is filled from the underlying Reader, so slow input (e.g. a network filesystem or a decompressing stream) doesn't
+ * stall parsing on every refill. The two buffers are handed between the threads through a lock-free
+ * single-producer/single-consumer exchange: each side only writes its own counter, and only parks when it has to
+ * wait for the other.
+ * <p>
+ * An exception thrown by the underlying Reader is rethrown by the read that reaches it (after the input read before
+ * it). A PrefetchReader should only be read by one thread at a time, and it must be closed to stop the background
+ * thread. It's used by the readers when the <tt>prefetchInput</tt> preference is enabled.
+ * 
+ * @since 2.4.1
+ */
+public class PrefetchReader extends Reader {
+	
+	private static final int DEFAULT_BUFFER_SIZE = 65536;
+	
+	private static final int EOF = -1;
+	
+	private static final int FAILED = -2;
+	
+	private final Reader reader;
+	
+	private final Thread producer;
+	
+	// the two buffers, and the number of chars read into each (or EOF/FAILED)
+	private final char[][] buffers;
+	
+	private final int[] lengths = new int[2];
+	
+	// the exception thrown by the underlying Reader (published by the produced counter)
+	private Throwable failure;
+	
+	// the number of buffers filled by the producer, and released by the consumer (each only written by its owner)
+	private volatile long produced = 0L;
+	
+	private volatile long consumed = 0L;
+	
+	// the threads waiting for the other side (if any)
+	private volatile Thread waitingConsumer;
+	
+	private volatile boolean producerWaiting = false;
+	
+	private volatile boolean closed = false;
+	
+	// the buffer being read by the consumer
+	private char[] current;
+	
+	private int position = 0;
+	
+	private int limit = 0;
+	
+	/**
+	 * Constructs a new <tt>PrefetchReader</tt> with the default buffer size (64K chars), and starts reading ahead.
+	 * 
+	 * @param reader
+	 *            the underlying reader
+	 * @throws NullPointerException
+	 *             if reader is null
+	 */
+	public PrefetchReader(final Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Constructs a new <tt>PrefetchReader</tt>, and starts reading ahead.
+	 * 
+	 * @param reader
+	 *            the underlying reader
+	 * @param bufferSize
+	 *            the size of each of the two buffers (in chars)
+	 * @throws NullPointerException
+	 *             if reader is null
+	 * @throws IllegalArgumentException
+	 *             if bufferSize is less than 1
+	 */
+	public PrefetchReader(final Reader reader, final int bufferSize) {
+		if( reader == null ) {
+			throw new NullPointerException("reader should not be null");
+		} else if( bufferSize < 1 ) {
+			throw new IllegalArgumentException(String.format("bufferSize should be > 0 but was %d", bufferSize));
+		}
+		
+		this.reader = reader;
+		this.buffers = new char[][] { new char[bufferSize], new char[bufferSize] };
+		this.producer = new Thread(new Producer(), "super-csv-prefetch");
+		producer.setDaemon(true);
+		producer.start();
+	}
+	
+	/**
+	 * Fills the buffers from the underlying Reader, waiting whenever both are full.
+	 */
+	private class Producer implements Runnable {
+		
+		public void run() {
+			while( !closed ) {
+				while( produced - consumed == 2 && !closed ) {
+					producerWaiting = true;
+					if( produced - consumed == 2 && !closed ) {
+						LockSupport.park();
+					}
+					producerWaiting = false;
+				}
+				if( closed ) {
+					return;
+				}
+				
+				final int slot = (int) (produced & 1);
+				int length;
+				try {
+					length = reader.read(buffers[slot], 0, buffers[slot].length);
+				}
+				catch(Throwable t) {
+					failure = t;
+					length = FAILED;
+				}
+				if( length == 0 ) {
+					continue;
+				}
+				
+				lengths[slot] = length < 0 && length != FAILED ? EOF : length;
+				produced++;
+				final Thread consumer = waitingConsumer;
+				if( consumer != null ) {
+					LockSupport.unpark(consumer);
+				}
+				if( length < 0 ) {
+					return; // EOF, or the underlying Reader failed
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Makes the next buffer current, releasing the current buffer to the producer and waiting for the next buffer if
+	 * necessary.
+	 * 
+	 * @return true if there's more input, or false if EOF
+	 * @throws IOException
+	 *             if the reader is closed, the underlying Reader failed, or the thread was interrupted while waiting
+	 */
+	private boolean nextBuffer() throws IOException {
+		if( current != null ) {
+			current = null;
+			consumed++;
+			if( producerWaiting ) {
+				LockSupport.unpark(producer);
+			}
+		}
+		
+		while( produced == consumed ) {
+			waitingConsumer = Thread.currentThread();
+			if( produced == consumed ) {
+				LockSupport.park();
+			}
+			waitingConsumer = null;
+			if( Thread.interrupted() ) {
+				throw new InterruptedIOException("interrupted while waiting for input");
+			}
+		}
+		
+		final int slot = (int) (consumed & 1);
+		final int length = lengths[slot];
+		if( length == EOF ) {
+			return false;
+		} else if( length == FAILED ) {
+			if( failure instanceof IOException ) {
+				throw (IOException) failure;
+			} else if( failure instanceof RuntimeException ) {
+				throw (RuntimeException) failure;
+			} else if( failure instanceof Error ) {
+				throw (Error) failure;
+			}
+			throw new IOException(failure.toString());
+		}
+		
+		current = buffers[slot];
+		position = 0;
+		limit = length;
+		return true;
+	}
+	
+	/**
+	 * Throws an exception if the reader has been closed.
+	 * 
+	 * @throws IOException
+	 *             if the reader has been closed
+	 */
+	private void ensureOpen() throws IOException {
+		if( closed ) {
+			throw new IOException("Stream closed");
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException {
+		ensureOpen();
+		if( position == limit && !nextBuffer() ) {
+			return -1;
+		}
+		return current[position++];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(final char[] cbuf, final int off, final int len) throws IOException {
+		ensureOpen();
+		if( off < 0 || len < 0 || len > cbuf.length - off ) {
+			throw new IndexOutOfBoundsException();
+		} else if( len == 0 ) {
+			return 0;
+		} else if( position == limit && !nextBuffer() ) {
+			return -1;
+		}
+		
+		final int count = Math.min(len, limit - position);
+		System.arraycopy(current, position, cbuf, off, count);
+		position += count;
+		return count;
+	}
+	
+	/**
+	 * Stops reading ahead, and closes the underlying Reader.
+	 */
+	@Override
+	public void close() throws IOException {
+		if( !closed ) {
+			closed = true;
+			LockSupport.unpark(producer);
+			reader.close();
+		}
+	}
+	
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+/**
+ * A reusable batch of rows, filled by the <tt>readBatch()</tt> methods of the readers. Reading a batch of rows in one
+ * call avoids the per-row overhead of reading each row separately (e.g. validating the arguments), and the storage for
+ * each row (the List or Map, but not a bean) is reused by the next batch read into the same <tt>RowBatch</tt>. Rows
+ * should therefore be copied if they're needed after the next batch is read.
+ * 
+ * @param <T>
+ *            the type of each row (e.g. <tt>List&lt;Object&gt;</tt>, <tt>Map&lt;String, Object&gt;</tt>, or a bean)
+ * @since 2.4.1
+ */
+public class RowBatch<T> {
+	
+	// the rows (including the storage from previous batches beyond the current size)
+	private final Object[] rows;
+	
+	private final int[] lineNumbers;
+	
+	private final int[] rowNumbers;
+	
+	private int size = 0;
+	
+	/**
+	 * Constructs a new <tt>RowBatch</tt>.
+	 * 
+	 * @param capacity
+	 *            the maximum number of rows in a batch
+	 * @throws IllegalArgumentException
+	 *             if capacity is less than 1
+	 */
+	public RowBatch(final int capacity) {
+		if( capacity < 1 ) {
+			throw new IllegalArgumentException(String.format("capacity should be > 0 but was %d", capacity));
+		}
+		this.rows = new Object[capacity];
+		this.lineNumbers = new int[capacity];
+		this.rowNumbers = new int[capacity];
+	}
+	
+	/**
+	 * Gets the maximum number of rows in a batch.
+	 * 
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return rows.length;
+	}
+	
+	/**
+	 * Gets the number of rows in the batch.
+	 * 
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Gets a row from the batch.
+	 * 
+	 * @param index
+	 *            the index of the row in the batch (starting at 0)
+	 * @return the row
+	 * @throws IndexOutOfBoundsException
+	 *             if there's no row with the supplied index
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(final int index) {
+		checkIndex(index);
+		return (T) rows[index];
+	}
+	
+	/**
+	 * Gets the line number of a row in the batch (the line number of the last line if the row spans multiple lines).
+	 * 
+	 * @param index
+	 *            the index of the row in the batch (starting at 0)
+	 * @return the line number
+	 * @throws IndexOutOfBoundsException
+	 *             if there's no row with the supplied index
+	 */
+	public int getLineNumber(final int index) {
+		checkIndex(index);
+		return lineNumbers[index];
+	}
+	
+	/**
+	 * Gets the row number of a row in the batch.
+	 * 
+	 * @param index
+	 *            the index of the row in the batch (starting at 0)
+	 * @return the row number
+	 * @throws IndexOutOfBoundsException
+	 *             if there's no row with the supplied index
+	 */
+	public int getRowNumber(final int index) {
+		checkIndex(index);
+		return rowNumbers[index];
+	}
+	
+	/**
+	 * Checks that there's a row in the batch with the supplied index.
+	 * 
+	 * @param index
+	 *            the index
+	 * @throws IndexOutOfBoundsException
+	 *             if there's no row with the supplied index
+	 */
+	private void checkIndex(final int index) {
+		if( index < 0 || index >= size ) {
+			throw new IndexOutOfBoundsException(String.format("index %d is out of range for a batch of %d rows", index,
+				size));
+		}
+	}
+	
+	/**
+	 * Checks the maximum number of rows to read into the batch, and empties the batch (keeping the storage of each row
+	 * so it can be reused).
+	 * 
+	 * @param maxRows
+	 *            the maximum number of rows to read
+	 * @throws IllegalArgumentException
+	 *             if maxRows is less than 1, or greater than the capacity
+	 */
+	void clear(final int maxRows) {
+		if( maxRows < 1 || maxRows > rows.length ) {
+			throw new IllegalArgumentException(String.format("maxRows should be between 1 and %d but was %d",
+				rows.length, maxRows));
+		}
+		size = 0;
+	}
+	
+	/**
+	 * Gets the storage of a row from a previous batch, so that it can be reused.
+	 * 
+	 * @param index
+	 *            the index of the row
+	 * @return the storage of the row, or null if there isn't any
+	 */
+	@SuppressWarnings("unchecked")
+	T getReusableRow(final int index) {
+		return (T) rows[index];
+	}
+	
+	/**
+	 * Adds a row to the end of the batch.
+	 * 
+	 * @param row
+	 *            the row
+	 * @param lineNumber
+	 *            the line number of the row
+	 * @param rowNumber
+	 *            the row number of the row
+	 */
+	void add(final T row, final int lineNumber, final int rowNumber) {
+		rows[size] = row;
+		lineNumbers[size] = lineNumber;
+		rowNumbers[size] = rowNumber;
+		size++;
+	}
+	
+}
@@ -17,6 +17,7 @@ package org.supercsv.io;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.supercsv.comment.CommentMatcher;
@@ -32,7 +33,7 @@ import org.supercsv.prefs.CsvPreference;
  * @author James Bassett
  * @author Pietro Aragona
  */
-public class Tokenizer extends AbstractTokenizer {
+public class Tokenizer extends AbstractTokenizer implements IColumnProjectionTokenizer {
 	
 	private static final char NEWLINE = '\n';
 	
@@ -40,8 +41,14 @@ public class Tokenizer extends AbstractTokenizer {
 	
 	private final StringBuilder currentColumn = new StringBuilder();
 	
-	/* the raw, untokenized CSV row (may span multiple lines) */
-	private final StringBuilder currentRow = new StringBuilder();
+	/*
+	 * the lines of the raw, untokenized CSV row (the row is only joined together if it's requested, and the last line
+	 * is empty if the next line of a multi-line row hasn't been read yet)
+	 */
+	private final List<String> rowLines = new ArrayList<String>();
+	
+	/* the raw, untokenized CSV row (created on demand) */
+	private String untokenizedRow;
 	
 	private final char quoteChar;
 	
@@ -59,6 +66,12 @@ public class Tokenizer extends AbstractTokenizer {
 
 	private final char quoteEscapeChar;
 	
+	/* the columns to read (null to read every column) */
+	private boolean[] projection;
+	
+	/* the cache used to deduplicate column Strings (null if disabled) */
+	private final ColumnStringCache stringCache;
+	
 	/**
 	 * Enumeration of tokenizer states. QUOTE_MODE is activated between quotes.
 	 */
@@ -86,6 +99,25 @@ public class Tokenizer extends AbstractTokenizer {
 		this.maxLinesPerRow = preferences.getMaxLinesPerRow();
 		this.emptyColumnParsing = preferences.getEmptyColumnParsing();
 		this.quoteEscapeChar = preferences.getQuoteEscapeChar();
+		this.stringCache = preferences.getDeduplicateStrings() > 0 ? new ColumnStringCache(
+			preferences.getDeduplicateStrings()) : null;
+	}
+	
+	/**
+	 * Gets the cache used to deduplicate the Strings read from each column.
+	 * 
+	 * @return the cache, or null if the <tt>deduplicateStrings</tt> preference isn't enabled
+	 * @since 2.4.1
+	 */
+	public ColumnStringCache getStringCache() {
+		return stringCache;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setColumnProjection(final boolean[] projection) {
+		this.projection = ColumnProjection.copy(projection);
 	}
 	
 	/**
@@ -97,10 +129,11 @@ public class Tokenizer extends AbstractTokenizer {
 			throw new NullPointerException("columns should not be null");
 		}
 		
-		// clear the reusable List and StringBuilders
+		// clear the reusable Lists and StringBuilder
 		columns.clear();
 		currentColumn.setLength(0);
-		currentRow.setLength(0);
+		rowLines.clear();
+		untokenizedRow = null;
 		
 		// read a line (ignoring empty lines/comments if necessary)
 		String line;
@@ -113,13 +146,14 @@ public class Tokenizer extends AbstractTokenizer {
 		while( ignoreEmptyLines && line.length() == 0 || (commentMatcher != null && commentMatcher.isComment(line)) );
 		
 		// update the untokenized CSV row
-		currentRow.append(line);
+		rowLines.add(line);
 		
 		// process each character in the line, catering for surrounding quotes (QUOTE_MODE)
 		TokenizerState state = TokenizerState.NORMAL;
 		int quoteScopeStartingLine = -1; // the line number where a potential multi-line cell starts
 		int potentialSpaces = 0; // keep track of spaces (so leading/trailing space can be removed if required)
 		int charIndex = 0;
+		boolean projected = ColumnProjection.isProjected(projection, 0); // columns that aren't projected aren't built
 		while( true ) {
 			boolean endOfLineReached = charIndex == line.length();
 			
@@ -130,7 +164,7 @@ public class Tokenizer extends AbstractTokenizer {
 					 * Newline. Add any required spaces (if surrounding spaces don't need quotes) and return (we've read
 					 * a line!).
 					 */
-					if( !surroundingSpacesNeedQuotes ) {
+					if( projected && !surroundingSpacesNeedQuotes ) {
 						appendSpaces(currentColumn, potentialSpaces);
 					}
 					addColumn(columns, line, charIndex);
@@ -143,8 +177,10 @@ public class Tokenizer extends AbstractTokenizer {
 					 * (will update to 0 for next iteration), read in the next line, then then continue to next
 					 * character.
 					 */
-					currentColumn.append(NEWLINE);
-					currentRow.append(NEWLINE); // specific line terminator lost, \n will have to suffice
+					if( projected ) {
+						currentColumn.append(NEWLINE);
+					}
+					rowLines.add(""); // specific line terminator lost, \n will have to suffice
 					
 					charIndex = 0;
 
@@ -171,7 +207,7 @@ public class Tokenizer extends AbstractTokenizer {
 									quoteScopeStartingLine, getLineNumber()));
 					}
 					
-					currentRow.append(line); // update untokenized CSV row
+					rowLines.set(rowLines.size() - 1, line); // update untokenized CSV row
 					
 				    if (line.length() == 0){
 				    	// consecutive newlines
@@ -192,12 +228,13 @@ public class Tokenizer extends AbstractTokenizer {
 					/*
 					 * Delimiter. Save the column (trim trailing space if required) then continue to next character.
 					 */
-					if( !surroundingSpacesNeedQuotes ) {
+					if( projected && !surroundingSpacesNeedQuotes ) {
 						appendSpaces(currentColumn, potentialSpaces);
 					}
 					addColumn(columns, line, charIndex);
 					potentialSpaces = 0;
 					currentColumn.setLength(0);
+					projected = ColumnProjection.isProjected(projection, columns.size());
 					
 				} else if( c == SPACE ) {
 					/*
@@ -214,7 +251,7 @@ public class Tokenizer extends AbstractTokenizer {
 					quoteScopeStartingLine = getLineNumber();
 					
 					// cater for spaces before a quoted section (be lenient!)
-					if( !surroundingSpacesNeedQuotes || currentColumn.length() > 0 ) {
+					if( projected && (!surroundingSpacesNeedQuotes || currentColumn.length() > 0) ) {
 						appendSpaces(currentColumn, potentialSpaces);
 					}
 					potentialSpaces = 0;
@@ -224,12 +261,13 @@ public class Tokenizer extends AbstractTokenizer {
 					 * Just a normal character. Add any required spaces (but trim any leading spaces if surrounding
 					 * spaces need quotes), add the character, then continue to next character.
 					 */
-					if( !surroundingSpacesNeedQuotes || currentColumn.length() > 0 ) {
-						appendSpaces(currentColumn, potentialSpaces);
+					if( projected ) {
+						if( !surroundingSpacesNeedQuotes || currentColumn.length() > 0 ) {
+							appendSpaces(currentColumn, potentialSpaces);
+						}
+						currentColumn.append(c);
 					}
-					
 					potentialSpaces = 0;
-					currentColumn.append(c);
 				}
 
 			} else {
@@ -250,13 +288,17 @@ public class Tokenizer extends AbstractTokenizer {
 						 * the following quote char as part of the column;
 						 */
 						charIndex++;
-						currentColumn.append(quoteChar);
+						if( projected ) {
+							currentColumn.append(quoteChar);
+						}
 					} else if( nextCharIsEscapeQuoteChar ) {
 						/*
 						 * A double escape (normally \\). Save the escape char, then continue to
 						 * next character.
 						 */
-						currentColumn.append(c);
+						if( projected ) {
+							currentColumn.append(c);
+						}
 						charIndex++;
 					} else if( quoteEscapeChar == quoteChar ) {
 						/*
@@ -271,7 +313,9 @@ public class Tokenizer extends AbstractTokenizer {
 						 * Escape char wasn't before either another escape char or a quote char,
 						 * so process it normally.
 						 */
-						currentColumn.append(c);
+						if( projected ) {
+							currentColumn.append(c);
+						}
 					}
 				} else if( c == quoteChar ) {
 
@@ -296,7 +340,9 @@ public class Tokenizer extends AbstractTokenizer {
 					 * Just a normal character, delimiter (they don't count in QUOTESCOPE) or space. Add the character,
 					 * then continue to next character.
 					 */
-					currentColumn.append(c);
+					if( projected ) {
+						currentColumn.append(c);
+					}
 				}
 			}
 			
@@ -313,8 +359,12 @@ public class Tokenizer extends AbstractTokenizer {
  */
 	private void addColumn(final List<String> columns, String line, int charIndex) {
 		
-		if(currentColumn.length() > 0){
-			columns.add(currentColumn.toString());
+		if( !ColumnProjection.isProjected(projection, columns.size()) ) {
+			columns.add(null); // not in the column projection
+		}
+		else if(currentColumn.length() > 0){
+			columns.add(stringCache != null ? stringCache.get(columns.size(), currentColumn) : currentColumn
+				.toString());
 		}
 		else{
 			int previousCharIndex = charIndex - 1;
@@ -343,6 +393,20 @@ public class Tokenizer extends AbstractTokenizer {
 	 * {@inheritDoc}
 	 */
 	public String getUntokenizedRow() {
-		return currentRow.toString();
+		if( untokenizedRow == null ) {
+			if( rowLines.size() == 1 ) {
+				untokenizedRow = rowLines.get(0); // no need to copy a single line
+			} else {
+				final StringBuilder row = new StringBuilder();
+				for( int i = 0; i < rowLines.size(); i++ ) {
+					if( i > 0 ) {
+						row.append(NEWLINE);
+					}
+					row.append(rowLines.get(i));
+				}
+				untokenizedRow = row.toString();
+			}
+		}
+		return untokenizedRow;
 	}
 }
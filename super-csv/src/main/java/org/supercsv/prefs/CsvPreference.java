@@ -95,6 +95,8 @@ import org.supercsv.quote.QuoteMode;
  * CommentMatches}, or supply your own.</li>
  * <li>ignoring empty lines (enabled by default)</li>
  * <li>setting the maximum number of lines a row of CSV can span (useful for debugging files with mismatched quotes)</li>
+ * <li>reading columns as views of the tokenizer's buffer, so that cell processors can parse them without creating
+ * Strings</li>
  * </ul>
  * 
  * @author Kasper B. Graversen
@@ -145,6 +147,12 @@ public final class CsvPreference {
 
 	private final char quoteEscapeChar;
 	
+	private final boolean readColumnViews;
+	
+	private final int deduplicateStrings;
+	
+	private final boolean prefetchInput;
+	
 	/**
 	 * Constructs a new <tt>CsvPreference</tt> from a Builder.
 	 */
@@ -160,6 +168,9 @@ public final class CsvPreference {
 		this.maxLinesPerRow = builder.maxLinesPerRow;
 		this.emptyColumnParsing = builder.emptyColumnParsing;
 		this.quoteEscapeChar = builder.quoteEscapeChar;
+		this.readColumnViews = builder.readColumnViews;
+		this.deduplicateStrings = builder.deduplicateStrings;
+		this.prefetchInput = builder.prefetchInput;
 	}
 	
 	/**
@@ -263,6 +274,33 @@ public final class CsvPreference {
 		return quoteEscapeChar;
 	}
 
+	/**
+	 * Returns the readColumnViews flag.
+	 * 
+	 * @return the readColumnViews flag
+	 */
+	public boolean isReadColumnViews() {
+		return readColumnViews;
+	}
+	
+	/**
+	 * Returns the maximum number of distinct values to deduplicate in each column (0 if Strings aren't deduplicated).
+	 * 
+	 * @return the maximum number of distinct values to deduplicate in each column
+	 */
+	public int getDeduplicateStrings() {
+		return deduplicateStrings;
+	}
+	
+	/**
+	 * Returns the prefetchInput flag.
+	 * 
+	 * @return the prefetchInput flag
+	 */
+	public boolean isPrefetchInput() {
+		return prefetchInput;
+	}
+	
 	/**
 	 * Builds immutable <tt>CsvPreference</tt> instances. The builder pattern allows for additional preferences to be
 	 * added in the future.
@@ -291,6 +329,12 @@ public final class CsvPreference {
 
 		private char quoteEscapeChar;
 		
+		private boolean readColumnViews = false;
+		
+		private int deduplicateStrings = 0;
+		
+		private boolean prefetchInput = false;
+		
 		/**
 		 * Constructs a Builder with all of the values from an existing <tt>CsvPreference</tt> instance. Useful if you
 		 * want to base your preferences off one of the existing CsvPreference constants.
@@ -310,6 +354,9 @@ public final class CsvPreference {
 			this.maxLinesPerRow = preference.maxLinesPerRow;
 			this.emptyColumnParsing = preference.emptyColumnParsing;
 			this.quoteEscapeChar = preference.quoteEscapeChar;
+			this.readColumnViews = preference.readColumnViews;
+			this.deduplicateStrings = preference.deduplicateStrings;
+			this.prefetchInput = preference.prefetchInput;
 		}
 		
 		/**
@@ -479,6 +526,71 @@ public final class CsvPreference {
 			return this;
 		}
 		
+		/**
+		 * Flag indicating whether readers should read each column as a view of the tokenizer's buffer, rather than as
+		 * a new String (only applicable when reading CSV). Columns are only passed to a cell processor as a view if
+		 * the processor is a {@link org.supercsv.cellprocessor.ift.CharSequenceCellProcessor}
+		 * (e.g. <tt>ParseInt</tt>, <tt>ParseLong</tt>, <tt>Trim</tt> or <tt>StrRegEx</tt>, including after
+		 * <tt>Optional</tt> or <tt>NotNull</tt>), so a column that is parsed this way never has a String created for
+		 * it. Every other column is converted to a String as normal.
+		 * <p>
+		 * Views can only be read from an {@link org.supercsv.io.IColumnViewTokenizer}. When this flag is enabled,
+		 * readers that are constructed with a <tt>Reader</tt> use a {@link org.supercsv.io.BufferedTokenizer}, and it
+		 * has no effect on readers constructed with a tokenizer that doesn't support views. The default is
+		 * <tt>false</tt>.
+		 * </p>
+		 * 
+		 * @since 2.4.1
+		 * @param readColumnViews
+		 *            flag indicating whether columns should be read as views
+		 * @return the updated Builder
+		 */
+		public Builder readColumnViews(final boolean readColumnViews) {
+			this.readColumnViews = readColumnViews;
+			return this;
+		}
+		
+		/**
+		 * Enables deduplication of the Strings read from each column (only applicable when reading CSV). Each tokenizer
+		 * keeps a {@link org.supercsv.io.ColumnStringCache} of the values in each column, so that repeated values (such
+		 * as country codes or status flags) share a single String instead of a new String being created for every
+		 * occurrence. A column that has more than <tt>maxCardinality</tt> distinct values stops being cached. This
+		 * applies to the columns the tokenizer creates as Strings (columns read as views are converted to Strings as
+		 * normal). The default is <tt>0</tt> (no deduplication).
+		 * 
+		 * @since 2.4.1
+		 * @param maxCardinality
+		 *            the maximum number of distinct values to cache for each column (0 to disable deduplication)
+		 * @return the updated Builder
+		 * @throws IllegalArgumentException
+		 *             if maxCardinality is negative
+		 */
+		public Builder deduplicateStrings(final int maxCardinality) {
+			if( maxCardinality < 0 ) {
+				throw new IllegalArgumentException(String.format("maxCardinality should be >= 0 but was %d",
+					maxCardinality));
+			}
+			this.deduplicateStrings = maxCardinality;
+			return this;
+		}
+		
+		/**
+		 * Flag indicating whether readers should read ahead on a background thread (only applicable when reading CSV).
+		 * When enabled, readers that are constructed with a <tt>Reader</tt> wrap it in a
+		 * {@link org.supercsv.io.PrefetchReader}, which fills the next buffer of input while the current one is being
+		 * tokenized. This helps when the input is slow to read (e.g. from a network filesystem or a decompressing
+		 * stream). The background thread is stopped when the reader is closed. The default is <tt>false</tt>.
+		 * 
+		 * @since 2.4.1
+		 * @param prefetchInput
+		 *            flag indicating whether input should be read ahead on a background thread
+		 * @return the updated Builder
+		 */
+		public Builder prefetchInput(final boolean prefetchInput) {
+			this.prefetchInput = prefetchInput;
+			return this;
+		}
+		
 		/**
 		 * Builds the CsvPreference instance.
 		 * 
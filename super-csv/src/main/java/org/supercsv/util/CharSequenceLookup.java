@@ -0,0 +1,205 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import java.util.Map;
+
+/**
+ * A compact, read-only lookup table keyed by Strings that can be probed with any CharSequence (such as a column view),
+ * optionally ignoring case, without creating a String or a case-converted copy. It's used by processors whose set of
+ * values is fixed at construction (such as <tt>IsIncludedIn</tt>, <tt>HashMapper</tt>, <tt>ParseBool</tt> and
+ * <tt>ParseEnum</tt>).
+ * <p>
+ * The keys are stored in an open addressing hash table (at most half full) along with their hashes, so a lookup
+ * compares the hash and length of at most a few keys before comparing any characters. When case is significant the
+ * hash is the same as {@link String#hashCode()}, so probing with a String uses its cached hash.
+ * 
+ * @param <V>
+ *            the type of the values
+ * @since 2.4.1
+ */
+public final class CharSequenceLookup<V> {
+	
+	private final boolean ignoreCase;
+	
+	private final String[] keys;
+	
+	private final int[] hashes;
+	
+	private final Object[] values;
+	
+	private final int size;
+	
+	/**
+	 * Constructs a new <tt>CharSequenceLookup</tt> containing the supplied entries. When ignoring case, if several keys
+	 * are equal ignoring case then the first one (in the map's iteration order) is used.
+	 * 
+	 * @param entries
+	 *            the entries (whose keys must not be null)
+	 * @param ignoreCase
+	 *            whether lookups ignore case
+	 * @throws NullPointerException
+	 *             if entries or one of its keys is null
+	 */
+	public CharSequenceLookup(final Map<String, ? extends V> entries, final boolean ignoreCase) {
+		if( entries == null ) {
+			throw new NullPointerException("entries should not be null");
+		}
+		this.ignoreCase = ignoreCase;
+		
+		int capacity = 2;
+		while( capacity < entries.size() * 2 ) {
+			capacity <<= 1;
+		}
+		this.keys = new String[capacity];
+		this.hashes = new int[capacity];
+		this.values = new Object[capacity];
+		
+		int count = 0;
+		for( final Map.Entry<String, ? extends V> entry : entries.entrySet() ) {
+			final String key = entry.getKey();
+			if( key == null ) {
+				throw new NullPointerException("entries should not contain a null key");
+			}
+			final int hash = hash(key);
+			final int slot = findSlot(key, hash);
+			if( keys[slot] == null ) {
+				keys[slot] = key;
+				hashes[slot] = hash;
+				values[slot] = entry.getValue();
+				count++;
+			}
+		}
+		this.size = count;
+	}
+	
+	/**
+	 * Gets the value of a key.
+	 * 
+	 * @param key
+	 *            the key
+	 * @return the value, or null if the key isn't in the table (or its value is null)
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(final CharSequence key) {
+		final int slot = findSlot(key, hash(key));
+		return (V) values[slot];
+	}
+	
+	/**
+	 * Determines whether the table contains a key.
+	 * 
+	 * @param key
+	 *            the key
+	 * @return true if the key is in the table
+	 */
+	public boolean containsKey(final CharSequence key) {
+		return keys[findSlot(key, hash(key))] != null;
+	}
+	
+	/**
+	 * Gets the number of keys in the table (which may be less than the number of entries it was constructed with, if
+	 * case is ignored).
+	 * 
+	 * @return the number of keys
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Finds the slot of a key: either the slot holding the key, or the empty slot where it would be.
+	 * 
+	 * @param key
+	 *            the key
+	 * @param hash
+	 *            the hash of the key
+	 * @return the slot
+	 */
+	private int findSlot(final CharSequence key, final int hash) {
+		final int mask = keys.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while( keys[slot] != null && (hashes[slot] != hash || !matches(keys[slot], key)) ) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+	
+	/**
+	 * Calculates the hash of a key, folding the case of each character when ignoring case.
+	 * 
+	 * @param key
+	 *            the key
+	 * @return the hash
+	 */
+	private int hash(final CharSequence key) {
+		if( !ignoreCase ) {
+			if( key instanceof String ) {
+				return key.hashCode();
+			}
+			int hash = 0;
+			for( int i = 0; i < key.length(); i++ ) {
+				hash = 31 * hash + key.charAt(i);
+			}
+			return hash;
+		}
+		int hash = 0;
+		for( int i = 0; i < key.length(); i++ ) {
+			hash = 31 * hash + foldCase(key.charAt(i));
+		}
+		return hash;
+	}
+	
+	/**
+	 * Determines whether a stored key has the same characters as a CharSequence (ignoring case if required).
+	 * 
+	 * @param storedKey
+	 *            the stored key
+	 * @param key
+	 *            the key being looked up
+	 * @return true if they match
+	 */
+	private boolean matches(final String storedKey, final CharSequence key) {
+		final int length = storedKey.length();
+		if( key.length() != length ) {
+			return false;
+		}
+		for( int i = 0; i < length; i++ ) {
+			final char c1 = storedKey.charAt(i);
+			final char c2 = key.charAt(i);
+			if( c1 != c2 && (!ignoreCase || foldCase(c1) != foldCase(c2)) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Folds the case of a character, so that characters that are equal ignoring case (as in
+	 * {@link String#equalsIgnoreCase(String)}) have the same folded value.
+	 * 
+	 * @param c
+	 *            the character
+	 * @return the folded character
+	 */
+	private static char foldCase(final char c) {
+		if( c < 128 ) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+	
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import java.math.BigInteger;
+
+/**
+ * Parses numbers straight from a <tt>CharSequence</tt> (such as a column view), using the same rules as
+ * {@link Long#parseLong(String)} and {@link Double#parseDouble(String)}, so that a String doesn't have to be created
+ * first. It's used internally by the parsing cell processors and by {@link org.supercsv.io.CsvColumnarReader}.
+ * <p>
+ * Doubles in plain decimal or scientific notation are parsed without allocating, using the exact fast path described
+ * by Clinger when the significand and exponent are small enough, and the Eisel-Lemire algorithm otherwise (both are
+ * correctly rounded). Anything else (hexadecimal notation, <tt>NaN</tt>, <tt>Infinity</tt>, type suffixes, surrounding
+ * whitespace and the rare values the fast algorithms can't decide) is handed to {@link Double#parseDouble(String)}.
+ * 
+ * @since 2.4.1
+ */
+public final class CharSequenceParser {
+	
+	private static final int RADIX = 10;
+	
+	// the maximum number of significant digits that fit in an unsigned long
+	private static final int MAX_DIGITS = 19;
+	
+	// the powers of 10 that are exactly representable as a double
+	private static final double[] EXACT_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	
+	// the largest significand that is exactly representable as a double
+	private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+	
+	// the range of decimal exponents that can produce a finite, non-zero double
+	private static final int MIN_EXPONENT = -342;
+	private static final int MAX_EXPONENT = 308;
+	
+	// returned by eiselLemire() when it can't decide how to round
+	private static final long UNDECIDED = -1L;
+	
+	private static final int MANTISSA_BITS = 52;
+	private static final int EXPONENT_BIAS = 1023;
+	private static final int INFINITE_EXPONENT = 0x7FF;
+	
+	/**
+	 * The 128-bit approximations of the powers of 5 from 5^-342 to 5^308, used by the Eisel-Lemire algorithm (high
+	 * and low 64 bits of each). They're computed on first use, as most doubles take the exact fast path.
+	 */
+	private static final class PowersOfFive {
+		
+		static final long[] TABLE = new long[2 * (MAX_EXPONENT - MIN_EXPONENT + 1)];
+		
+		static {
+			final BigInteger twoTo127 = BigInteger.ONE.shiftLeft(127);
+			for( int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++ ) {
+				BigInteger power;
+				if( q < 0 ) {
+					// the reciprocal, rounded up
+					final BigInteger powerOfFive = BigInteger.valueOf(5L).pow(-q);
+					final int z = powerOfFive.bitLength();
+					final int b = q >= -27 ? z + 127 : 2 * z + 128;
+					power = BigInteger.ONE.shiftLeft(b).divide(powerOfFive).add(BigInteger.ONE);
+				} else {
+					power = BigInteger.valueOf(5L).pow(q);
+					if( power.compareTo(twoTo127) < 0 ) {
+						power = power.shiftLeft(128 - power.bitLength());
+					}
+				}
+				power = power.shiftRight(Math.max(0, power.bitLength() - 128)); // truncate to 128 bits
+				final int index = 2 * (q - MIN_EXPONENT);
+				TABLE[index] = power.shiftRight(64).longValue();
+				TABLE[index + 1] = power.longValue();
+			}
+		}
+	}
+	
+	// no instantiation
+	private CharSequenceParser() {
+	}
+	
+	/**
+	 * Parses an int.
+	 * 
+	 * @param value
+	 *            the value to parse
+	 * @return the int
+	 * @throws NumberFormatException
+	 *             if the value isn't a valid int
+	 */
+	public static int parseInt(final CharSequence value) {
+		return (int) parseLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Parses a long.
+	 * 
+	 * @param value
+	 *            the value to parse
+	 * @return the long
+	 * @throws NumberFormatException
+	 *             if the value isn't a valid long
+	 */
+	public static long parseLong(final CharSequence value) {
+		return parseLong(value, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Parses a double.
+	 * 
+	 * @param value
+	 *            the value to parse
+	 * @return the double
+	 * @throws NumberFormatException
+	 *             if the value isn't a valid double
+	 */
+	public static double parseDouble(final CharSequence value) {
+		final int length = value.length();
+		int i = 0;
+		boolean negative = false;
+		if( length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ) {
+			negative = value.charAt(0) == '-';
+			i++;
+		}
+		
+		// accumulate up to 19 significant digits, noting whether any non-zero digits had to be dropped
+		long significand = 0L;
+		int digits = 0;
+		long exponent = 0L;
+		boolean truncated = false;
+		boolean sawDigit = false;
+		char c;
+		for( ; i < length && (c = value.charAt(i)) >= '0' && c <= '9'; i++ ) {
+			sawDigit = true;
+			if( digits < MAX_DIGITS ) {
+				significand = significand * RADIX + (c - '0');
+				digits += significand != 0L ? 1 : 0;
+			} else {
+				truncated |= c != '0';
+				exponent++;
+			}
+		}
+		if( i < length && value.charAt(i) == '.' ) {
+			for( i++; i < length && (c = value.charAt(i)) >= '0' && c <= '9'; i++ ) {
+				sawDigit = true;
+				if( digits < MAX_DIGITS ) {
+					significand = significand * RADIX + (c - '0');
+					digits += significand != 0L ? 1 : 0;
+					exponent--;
+				} else {
+					truncated |= c != '0';
+				}
+			}
+		}
+		if( sawDigit && i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E') ) {
+			i++;
+			boolean negativeExponent = false;
+			if( i < length && (value.charAt(i) == '-' || value.charAt(i) == '+') ) {
+				negativeExponent = value.charAt(i) == '-';
+				i++;
+			}
+			final int exponentStart = i;
+			long explicitExponent = 0L;
+			for( ; i < length && (c = value.charAt(i)) >= '0' && c <= '9'; i++ ) {
+				if( explicitExponent < Integer.MAX_VALUE ) { // way beyond the range of a double
+					explicitExponent = explicitExponent * RADIX + (c - '0');
+				}
+			}
+			if( i == exponentStart ) {
+				sawDigit = false; // no exponent digits
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		
+		if( !sawDigit || i < length ) {
+			// not plain decimal or scientific notation, so leave it to the JDK (which also reports invalid values)
+			return Double.parseDouble(value.toString());
+		}
+		
+		final double result;
+		if( significand == 0L ) {
+			result = 0.0;
+		} else if( !truncated && significand >= 0L && significand <= MAX_EXACT_SIGNIFICAND && exponent >= -22
+			&& exponent <= 22 ) {
+			// both the significand and power of 10 are exact, so a single operation rounds correctly (Clinger)
+			result = exponent < 0 ? significand / EXACT_POWERS_OF_TEN[(int) -exponent] : significand
+				* EXACT_POWERS_OF_TEN[(int) exponent];
+		} else {
+			long bits = eiselLemire(significand, exponent);
+			if( truncated && bits != UNDECIDED && bits != eiselLemire(significand + 1, exponent) ) {
+				bits = UNDECIDED; // the dropped digits could change the rounding
+			}
+			if( bits == UNDECIDED ) {
+				return Double.parseDouble(value.toString());
+			}
+			result = Double.longBitsToDouble(bits);
+		}
+		return negative ? -result : result;
+	}
+	
+	/**
+	 * Converts a decimal significand and exponent to the bits of the nearest double, using the algorithm by Eisel and
+	 * Lemire ("Number Parsing at a Gigabyte per Second").
+	 * 
+	 * @param significand
+	 *            the significand (unsigned, and not 0)
+	 * @param exponent
+	 *            the power of 10
+	 * @return the bits of the double, or UNDECIDED if the algorithm can't decide how to round
+	 */
+	private static long eiselLemire(final long significand, final long exponent) {
+		if( exponent < MIN_EXPONENT ) {
+			return 0L;
+		} else if( exponent > MAX_EXPONENT ) {
+			return (long) INFINITE_EXPONENT << MANTISSA_BITS;
+		}
+		final int q = (int) exponent;
+		
+		// normalize the significand, and multiply it by the 128-bit approximation of 5^q
+		final int leadingZeros = Long.numberOfLeadingZeros(significand);
+		final long w = significand << leadingZeros;
+		final int index = 2 * (q - MIN_EXPONENT);
+		long high = multiplyHigh(w, PowersOfFive.TABLE[index]);
+		long low = w * PowersOfFive.TABLE[index];
+		if( (high & 0x1FF) == 0x1FF ) {
+			// the bits needed for rounding might be affected by the low half of the power
+			final long carry = multiplyHigh(w, PowersOfFive.TABLE[index + 1]);
+			low += carry;
+			if( low + Long.MIN_VALUE < carry + Long.MIN_VALUE ) { // unsigned comparison
+				high++;
+			}
+		}
+		if( low == -1L && (q < -27 || q > 55) ) {
+			return UNDECIDED; // the approximation isn't exact enough
+		}
+		
+		final int upperBit = (int) (high >>> 63);
+		final int shift = upperBit + 64 - MANTISSA_BITS - 3;
+		long mantissa = high >>> shift;
+		int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - leadingZeros + EXPONENT_BIAS;
+		
+		if( power2 <= 0 ) {
+			// subnormal
+			if( -power2 + 1 >= 64 ) {
+				return 0L;
+			}
+			mantissa >>>= -power2 + 1;
+			mantissa += mantissa & 1L;
+			mantissa >>>= 1;
+			power2 = mantissa < (1L << MANTISSA_BITS) ? 0 : 1;
+			return mantissa | ((long) power2 << MANTISSA_BITS);
+		}
+		
+		if( (low == 0L || low == 1L) && q >= -4 && q <= 23 && (mantissa & 3L) == 1L && (mantissa << shift) == high ) {
+			// exactly halfway between two doubles, so round to even
+			mantissa &= ~1L;
+		}
+		mantissa += mantissa & 1L;
+		mantissa >>>= 1;
+		if( mantissa >= (2L << MANTISSA_BITS) ) {
+			mantissa = 1L << MANTISSA_BITS;
+			power2++;
+		}
+		mantissa &= ~(1L << MANTISSA_BITS);
+		if( power2 >= INFINITE_EXPONENT ) {
+			return (long) INFINITE_EXPONENT << MANTISSA_BITS;
+		}
+		return mantissa | ((long) power2 << MANTISSA_BITS);
+	}
+	
+	/**
+	 * Calculates the high 64 bits of the unsigned 128-bit product of two unsigned longs.
+	 * 
+	 * @param x
+	 *            the first long
+	 * @param y
+	 *            the second long
+	 * @return the high 64 bits of the product
+	 */
+	private static long multiplyHigh(final long x, final long y) {
+		final long x0 = x & 0xFFFFFFFFL;
+		final long x1 = x >>> 32;
+		final long y0 = y & 0xFFFFFFFFL;
+		final long y1 = y >>> 32;
+		final long cross = ((x0 * y0) >>> 32) + ((x1 * y0) & 0xFFFFFFFFL) + x0 * y1;
+		return x1 * y1 + ((x1 * y0) >>> 32) + (cross >>> 32);
+	}
+	
+	/**
+	 * Parses a number between min and max (inclusive). The result is accumulated as a negative number, so that min
+	 * doesn't overflow.
+	 * 
+	 * @param value
+	 *            the value to parse
+	 * @param min
+	 *            the minimum value
+	 * @param max
+	 *            the maximum value
+	 * @return the number
+	 * @throws NumberFormatException
+	 *             if the value isn't a valid number between min and max
+	 */
+	private static long parseLong(final CharSequence value, final long min, final long max) {
+		final int length = value.length();
+		if( length == 0 ) {
+			throw invalid(value);
+		}
+		
+		int i = 0;
+		boolean negative = false;
+		long limit = -max;
+		final char first = value.charAt(0);
+		if( first == '-' || first == '+' ) {
+			if( length == 1 ) {
+				throw invalid(value);
+			}
+			if( first == '-' ) {
+				negative = true;
+				limit = min;
+			}
+			i++;
+		}
+		
+		final long multiplyMin = limit / RADIX;
+		long result = 0L;
+		for( ; i < length; i++ ) {
+			final char c = value.charAt(i);
+			final int digit = c >= '0' && c <= '9' ? c - '0' : Character.digit(c, RADIX);
+			if( digit < 0 || result < multiplyMin ) {
+				throw invalid(value);
+			}
+			result *= RADIX;
+			if( result < limit + digit ) {
+				throw invalid(value);
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+	
+	/**
+	 * Creates the exception thrown when a value can't be parsed (with the same message as the JDK).
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the exception
+	 */
+	private static NumberFormatException invalid(final CharSequence value) {
+		return new NumberFormatException("For input string: \"" + value + "\"");
+	}
+	
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small, fixed-size cache of parsed values keyed by the text they were parsed from, used by the parsing processors
+ * that support memoization (such as <tt>ParseDate</tt>) so that repeated values (such as the date of a daily
+ * partition, or timestamps at second resolution) skip the parser entirely.
+ * <p>
+ * The cache is direct-mapped: each text hashes to a single slot, and a new value simply replaces whatever was in its
+ * slot. Lookups and updates don't lock, so a cache can be shared between threads (and between processors parsing the
+ * same format); an update that races with another may be lost, which only costs a later miss. Only immutable values
+ * should be cached (or the processor must hand out copies).
+ * <p>
+ * Hits and misses can optionally be counted, so that the hit rate can be monitored to choose the capacity (or to
+ * decide whether memoizing a column is worthwhile at all). Counting is off by default, as the shared counters are
+ * contended when the cache is used by several threads.
+ * 
+ * @param <T>
+ *            the type of the parsed values
+ * @since 2.4.1
+ */
+public final class ParseCache<T> {
+	
+	private static final int MAX_CAPACITY = 1 << 30;
+	
+	// the cached entries (a power of 2 in size), which are immutable so can be published without locking
+	private final Object[] table;
+	
+	// the hit and miss counters (null if statistics aren't recorded)
+	private final AtomicLong hits;
+	
+	private final AtomicLong misses;
+	
+	/**
+	 * A cached text and the value parsed from it.
+	 */
+	private static final class Entry<T> {
+		
+		private final String text;
+		
+		private final T value;
+		
+		Entry(final String text, final T value) {
+			this.text = text;
+			this.value = value;
+		}
+	}
+	
+	/**
+	 * Constructs a new <tt>ParseCache</tt>, which doesn't record statistics.
+	 * 
+	 * @param capacity
+	 *            the number of values to cache (rounded up to a power of 2)
+	 * @throws IllegalArgumentException
+	 *             if capacity is less than 1 or greater than 2^30
+	 */
+	public ParseCache(final int capacity) {
+		this(capacity, false);
+	}
+	
+	/**
+	 * Constructs a new <tt>ParseCache</tt>.
+	 * 
+	 * @param capacity
+	 *            the number of values to cache (rounded up to a power of 2)
+	 * @param recordStatistics
+	 *            whether to count the hits and misses
+	 * @throws IllegalArgumentException
+	 *             if capacity is less than 1 or greater than 2^30
+	 */
+	public ParseCache(final int capacity, final boolean recordStatistics) {
+		if( capacity < 1 || capacity > MAX_CAPACITY ) {
+			throw new IllegalArgumentException(String.format("capacity should be between 1 and %d but was %d",
+				MAX_CAPACITY, capacity));
+		}
+		int size = 1;
+		while( size < capacity ) {
+			size <<= 1;
+		}
+		this.table = new Object[size];
+		this.hits = recordStatistics ? new AtomicLong() : null;
+		this.misses = recordStatistics ? new AtomicLong() : null;
+	}
+	
+	/**
+	 * Gets the value parsed from the supplied text, if it's in the cache.
+	 * 
+	 * @param text
+	 *            the text
+	 * @return the cached value, or null if it isn't cached
+	 */
+	public T get(final String text) {
+		@SuppressWarnings("unchecked")
+		final Entry<T> entry = (Entry<T>) table[indexOf(text)];
+		if( entry != null && entry.text.equals(text) ) {
+			if( hits != null ) {
+				hits.incrementAndGet();
+			}
+			return entry.value;
+		}
+		if( misses != null ) {
+			misses.incrementAndGet();
+		}
+		return null;
+	}
+	
+	/**
+	 * Caches the value parsed from the supplied text (replacing the value in its slot, if any).
+	 * 
+	 * @param text
+	 *            the text
+	 * @param value
+	 *            the value parsed from the text
+	 * @throws NullPointerException
+	 *             if text or value is null
+	 */
+	public void put(final String text, final T value) {
+		if( text == null ) {
+			throw new NullPointerException("text should not be null");
+		} else if( value == null ) {
+			throw new NullPointerException("value should not be null");
+		}
+		table[indexOf(text)] = new Entry<T>(text, value);
+	}
+	
+	/**
+	 * Gets the slot of a text in the table.
+	 * 
+	 * @param text
+	 *            the text
+	 * @return the index of the slot
+	 */
+	private int indexOf(final String text) {
+		final int hash = text.hashCode();
+		return (hash ^ (hash >>> 16)) & (table.length - 1);
+	}
+	
+	/**
+	 * Gets the number of values that can be cached.
+	 * 
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return table.length;
+	}
+	
+	/**
+	 * Determines whether the hits and misses are counted.
+	 * 
+	 * @return true if statistics are recorded
+	 */
+	public boolean isRecordingStatistics() {
+		return hits != null;
+	}
+	
+	/**
+	 * Gets the number of lookups that found a cached value.
+	 * 
+	 * @return the number of cache hits (always 0 if statistics aren't recorded)
+	 */
+	public long getHits() {
+		return hits != null ? hits.get() : 0L;
+	}
+	
+	/**
+	 * Gets the number of lookups that didn't find a cached value (so the text had to be parsed).
+	 * 
+	 * @return the number of cache misses (always 0 if statistics aren't recorded)
+	 */
+	public long getMisses() {
+		return misses != null ? misses.get() : 0L;
+	}
+	
+	/**
+	 * Gets the proportion of lookups that found a cached value.
+	 * 
+	 * @return the hit rate (between 0.0 and 1.0), or 0.0 if there haven't been any lookups (or statistics aren't
+	 *         recorded)
+	 */
+	public double getHitRate() {
+		final long hitCount = getHits();
+		final long total = hitCount + getMisses();
+		return total == 0L ? 0.0 : (double) hitCount / total;
+	}
+	
+}
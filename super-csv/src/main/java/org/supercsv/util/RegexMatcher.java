@@ -0,0 +1,603 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matches CharSequences against a regular expression, avoiding the regular expression engine for common simple
+ * patterns. It's used by processors and comment matchers that apply the same regular expression to every cell or line
+ * (such as <tt>StrRegEx</tt>, <tt>StrReplace</tt> and <tt>CommentMatches</tt>), and is thread-safe.
+ * <p>
+ * When it's constructed the regular expression is analysed, and if it's a sequence of literal characters and simple
+ * character classes (such as <tt>^[0-9]+$</tt>, <tt>[A-Z]{2}\d{6}</tt> or <tt>ID-.*</tt>) where at most one element
+ * has a variable number of repetitions, then it's matched directly: the characters before and after the variable
+ * element are at fixed positions from the start and end of the input, so each character is checked once without any
+ * backtracking. Replacing a regular expression that's just literal characters is also done directly.
+ * <p>
+ * Anything else (groups, alternation, back references, lookaround, etc) is handled by a {@link Matcher} that's
+ * reused by each thread, rather than creating one for every input.
+ * 
+ * @since 2.4.1
+ */
+public final class RegexMatcher {
+	
+	private static final int UNBOUNDED = -1;
+	
+	private final Pattern pattern;
+	
+	// the elements of the pattern when it's matched directly (otherwise null)
+	private final Element[] elements;
+	
+	// the index of the element with a variable number of repetitions (or -1 if there isn't one)
+	private final int variableElement;
+	
+	// the number of characters matched by the elements with a fixed number of repetitions
+	private final int fixedLength;
+	
+	// the pattern when it's just literal characters (and isn't anchored), so it can be replaced directly (unless it's
+	// empty, as it then matches between every character)
+	private final String literal;
+	
+	private final ThreadLocal<Matcher> matchers = new ThreadLocal<Matcher>() {
+		@Override
+		protected Matcher initialValue() {
+			return pattern.matcher("");
+		}
+	};
+	
+	/**
+	 * Constructs a new <tt>RegexMatcher</tt> for a regular expression.
+	 * 
+	 * @param regex
+	 *            the regular expression
+	 * @throws NullPointerException
+	 *             if regex is null
+	 * @throws PatternSyntaxException
+	 *             if regex is not a valid regular expression
+	 */
+	public RegexMatcher(final String regex) {
+		if( regex == null ) {
+			throw new NullPointerException("regex should not be null");
+		}
+		this.pattern = Pattern.compile(regex);
+		
+		final Parser parser = new Parser(regex);
+		final List<Element> parsed = parser.parse();
+		int variable = -1;
+		long length = 0L;
+		if( parsed != null ) {
+			for( int i = 0; i < parsed.size(); i++ ) {
+				final Element element = parsed.get(i);
+				if( element.min != element.max ) {
+					variable = i;
+				} else {
+					length += element.min;
+				}
+			}
+		}
+		if( parsed == null || length > Integer.MAX_VALUE ) {
+			this.elements = null;
+			this.variableElement = -1;
+			this.fixedLength = 0;
+			this.literal = null;
+		} else {
+			this.elements = parsed.toArray(new Element[parsed.size()]);
+			this.variableElement = variable;
+			this.fixedLength = (int) length;
+			this.literal = parser.anchored ? null : literal(elements);
+		}
+	}
+	
+	/**
+	 * Gets the compiled pattern.
+	 * 
+	 * @return the pattern
+	 */
+	public Pattern getPattern() {
+		return pattern;
+	}
+	
+	/**
+	 * Determines whether a CharSequence matches the regular expression (as in {@link Matcher#matches()}).
+	 * 
+	 * @param input
+	 *            the CharSequence
+	 * @return true if the entire CharSequence matches
+	 * @throws NullPointerException
+	 *             if input is null
+	 */
+	public boolean matches(final CharSequence input) {
+		if( elements == null ) {
+			return matcher(input).matches();
+		}
+		
+		final int length = input.length();
+		int variableLength = 0;
+		if( variableElement < 0 ) {
+			if( length != fixedLength ) {
+				return false;
+			}
+		} else {
+			final Element variable = elements[variableElement];
+			variableLength = length - fixedLength;
+			if( variableLength < variable.min || (variable.max != UNBOUNDED && variableLength > variable.max) ) {
+				return false;
+			}
+		}
+		
+		int position = 0;
+		for( int i = 0; i < elements.length; i++ ) {
+			final Element element = elements[i];
+			final int end = position + (i == variableElement ? variableLength : element.min);
+			while( position < end ) {
+				if( !element.chars.contains(input.charAt(position++)) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Replaces each match of the regular expression in a CharSequence (as in {@link Matcher#replaceAll(String)}).
+	 * 
+	 * @param input
+	 *            the CharSequence
+	 * @param replacement
+	 *            the replacement (which may refer to groups using <tt>$</tt>)
+	 * @return the result
+	 * @throws NullPointerException
+	 *             if input or replacement is null
+	 */
+	public String replaceAll(final CharSequence input, final String replacement) {
+		if( literal == null || literal.length() == 0 || replacement.indexOf('$') >= 0
+			|| replacement.indexOf('\\') >= 0 ) {
+			return matcher(input).replaceAll(replacement);
+		}
+		
+		final String inputString = input.toString();
+		int index = inputString.indexOf(literal);
+		if( index < 0 ) {
+			return inputString;
+		}
+		final StringBuilder result = new StringBuilder(inputString.length());
+		int start = 0;
+		do {
+			result.append(inputString, start, index).append(replacement);
+			start = index + literal.length();
+			index = inputString.indexOf(literal, start);
+		} while( index >= 0 );
+		return result.append(inputString, start, inputString.length()).toString();
+	}
+	
+	/**
+	 * Determines whether the regular expression is matched directly (rather than by the regular expression engine).
+	 * 
+	 * @return true if it's matched directly
+	 */
+	boolean isMatchedDirectly() {
+		return elements != null;
+	}
+	
+	/**
+	 * Gets this thread's matcher, reset to match a CharSequence.
+	 * 
+	 * @param input
+	 *            the CharSequence
+	 * @return the matcher
+	 */
+	private Matcher matcher(final CharSequence input) {
+		return matchers.get().reset(input);
+	}
+	
+	/**
+	 * Gets the literal characters matched by a sequence of elements.
+	 * 
+	 * @param elements
+	 *            the elements
+	 * @return the literal, or null if an element isn't a single literal character
+	 */
+	private static String literal(final Element[] elements) {
+		final StringBuilder literal = new StringBuilder(elements.length);
+		for( final Element element : elements ) {
+			if( element.literal < 0 || element.min != 1 || element.max != 1 ) {
+				return null;
+			}
+			literal.append((char) element.literal);
+		}
+		return literal.toString();
+	}
+	
+	/**
+	 * An element of a simple pattern: a set of characters, repeated a number of times.
+	 */
+	private static final class Element {
+		
+		final CharSet chars;
+		
+		// the character when the element is a literal character (otherwise -1)
+		final int literal;
+		
+		final int min;
+		
+		final int max;
+		
+		Element(final CharSet chars, final int literal, final int min, final int max) {
+			this.chars = chars;
+			this.literal = literal;
+			this.min = min;
+			this.max = max;
+		}
+	}
+	
+	/**
+	 * A set of characters, held as a bitmap of ASCII characters and a list of ranges of other characters.
+	 */
+	private static final class CharSet {
+		
+		private long ascii0;
+		
+		private long ascii1;
+		
+		private final StringBuilder ranges = new StringBuilder();
+		
+		private boolean negated;
+		
+		void add(final char from, final char to) {
+			for( char c = from; c <= to && c < 128; c++ ) {
+				if( c < 64 ) {
+					ascii0 |= 1L << c;
+				} else {
+					ascii1 |= 1L << (c - 64);
+				}
+			}
+			if( to >= 128 ) {
+				ranges.append(from < 128 ? (char) 128 : from).append(to);
+			}
+		}
+		
+		boolean contains(final char c) {
+			boolean contains;
+			if( c < 64 ) {
+				contains = (ascii0 & (1L << c)) != 0L;
+			} else if( c < 128 ) {
+				contains = (ascii1 & (1L << (c - 64))) != 0L;
+			} else {
+				contains = false;
+				for( int i = 0; i < ranges.length(); i += 2 ) {
+					if( c >= ranges.charAt(i) && c <= ranges.charAt(i + 1) ) {
+						contains = true;
+						break;
+					}
+				}
+			}
+			return contains != negated;
+		}
+	}
+	
+	/**
+	 * Parses a regular expression into elements, if it's simple enough to be matched directly.
+	 */
+	private static final class Parser {
+		
+		private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+		
+		private final String regex;
+		
+		private int position;
+		
+		private int end;
+		
+		// the repetitions of the last quantifier parsed
+		private int min;
+		
+		private int max;
+		
+		// whether the regular expression is anchored with ^ or $
+		boolean anchored;
+		
+		Parser(final String regex) {
+			this.regex = regex;
+		}
+		
+		/**
+		 * Parses the regular expression.
+		 * 
+		 * @return the elements, or null if it's not simple enough to be matched directly
+		 */
+		List<Element> parse() {
+			end = regex.length();
+			if( regex.startsWith("^") ) {
+				position = 1;
+				anchored = true;
+			}
+			if( end > position && regex.charAt(end - 1) == '$' ) {
+				int backslashes = 0;
+				while( end - 2 - backslashes >= position && regex.charAt(end - 2 - backslashes) == '\\' ) {
+					backslashes++;
+				}
+				if( backslashes % 2 == 0 ) {
+					end--;
+					anchored = true;
+				}
+			}
+			
+			final List<Element> elements = new ArrayList<Element>();
+			boolean variable = false;
+			while( position < end ) {
+				int literal = -1;
+				final CharSet chars;
+				final char c = regex.charAt(position++);
+				if( c == '[' ) {
+					chars = parseClass();
+				} else if( c == '\\' ) {
+					chars = parseEscape(false);
+					literal = singleCharacter(chars);
+				} else if( c == '.' ) {
+					// any character except a line terminator
+					chars = new CharSet();
+					chars.add('\n', '\n');
+					chars.add('\r', '\r');
+					chars.add('\u0085', '\u0085');
+					chars.add((char) 0x2028, (char) 0x2029); // line and paragraph separators
+					chars.negated = true;
+				} else if( METACHARACTERS.indexOf(c) >= 0 || isSurrogate(c, c) ) {
+					return null;
+				} else {
+					chars = new CharSet();
+					chars.add(c, c);
+					literal = c;
+				}
+				if( chars == null || !parseQuantifier() ) {
+					return null;
+				}
+				
+				if( min != max ) {
+					if( variable ) {
+						return null;
+					}
+					variable = true;
+				}
+				
+				// a negated set also matches supplementary characters (which the regular expression engine counts as a
+				// single character), so it can only be used where the number of repetitions doesn't matter
+				if( chars.negated && (min > 1 || max != UNBOUNDED) ) {
+					return null;
+				}
+				elements.add(new Element(chars, literal, min, max));
+			}
+			return elements;
+		}
+		
+		/**
+		 * Parses an optional quantifier, setting min and max.
+		 * 
+		 * @return false if the quantifier isn't supported
+		 */
+		private boolean parseQuantifier() {
+			min = 1;
+			max = 1;
+			if( position == end ) {
+				return true;
+			}
+			final char c = regex.charAt(position);
+			if( c == '?' ) {
+				min = 0;
+			} else if( c == '*' ) {
+				min = 0;
+				max = UNBOUNDED;
+			} else if( c == '+' ) {
+				max = UNBOUNDED;
+			} else if( c == '{' ) {
+				final int close = regex.indexOf('}', position);
+				if( close < 0 || close >= end ) {
+					return false;
+				}
+				final String bounds = regex.substring(position + 1, close);
+				final int comma = bounds.indexOf(',');
+				if( comma < 0 ) {
+					min = parseCount(bounds);
+					max = min;
+				} else {
+					min = parseCount(bounds.substring(0, comma));
+					max = comma == bounds.length() - 1 ? UNBOUNDED : parseCount(bounds.substring(comma + 1));
+					if( max == UNBOUNDED && comma != bounds.length() - 1 ) {
+						return false;
+					}
+				}
+				if( min == UNBOUNDED || (max != UNBOUNDED && max < min) ) {
+					return false;
+				}
+				position = close;
+			} else {
+				return true;
+			}
+			position++;
+			
+			// lazy and possessive quantifiers aren't supported
+			return position == end || (regex.charAt(position) != '?' && regex.charAt(position) != '+');
+		}
+		
+		/**
+		 * Parses a repetition count.
+		 * 
+		 * @return the count, or UNBOUNDED if it's not valid
+		 */
+		private static int parseCount(final String count) {
+			if( count.length() == 0 || count.length() > 9 ) {
+				return UNBOUNDED;
+			}
+			for( int i = 0; i < count.length(); i++ ) {
+				if( count.charAt(i) < '0' || count.charAt(i) > '9' ) {
+					return UNBOUNDED;
+				}
+			}
+			return Integer.parseInt(count);
+		}
+		
+		/**
+		 * Parses a character class (after the opening bracket).
+		 * 
+		 * @return the set of characters, or null if the class isn't supported
+		 */
+		private CharSet parseClass() {
+			final CharSet chars = new CharSet();
+			if( position < end && regex.charAt(position) == '^' ) {
+				chars.negated = true;
+				position++;
+			}
+			boolean first = true;
+			while( position < end ) {
+				final char c = regex.charAt(position++);
+				if( c == ']' && !first ) {
+					return chars;
+				} else if( c == '[' || c == ']' || c == '&' || isSurrogate(c, c) ) {
+					return null;
+				}
+				first = false;
+				
+				final char from;
+				if( c == '\\' ) {
+					final CharSet escaped = parseEscape(true);
+					if( escaped == null ) {
+						return null;
+					}
+					final int single = singleCharacter(escaped);
+					if( single < 0 ) {
+						// a predefined class such as \d, which can't start a range
+						merge(chars, escaped);
+						if( position + 1 < end && regex.charAt(position) == '-' && regex.charAt(position + 1) != ']' ) {
+							return null;
+						}
+						continue;
+					}
+					from = (char) single;
+				} else {
+					from = c;
+				}
+				
+				char to = from;
+				if( position + 1 < end && regex.charAt(position) == '-' && regex.charAt(position + 1) != ']' ) {
+					position++;
+					final char rangeEnd = regex.charAt(position++);
+					if( rangeEnd == '\\' ) {
+						final int single = singleCharacter(parseEscape(true));
+						if( single < 0 ) {
+							return null;
+						}
+						to = (char) single;
+					} else if( rangeEnd == '[' || rangeEnd == '&' || isSurrogate(rangeEnd, rangeEnd) ) {
+						return null;
+					} else {
+						to = rangeEnd;
+					}
+					if( to < from || isSurrogate(from, to) ) {
+						return null;
+					}
+				}
+				chars.add(from, to);
+			}
+			return null;
+		}
+		
+		/**
+		 * Parses an escape sequence (after the backslash).
+		 * 
+		 * @param inClass
+		 *            whether the escape sequence is in a character class
+		 * @return the set of characters, or null if the escape sequence isn't supported
+		 */
+		private CharSet parseEscape(final boolean inClass) {
+			if( position >= end ) {
+				return null;
+			}
+			final char c = regex.charAt(position++);
+			final CharSet chars = new CharSet();
+			switch( c ) {
+				case 'd':
+					chars.add('0', '9');
+					break;
+				case 'w':
+					chars.add('a', 'z');
+					chars.add('A', 'Z');
+					chars.add('_', '_');
+					chars.add('0', '9');
+					break;
+				case 's':
+					chars.add(' ', ' ');
+					chars.add('\t', '\r'); // \t, \n, \x0B, \f and \r
+					break;
+				case 't':
+					chars.add('\t', '\t');
+					break;
+				case 'n':
+					chars.add('\n', '\n');
+					break;
+				case 'r':
+					chars.add('\r', '\r');
+					break;
+				case 'f':
+					chars.add('\f', '\f');
+					break;
+				default:
+					// any other escaped letter or digit has a special meaning
+					if( c >= 128 || Character.isLetterOrDigit(c) ) {
+						return null;
+					}
+					chars.add(c, c);
+			}
+			return chars;
+		}
+		
+		/**
+		 * Gets the character in a set, if it contains just one character.
+		 * 
+		 * @return the character, or -1 if the set doesn't contain exactly one character
+		 */
+		private static int singleCharacter(final CharSet chars) {
+			if( chars == null || chars.negated || chars.ranges.length() > 0 ) {
+				return -1;
+			}
+			final int count = Long.bitCount(chars.ascii0) + Long.bitCount(chars.ascii1);
+			if( count != 1 ) {
+				return -1;
+			}
+			return chars.ascii0 != 0L ? Long.numberOfTrailingZeros(chars.ascii0)
+				: 64 + Long.numberOfTrailingZeros(chars.ascii1);
+		}
+		
+		/**
+		 * Determines whether a range of characters includes any surrogates (which the regular expression engine
+		 * combines into supplementary characters).
+		 */
+		private static boolean isSurrogate(final char from, final char to) {
+			return from <= '\uDFFF' && to >= '\uD800';
+		}
+		
+		/**
+		 * Adds the (ASCII) characters of one set to another.
+		 */
+		private static void merge(final CharSet chars, final CharSet other) {
+			chars.ascii0 |= other.ascii0;
+			chars.ascii1 |= other.ascii1;
+		}
+	}
+}
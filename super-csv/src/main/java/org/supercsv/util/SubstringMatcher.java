@@ -0,0 +1,323 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Finds occurrences of any of a set of substrings using an Aho-Corasick automaton, so a CharSequence is scanned once
+ * (one character at a time, without backtracking) however many substrings there are. It's used by the
+ * <tt>RequireSubStr</tt> and <tt>ForbidSubStr</tt> constraints, and can be shared between them (and between threads)
+ * as it's immutable once constructed.
+ * <p>
+ * The automaton is a trie of the substrings, whose transitions are held in a single open addressing hash table (keyed
+ * by the node and character), along with a failure link for each node that's followed when a character has no
+ * transition.
+ * 
+ * @since 2.4.1
+ */
+public final class SubstringMatcher {
+	
+	private static final int ROOT = 0;
+	
+	private static final int NONE = -1;
+	
+	private final String[] substrings;
+	
+	// the transitions: each key is the node and character, and each target is the child node (0 if the slot is empty)
+	private final long[] transitionKeys;
+	
+	private final int[] transitionTargets;
+	
+	// the node to continue from when a character has no transition
+	private final int[] failures;
+	
+	// the index of the longest substring ending at each node (following failure links), or NONE
+	private final int[] outputs;
+	
+	/**
+	 * Constructs a new <tt>SubstringMatcher</tt> which finds any of the supplied substrings.
+	 * 
+	 * @param substrings
+	 *            the substrings
+	 * @throws NullPointerException
+	 *             if substrings or one of its elements is null
+	 */
+	public SubstringMatcher(final String... substrings) {
+		this(substrings == null ? null : Arrays.asList(substrings));
+	}
+	
+	/**
+	 * Constructs a new <tt>SubstringMatcher</tt> which finds any of the supplied substrings.
+	 * 
+	 * @param substrings
+	 *            the substrings
+	 * @throws NullPointerException
+	 *             if substrings or one of its elements is null
+	 */
+	public SubstringMatcher(final Collection<String> substrings) {
+		if( substrings == null ) {
+			throw new NullPointerException("substrings should not be null");
+		}
+		this.substrings = substrings.toArray(new String[substrings.size()]);
+		
+		int maxNodes = 1;
+		for( final String substring : this.substrings ) {
+			if( substring == null ) {
+				throw new NullPointerException("substring should not be null");
+			}
+			maxNodes += substring.length();
+		}
+		
+		int capacity = 2;
+		while( capacity < maxNodes * 2 ) {
+			capacity <<= 1;
+		}
+		this.transitionKeys = new long[capacity];
+		this.transitionTargets = new int[capacity];
+		this.failures = new int[maxNodes];
+		this.outputs = new int[maxNodes];
+		Arrays.fill(outputs, NONE);
+		
+		// the children of each node are also linked together, so the trie can be traversed breadth first
+		final int[] firstChild = new int[maxNodes];
+		final int[] nextSibling = new int[maxNodes];
+		final char[] labels = new char[maxNodes];
+		
+		int nodeCount = 1;
+		for( int i = 0; i < this.substrings.length; i++ ) {
+			final String substring = this.substrings[i];
+			int node = ROOT;
+			for( int j = 0; j < substring.length(); j++ ) {
+				final char c = substring.charAt(j);
+				int child = transition(node, c);
+				if( child == ROOT ) {
+					child = nodeCount++;
+					addTransition(node, c, child);
+					labels[child] = c;
+					nextSibling[child] = firstChild[node];
+					firstChild[node] = child;
+				}
+				node = child;
+			}
+			if( outputs[node] == NONE ) {
+				outputs[node] = i;
+			}
+		}
+		
+		final int[] queue = new int[nodeCount];
+		int head = 0;
+		int tail = 0;
+		for( int child = firstChild[ROOT]; child != ROOT; child = nextSibling[child] ) {
+			failures[child] = ROOT;
+			if( outputs[child] == NONE ) {
+				outputs[child] = outputs[ROOT];
+			}
+			queue[tail++] = child;
+		}
+		while( head < tail ) {
+			final int node = queue[head++];
+			for( int child = firstChild[node]; child != ROOT; child = nextSibling[child] ) {
+				failures[child] = next(failures[node], labels[child]);
+				if( outputs[child] == NONE ) {
+					outputs[child] = outputs[failures[child]];
+				}
+				queue[tail++] = child;
+			}
+		}
+	}
+	
+	/**
+	 * Determines whether a CharSequence contains any of the substrings.
+	 * 
+	 * @param text
+	 *            the CharSequence to search
+	 * @return true if it contains any of the substrings
+	 * @throws NullPointerException
+	 *             if text is null
+	 */
+	public boolean containsAny(final CharSequence text) {
+		final int length = text.length();
+		if( outputs[ROOT] != NONE ) {
+			return true;
+		}
+		int node = ROOT;
+		for( int i = 0; i < length; i++ ) {
+			node = next(node, text.charAt(i));
+			if( outputs[node] != NONE ) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Finds the first occurrence of any of the substrings in a CharSequence. This is the occurrence that ends first (or
+	 * the longest one, if several end at the same position).
+	 * 
+	 * @param text
+	 *            the CharSequence to search
+	 * @return the occurrence, or null if it doesn't contain any of the substrings
+	 * @throws NullPointerException
+	 *             if text is null
+	 */
+	public Match find(final CharSequence text) {
+		final int length = text.length();
+		if( outputs[ROOT] != NONE ) {
+			return new Match(substrings[outputs[ROOT]], 0);
+		}
+		int node = ROOT;
+		for( int i = 0; i < length; i++ ) {
+			node = next(node, text.charAt(i));
+			if( outputs[node] != NONE ) {
+				final String substring = substrings[outputs[node]];
+				return new Match(substring, i + 1 - substring.length());
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Gets the node to move to from a node on a character, following failure links until there's a transition.
+	 * 
+	 * @param node
+	 *            the node
+	 * @param c
+	 *            the character
+	 * @return the next node
+	 */
+	private int next(final int node, final char c) {
+		int current = node;
+		int child;
+		while( (child = transition(current, c)) == ROOT && current != ROOT ) {
+			current = failures[current];
+		}
+		return child;
+	}
+	
+	/**
+	 * Gets the child of a node on a character.
+	 * 
+	 * @param node
+	 *            the node
+	 * @param c
+	 *            the character
+	 * @return the child, or ROOT if there isn't one
+	 */
+	private int transition(final int node, final char c) {
+		final long key = key(node, c);
+		final int mask = transitionKeys.length - 1;
+		int slot = slot(key, mask);
+		while( transitionTargets[slot] != ROOT ) {
+			if( transitionKeys[slot] == key ) {
+				return transitionTargets[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return ROOT;
+	}
+	
+	/**
+	 * Adds a transition (which must not already exist).
+	 * 
+	 * @param node
+	 *            the node
+	 * @param c
+	 *            the character
+	 * @param child
+	 *            the child node
+	 */
+	private void addTransition(final int node, final char c, final int child) {
+		final long key = key(node, c);
+		final int mask = transitionKeys.length - 1;
+		int slot = slot(key, mask);
+		while( transitionTargets[slot] != ROOT ) {
+			slot = (slot + 1) & mask;
+		}
+		transitionKeys[slot] = key;
+		transitionTargets[slot] = child;
+	}
+	
+	/**
+	 * Gets the key of a transition.
+	 * 
+	 * @param node
+	 *            the node
+	 * @param c
+	 *            the character
+	 * @return the key
+	 */
+	private static long key(final int node, final char c) {
+		return ((long) node << 16) | c;
+	}
+	
+	/**
+	 * Gets the first slot to probe for a transition key.
+	 * 
+	 * @param key
+	 *            the key
+	 * @param mask
+	 *            the mask for the size of the table
+	 * @return the slot
+	 */
+	private static int slot(final long key, final int mask) {
+		final long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+	
+	/**
+	 * An occurrence of one of the substrings.
+	 */
+	public static final class Match {
+		
+		private final String substring;
+		
+		private final int start;
+		
+		private Match(final String substring, final int start) {
+			this.substring = substring;
+			this.start = start;
+		}
+		
+		/**
+		 * Gets the substring that occurs.
+		 * 
+		 * @return the substring
+		 */
+		public String getSubstring() {
+			return substring;
+		}
+		
+		/**
+		 * Gets the index of the start of the occurrence.
+		 * 
+		 * @return the start index
+		 */
+		public int getStart() {
+			return start;
+		}
+		
+		/**
+		 * Gets the index after the end of the occurrence.
+		 * 
+		 * @return the end index
+		 */
+		public int getEnd() {
+			return start + substring.length();
+		}
+	}
+}
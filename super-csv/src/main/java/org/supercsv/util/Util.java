@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.exception.SuperCsvException;
 
@@ -95,6 +96,26 @@ public final class Util {
 		}
 	}
 	
+	/**
+	 * Gets the value to pass to a processor. A CharSequence that isn't a String (such as a column view, which is only
+	 * valid until the next row is read) is converted to a String, unless the processor is a
+	 * {@link CharSequenceCellProcessor}; any other value is passed as-is.
+	 * 
+	 * @param value
+	 *            the value (may be null)
+	 * @param processor
+	 *            the processor the value will be passed to (may be null)
+	 * @return the value to pass to the processor
+	 * @since 2.4.1
+	 */
+	public static Object toProcessorInput(final Object value, final CellProcessor processor) {
+		if( value instanceof CharSequence && !(value instanceof String)
+			&& !(processor instanceof CharSequenceCellProcessor) ) {
+			return value.toString();
+		}
+		return value;
+	}
+	
 	/**
 	 * Converts a List to a Map using the elements of the nameMapping array as the keys of the Map.
 	 * 
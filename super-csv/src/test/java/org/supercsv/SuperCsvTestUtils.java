@@ -18,8 +18,10 @@ package org.supercsv;
 import static org.junit.Assert.assertEquals;
 
 import java.sql.Time;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -237,6 +239,60 @@ public class SuperCsvTestUtils {
 		assertEquals(expectedOutput, processor.execute(input, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Runs the worker on the supplied number of threads at once, and asserts that none of them recorded a failure or
+	 * threw an exception (which would otherwise only end its thread, without failing the test).
+	 * 
+	 * @param threadCount
+	 *            the number of threads
+	 * @param worker
+	 *            the worker to run on each thread
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the threads to finish
+	 */
+	public static void assertWorkerOnThreads(final int threadCount, final Worker worker) throws InterruptedException {
+		final List<String> failures = Collections.synchronizedList(new ArrayList<String>());
+		final Thread[] threads = new Thread[threadCount];
+		for( int i = 0; i < threads.length; i++ ) {
+			final int threadIndex = i;
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						worker.run(threadIndex, failures);
+					}
+					catch(RuntimeException e) {
+						failures.add("thread " + threadIndex + ": " + e);
+					}
+					catch(Error e) {
+						failures.add("thread " + threadIndex + ": " + e);
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for( final Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals(Collections.emptyList(), failures);
+	}
+	
+	/**
+	 * The work done by each thread in {@link SuperCsvTestUtils#assertWorkerOnThreads(int, Worker)}.
+	 */
+	public interface Worker {
+		
+		/**
+		 * Does the work, recording any wrong results.
+		 * 
+		 * @param threadIndex
+		 *            the index of the thread (from 0)
+		 * @param failures
+		 *            the (synchronized) List to add a description of each wrong result to
+		 */
+		void run(int threadIndex, List<String> failures);
+	}
+	
 	/**
 	 * Compares two Strings null-safe. Basically this method provides the same function as StringUtils.equals() from
 	 * Apache Commons lang3, except that only Strings are compared (like it was in versions before 3.0).
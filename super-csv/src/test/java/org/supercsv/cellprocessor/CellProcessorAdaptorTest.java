@@ -16,9 +16,14 @@
 package org.supercsv.cellprocessor;
 
 import static org.junit.Assert.assertEquals;
+import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 
 import org.junit.Test;
+import org.supercsv.cellprocessor.ift.BoolCellProcessor;
+import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.LongCellProcessor;
 import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.CsvContext;
 
 /**
  * Tests the CellProcessorAdaptor abstract processor.
@@ -53,6 +58,40 @@ public class CellProcessorAdaptorTest {
 		assertEquals(processor, processorChain.next);
 	}
 	
+	/**
+	 * Tests that the primitive entry points box the value and call execute() by default.
+	 */
+	@Test
+	public void testPrimitiveExecution() {
+		final IdentityTransform processor = new IdentityTransform();
+		assertEquals(Long.valueOf(1L), processor.executeLong(1L, ANONYMOUS_CSVCONTEXT));
+		assertEquals(Double.valueOf(1.5), processor.executeDouble(1.5, ANONYMOUS_CSVCONTEXT));
+		assertEquals(Boolean.TRUE, processor.executeBool(true, ANONYMOUS_CSVCONTEXT));
+		assertEquals(Long.valueOf(2L), new ParseLong(processor).execute("2", ANONYMOUS_CSVCONTEXT));
+	}
+	
+	/**
+	 * Tests that a processor implementing LongCellProcessor, DoubleCellProcessor and BoolCellProcessor directly (which
+	 * doesn't have the primitive entry points) is passed a boxed value by the processors that produce primitives.
+	 */
+	@Test
+	public void testPrimitiveExecutionWithMarkerInterfacesOnly() {
+		final MarkerOnlyProcessor processor = new MarkerOnlyProcessor();
+		assertEquals(Long.valueOf(2L), new ParseLong(processor).execute("2", ANONYMOUS_CSVCONTEXT));
+		assertEquals(Double.valueOf(2.5), new ParseDouble(processor).execute("2.5", ANONYMOUS_CSVCONTEXT));
+		assertEquals(Boolean.TRUE, new ParseBool(processor).execute("true", ANONYMOUS_CSVCONTEXT));
+	}
+	
+	/**
+	 * A processor that implements the marker interfaces directly, rather than extending CellProcessorAdaptor.
+	 */
+	private static class MarkerOnlyProcessor implements BoolCellProcessor, DoubleCellProcessor, LongCellProcessor {
+		
+		public Object execute(final Object value, final CsvContext context) {
+			return value;
+		}
+	}
+	
 	/**
 	 * Tests construction of a processor chain with a null processor (should throw an Exception).
 	 */
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Tests the ClockCache class.
+ */
+public class ClockCacheTest {
+	
+	/**
+	 * Tests that values (including null) are cached, and hits and misses are counted.
+	 */
+	@Test
+	public void testGetAndPut() {
+		final ClockCache cache = new ClockCache(4);
+		assertSame(ClockCache.NOT_FOUND, cache.get("a"));
+		cache.put("a", "A");
+		cache.put("b", null);
+		assertEquals("A", cache.get("a"));
+		assertNull(cache.get("b"));
+		cache.put("a", "AA");
+		assertEquals("AA", cache.get("a"));
+		assertEquals(2, cache.size());
+		assertEquals(3L, cache.getHits());
+		assertEquals(1L, cache.getMisses());
+	}
+	
+	/**
+	 * Tests that entries that haven't been referenced since the hand last passed them are evicted first.
+	 */
+	@Test
+	public void testEviction() {
+		final ClockCache cache = new ClockCache(3);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.put("c", "C");
+		cache.get("a");
+		cache.get("c");
+		
+		cache.put("d", "D"); // a is referenced (so is given a second chance), b isn't
+		assertSame(ClockCache.NOT_FOUND, cache.get("b"));
+		assertEquals("A", cache.get("a"));
+		assertEquals("C", cache.get("c"));
+		assertEquals("D", cache.get("d"));
+		assertEquals(3, cache.size());
+		
+		cache.put("e", "E"); // every entry is referenced, so the hand sweeps all the way round and evicts c
+		assertSame(ClockCache.NOT_FOUND, cache.get("c"));
+		assertEquals("E", cache.get("e"));
+		assertEquals(3, cache.size());
+	}
+	
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the FixedScaleNumberFormat class. As it uses the default locale, the expected results come from a DecimalFormat
+ * with the same pattern.
+ */
+public class FixedScaleNumberFormatTest {
+	
+	private static final String[] PATTERNS = { "0", "0.00", "#,##0", "#,##0.00", "00.0", "0000,000", "0.000000000" };
+	
+	private static final double[] DOUBLES = { 0.0, -0.0, 0.125, 0.375, 2.675, 1.005, -0.001, -1234567.125, 0.5, 1.5,
+		2.5, 999.995, 1e6, -4503599.5, Double.MIN_VALUE };
+	
+	private static final long[] LONGS = { 0L, 1L, -1L, 999L, 1000L, -1234567L, Long.MAX_VALUE, Integer.MIN_VALUE };
+	
+	/**
+	 * Tests that longs and doubles are formatted the same as DecimalFormat.
+	 */
+	@Test
+	public void testFormat() {
+		final Random random = new Random(0L);
+		for( final String pattern : PATTERNS ) {
+			final FixedScaleNumberFormat format = FixedScaleNumberFormat.compile(pattern);
+			assertNotNull(pattern, format);
+			final DecimalFormat expected = new DecimalFormat(pattern);
+			
+			for( final double value : DOUBLES ) {
+				assertEquals(pattern + " " + value, expected.format(value), format.format(value));
+			}
+			for( final long value : LONGS ) {
+				assertEquals(pattern + " " + value, expected.format(value), format.format(value));
+			}
+			for( int i = 0; i < 10000; i++ ) {
+				final double value = (random.nextInt(2000000) - 1000000) / 1000.0 + (i % 2 == 0 ? 0.0005 : 0.0);
+				assertEquals(pattern + " " + value, expected.format(value), format.format(value));
+				final long longValue = random.nextLong() >> random.nextInt(64);
+				assertEquals(pattern + " " + longValue, expected.format(longValue), format.format(longValue));
+			}
+		}
+	}
+	
+	/**
+	 * Tests the values that are left to DecimalFormat.
+	 */
+	@Test
+	public void testUnsupportedValues() {
+		final FixedScaleNumberFormat format = FixedScaleNumberFormat.compile("0.00");
+		assertNull(format.format(Double.NaN));
+		assertNull(format.format(Double.NEGATIVE_INFINITY));
+		assertNull(format.format(1e20));
+		assertNull(format.format(Long.MIN_VALUE));
+	}
+	
+	/**
+	 * Tests the patterns that aren't simple fixed-scale patterns.
+	 */
+	@Test
+	public void testUnsupportedPatterns() {
+		for( final String pattern : new String[] { "#", "#.00", "#,##0.##", "0.00;(0.00)", "0.0E0", "0%", "'$'0.00",
+			"0.0.0" } ) {
+			assertNull(pattern, FixedScaleNumberFormat.compile(pattern));
+		}
+	}
+	
+}
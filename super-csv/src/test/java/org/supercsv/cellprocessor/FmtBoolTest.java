@@ -73,6 +73,15 @@ public class FmtBoolTest {
 		processor.execute(null, ANONYMOUS_CSVCONTEXT);
 	}
 	
+	/**
+	 * Tests executeBool(), and chaining after ParseBool (which passes it a primitive boolean).
+	 */
+	@Test
+	public void testExecuteBool() {
+		assertEquals("y", new FmtBool("y", "n").executeBool(true, ANONYMOUS_CSVCONTEXT));
+		assertEquals("n", new ParseBool(new FmtBool("y", "n")).execute("false", ANONYMOUS_CSVCONTEXT));
+	}
+	
 	/**
 	 * Tests execution with a non-Boolean input (should throw an Exception).
 	 */
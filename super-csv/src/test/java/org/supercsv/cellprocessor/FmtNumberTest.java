@@ -17,11 +17,14 @@ package org.supercsv.cellprocessor;
 
 import static org.junit.Assert.assertEquals;
 import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
+import static org.supercsv.SuperCsvTestUtils.assertWorkerOnThreads;
 
 import java.text.DecimalFormat;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.SuperCsvTestUtils.Worker;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.mock.IdentityTransform;
@@ -93,6 +96,44 @@ public class FmtNumberTest {
 		assertEquals(FORMATTED_NUMBER, processorChain2.execute(toRoundDown, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests formatting primitive values (including from ParseLong and ParseDouble), with a fixed-scale format String
+	 * and a DecimalFormat.
+	 */
+	@Test
+	public void testPrimitiveFormat() {
+		final String formattedLong = new DecimalFormat(DECIMAL_FORMAT).format(7L);
+		for( final FmtNumber fmtNumber : new FmtNumber[] { new FmtNumber(DECIMAL_FORMAT),
+			new FmtNumber(new DecimalFormat(DECIMAL_FORMAT)) } ) {
+			assertEquals(FORMATTED_NUMBER, fmtNumber.executeDouble(12.339, ANONYMOUS_CSVCONTEXT));
+			assertEquals(formattedLong, fmtNumber.executeLong(7L, ANONYMOUS_CSVCONTEXT));
+			assertEquals(formattedLong, fmtNumber.execute(7, ANONYMOUS_CSVCONTEXT));
+			assertEquals(FORMATTED_NUMBER, new ParseDouble(fmtNumber).execute("12.34", ANONYMOUS_CSVCONTEXT));
+			assertEquals(formattedLong, new ParseLong(fmtNumber).execute("7", ANONYMOUS_CSVCONTEXT));
+		}
+	}
+	
+	/**
+	 * Tests that a processor constructed with a DecimalFormat can be shared between threads (each thread uses its own
+	 * copy of the DecimalFormat).
+	 */
+	@Test
+	public void testSharedBetweenThreads() throws Exception {
+		final DecimalFormat decimalFormat = new DecimalFormat("#,##0.###");
+		final CellProcessor sharedProcessor = new FmtNumber(decimalFormat);
+		assertWorkerOnThreads(4, new Worker() {
+			public void run(final int threadIndex, final List<String> failures) {
+				final DecimalFormat expected = new DecimalFormat("#,##0.###");
+				for( int j = 0; j < 10000; j++ ) {
+					final double value = j * 1234.5678 + threadIndex;
+					if( !expected.format(value).equals(sharedProcessor.execute(value, ANONYMOUS_CSVCONTEXT)) ) {
+						failures.add(expected.format(value));
+					}
+				}
+			}
+		});
+	}
+	
 	/**
 	 * Tests execution with a null input (should throw an Exception).
 	 */
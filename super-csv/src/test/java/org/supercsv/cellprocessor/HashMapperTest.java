@@ -94,6 +94,39 @@ public class HashMapperTest {
 		assertEquals(DEFAULT_VALUE, processorChain2.execute(invalidKey, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests chained/unchained execution with String keys, using String and CharSequence input.
+	 */
+	@Test
+	public void testWithStringKeys() {
+		final Map<Object, Object> map = new HashMap<Object, Object>();
+		map.put("one", 1);
+		map.put(2, "two");
+		final CellProcessor p = new HashMapper(map, DEFAULT_VALUE);
+		final CellProcessor pChain = new HashMapper(map, DEFAULT_VALUE, new IdentityTransform());
+		for( CellProcessor cp : new CellProcessor[] { p, pChain } ) {
+			assertEquals(1, cp.execute("one", ANONYMOUS_CSVCONTEXT));
+			assertEquals(1, cp.execute(new StringBuilder("one"), ANONYMOUS_CSVCONTEXT));
+			assertEquals(DEFAULT_VALUE, cp.execute("ONE", ANONYMOUS_CSVCONTEXT));
+			assertEquals(DEFAULT_VALUE, cp.execute(new StringBuilder("2"), ANONYMOUS_CSVCONTEXT));
+			assertEquals("two", cp.execute(2, ANONYMOUS_CSVCONTEXT));
+		}
+	}
+	
+	/**
+	 * Tests that the mapping is copied when the processor is constructed.
+	 */
+	@Test
+	public void testMappingIsCopied() {
+		final Map<Object, Object> map = new HashMap<Object, Object>();
+		map.put("one", 1);
+		final CellProcessor p = new HashMapper(map);
+		map.put("one", 2);
+		map.put("two", 2);
+		assertEquals(1, p.execute("one", ANONYMOUS_CSVCONTEXT));
+		assertNull(p.execute("two", ANONYMOUS_CSVCONTEXT));
+	}
+	
 	/**
 	 * Tests that other kinds of processors (e.g. LongCellProcessors) can be chained to HashMapper.
 	 */
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
+import static org.supercsv.SuperCsvTestUtils.assertWorkerOnThreads;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.supercsv.SuperCsvTestUtils.Worker;
+import org.supercsv.cellprocessor.constraint.StrRegEx;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Tests the Memoize processor.
+ */
+public class MemoizeTest {
+	
+	private CountingProcessor counter;
+	
+	/**
+	 * A processor that counts its executions (and upper-cases its input, or maps "null" to null).
+	 */
+	private static class CountingProcessor extends CellProcessorAdaptor {
+		
+		private int executions = 0;
+		
+		public Object execute(final Object value, final CsvContext context) {
+			synchronized( this ) {
+				executions++;
+			}
+			return "null".equals(value) ? null : String.valueOf(value).toUpperCase();
+		}
+	}
+	
+	/**
+	 * Sets up the counting processor.
+	 */
+	@Before
+	public void setUp() {
+		counter = new CountingProcessor();
+	}
+	
+	/**
+	 * Tests that repeated inputs don't execute the chain again.
+	 */
+	@Test
+	public void testRepeatedValues() {
+		for( final boolean concurrent : new boolean[] { false, true } ) {
+			counter = new CountingProcessor();
+			final Memoize memoize = new Memoize(10, concurrent, counter);
+			for( int i = 0; i < 5; i++ ) {
+				assertEquals("A", memoize.execute("a", ANONYMOUS_CSVCONTEXT));
+				assertEquals("B", memoize.execute("b", ANONYMOUS_CSVCONTEXT));
+				assertNull(memoize.execute("null", ANONYMOUS_CSVCONTEXT));
+			}
+			assertEquals(3, counter.executions);
+			assertEquals(12L, memoize.getHits());
+			assertEquals(3L, memoize.getMisses());
+		}
+	}
+	
+	/**
+	 * Tests that a CharSequence input is cached as a String (so a reused buffer doesn't corrupt the cache).
+	 */
+	@Test
+	public void testCharSequenceInput() {
+		final Memoize memoize = new Memoize(10, counter);
+		final StringBuilder buffer = new StringBuilder("a");
+		assertEquals("A", memoize.execute(buffer, ANONYMOUS_CSVCONTEXT));
+		buffer.setCharAt(0, 'b');
+		assertEquals("B", memoize.execute(buffer, ANONYMOUS_CSVCONTEXT));
+		assertEquals("A", memoize.execute("a", ANONYMOUS_CSVCONTEXT));
+		assertEquals(2, counter.executions);
+	}
+	
+	/**
+	 * Tests that null inputs always execute the chain.
+	 */
+	@Test
+	public void testNullInput() {
+		final Memoize memoize = new Memoize(10, new ConvertNullTo("default", counter));
+		assertEquals("default", memoize.execute(null, ANONYMOUS_CSVCONTEXT));
+		assertEquals("default", memoize.execute(null, ANONYMOUS_CSVCONTEXT));
+		assertEquals(0L, memoize.getHits() + memoize.getMisses());
+	}
+	
+	/**
+	 * Tests that the least recently used values are evicted when the cache is full.
+	 */
+	@Test
+	public void testEviction() {
+		final Memoize memoize = new Memoize(2, counter);
+		memoize.execute("a", ANONYMOUS_CSVCONTEXT);
+		memoize.execute("b", ANONYMOUS_CSVCONTEXT);
+		memoize.execute("a", ANONYMOUS_CSVCONTEXT);
+		memoize.execute("c", ANONYMOUS_CSVCONTEXT); // evicts b
+		assertEquals(3, counter.executions);
+		memoize.execute("a", ANONYMOUS_CSVCONTEXT);
+		assertEquals(3, counter.executions);
+		memoize.execute("b", ANONYMOUS_CSVCONTEXT);
+		assertEquals(4, counter.executions);
+	}
+	
+	/**
+	 * Tests that exceptions thrown by the chain aren't cached.
+	 */
+	@Test
+	public void testExceptionsNotCached() {
+		final Map<Object, Object> mapping = new HashMap<Object, Object>();
+		mapping.put("y", Boolean.TRUE);
+		final Memoize memoize = new Memoize(10, new StrRegEx("[a-z]", new HashMapper(mapping)));
+		for( int i = 0; i < 2; i++ ) {
+			try {
+				memoize.execute("Y", ANONYMOUS_CSVCONTEXT);
+				fail("should have thrown SuperCsvConstraintViolationException");
+			}
+			catch(SuperCsvConstraintViolationException e) {
+				// expected
+			}
+		}
+		assertEquals(Boolean.TRUE, memoize.execute("y", ANONYMOUS_CSVCONTEXT));
+		assertSame(Boolean.TRUE, memoize.execute("y", ANONYMOUS_CSVCONTEXT));
+		assertEquals(1L, memoize.getHits());
+	}
+	
+	/**
+	 * Tests that a concurrent processor can be shared between threads.
+	 */
+	@Test
+	public void testSharedBetweenThreads() throws Exception {
+		final Memoize memoize = new Memoize(64, true, new IdentityTransform());
+		assertWorkerOnThreads(4, new Worker() {
+			public void run(final int threadIndex, final List<String> failures) {
+				for( int j = 0; j < 10000; j++ ) {
+					final String value = Integer.toString(j % 100);
+					final Object result = memoize.execute(value, ANONYMOUS_CSVCONTEXT);
+					if( !value.equals(result) ) {
+						failures.add(value + " -> " + result);
+					}
+				}
+			}
+		});
+		assertEquals(40000L, memoize.getHits() + memoize.getMisses());
+	}
+	
+	/**
+	 * Tests construction with a capacity of 0 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithZeroCapacity() {
+		new Memoize(0, new IdentityTransform());
+	}
+	
+	/**
+	 * Tests construction with a null next processor (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullNext() {
+		new Memoize(10, (CellProcessor) null);
+	}
+	
+}
@@ -17,12 +17,15 @@ package org.supercsv.cellprocessor;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.CharSequenceCellProcessor;
 import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.CsvContext;
 
 /**
  * Tests the Optional processor.
@@ -72,6 +75,25 @@ public class OptionalTest {
 		assertEquals(normal, processorChain.execute(normal, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests chained execution with a CharSequence (that isn't a String) as input. It should be passed to the next
+	 * processor as a String, unless it can process CharSequences.
+	 */
+	@Test
+	public void testCharSequenceInput() {
+		final StringBuilder input = new StringBuilder("17");
+		assertEquals("17", processor.execute(input, ANONYMOUS_CSVCONTEXT));
+		assertEquals("17", processorChain.execute(input, ANONYMOUS_CSVCONTEXT));
+		assertEquals(17, new Optional(new ParseInt()).execute(input, ANONYMOUS_CSVCONTEXT));
+		
+		final CharSequenceCellProcessor identity = new CharSequenceCellProcessor() {
+			public Object execute(final Object value, final CsvContext context) {
+				return value;
+			}
+		};
+		assertSame(input, new Optional(identity).execute(input, ANONYMOUS_CSVCONTEXT));
+	}
+	
 	/**
 	 * Tests execution with a null input (should return null).
 	 */
@@ -130,6 +130,23 @@ public class ParseBoolTest {
 		
 	}
 	
+	/**
+	 * Tests unchained/chained execution with CharSequence (rather than String) input.
+	 */
+	@Test
+	public void testWithCharSequence() {
+		for( CellProcessor processor : Arrays.asList(processor2, processorChain2) ) {
+			assertTrue((Boolean) processor.execute(new StringBuilder(TRUE_VALUE.toUpperCase()), ANONYMOUS_CSVCONTEXT));
+			assertFalse((Boolean) processor.execute(new StringBuilder(FALSE_VALUE), ANONYMOUS_CSVCONTEXT));
+		}
+		assertTrue((Boolean) matchCaseProcessor2.execute(new StringBuilder(TRUE_VALUE), ANONYMOUS_CSVCONTEXT));
+		try {
+			matchCaseProcessor2.execute(new StringBuilder(TRUE_VALUE.toUpperCase()), ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvCellProcessorException");
+		}
+		catch(SuperCsvCellProcessorException e) {}
+	}
+	
 	/**
 	 * Tests unchained/chained execution with invalid true/false values using processors with ignoreCase disabled.
 	 */
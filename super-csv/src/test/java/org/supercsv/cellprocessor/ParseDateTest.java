@@ -16,20 +16,25 @@
 package org.supercsv.cellprocessor;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.fail;
 import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
+import static org.supercsv.SuperCsvTestUtils.assertWorkerOnThreads;
 import static org.supercsv.SuperCsvTestUtils.date;
 
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.SuperCsvTestUtils.Worker;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.ParseCache;
 
 /**
  * Tests the ParseDate processor. As ParseDate uses the default locale, this test must be written in a locale
@@ -113,6 +118,26 @@ public class ParseDateTest {
 		assertEquals(DATE, germanProcessorChain.execute(GERMAN_DATE, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests that a processor can be shared between threads (each thread uses its own formatter).
+	 */
+	@Test
+	public void testSharedBetweenThreads() throws Exception {
+		final CellProcessor sharedProcessor = new ParseDate("yyyy-MM-dd");
+		assertWorkerOnThreads(4, new Worker() {
+			public void run(final int threadIndex, final List<String> failures) {
+				final int year = 2000 + threadIndex;
+				for( int day = 1; day <= 28 * 12; day++ ) {
+					final Date expected = date(year, (day - 1) / 28 + 1, (day - 1) % 28 + 1);
+					final String formatted = String.format("%d-%02d-%02d", year, (day - 1) / 28 + 1, (day - 1) % 28 + 1);
+					if( !expected.equals(sharedProcessor.execute(formatted, ANONYMOUS_CSVCONTEXT)) ) {
+						failures.add(formatted);
+					}
+				}
+			}
+		});
+	}
+	
 	/**
 	 * Tests execution with an invalid date (doesn't match format), should throw an exception.
 	 */
@@ -148,6 +173,36 @@ public class ParseDateTest {
 		assertEquals(expectedDate, processorChain2.execute(dodgyDate, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests a memoizing processor: repeated values are found in the cache, and each execution returns its own copy of
+	 * the Date (so modifying it doesn't affect the cache).
+	 */
+	@Test
+	public void testMemoized() {
+		final ParseCache<Date> cache = new ParseCache<Date>(16, true);
+		final CellProcessor memoized = ParseDate.memoized(DATE_FORMAT, false, Locale.getDefault(), cache);
+		final CellProcessor memoizedChain = ParseDate.memoized(DATE_FORMAT, false, Locale.getDefault(), cache,
+			new IdentityTransform());
+		
+		final Date first = (Date) memoized.execute(FORMATTED_DATE, ANONYMOUS_CSVCONTEXT);
+		assertEquals(DATE, first);
+		first.setTime(0L);
+		final Date second = (Date) memoizedChain.execute(FORMATTED_DATE, ANONYMOUS_CSVCONTEXT);
+		assertEquals(DATE, second);
+		assertNotSame(first, second);
+		assertEquals(1L, cache.getHits());
+		assertEquals(1L, cache.getMisses());
+	}
+	
+	/**
+	 * Tests that a memoizing processor doesn't cache unparseable values (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvCellProcessorException.class)
+	public void testMemoizedWithUnparseableDate() {
+		ParseDate.memoized(DATE_FORMAT, false, Locale.getDefault(), new ParseCache<Date>(16)).execute("2011-12-25",
+			ANONYMOUS_CSVCONTEXT);
+	}
+	
 	/**
 	 * Tests execution with a non String input (should throw an exception).
 	 */
@@ -188,4 +243,20 @@ public class ParseDateTest {
 		new ParseDate(DATE_FORMAT, false, (Locale) null);
 	}
 	
+	/**
+	 * Tests the memoized() factory method with a null cache (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testMemoizedWithNullCache() {
+		ParseDate.memoized(DATE_FORMAT, false, Locale.GERMAN, null);
+	}
+	
+	/**
+	 * Tests the memoized() factory method with a null next processor (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testMemoizedWithNullNext() {
+		ParseDate.memoized(DATE_FORMAT, false, Locale.GERMAN, new ParseCache<Date>(16), null);
+	}
+	
 }
@@ -77,6 +77,15 @@ public class ParseDoubleTest {
 		assertEquals(NEGATIVE_VAL, processorChain.execute(NEGATIVE_STRING, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests execution with a CharSequence (such as a column view) as input.
+	 */
+	@Test
+	public void testValidDoubleCharSequence() {
+		assertEquals(POSITIVE_VAL, processor.execute(new StringBuilder(POSITIVE_STRING), ANONYMOUS_CSVCONTEXT));
+		assertEquals(NEGATIVE_VAL, processorChain.execute(new StringBuilder(NEGATIVE_STRING), ANONYMOUS_CSVCONTEXT));
+	}
+	
 	/**
 	 * Tests execution with an badly formatted String input (should throw an exception).
 	 */
@@ -38,6 +38,10 @@ public class ParseEnumTest {
 		NORMAL, lowercase, MixedCase
 	}
 	
+	public enum CollidingEnum {
+		same, SAME, Same, other
+	}
+	
 	private CellProcessor processor;
 	private CellProcessor processorChain;
 	private CellProcessor ignoreCaseProcessor;
@@ -119,6 +123,47 @@ public class ParseEnumTest {
 		}
 	}
 	
+	/**
+	 * Tests that every constant of an enum can be parsed, from a String and from another CharSequence (such as a
+	 * column view), with and without ignoring case.
+	 */
+	@Test
+	public void testAllConstants() {
+		for( final boolean ignoreCase : new boolean[] { false, true } ) {
+			final CellProcessor parseEnum = new ParseEnum(Thread.State.class, ignoreCase);
+			for( final Thread.State state : Thread.State.values() ) {
+				assertEquals(state, parseEnum.execute(state.name(), ANONYMOUS_CSVCONTEXT));
+				assertEquals(state, parseEnum.execute(new StringBuilder(state.name()), ANONYMOUS_CSVCONTEXT));
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the first declared constant is used when several constants have the same name ignoring case, and that
+	 * the exact constant is used when not ignoring case.
+	 */
+	@Test
+	public void testCollidingConstants() {
+		final CellProcessor ignoreCaseParseEnum = new ParseEnum(CollidingEnum.class, true);
+		assertEquals(CollidingEnum.same, ignoreCaseParseEnum.execute("SAME", ANONYMOUS_CSVCONTEXT));
+		assertEquals(CollidingEnum.same, ignoreCaseParseEnum.execute("sAmE", ANONYMOUS_CSVCONTEXT));
+		assertEquals(CollidingEnum.other, ignoreCaseParseEnum.execute("OTHER", ANONYMOUS_CSVCONTEXT));
+		
+		final CellProcessor parseEnum = new ParseEnum(CollidingEnum.class);
+		for( final CollidingEnum constant : CollidingEnum.values() ) {
+			assertEquals(constant, parseEnum.execute(constant.name(), ANONYMOUS_CSVCONTEXT));
+		}
+	}
+	
+	/**
+	 * Tests execution with an input that isn't a CharSequence (its toString() value is parsed).
+	 */
+	@Test
+	public void testWithNonCharSequence() {
+		assertEquals(CollidingEnum.other, new ParseEnum(CollidingEnum.class).execute(CollidingEnum.other,
+			ANONYMOUS_CSVCONTEXT));
+	}
+	
 	/**
 	 * Tests execution with a null input (should throw an Exception).
 	 */
@@ -78,6 +78,28 @@ public class ParseLongTest {
 		assertEquals(NEGATIVE_VAL, processorChain.execute(NEGATIVE_STRING, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests unchained/chained execution with valid long CharSequences (that aren't Strings) as input.
+	 */
+	@Test
+	public void testValidLongCharSequences() {
+		// positive values
+		assertEquals(POSITIVE_VAL, processor.execute(new StringBuilder(POSITIVE_STRING), ANONYMOUS_CSVCONTEXT));
+		assertEquals(POSITIVE_VAL, processorChain.execute(new StringBuilder(POSITIVE_STRING), ANONYMOUS_CSVCONTEXT));
+		
+		// negative values
+		assertEquals(NEGATIVE_VAL, processor.execute(new StringBuilder(NEGATIVE_STRING), ANONYMOUS_CSVCONTEXT));
+		assertEquals(NEGATIVE_VAL, processorChain.execute(new StringBuilder(NEGATIVE_STRING), ANONYMOUS_CSVCONTEXT));
+	}
+	
+	/**
+	 * Tests execution with an badly formatted CharSequence input (should throw an exception).
+	 */
+	@Test(expected = SuperCsvCellProcessorException.class)
+	public void testWithInvalidFormatCharSequence() {
+		processor.execute(new StringBuilder("123.45"), ANONYMOUS_CSVCONTEXT);
+	}
+	
 	/**
 	 * Tests execution with an badly formatted String input (should throw an exception).
 	 */
@@ -76,6 +76,18 @@ public class TrimTest {
 		assertEquals(expected, processorChain.execute(input, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests unchained/chained execution with a CharSequence (that isn't a String) as input. The trimmed value should be
+	 * passed to the next processor as a String, unless it can process CharSequences.
+	 */
+	@Test
+	public void testCharSequenceInput() {
+		StringBuilder input = new StringBuilder("\t17  \n");
+		assertEquals("17", processor.execute(input, ANONYMOUS_CSVCONTEXT));
+		assertEquals("17", processorChain.execute(input, ANONYMOUS_CSVCONTEXT));
+		assertEquals(17, new Trim(new ParseInt()).execute(input, ANONYMOUS_CSVCONTEXT));
+	}
+	
 	/**
 	 * Tests execution with a null input (should throw an Exception).
 	 */
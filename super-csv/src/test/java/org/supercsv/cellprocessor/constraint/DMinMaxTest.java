@@ -20,6 +20,7 @@ import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.cellprocessor.ParseDouble;
 import org.supercsv.cellprocessor.StrReplace;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
@@ -76,6 +77,23 @@ public class DMinMaxTest {
 		assertEquals(0.0, chain.execute("zero", ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests that this processor can be chained after ParseDouble, which passes it a primitive double.
+	 */
+	@Test
+	public void testChainedAfterParseDouble() {
+		final CellProcessor chain = new ParseDouble(new DMinMax(0.0, 1.0, new IdentityTransform()));
+		assertEquals(0.5, chain.execute("0.5", ANONYMOUS_CSVCONTEXT));
+	}
+	
+	/**
+	 * Tests executeDouble() with a value greater than the maximum (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvConstraintViolationException.class)
+	public void testExecuteDoubleGreaterThanMax() {
+		new DMinMax(0.0, 1.0).executeDouble(1.5, ANONYMOUS_CSVCONTEXT);
+	}
+	
 	/**
 	 * Tests an input above the max.
 	 */
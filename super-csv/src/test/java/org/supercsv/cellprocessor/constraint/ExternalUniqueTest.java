@@ -0,0 +1,213 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.constraint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Tests the ExternalUnique constraint.
+ */
+public class ExternalUniqueTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	/**
+	 * Tests that a duplicate is reported as soon as it's encountered while the values fit in memory.
+	 */
+	@Test
+	public void testDuplicateInMemory() {
+		final ExternalUnique processor = new ExternalUnique(1024L * 1024L, new IdentityTransform());
+		assertEquals("a", processor.execute("a", new CsvContext(2, 2, 1)));
+		assertEquals("b", processor.execute("b", new CsvContext(3, 3, 1)));
+		try {
+			processor.execute("a", new CsvContext(6, 5, 1));
+			fail("should have thrown SuperCsvConstraintViolationException");
+		}
+		catch(SuperCsvConstraintViolationException e) {
+			assertEquals("duplicate value 'a' encountered (first encountered on row 2)", e.getMessage());
+			assertEquals(5, e.getCsvContext().getRowNumber());
+		}
+		assertFalse(processor.isSpilled());
+		processor.verify();
+	}
+	
+	/**
+	 * Tests that once the values have been spilled to disk, the first duplicate (by row number) is reported by
+	 * verify(), with the row and line numbers where it was encountered, and that the temporary files are deleted.
+	 */
+	@Test
+	public void testDuplicateAfterSpilling() {
+		final ExternalUnique processor = new ExternalUnique(64L * 1024L, folder.getRoot());
+		for( int row = 1; row <= 10000; row++ ) {
+			final String value;
+			if( row == 9000 ) {
+				value = "value5000";
+			} else if( row == 7000 ) {
+				value = "value10";
+			} else {
+				value = "value" + row;
+			}
+			processor.execute(value, new CsvContext(row + 1, row, 3));
+		}
+		assertTrue(processor.isSpilled());
+		assertTrue(folder.getRoot().list().length > 0);
+		
+		try {
+			processor.verify();
+			fail("should have thrown SuperCsvConstraintViolationException");
+		}
+		catch(SuperCsvConstraintViolationException e) {
+			assertEquals("duplicate value 'value10' encountered (first encountered on row 10)", e.getMessage());
+			assertEquals(new CsvContext(7001, 7000, 3), e.getCsvContext());
+		}
+		assertFalse(processor.isSpilled());
+		assertEquals(0, folder.getRoot().list().length);
+	}
+	
+	/**
+	 * Tests that unique values pass verify(), including when partitions are too big to check in memory and have to be
+	 * partitioned again, and that the processor can be reused afterwards.
+	 */
+	@Test
+	public void testUniqueValuesAfterSpilling() {
+		final ExternalUnique processor = new ExternalUnique(4096L, folder.getRoot());
+		for( int row = 1; row <= 50000; row++ ) {
+			processor.execute(Integer.toString(row), new CsvContext(row, row, 1));
+		}
+		assertTrue(processor.isSpilled());
+		processor.verify();
+		assertEquals(0, folder.getRoot().list().length);
+		
+		processor.execute("1", ANONYMOUS_CSVCONTEXT);
+		processor.verify();
+	}
+	
+	/**
+	 * Tests that a duplicate is found by verify() when the partitions have to be partitioned again to fit in memory.
+	 */
+	@Test
+	public void testDuplicateAfterRepartitioning() {
+		final ExternalUnique processor = new ExternalUnique(4096L, folder.getRoot());
+		for( int row = 1; row <= 20000; row++ ) {
+			processor.execute(Integer.toString(row == 15000 ? 123 : row), new CsvContext(row, row, 1));
+		}
+		try {
+			processor.verify();
+			fail("should have thrown SuperCsvConstraintViolationException");
+		}
+		catch(SuperCsvConstraintViolationException e) {
+			assertEquals("duplicate value '123' encountered (first encountered on row 123)", e.getMessage());
+			assertEquals(15000, e.getCsvContext().getRowNumber());
+		}
+		assertEquals(0, folder.getRoot().list().length);
+	}
+	
+	/**
+	 * Tests that when the values can't be spilled to disk, the processor fails every subsequent value and verify()
+	 * (rather than forgetting the values it had seen), and can be reused after verify().
+	 */
+	@Test
+	public void testSpillFailure() {
+		final ExternalUnique processor = new ExternalUnique(1L, new File(folder.getRoot(), "missing"));
+		try {
+			processor.execute("a", ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("failed to spill values to disk", e.getMessage());
+		}
+		assertFalse(processor.isSpilled());
+		
+		try {
+			processor.execute("b", ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("uniqueness can't be checked, as the values couldn't be spilled to disk", e.getMessage());
+		}
+		try {
+			processor.verify();
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("uniqueness can't be verified, as the values couldn't be spilled to disk", e.getMessage());
+		}
+		
+		// verify() resets the processor, so the next value is checked (and spilled) again
+		try {
+			processor.execute("a", ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("failed to spill values to disk", e.getMessage());
+		}
+		processor.close();
+	}
+	
+	/**
+	 * Tests that close() deletes the temporary files.
+	 */
+	@Test
+	public void testClose() {
+		final ExternalUnique processor = new ExternalUnique(1L, folder.getRoot());
+		processor.execute("a", ANONYMOUS_CSVCONTEXT);
+		assertTrue(processor.isSpilled());
+		processor.close();
+		assertFalse(processor.isSpilled());
+		assertEquals(0, folder.getRoot().list().length);
+	}
+	
+	/**
+	 * Tests execution with a null input (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvCellProcessorException.class)
+	public void testWithNull() {
+		new ExternalUnique(1024L).execute(null, ANONYMOUS_CSVCONTEXT);
+	}
+	
+	/**
+	 * Tests construction with no memory (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithNoMemory() {
+		new ExternalUnique(0L);
+	}
+	
+	/**
+	 * Tests construction with a null temporary-file directory (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullTempDirectory() {
+		new ExternalUnique(1024L, (File) null);
+	}
+	
+}
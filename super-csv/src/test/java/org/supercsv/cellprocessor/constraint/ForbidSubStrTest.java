@@ -16,6 +16,7 @@
 package org.supercsv.cellprocessor.constraint;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 
 import java.util.ArrayList;
@@ -28,6 +29,7 @@ import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.SubstringMatcher;
 
 /**
  * Tests the ForbidSubStr constraint.
@@ -90,6 +92,39 @@ public class ForbidSubStrTest {
 		processor.execute(input, ANONYMOUS_CSVCONTEXT);
 	}
 	
+	/**
+	 * Tests that the violation reports the forbidden substring that was found, and its position.
+	 */
+	@Test
+	public void testForbiddenPosition() {
+		try {
+			processor.execute("Is Microsoft C++ awesome?", ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvConstraintViolationException");
+		}
+		catch(SuperCsvConstraintViolationException e) {
+			assertEquals("'Is Microsoft C++ awesome?' contains the forbidden substring 'Microsoft' at index 3",
+				e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests unchained/chained execution with a matcher shared by several processors.
+	 */
+	@Test
+	public void testWithSharedMatcher() {
+		final SubstringMatcher matcher = new SubstringMatcher(FORBIDDEN, FORBIDDEN2);
+		final String input = "I think Java is an awesome language";
+		for( CellProcessor cp : Arrays.asList(new ForbidSubStr(matcher), new ForbidSubStr(matcher,
+			new IdentityTransform())) ) {
+			assertEquals(input, cp.execute(input, ANONYMOUS_CSVCONTEXT));
+			try {
+				cp.execute("I think C++ is an awesome language", ANONYMOUS_CSVCONTEXT);
+				fail("should have thrown SuperCsvConstraintViolationException");
+			}
+			catch(SuperCsvConstraintViolationException e) {}
+		}
+	}
+	
 	/**
 	 * Tests execution with a null input (should throw an Exception).
 	 */
@@ -137,4 +172,13 @@ public class ForbidSubStrTest {
 	public void testConstructionWithNullSubstring() {
 		new ForbidSubStr(new String[] { null });
 	}
+	
+	/**
+	 * Tests construction with a null matcher (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructionWithNullMatcher() {
+		new ForbidSubStr((SubstringMatcher) null);
+	}
+	
 }
@@ -86,6 +86,26 @@ public class IsIncludedInTest {
 		
 	}
 	
+	/**
+	 * Tests unchained/chained execution with CharSequence input (which is always passed on as a String, as none of
+	 * the next processors accept CharSequences).
+	 */
+	@Test
+	public void testWithCharSequence() {
+		final StringBuilder two = new StringBuilder(TWO);
+		assertEquals(TWO, processor.execute(two, ANONYMOUS_CSVCONTEXT));
+		assertEquals(TWO, processorChain.execute(two, ANONYMOUS_CSVCONTEXT));
+		assertEquals(TWO, processorChain2.execute(two, ANONYMOUS_CSVCONTEXT));
+	}
+	
+	/**
+	 * Tests execution with a CharSequence that's not in the Set (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvConstraintViolationException.class)
+	public void testWithInvalidCharSequence() {
+		processor.execute(new StringBuilder("two"), ANONYMOUS_CSVCONTEXT);
+	}
+	
 	/**
 	 * Tests execution with a value that's not in the Set (should throw an Exception).
 	 */
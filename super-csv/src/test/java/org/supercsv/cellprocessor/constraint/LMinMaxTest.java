@@ -16,12 +16,14 @@
 package org.supercsv.cellprocessor.constraint;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 import static org.supercsv.cellprocessor.constraint.LMinMax.MAX_INTEGER;
 import static org.supercsv.cellprocessor.constraint.LMinMax.MIN_INTEGER;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.cellprocessor.ParseLong;
 import org.supercsv.cellprocessor.StrReplace;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
@@ -98,6 +100,39 @@ public class LMinMaxTest {
 		assertEquals(0L, chain.execute("zero", ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests that this processor can be chained after ParseLong, which passes it a primitive long.
+	 */
+	@Test
+	public void testChainedAfterParseLong() {
+		final CellProcessor chain = new ParseLong(new LMinMax(0L, 1000L, new IdentityTransform()));
+		assertEquals(999L, chain.execute("999", ANONYMOUS_CSVCONTEXT));
+		try {
+			chain.execute("1001", ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvConstraintViolationException");
+		}
+		catch(SuperCsvConstraintViolationException e) {
+			assertEquals("1001 does not lie between the min (0) and max (1000) values (inclusive)", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests executeLong() with values on the boundaries and outside them.
+	 */
+	@Test
+	public void testExecuteLong() {
+		final LMinMax minMax = new LMinMax(-1L, 1L);
+		assertEquals(-1L, minMax.executeLong(-1L, ANONYMOUS_CSVCONTEXT));
+		assertEquals(1L, minMax.executeLong(1L, ANONYMOUS_CSVCONTEXT));
+		try {
+			minMax.executeLong(2L, ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvConstraintViolationException");
+		}
+		catch(SuperCsvConstraintViolationException e) {
+			// expected
+		}
+	}
+	
 	/**
 	 * Tests execution with a value less than the minimum (should throw an Exception).
 	 */
@@ -16,6 +16,7 @@
 package org.supercsv.cellprocessor.constraint;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
 
 import java.util.ArrayList;
@@ -28,6 +29,7 @@ import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.SubstringMatcher;
 
 /**
  * Tests the RequireSubStr constraint.
@@ -78,6 +80,24 @@ public class RequireSubStrTest {
 		processor.execute(input, ANONYMOUS_CSVCONTEXT);
 	}
 	
+	/**
+	 * Tests unchained/chained execution with a matcher shared by several processors.
+	 */
+	@Test
+	public void testWithSharedMatcher() {
+		final SubstringMatcher matcher = new SubstringMatcher(REQUIRED1, REQUIRED2);
+		final String input = "to be or not to be";
+		for( CellProcessor cp : Arrays.asList(new RequireSubStr(matcher), new RequireSubStr(matcher,
+			new IdentityTransform())) ) {
+			assertEquals(input, cp.execute(input, ANONYMOUS_CSVCONTEXT));
+			try {
+				cp.execute("that is the question", ANONYMOUS_CSVCONTEXT);
+				fail("should have thrown SuperCsvConstraintViolationException");
+			}
+			catch(SuperCsvConstraintViolationException e) {}
+		}
+	}
+	
 	/**
 	 * Tests execution with a null input (should throw an Exception).
 	 */
@@ -125,4 +145,13 @@ public class RequireSubStrTest {
 	public void testConstructionWithNullSubstring() {
 		new RequireSubStr(new String[] { null });
 	}
+	
+	/**
+	 * Tests construction with a null matcher (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructionWithNullMatcher() {
+		new RequireSubStr((SubstringMatcher) null);
+	}
+	
 }
@@ -25,6 +25,7 @@ import java.util.regex.PatternSyntaxException;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.cellprocessor.ParseInt;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
@@ -63,6 +64,18 @@ public class StrRegExTest {
 		assertEquals(input, processorChain.execute(input, ANONYMOUS_CSVCONTEXT));
 	}
 	
+	/**
+	 * Tests unchained/chained execution with a CharSequence (that isn't a String) matching the regex. It should be
+	 * passed to the next processor as a String, unless it can process CharSequences.
+	 */
+	@Test
+	public void testValidCharSequenceInput() {
+		StringBuilder input = new StringBuilder("$123.45");
+		assertEquals("$123.45", processor.execute(input, ANONYMOUS_CSVCONTEXT));
+		assertEquals("$123.45", processorChain.execute(input, ANONYMOUS_CSVCONTEXT));
+		assertEquals(17, new StrRegEx("[0-9]+", new ParseInt()).execute(new StringBuilder("17"), ANONYMOUS_CSVCONTEXT));
+	}
+	
 	/**
 	 * Tests execution with input that doesn't match the regex.
 	 */
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.cellprocessor.constraint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.supercsv.SuperCsvTestUtils.ANONYMOUS_CSVCONTEXT;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.mock.IdentityTransform;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Tests the UniqueBloomFilter constraint.
+ */
+public class UniqueBloomFilterTest {
+	
+	private CellProcessor processor;
+	private CellProcessor processorChain;
+	
+	/**
+	 * A duplicate check that keeps every value it's asked about (so it only knows about suspected duplicates), and
+	 * counts the checks.
+	 */
+	private static class CountingDuplicateCheck implements DuplicateCheck {
+		
+		private final Set<Object> values = new HashSet<Object>();
+		
+		private int checks = 0;
+		
+		public boolean isDuplicate(final Object value, final CsvContext context) {
+			checks++;
+			return !values.add(value);
+		}
+	}
+	
+	/**
+	 * Sets up the processors for the test using all constructor combinations.
+	 */
+	@Before
+	public void setUp() {
+		processor = new UniqueBloomFilter(1000L, 0.000001);
+		processorChain = new UniqueBloomFilter(1000L, 0.000001, new IdentityTransform());
+	}
+	
+	/**
+	 * Tests unchained/chained execution with unique values.
+	 */
+	@Test
+	public void testValidInput() {
+		for( int i = 0; i < 1000; i++ ) {
+			assertEquals("value" + i, processor.execute("value" + i, ANONYMOUS_CSVCONTEXT));
+			assertEquals(Long.valueOf(i), processorChain.execute(Long.valueOf(i), ANONYMOUS_CSVCONTEXT));
+		}
+	}
+	
+	/**
+	 * Tests unchained/chained execution with a duplicate value (should throw an Exception).
+	 */
+	@Test
+	public void testDuplicateInput() {
+		for( final CellProcessor p : new CellProcessor[] { processor, processorChain } ) {
+			p.execute("duplicate", ANONYMOUS_CSVCONTEXT);
+			try {
+				p.execute(new String("duplicate"), ANONYMOUS_CSVCONTEXT);
+				fail("should have thrown SuperCsvConstraintViolationException");
+			}
+			catch(SuperCsvConstraintViolationException e) {
+				assertEquals("probable duplicate value 'duplicate' encountered", e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the filter is sized from the expected number of values and false positive rate, and that the false
+	 * positives stay below the configured rate while the expected number of distinct values are added (the rate only
+	 * reaches the configured one as the filter fills up).
+	 */
+	@Test
+	public void testFalsePositiveRate() {
+		final CountingDuplicateCheck duplicateCheck = new CountingDuplicateCheck();
+		final UniqueBloomFilter filter = new UniqueBloomFilter(100000L, 0.01, duplicateCheck);
+		assertEquals(958528L, filter.getBitCount());
+		assertEquals(7, filter.getHashFunctionCount());
+		
+		for( int i = 0; i < 100000; i++ ) {
+			filter.execute(Integer.toString(i * 7919), ANONYMOUS_CSVCONTEXT);
+		}
+		assertTrue("false positives: " + duplicateCheck.checks, duplicateCheck.checks < 1000);
+	}
+	
+	/**
+	 * Tests that a suspected duplicate confirmed by the duplicate check is reported (should throw an Exception).
+	 */
+	@Test
+	public void testConfirmedDuplicate() {
+		final CountingDuplicateCheck duplicateCheck = new CountingDuplicateCheck();
+		final CellProcessor p = new UniqueBloomFilter(10L, 0.01, duplicateCheck, new IdentityTransform());
+		assertEquals(42L, p.execute(42L, ANONYMOUS_CSVCONTEXT)); // the check hasn't seen it, so isn't a duplicate
+		assertEquals(42L, p.execute(42L, ANONYMOUS_CSVCONTEXT));
+		try {
+			p.execute(42L, ANONYMOUS_CSVCONTEXT);
+			fail("should have thrown SuperCsvConstraintViolationException");
+		}
+		catch(SuperCsvConstraintViolationException e) {
+			assertEquals("duplicate value '42' encountered", e.getMessage());
+		}
+		assertEquals(2, duplicateCheck.checks);
+	}
+	
+	/**
+	 * Tests execution with a null input (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvCellProcessorException.class)
+	public void testWithNull() {
+		processor.execute(null, ANONYMOUS_CSVCONTEXT);
+	}
+	
+	/**
+	 * Tests construction with no expected values (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithNoExpectedValues() {
+		new UniqueBloomFilter(0L, 0.01);
+	}
+	
+	/**
+	 * Tests construction with a false positive rate of 1 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithInvalidFalsePositiveRate() {
+		new UniqueBloomFilter(10L, 1.0);
+	}
+	
+	/**
+	 * Tests construction with a null duplicate check (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullDuplicateCheck() {
+		new UniqueBloomFilter(10L, 0.01, (DuplicateCheck) null);
+	}
+	
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.supercsv.prefs.CsvPreference.EXCEL_PREFERENCE;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.supercsv.comment.CommentStartsWith;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tests the BufferedTokenizer class. Most of the tests use a tiny buffer, so that rows span buffer refills.
+ */
+public class BufferedTokenizerTest {
+	
+	private static final CsvPreference NORMAL_PREFERENCE = EXCEL_PREFERENCE;
+	private static final CsvPreference SPACES_NEED_QUOTES_PREFERENCE = new CsvPreference.Builder(EXCEL_PREFERENCE)
+		.surroundingSpacesNeedQuotes(true).build();
+	private static final CsvPreference DONT_IGNORE_EMPTY_LINES_PREFERENCE = new CsvPreference.Builder(EXCEL_PREFERENCE)
+		.ignoreEmptyLines(false).build();
+	private static final CsvPreference PARSE_EMPTY_COLUMNS_AS_EMPTY_STRING_PREFERENCE = new CsvPreference.Builder(
+		EXCEL_PREFERENCE).setEmptyColumnParsing(EmptyColumnParsing.ParseEmptyColumnsAsEmptyString).build();
+	
+	private static final int TINY_BUFFER = 3;
+	
+	private BufferedTokenizer tokenizer;
+	private List<String> columns;
+	
+	/**
+	 * Sets up the columns List for the test.
+	 */
+	@Before
+	public void setUp() {
+		columns = new ArrayList<String>();
+	}
+	
+	/**
+	 * Tidies up after the test.
+	 */
+	@After
+	public void tearDown() throws IOException {
+		if( tokenizer != null ) {
+			tokenizer.close();
+		}
+	}
+	
+	/**
+	 * Creates a BufferedTokenizer with the input and preferences, and a tiny buffer.
+	 * 
+	 * @param input
+	 *            the input String
+	 * @param preference
+	 *            the preferences
+	 * @return the BufferedTokenizer
+	 */
+	private static BufferedTokenizer createTokenizer(String input, CsvPreference preference) {
+		final Reader r = input != null ? new StringReader(input) : null;
+		return new BufferedTokenizer(r, preference, TINY_BUFFER);
+	}
+	
+	/**
+	 * Tests the constructor with a null Reader (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullReader() throws Exception {
+		createTokenizer(null, NORMAL_PREFERENCE);
+	}
+	
+	/**
+	 * Tests the constructor with a null CsvPreference (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullPreferences() throws Exception {
+		createTokenizer("", null);
+	}
+	
+	/**
+	 * Tests the constructor with an invalid buffer size (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithInvalidBufferSize() throws Exception {
+		new BufferedTokenizer(new StringReader(""), NORMAL_PREFERENCE, 0);
+	}
+	
+	/**
+	 * Tests the readColumns() method with null List (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testReadColumnsWithNullList() throws Exception {
+		tokenizer = createTokenizer("", NORMAL_PREFERENCE);
+		tokenizer.readColumns(null);
+	}
+	
+	/**
+	 * Tests the readColumns() method with no data.
+	 */
+	@Test
+	public void testReadColumnsWithNoData() throws Exception {
+		tokenizer = createTokenizer("", NORMAL_PREFERENCE);
+		assertFalse(tokenizer.readColumns(columns));
+		assertTrue(columns.isEmpty());
+		assertEquals("", tokenizer.getUntokenizedRow());
+		assertEquals(0, tokenizer.getLineNumber());
+	}
+	
+	/**
+	 * Tests the readColumns() method with unquoted columns spanning several buffer refills, and all of the supported
+	 * line terminators.
+	 */
+	@Test
+	public void testUnquotedColumns() throws Exception {
+		
+		final String input = "first,second,,third\r\nfourth\rfifth,sixth\n";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("first", "second", null, "third"), columns);
+		assertEquals(1, tokenizer.getLineNumber());
+		assertEquals("first,second,,third", tokenizer.getUntokenizedRow());
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("fourth"), columns);
+		assertEquals(2, tokenizer.getLineNumber());
+		assertEquals("fourth", tokenizer.getUntokenizedRow());
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("fifth", "sixth"), columns);
+		assertEquals(3, tokenizer.getLineNumber());
+		assertEquals("fifth,sixth", tokenizer.getUntokenizedRow());
+		
+		assertFalse(tokenizer.readColumns(columns));
+	}
+	
+	/**
+	 * Tests that the readColumns() method skips over empty lines.
+	 */
+	@Test
+	public void testEmptyLines() throws Exception {
+		
+		final String input = "\n\r\nthis is the third line\n";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(1, columns.size());
+		assertEquals("this is the third line", columns.get(0));
+		assertEquals(3, tokenizer.getLineNumber());
+		assertEquals("this is the third line", tokenizer.getUntokenizedRow());
+	}
+	
+	/**
+	 * Tests that the readColumns() method doesn't skip over empty lines if the ignoreEmptyLines preference is disabled.
+	 */
+	@Test
+	public void testEmptyLinesWithIgnoreEmptyLines() throws Exception {
+		
+		final String input = "\nthis is the second line\n\n";
+		tokenizer = createTokenizer(input, DONT_IGNORE_EMPTY_LINES_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(1, columns.size());
+		assertNull(columns.get(0));
+		assertEquals(1, tokenizer.getLineNumber());
+		assertEquals("", tokenizer.getUntokenizedRow());
+		
+		tokenizer.readColumns(columns);
+		assertEquals(1, columns.size());
+		assertEquals("this is the second line", columns.get(0));
+		assertEquals(2, tokenizer.getLineNumber());
+		
+		tokenizer.readColumns(columns);
+		assertEquals(1, columns.size());
+		assertNull(columns.get(0));
+		assertEquals(3, tokenizer.getLineNumber());
+		
+		assertFalse(tokenizer.readColumns(columns));
+	}
+	
+	/**
+	 * Tests the readColumns() method with quoted columns, including escaped quotes and text surrounding the quoted
+	 * section.
+	 */
+	@Test
+	public void testQuotedColumns() throws Exception {
+		
+		final String input = "\"quoted, with delimiter\",\"escaped \"\"quote\"\"\",surrounding \"quoted\" text";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(3, columns.size());
+		assertEquals("quoted, with delimiter", columns.get(0));
+		assertEquals("escaped \"quote\"", columns.get(1));
+		assertEquals("surrounding quoted text", columns.get(2));
+		assertEquals(input, tokenizer.getUntokenizedRow());
+	}
+	
+	/**
+	 * Tests the readColumns() method with quoted newlines (the line terminators are replaced with \n).
+	 */
+	@Test
+	public void testQuotedNewlines() throws Exception {
+		
+		final String input = "\"one line\",\"two\r\nlines\",\"three\nlines\n!\"\nnext";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(3, columns.size());
+		assertEquals("one line", columns.get(0));
+		assertEquals("two\nlines", columns.get(1));
+		assertEquals("three\nlines\n!", columns.get(2));
+		assertEquals(4, tokenizer.getLineNumber());
+		assertEquals("\"one line\",\"two\nlines\",\"three\nlines\n!\"", tokenizer.getUntokenizedRow());
+		
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("next"), columns);
+		assertEquals(5, tokenizer.getLineNumber());
+	}
+	
+	/**
+	 * Tests the readColumns() method when EOF is reached within quote scope.
+	 */
+	@Test
+	public void testQuotedFieldWithUnexpectedEOF() throws Exception {
+		
+		final String input = "\"quoted spanning\ntwo lines with EOF reached before another quote";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		try {
+			tokenizer.readColumns(columns);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("unexpected end of file while reading quoted column beginning on line 1 and ending on line 2",
+				e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests the readColumns() method when a newline is reached in quote scope when a single line is only supposed to
+	 * be read.
+	 */
+	@Test
+	public void testQuotedFieldWithUnexpectedNewline() throws Exception {
+		
+		final String input = "col1,col2\n\"foo\",\"bar\n\"baz\",\"zoo\"\n";
+		final CsvPreference pref = new CsvPreference.Builder(NORMAL_PREFERENCE).maxLinesPerRow(1).build();
+		
+		tokenizer = createTokenizer(input, pref);
+		assertTrue(tokenizer.readColumns(columns));
+		try {
+			tokenizer.readColumns(columns);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("unexpected end of line while reading quoted column on line 2", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests the readColumns() method with surrounding spaces, both with and without the surroundingSpacesNeedQuotes
+	 * preference.
+	 */
+	@Test
+	public void testSpaces() throws Exception {
+		
+		final String input = "  leading, trailing  , \" quoted \" ,  ";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("  leading", " trailing  ", "  quoted  ", "  "), columns);
+		
+		tokenizer = createTokenizer(input, SPACES_NEED_QUOTES_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("leading", "trailing", " quoted ", null), columns);
+	}
+	
+	/**
+	 * Tests that comments are skipped.
+	 */
+	@Test
+	public void testSkipComments() throws Exception {
+		
+		final CsvPreference commentsStartWithPrefs = new CsvPreference.Builder(EXCEL_PREFERENCE).skipComments(
+			new CommentStartsWith("#")).build();
+		
+		final String input = "#comment\nnot,a,comment\n# another comment\nalso,not,comment";
+		tokenizer = createTokenizer(input, commentsStartWithPrefs);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("not", "a", "comment"), columns);
+		assertEquals(2, tokenizer.getLineNumber());
+		
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("also", "not", "comment"), columns);
+		assertEquals(4, tokenizer.getLineNumber());
+		assertEquals("also,not,comment", tokenizer.getUntokenizedRow());
+		
+		assertFalse(tokenizer.readColumns(columns));
+	}
+	
+	/**
+	 * Tests that empty quoted columns are read as empty Strings when preferences is ParseEmptyColumnsAsEmptyString.
+	 */
+	@Test
+	public void testReadEmptyStringsWithParseEmptyColumnsAsEmptyString() throws Exception {
+		
+		final String input = "\"\",,\"\"";
+		tokenizer = createTokenizer(input, PARSE_EMPTY_COLUMNS_AS_EMPTY_STRING_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("", null, ""), columns);
+	}
+	
+	/**
+	 * Tests the readColumnViews() method. Only the quoted column containing an escaped quote should be copied into a
+	 * String, and the views should still be correct when the row spans several fills of the buffer.
+	 */
+	@Test
+	public void testReadColumnViews() throws Exception {
+		
+		final String input = "123,\"quoted\",,\"esc\"\"aped\"\nnext,  row  \n";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		final List<CharSequence> views = new ArrayList<CharSequence>();
+		
+		assertTrue(tokenizer.readColumnViews(views));
+		assertEquals(4, views.size());
+		assertFalse(views.get(0) instanceof String);
+		assertEquals("123", views.get(0).toString());
+		assertFalse(views.get(1) instanceof String);
+		assertEquals("quoted", views.get(1).toString());
+		assertNull(views.get(2));
+		assertEquals("esc\"aped", views.get(3));
+		assertEquals(2, views.get(0).subSequence(1, 3).length());
+		assertEquals('3', views.get(0).subSequence(1, 3).charAt(1));
+		
+		assertTrue(tokenizer.readColumnViews(views));
+		assertEquals("next", views.get(0).toString());
+		assertEquals("  row  ", views.get(1).toString());
+		assertEquals(2, tokenizer.getLineNumber());
+		assertEquals("next,  row  ", tokenizer.getUntokenizedRow());
+		
+		assertFalse(tokenizer.readColumnViews(views));
+		assertTrue(views.isEmpty());
+	}
+	
+	/**
+	 * Tests the readColumnViews() method with null List (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testReadColumnViewsWithNullList() throws Exception {
+		tokenizer = createTokenizer("", NORMAL_PREFERENCE);
+		tokenizer.readColumnViews(null);
+	}
+	
+	/**
+	 * Tests that the columns that aren't in the column projection are read as null (including quoted and multi-line
+	 * columns, and columns beyond the end of the projection).
+	 */
+	@Test
+	public void testColumnProjection() throws Exception {
+		
+		final String input = "\"a\"\"\na\",\"b,\"\"\nb\", c \"c\" ,\"d\",e\nf,g\n";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.setColumnProjection(new boolean[] { false, true, false, true });
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList(null, "b,\"\nb", null, "d", null), columns);
+		assertEquals(3, tokenizer.getLineNumber());
+		assertEquals("\"a\"\"\na\",\"b,\"\"\nb\", c \"c\" ,\"d\",e", tokenizer.getUntokenizedRow());
+		
+		tokenizer.setColumnProjection(null);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("f", "g"), columns);
+	}
+	
+	/**
+	 * Tests that repeated column values are deduplicated when the deduplicateStrings preference is enabled, and that a
+	 * column with more distinct values than the maximum cardinality stops being cached.
+	 */
+	@Test
+	public void testDeduplicateStrings() throws Exception {
+		
+		final String input = "UK,\"a\"\"\",1\nUK,\"a\"\"\",2\nFR,\"b\",3\n";
+		tokenizer = createTokenizer(input, new CsvPreference.Builder(NORMAL_PREFERENCE).deduplicateStrings(2).build());
+		
+		assertTrue(tokenizer.readColumns(columns));
+		final List<String> firstRow = new ArrayList<String>(columns);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("UK", "a\"", "2"), columns);
+		assertSame(firstRow.get(0), columns.get(0));
+		assertSame(firstRow.get(1), columns.get(1));
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("FR", "b", "3"), columns);
+		
+		final ColumnStringCache cache = tokenizer.getStringCache();
+		assertEquals(1L, cache.getHits(0));
+		assertEquals(2L, cache.getMisses(0));
+		assertEquals(1L, cache.getHits(1));
+		assertEquals(2L, cache.getMisses(1));
+		assertTrue(cache.isCaching(1));
+		assertFalse(cache.isCaching(2));
+		assertEquals(2L, cache.getHits());
+		assertEquals(7L, cache.getMisses());
+	}
+	
+	/**
+	 * Tests that the BufferedTokenizer can be used with a reader.
+	 */
+	@Test
+	public void testWithListReader() throws Exception {
+		
+		final String input = "name,city\nJohn,\"New\nYork\"\n";
+		final ICsvListReader listReader = new CsvListReader(createTokenizer(input, NORMAL_PREFERENCE),
+			NORMAL_PREFERENCE);
+		try {
+			assertEquals(Arrays.asList("name", "city"), Arrays.asList(listReader.getHeader(true)));
+			assertEquals(Arrays.asList("John", "New\nYork"), listReader.read());
+			assertEquals(3, listReader.getLineNumber());
+			assertEquals(2, listReader.getRowNumber());
+			assertNull(listReader.read());
+		}
+		finally {
+			listReader.close();
+		}
+	}
+	
+}
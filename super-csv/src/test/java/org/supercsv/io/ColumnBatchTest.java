@@ -0,0 +1,149 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the ColumnBatch class.
+ */
+public class ColumnBatchTest {
+	
+	private static final ColumnType[] SCHEMA = { ColumnType.INT, ColumnType.STRING, ColumnType.IGNORE };
+	
+	/**
+	 * Tests setting values and nulls, and clearing the batch (which empties the dictionaries).
+	 */
+	@Test
+	public void testSetAndClear() {
+		final ColumnBatch batch = new ColumnBatch(SCHEMA, 70);
+		assertEquals(3, batch.getColumnCount());
+		assertEquals(70, batch.capacity());
+		
+		batch.clear(70);
+		for( int i = 0; i < 70; i++ ) {
+			if( i % 3 == 0 ) {
+				batch.setNull(0);
+			} else {
+				batch.setInt(0, i);
+			}
+			batch.setString(1, new StringBuilder(i % 2 == 0 ? "even" : "odd"));
+			batch.addRow();
+		}
+		assertEquals(70, batch.size());
+		for( int i = 0; i < 70; i++ ) {
+			assertEquals(i % 3 == 0, batch.isNull(0, i));
+			assertEquals(i % 3 == 0 ? 0 : i, batch.getInts(0)[i]);
+			assertEquals(i % 2 == 0 ? "even" : "odd", batch.getString(1, i));
+		}
+		assertEquals(2, batch.getDictionarySize(1));
+		assertEquals("even", batch.getDictionaryValue(1, 0));
+		
+		batch.clear(1);
+		assertEquals(0, batch.size());
+		assertEquals(0, batch.getDictionarySize(1));
+		batch.setString(1, "odd");
+		batch.addRow();
+		assertFalse(batch.isNull(0, 0));
+		assertEquals(0, batch.getCodes(1)[0]);
+		assertEquals(1, batch.getDictionarySize(1));
+	}
+	
+	/**
+	 * Tests that a dictionary keeps working as it grows, and is emptied by the next batch.
+	 */
+	@Test
+	public void testLargeDictionary() {
+		final ColumnBatch batch = new ColumnBatch(SCHEMA, 1000);
+		for( int batches = 0; batches < 2; batches++ ) {
+			batch.clear(1000);
+			for( int i = 0; i < 1000; i++ ) {
+				batch.setString(1, "value" + ((i + batches) % 500));
+				batch.addRow();
+				assertEquals(i % 500, batch.getCodes(1)[i]);
+			}
+			assertEquals(500, batch.getDictionarySize(1));
+			assertEquals("value" + batches, batch.getDictionaryValue(1, 0));
+		}
+	}
+	
+	/**
+	 * Tests getString() with a null column.
+	 */
+	@Test
+	public void testGetNullString() {
+		final ColumnBatch batch = new ColumnBatch(SCHEMA, 1);
+		batch.clear(1);
+		batch.setNull(1);
+		batch.addRow();
+		assertNull(batch.getString(1, 0));
+		assertTrue(batch.isNull(1, 0));
+	}
+	
+	/**
+	 * Tests getting the vector of a column of another type (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetVectorWithWrongType() {
+		new ColumnBatch(SCHEMA, 1).getLongs(0);
+	}
+	
+	/**
+	 * Tests getting the null bitmap of an ignored column (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetNullsOfIgnoredColumn() {
+		new ColumnBatch(SCHEMA, 1).getNulls(2);
+	}
+	
+	/**
+	 * Tests isNull() with an index beyond the size of the batch (should throw an Exception).
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testIsNullWithInvalidIndex() {
+		new ColumnBatch(SCHEMA, 1).isNull(0, 0);
+	}
+	
+	/**
+	 * Tests clear() with a maximum number of rows greater than the capacity (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testClearWithInvalidMaxRows() {
+		new ColumnBatch(SCHEMA, 1).clear(2);
+	}
+	
+	/**
+	 * Tests the constructor with a capacity of 0 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithInvalidCapacity() {
+		new ColumnBatch(SCHEMA, 0);
+	}
+	
+	/**
+	 * Tests the constructor with a null schema (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullSchema() {
+		new ColumnBatch(null, 1);
+	}
+	
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the ColumnStringCache class.
+ */
+public class ColumnStringCacheTest {
+	
+	/**
+	 * Tests that a value is found in the cache, whether it's looked up from a char array or a CharSequence.
+	 */
+	@Test
+	public void testGet() {
+		final ColumnStringCache cache = new ColumnStringCache(10);
+		final char[] chars = "xxUKxx".toCharArray();
+		
+		final String first = cache.get(0, chars, 2, 2);
+		assertEquals("UK", first);
+		assertSame(first, cache.get(0, chars, 2, 2));
+		assertSame(first, cache.get(0, new StringBuilder("UK")));
+		assertEquals(2L, cache.getHits(0));
+		assertEquals(1L, cache.getMisses(0));
+	}
+	
+	/**
+	 * Tests that each column has its own cache.
+	 */
+	@Test
+	public void testColumnsAreCachedSeparately() {
+		final ColumnStringCache cache = new ColumnStringCache(10);
+		final String first = cache.get(0, new StringBuilder("UK"));
+		final String second = cache.get(3, new StringBuilder("UK"));
+		assertEquals(first, second);
+		assertNotSame(first, second);
+		assertEquals(0L, cache.getHits());
+		assertEquals(2L, cache.getMisses());
+		assertEquals(0L, cache.getMisses(1));
+	}
+	
+	/**
+	 * Tests that many distinct values (including values with colliding hash codes) can be cached and found again.
+	 */
+	@Test
+	public void testManyValues() {
+		final ColumnStringCache cache = new ColumnStringCache(1000);
+		final String[] values = new String[1000];
+		for( int i = 0; i < values.length; i++ ) {
+			values[i] = cache.get(0, new StringBuilder(i % 2 == 0 ? "Aa" : "BB").append(i));
+		}
+		for( int i = 0; i < values.length; i++ ) {
+			assertSame(values[i], cache.get(0, new StringBuilder(values[i])));
+		}
+		assertEquals(1000L, cache.getHits());
+		assertTrue(cache.isCaching(0));
+	}
+	
+	/**
+	 * Tests that a column stops being cached once it has more distinct values than the maximum cardinality.
+	 */
+	@Test
+	public void testMaxCardinality() {
+		final ColumnStringCache cache = new ColumnStringCache(2);
+		final String first = cache.get(0, new StringBuilder("a"));
+		cache.get(0, new StringBuilder("b"));
+		assertSame(first, cache.get(0, new StringBuilder("a")));
+		assertTrue(cache.isCaching(0));
+		
+		cache.get(0, new StringBuilder("c"));
+		assertFalse(cache.isCaching(0));
+		assertNotSame(first, cache.get(0, new StringBuilder("a")));
+		assertEquals(1L, cache.getHits(0));
+		assertEquals(4L, cache.getMisses(0));
+	}
+	
+	/**
+	 * Tests the constructor with a maximum cardinality of 0 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithInvalidMaxCardinality() {
+		new ColumnStringCache(0);
+	}
+	
+}
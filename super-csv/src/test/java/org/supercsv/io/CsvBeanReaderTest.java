@@ -17,6 +17,7 @@ package org.supercsv.io;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.supercsv.SuperCsvTestUtils.ADA;
 import static org.supercsv.SuperCsvTestUtils.ADA_STRING;
@@ -52,6 +53,8 @@ import java.io.StringReader;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.constraint.NotNull;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvReflectionException;
 import org.supercsv.mock.Customer;
@@ -119,6 +122,68 @@ public class CsvBeanReaderTest {
 		assertNull(beanReader.read(CustomerBean.class, header, READ_PROCESSORS));
 	}
 	
+	/**
+	 * Tests the readBatch() method, including that the beans aren't reused by the next batch.
+	 */
+	@Test
+	public void testReadBatch() throws IOException {
+		
+		final String[] header = beanReader.getHeader(true);
+		final RowBatch<CustomerBean> batch = new RowBatch<CustomerBean>(4);
+		
+		assertEquals(4, beanReader.readBatch(4, batch, CustomerBean.class, header, READ_PROCESSORS));
+		assertEquals(JOHN, batch.get(0));
+		assertEquals(BILL, batch.get(3));
+		assertEquals(2, batch.getRowNumber(0));
+		final CustomerBean previous = batch.get(0);
+		
+		assertEquals(4, beanReader.readBatch(4, batch, CustomerBean.class, header, READ_PROCESSORS));
+		assertEquals(MIRANDA, batch.get(0));
+		assertNotSame(previous, batch.get(0));
+		assertEquals(JOHN, previous);
+		
+		assertEquals(2, beanReader.readBatch(3, batch, CustomerBean.class, header, READ_PROCESSORS));
+		assertEquals(LARRY, batch.get(0));
+		assertEquals(GRACE, batch.get(1));
+		assertEquals(2, batch.size());
+		assertEquals(beanReader.getLineNumber(), batch.getLineNumber(1));
+		
+		assertEquals(0, beanReader.readBatch(4, batch, CustomerBean.class, header, READ_PROCESSORS));
+		assertEquals(0, batch.size());
+	}
+	
+	/**
+	 * Tests the readBatch() method with a column that is null in the second batch (the bean shouldn't have the value
+	 * from the first batch).
+	 */
+	@Test
+	public void testReadBatchWithNullColumn() throws IOException {
+		final CsvBeanReader nullReader = new CsvBeanReader(new StringReader("1,keep\r\n2,\r\n"), PREFS);
+		try {
+			final String[] mapping = new String[] { "customerNo", "firstName" };
+			final CellProcessor[] processors = new CellProcessor[] { new NotNull(), new Optional() };
+			final RowBatch<CustomerBean> batch = new RowBatch<CustomerBean>(1);
+			
+			assertEquals(1, nullReader.readBatch(1, batch, CustomerBean.class, mapping, processors));
+			assertEquals("keep", batch.get(0).getFirstName());
+			
+			assertEquals(1, nullReader.readBatch(1, batch, CustomerBean.class, mapping, processors));
+			assertEquals("2", batch.get(0).getCustomerNo());
+			assertNull(batch.get(0).getFirstName());
+		}
+		finally {
+			nullReader.close();
+		}
+	}
+	
+	/**
+	 * Tests the readBatch() method with a null batch (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testReadBatchWithNullBatch() throws IOException {
+		beanReader.readBatch(1, null, CustomerBean.class, HEADER, READ_PROCESSORS);
+	}
+	
 	/**
 	 * Tests the read() method using processors, but only mapping a few columns.
 	 */
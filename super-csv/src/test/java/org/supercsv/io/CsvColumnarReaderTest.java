@@ -0,0 +1,172 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tests the CsvColumnarReader class.
+ */
+public class CsvColumnarReaderTest {
+	
+	private static final CsvPreference PREFS = CsvPreference.STANDARD_PREFERENCE;
+	
+	private static final ColumnType[] SCHEMA = { ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE,
+		ColumnType.BOOLEAN, ColumnType.STRING, ColumnType.IGNORE };
+	
+	private static final String CSV = "1,10000000000,1.5,TRUE,\"a,b\",x\n" + "-2,,-0.25,n,c,y\n" + ",3,,,\"a,b\",z\n";
+	
+	/**
+	 * Tests reading all types of column in several batches.
+	 */
+	@Test
+	public void testReadBatch() throws IOException {
+		final CsvColumnarReader reader = new CsvColumnarReader(new StringReader(CSV), PREFS);
+		final ColumnBatch batch = new ColumnBatch(SCHEMA, 2);
+		
+		assertEquals(2, reader.readBatch(2, batch));
+		assertEquals(1, batch.getInts(0)[0]);
+		assertEquals(-2, batch.getInts(0)[1]);
+		assertEquals(10000000000L, batch.getLongs(1)[0]);
+		assertTrue(batch.isNull(1, 1));
+		assertEquals(1.5, batch.getDoubles(2)[0], 0.0);
+		assertEquals(-0.25, batch.getDoubles(2)[1], 0.0);
+		assertTrue(batch.getBooleans(3)[0]);
+		assertFalse(batch.getBooleans(3)[1]);
+		assertEquals("a,b", batch.getString(4, 0));
+		assertEquals("c", batch.getString(4, 1));
+		
+		assertEquals(1, reader.readBatch(2, batch));
+		assertTrue(batch.isNull(0, 0));
+		assertEquals(3L, batch.getLongs(1)[0]);
+		assertTrue(batch.isNull(2, 0));
+		assertTrue(batch.isNull(3, 0));
+		assertEquals(0, batch.getCodes(4)[0]);
+		assertEquals(1, batch.getDictionarySize(4));
+		assertEquals(3, reader.getRowNumber());
+		
+		assertEquals(0, reader.readBatch(2, batch));
+		assertEquals(0, batch.size());
+		reader.close();
+	}
+	
+	/**
+	 * Tests reading with a column projection that excludes the ignored column.
+	 */
+	@Test
+	public void testReadBatchWithColumnProjection() throws IOException {
+		final CsvColumnarReader reader = new CsvColumnarReader(new StringReader(CSV), PREFS);
+		reader.setColumnProjection(1, 2, 3, 4, 5);
+		final ColumnBatch batch = new ColumnBatch(SCHEMA, 3);
+		assertEquals(3, reader.readBatch(3, batch));
+		assertEquals(-2, batch.getInts(0)[1]);
+		assertEquals("a,b", batch.getString(4, 2));
+		reader.close();
+	}
+	
+	/**
+	 * Tests reading a column that can't be parsed (should throw an Exception with the context of the column).
+	 */
+	@Test
+	public void testReadBatchWithInvalidValue() throws IOException {
+		final CsvColumnarReader reader = new CsvColumnarReader(new StringReader("1,2,3,true,a,b\n1,x,3,true,a,b\n"),
+			PREFS);
+		final ColumnBatch batch = new ColumnBatch(SCHEMA, 2);
+		try {
+			reader.readBatch(2, batch);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("'x' could not be parsed as a Long", e.getMessage());
+			assertEquals(2, e.getCsvContext().getRowNumber());
+			assertEquals(2, e.getCsvContext().getColumnNumber());
+			assertTrue(e.getCause() instanceof NumberFormatException);
+		}
+		assertEquals(1, batch.size());
+		reader.close();
+	}
+	
+	/**
+	 * Tests reading a boolean column that isn't a true or false value (should throw an Exception).
+	 */
+	@Test
+	public void testReadBatchWithInvalidBoolean() throws IOException {
+		final CsvColumnarReader reader = new CsvColumnarReader(new StringReader("1,2,3,yes,a,b\n"), PREFS);
+		try {
+			reader.readBatch(1, new ColumnBatch(SCHEMA, 1));
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("'yes' could not be parsed as a Boolean", e.getMessage());
+			assertEquals(4, e.getCsvContext().getColumnNumber());
+		}
+		reader.close();
+	}
+	
+	/**
+	 * Tests reading an empty (quoted) numeric column when empty columns are read as empty Strings (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvException.class)
+	public void testReadBatchWithEmptyNumber() throws IOException {
+		final CsvPreference prefs = new CsvPreference.Builder(PREFS).setEmptyColumnParsing(
+			EmptyColumnParsing.ParseEmptyColumnsAsEmptyString).build();
+		new CsvColumnarReader(new StringReader("\"\",2,3,true,a,b\n"), prefs).readBatch(1, new ColumnBatch(SCHEMA, 1));
+	}
+	
+	/**
+	 * Tests reading a row with the wrong number of columns (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvException.class)
+	public void testReadBatchWithWrongColumnCount() throws IOException {
+		new CsvColumnarReader(new StringReader("1,2\n"), PREFS).readBatch(1, new ColumnBatch(SCHEMA, 1));
+	}
+	
+	/**
+	 * Tests readBatch() with a null batch (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testReadBatchWithNullBatch() throws IOException {
+		new CsvColumnarReader(new StringReader(CSV), PREFS).readBatch(1, null);
+	}
+	
+	/**
+	 * Tests the constructor with a null Reader (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullReader() {
+		new CsvColumnarReader((StringReader) null, PREFS);
+	}
+	
+	/**
+	 * Tests the constructor with a null Tokenizer (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullTokenizer() {
+		new CsvColumnarReader((Tokenizer) null, PREFS);
+	}
+	
+}
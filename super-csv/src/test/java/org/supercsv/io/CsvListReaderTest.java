@@ -17,6 +17,8 @@ package org.supercsv.io;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.supercsv.SuperCsvTestUtils.CSV_FILE;
 import static org.supercsv.SuperCsvTestUtils.CUSTOMERS;
 import static org.supercsv.SuperCsvTestUtils.HEADER;
@@ -27,12 +29,18 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.ParseLong;
+import org.supercsv.cellprocessor.Trim;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.prefs.CsvPreference;
 
 /**
@@ -142,6 +150,200 @@ public class CsvListReaderTest {
 		assertEquals(CUSTOMERS.size() + 1, listReader.getRowNumber());
 	}
 	
+	/**
+	 * Tests the read() method with processors, when columns are read as views.
+	 */
+	@Test
+	public void testReadWithProcessorsAndColumnViews() throws IOException {
+		
+		final CsvPreference viewPrefs = new CsvPreference.Builder(PREFS).readColumnViews(true).build();
+		final CsvListReader viewListReader = new CsvListReader(new StringReader(CSV_FILE), viewPrefs);
+		try {
+			assertArrayEquals(HEADER, viewListReader.getHeader(true));
+			listReader.getHeader(true);
+			
+			List<Object> customer;
+			int i = 0;
+			while( (customer = viewListReader.read(READ_PROCESSORS)) != null ) {
+				assertEquals(listReader.read(READ_PROCESSORS), customer);
+				assertEquals(CUSTOMERS.get(i++).getLoyaltyPoints(), customer.get(10));
+				assertEquals(listReader.getUntokenizedRow(), viewListReader.getUntokenizedRow());
+				assertEquals(listReader.getLineNumber(), viewListReader.getLineNumber());
+			}
+			assertEquals(CUSTOMERS.size(), i);
+		}
+		finally {
+			viewListReader.close();
+		}
+	}
+	
+	/**
+	 * Tests the readBatch() method, including a batch that ends with a row that fails to process.
+	 */
+	@Test
+	public void testReadBatch() throws IOException {
+		
+		final CsvListReader batchReader = new CsvListReader(new StringReader("1,a\r\n2,b\r\n3,c\r\nx,d\r\n"), PREFS);
+		try {
+			final RowBatch<List<Object>> batch = new RowBatch<List<Object>>(2);
+			assertEquals(2, batchReader.readBatch(2, batch, new ParseInt(), null));
+			assertEquals(Arrays.<Object> asList(1, "a"), batch.get(0));
+			assertEquals(Arrays.<Object> asList(2, "b"), batch.get(1));
+			assertEquals(2, batch.getLineNumber(1));
+			try {
+				batchReader.readBatch(2, batch, new ParseInt(), null);
+				fail("should have thrown SuperCsvCellProcessorException");
+			}
+			catch(SuperCsvCellProcessorException e) {
+				assertEquals(1, batch.size());
+				assertEquals(Arrays.<Object> asList(3, "c"), batch.get(0));
+			}
+			assertEquals(0, batchReader.readBatch(1, batch, new ParseInt(), null));
+		}
+		finally {
+			batchReader.close();
+		}
+	}
+	
+	/**
+	 * Tests the readBatch() method with more rows than the capacity of the batch (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadBatchWithTooManyRows() throws IOException {
+		listReader.readBatch(3, new RowBatch<List<Object>>(2), READ_PROCESSORS);
+	}
+	
+	/**
+	 * Tests that a CellProcessor that can process CharSequences is passed a column view, while the other columns are
+	 * converted to Strings.
+	 */
+	@Test
+	public void testReadWithColumnViews() throws IOException {
+		
+		final CsvPreference viewPrefs = new CsvPreference.Builder(PREFS).readColumnViews(true).build();
+		final CsvListReader viewListReader = new CsvListReader(new StringReader("1,2,\" 3 \"\r\n"), viewPrefs);
+		try {
+			final List<Object> row = viewListReader.read(new ParseInt(), new Optional(), new Trim(new ParseLong()));
+			assertEquals(Arrays.<Object> asList(1, "2", 3L), row);
+			assertEquals(3, viewListReader.length());
+			assertEquals("2", viewListReader.get(2));
+			assertEquals(Arrays.asList("1", "2", " 3 "), viewListReader.getColumns());
+		}
+		finally {
+			viewListReader.close();
+		}
+	}
+	
+	/**
+	 * Tests that the row source of an exception thrown while processing column views contains Strings (as the views
+	 * won't be valid once the next row is read).
+	 */
+	@Test
+	public void testReadWithColumnViewsAndProcessorFailure() throws IOException {
+		
+		final CsvPreference viewPrefs = new CsvPreference.Builder(PREFS).readColumnViews(true).build();
+		final CsvListReader viewListReader = new CsvListReader(new StringReader("1,x\r\n"), viewPrefs);
+		try {
+			viewListReader.read(new ParseInt(), new ParseInt());
+			fail("should have thrown SuperCsvCellProcessorException");
+		}
+		catch(SuperCsvCellProcessorException e) {
+			assertEquals(Arrays.<Object> asList("1", "x"), e.getCsvContext().getRowSource());
+			assertTrue(e.getCsvContext().getRowSource().get(1) instanceof String);
+		}
+		finally {
+			viewListReader.close();
+		}
+	}
+	
+	/**
+	 * Tests reading with a column projection. The processors for the other columns should never be executed.
+	 */
+	@Test
+	public void testReadWithColumnProjection() throws IOException {
+		
+		final CsvListReader projectedReader = new CsvListReader(new StringReader("a,b,c\r\nx,1,y\r\n"), PREFS);
+		try {
+			final String[] header = projectedReader.getHeader(true);
+			projectedReader.setColumnProjection(header, "b");
+			assertEquals(Arrays.<Object> asList(null, 1, null),
+				projectedReader.read(new ParseInt(), new ParseInt(), new ParseInt()));
+			assertEquals(3, projectedReader.length());
+		}
+		finally {
+			projectedReader.close();
+		}
+	}
+	
+	/**
+	 * Tests reading with a column projection, when columns are read as views.
+	 */
+	@Test
+	public void testReadWithColumnProjectionAndColumnViews() throws IOException {
+		
+		final CsvPreference viewPrefs = new CsvPreference.Builder(PREFS).readColumnViews(true).build();
+		final CsvListReader viewListReader = new CsvListReader(new StringReader("x,1,\" 2 \"\r\n"), viewPrefs);
+		try {
+			viewListReader.setColumnProjection(2, 3);
+			assertEquals(Arrays.<Object> asList(null, 1, 2L),
+				viewListReader.read(new ParseInt(), new ParseInt(), new Trim(new ParseLong())));
+			assertEquals(Arrays.asList(null, "1", " 2 "), viewListReader.getColumns());
+		}
+		finally {
+			viewListReader.close();
+		}
+	}
+	
+	/**
+	 * Tests reading with a column projection, using a tokenizer that doesn't support projection.
+	 */
+	@Test
+	public void testReadWithColumnProjectionNotPushedDown() throws IOException {
+		
+		final Tokenizer tokenizer = new Tokenizer(new StringReader("x,1,y\r\n"), PREFS);
+		final CsvListReader projectedReader = new CsvListReader(new ITokenizer() {
+			
+			public void close() throws IOException {
+				tokenizer.close();
+			}
+			
+			public int getLineNumber() {
+				return tokenizer.getLineNumber();
+			}
+			
+			public String getUntokenizedRow() {
+				return tokenizer.getUntokenizedRow();
+			}
+			
+			public boolean readColumns(final List<String> columns) throws IOException {
+				return tokenizer.readColumns(columns);
+			}
+		}, PREFS);
+		try {
+			projectedReader.setColumnProjection(1, 3);
+			assertEquals(Arrays.asList("x", null, "y"), projectedReader.read());
+		}
+		finally {
+			projectedReader.close();
+		}
+	}
+	
+	/**
+	 * Tests setColumnProjection() with an invalid column number (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetColumnProjectionWithInvalidColumnNumber() {
+		listReader.setColumnProjection(1, 0);
+	}
+	
+	/**
+	 * Tests setColumnProjection() with a column name that isn't in the header (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetColumnProjectionWithUnknownColumnName() {
+		listReader.setColumnProjection(HEADER, "customerNo", "unknown");
+	}
+	
 	/**
 	 * Tests the read() method combined with the executeProcessors() method.
 	 */
@@ -154,6 +154,36 @@ public class CsvMapReaderTest {
 		assertEquals(CUSTOMERS.size() + 1, mapReader.getRowNumber());
 	}
 	
+	/**
+	 * Tests the readBatch() method.
+	 */
+	@Test
+	public void testReadBatch() throws IOException {
+		
+		final String[] header = mapReader.getHeader(true);
+		final RowBatch<Map<String, Object>> batch = new RowBatch<Map<String, Object>>(3);
+		
+		int i = 0;
+		while( mapReader.readBatch(3, batch, header, READ_PROCESSORS) > 0 ) {
+			for( int j = 0; j < batch.size(); j++ ) {
+				final Map<String, Object> customer = batch.get(j);
+				assertEquals(CUSTOMERS.get(i).getCustomerNo(), customer.get("customerNo"));
+				assertEquals(CUSTOMERS.get(i).getLoyaltyPoints(), customer.get("loyaltyPoints"));
+				assertEquals(i + 2, batch.getRowNumber(j));
+				i++;
+			}
+		}
+		assertEquals(CUSTOMERS.size(), i);
+	}
+	
+	/**
+	 * Tests the readBatch() method with a null name mapping (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testReadBatchWithNullNameMapping() throws IOException {
+		mapReader.readBatch(1, new RowBatch<Map<String, Object>>(1), null, READ_PROCESSORS);
+	}
+	
 	/**
 	 * Tests the read() method with processors, but only mapping a few columns.
 	 */
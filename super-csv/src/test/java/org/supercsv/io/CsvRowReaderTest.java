@@ -0,0 +1,285 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.supercsv.SuperCsvTestUtils.CSV_FILE;
+import static org.supercsv.SuperCsvTestUtils.HEADER;
+import static org.supercsv.SuperCsvTestUtils.READ_PROCESSORS;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Tests the CsvRowReader and CsvRow classes.
+ */
+public class CsvRowReaderTest {
+	
+	private static final CsvPreference PREFS = CsvPreference.STANDARD_PREFERENCE;
+	
+	private CsvRowReader rowReader;
+	
+	private CsvListReader listReader;
+	
+	/**
+	 * Sets up the readers for the tests.
+	 */
+	@Before
+	public void setUp() {
+		rowReader = new CsvRowReader(new StringReader(CSV_FILE), PREFS);
+		listReader = new CsvListReader(new StringReader(CSV_FILE), PREFS);
+	}
+	
+	/**
+	 * Closes the readers after the test.
+	 */
+	@After
+	public void tearDown() throws IOException {
+		rowReader.close();
+		listReader.close();
+	}
+	
+	/**
+	 * A CellProcessor that counts how many times it's executed.
+	 */
+	private static class CountingProcessor implements CellProcessor {
+		
+		private int count = 0;
+		
+		public <T> T execute(final Object value, final CsvContext context) {
+			count++;
+			return null;
+		}
+	}
+	
+	/**
+	 * Tests that reading rows with processors gives the same results as a CsvListReader.
+	 */
+	@Test
+	public void testReadWithProcessors() throws IOException {
+		
+		assertArrayEquals(HEADER, rowReader.getHeader(true));
+		listReader.getHeader(true);
+		
+		CsvRow row;
+		while( (row = rowReader.read(READ_PROCESSORS)) != null ) {
+			assertEquals(listReader.read(READ_PROCESSORS), row.toList());
+			assertEquals(listReader.getLineNumber(), row.getLineNumber());
+			assertEquals(listReader.getRowNumber(), row.getRowNumber());
+			assertEquals(listReader.getUntokenizedRow(), rowReader.getUntokenizedRow());
+		}
+		assertNull(listReader.read());
+	}
+	
+	/**
+	 * Tests that reading rows without processors gives the same results as a CsvListReader.
+	 */
+	@Test
+	public void testRead() throws IOException {
+		CsvRow row;
+		while( (row = rowReader.read()) != null ) {
+			assertEquals(listReader.read(), row.toList());
+			assertEquals(HEADER.length, row.size());
+		}
+		assertNull(listReader.read());
+	}
+	
+	/**
+	 * Tests that reading rows with a custom tokenizer (that doesn't support views) gives the same results as a
+	 * CsvListReader.
+	 */
+	@Test
+	public void testReadWithTokenizer() throws IOException {
+		final CsvRowReader tokenizerRowReader = new CsvRowReader(new Tokenizer(new StringReader(CSV_FILE), PREFS),
+			PREFS);
+		try {
+			tokenizerRowReader.getHeader(true);
+			listReader.getHeader(true);
+			CsvRow row;
+			while( (row = tokenizerRowReader.read(READ_PROCESSORS)) != null ) {
+				assertEquals(listReader.read(READ_PROCESSORS), row.toList());
+			}
+		}
+		finally {
+			tokenizerRowReader.close();
+		}
+	}
+	
+	/**
+	 * Tests that each column is only processed when it's accessed, and that the processed value is reused.
+	 */
+	@Test
+	public void testColumnsAreProcessedLazily() throws IOException {
+		
+		final CountingProcessor first = new CountingProcessor();
+		final CountingProcessor second = new CountingProcessor();
+		final CsvRowReader lazyReader = new CsvRowReader(new StringReader("1,x\r\n"), PREFS);
+		try {
+			final CsvRow row = lazyReader.read(first, second);
+			assertEquals(0, first.count);
+			assertEquals(0, second.count);
+			
+			row.get(0);
+			row.get(0);
+			assertEquals(1, first.count);
+			assertEquals(0, second.count);
+		}
+		finally {
+			lazyReader.close();
+		}
+	}
+	
+	/**
+	 * Tests that a column that fails to process is only reported when it's accessed (with the row source in the
+	 * context of the exception).
+	 */
+	@Test
+	public void testProcessingFailureIsReportedOnAccess() throws IOException {
+		
+		final CsvRowReader lazyReader = new CsvRowReader(new StringReader("1,x\r\n"), PREFS);
+		try {
+			final CsvRow row = lazyReader.read(new ParseInt(), new ParseInt());
+			assertEquals(1, row.get(0));
+			try {
+				row.get(1);
+				fail("should have thrown SuperCsvCellProcessorException");
+			}
+			catch(SuperCsvCellProcessorException e) {
+				assertEquals(1, e.getCsvContext().getLineNumber());
+				assertEquals(1, e.getCsvContext().getRowNumber());
+				assertEquals(2, e.getCsvContext().getColumnNumber());
+				assertEquals(Arrays.<Object> asList("1", "x"), e.getCsvContext().getRowSource());
+			}
+		}
+		finally {
+			lazyReader.close();
+		}
+	}
+	
+	/**
+	 * Tests that only the columns that were accessed before the next row was read are still available.
+	 */
+	@Test
+	public void testRowIsOnlyAvailableUntilNextRead() throws IOException {
+		
+		final CsvRowReader lazyReader = new CsvRowReader(new StringReader("a,b\r\nc,d\r\n"), PREFS);
+		try {
+			final CsvRow row = lazyReader.read();
+			assertEquals("a", row.get(0));
+			lazyReader.read();
+			assertEquals("a", row.get(0));
+			try {
+				row.get(1);
+				fail("should have thrown IllegalStateException");
+			}
+			catch(IllegalStateException e) {
+				assertEquals("column 2 of row 1 can't be processed, as the reader has since read row 2", e.getMessage());
+			}
+		}
+		finally {
+			lazyReader.close();
+		}
+	}
+	
+	/**
+	 * Tests the get() method with an invalid index (should throw an Exception).
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetWithInvalidIndex() throws IOException {
+		rowReader.read().get(HEADER.length);
+	}
+	
+	/**
+	 * Tests that the processors for columns that aren't in the column projection are never executed.
+	 */
+	@Test
+	public void testReadWithColumnProjection() throws IOException {
+		final String[] header = rowReader.getHeader(true);
+		rowReader.setColumnProjection(header, "customerNo");
+		final CellProcessor[] processors = new CellProcessor[header.length];
+		Arrays.fill(processors, new ParseInt());
+		processors[0] = null;
+		
+		final List<Object> row = rowReader.read(processors).toList();
+		assertEquals("1", row.get(0));
+		for( int i = 1; i < row.size(); i++ ) {
+			assertNull(row.get(i));
+		}
+	}
+	
+	/**
+	 * Tests the read() method with the wrong number of processors (should throw an Exception).
+	 */
+	@Test(expected = SuperCsvException.class)
+	public void testReadWithWrongNumberOfProcessors() throws IOException {
+		rowReader.read(new CellProcessor[HEADER.length - 1]);
+	}
+	
+	/**
+	 * Tests the read() method with a null processor array (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testReadWithNullProcessors() throws IOException {
+		rowReader.read((CellProcessor[]) null);
+	}
+	
+	/**
+	 * Tests the read() method at EOF.
+	 */
+	@Test
+	public void testReadAtEOF() throws IOException {
+		final CsvRowReader emptyReader = new CsvRowReader(new StringReader(""), PREFS);
+		try {
+			assertNull(emptyReader.read());
+			assertNull(emptyReader.read(new ParseInt()));
+		}
+		finally {
+			emptyReader.close();
+		}
+	}
+	
+	/**
+	 * Tests the constructor with a null Reader (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullReader() {
+		new CsvRowReader((StringReader) null, PREFS);
+	}
+	
+	/**
+	 * Tests the constructor with null preferences (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullPreferences() {
+		new CsvRowReader(new StringReader(""), null);
+	}
+	
+}
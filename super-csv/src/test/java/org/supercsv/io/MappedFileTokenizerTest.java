@@ -0,0 +1,479 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.supercsv.prefs.CsvPreference.EXCEL_PREFERENCE;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.comment.CommentStartsWith;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tests the MappedFileTokenizer class. Most of the tests use a tiny window, so that rows span several windows.
+ */
+public class MappedFileTokenizerTest {
+	
+	private static final CsvPreference NORMAL_PREFERENCE = EXCEL_PREFERENCE;
+	private static final CsvPreference SPACES_NEED_QUOTES_PREFERENCE = new CsvPreference.Builder(EXCEL_PREFERENCE)
+		.surroundingSpacesNeedQuotes(true).build();
+	
+	private static final int TINY_WINDOW = 3;
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private MappedFileTokenizer tokenizer;
+	private List<String> columns;
+	
+	/**
+	 * Sets up the columns List for the test.
+	 */
+	@Before
+	public void setUp() {
+		columns = new ArrayList<String>();
+	}
+	
+	/**
+	 * Tidies up after the test.
+	 */
+	@After
+	public void tearDown() throws IOException {
+		if( tokenizer != null ) {
+			tokenizer.close();
+		}
+	}
+	
+	/**
+	 * Writes the input to a temporary file.
+	 * 
+	 * @param input
+	 *            the input String
+	 * @return the file
+	 */
+	private File createFile(final String input) throws IOException {
+		final File file = folder.newFile();
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(input.getBytes("UTF-8"));
+		}
+		finally {
+			out.close();
+		}
+		return file;
+	}
+	
+	/**
+	 * Creates a MappedFileTokenizer for a file containing the input, using a tiny window.
+	 * 
+	 * @param input
+	 *            the input String
+	 * @param preference
+	 *            the preferences
+	 * @return the MappedFileTokenizer
+	 */
+	private MappedFileTokenizer createTokenizer(final String input, final CsvPreference preference)
+		throws IOException {
+		return new MappedFileTokenizer(new FileInputStream(createFile(input)).getChannel(), preference, TINY_WINDOW);
+	}
+	
+	/**
+	 * Tests the constructor with a null File (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullFile() throws Exception {
+		new MappedFileTokenizer((File) null, NORMAL_PREFERENCE);
+	}
+	
+	/**
+	 * Tests the constructor with a null FileChannel (should throw an Exception with the documented message).
+	 */
+	@Test
+	public void testConstructorWithNullChannel() throws Exception {
+		try {
+			new MappedFileTokenizer((FileChannel) null, NORMAL_PREFERENCE, TINY_WINDOW);
+			fail("should have thrown NullPointerException");
+		}
+		catch(NullPointerException e) {
+			assertEquals("channel should not be null", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests the constructor with a null CsvPreference (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullPreferences() throws Exception {
+		createTokenizer("", null);
+	}
+	
+	/**
+	 * Tests the constructor with a non-ASCII delimiter (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithNonAsciiDelimiter() throws Exception {
+		createTokenizer("", new CsvPreference.Builder('"', '§', "\n").build());
+	}
+	
+	/**
+	 * Tests the readColumns() method with null List (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testReadColumnsWithNullList() throws Exception {
+		tokenizer = createTokenizer("", NORMAL_PREFERENCE);
+		tokenizer.readColumns(null);
+	}
+	
+	/**
+	 * Tests the readColumns() method with an empty file.
+	 */
+	@Test
+	public void testReadColumnsWithNoData() throws Exception {
+		tokenizer = createTokenizer("", NORMAL_PREFERENCE);
+		assertFalse(tokenizer.readColumns(columns));
+		assertTrue(columns.isEmpty());
+		assertEquals("", tokenizer.getUntokenizedRow());
+		assertEquals(0, tokenizer.getLineNumber());
+	}
+	
+	/**
+	 * Tests the readColumns() method with a file read using the default window size.
+	 */
+	@Test
+	public void testReadColumnsWithFile() throws Exception {
+		tokenizer = new MappedFileTokenizer(createFile("first,second\r\nthird\r\n"), NORMAL_PREFERENCE);
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("first", "second"), columns);
+		assertEquals(1, tokenizer.getLineNumber());
+		assertEquals("first,second", tokenizer.getUntokenizedRow());
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("third"), columns);
+		assertEquals(2, tokenizer.getLineNumber());
+		
+		assertFalse(tokenizer.readColumns(columns));
+	}
+	
+	/**
+	 * Tests that multi-byte UTF-8 characters are decoded, including when they span windows.
+	 */
+	@Test
+	public void testMultiByteCharacters() throws Exception {
+		
+		final String input = "café,日本,\"😀 \"\"quoted\"\"\"\nüber,§";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("café", "日本", "😀 \"quoted\""), columns);
+		assertEquals("café,日本,\"😀 \"\"quoted\"\"\"", tokenizer.getUntokenizedRow());
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("über", "§"), columns);
+		assertEquals(2, tokenizer.getLineNumber());
+		
+		assertFalse(tokenizer.readColumns(columns));
+	}
+	
+	/**
+	 * Tests that malformed UTF-8 is replaced with the replacement character.
+	 */
+	@Test
+	public void testMalformedInput() throws Exception {
+		final File file = folder.newFile();
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(new byte[] { 'a', (byte) 0xFF, ',', (byte) 0xC3 });
+		}
+		finally {
+			out.close();
+		}
+		tokenizer = new MappedFileTokenizer(file, NORMAL_PREFERENCE);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("a�", "�"), columns);
+	}
+	
+	/**
+	 * Tests that malformed UTF-8 gives the same columns as the Tokenizer reading through an InputStreamReader, for
+	 * random sequences of valid, truncated, overlong and invalid bytes (with and without quotes).
+	 */
+	@Test
+	public void testMalformedInputMatchesReader() throws Exception {
+		final byte[] alphabet = { 'a', ',', '\n', (byte) 0x80, (byte) 0xBF, (byte) 0xC0, (byte) 0xC3, (byte) 0xA9,
+			(byte) 0xE0, (byte) 0xE2, (byte) 0x82, (byte) 0xAC, (byte) 0xED, (byte) 0xA0, (byte) 0xF0, (byte) 0x9F,
+			(byte) 0x98, (byte) 0xF4, (byte) 0x90, (byte) 0xFF };
+		final byte[] quotedAlphabet = new byte[alphabet.length + 1];
+		System.arraycopy(alphabet, 0, quotedAlphabet, 0, alphabet.length);
+		quotedAlphabet[alphabet.length] = '"';
+		
+		final Random random = new Random(3L);
+		for( int n = 0; n < 400; n++ ) {
+			final byte[] bytesAlphabet = n % 2 == 0 ? alphabet : quotedAlphabet;
+			final byte[] bytes = new byte[random.nextInt(40)];
+			for( int i = 0; i < bytes.length; i++ ) {
+				bytes[i] = bytesAlphabet[random.nextInt(bytesAlphabet.length)];
+			}
+			assertMatchesReader(bytes);
+		}
+	}
+	
+	/**
+	 * Tests that the bytes either side of a quote (or quote escape) removed from a column are decoded separately, as by
+	 * an InputStreamReader, rather than being joined into a character that isn't in the file.
+	 */
+	@Test
+	public void testMalformedInputAroundQuotes() throws Exception {
+		final byte[][] inputs = { { '"', (byte) 0xC3, '"', (byte) 0x80 }, { (byte) 0xC3, '"', (byte) 0x80, '"' },
+			{ '"', (byte) 0xE2, (byte) 0x82, '"', (byte) 0xAC }, { '"', (byte) 0xC3, '"', '"', (byte) 0x80, '"' },
+			{ '"', (byte) 0xF0, (byte) 0x9F, '"', '"', '"', (byte) 0x98, (byte) 0x80 } };
+		for( final byte[] input : inputs ) {
+			assertMatchesReader(input);
+		}
+		
+		final File file = folder.newFile();
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(inputs[0]);
+		}
+		finally {
+			out.close();
+		}
+		tokenizer = new MappedFileTokenizer(file, NORMAL_PREFERENCE);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("\uFFFD\uFFFD"), columns);
+	}
+	
+	/**
+	 * Asserts that a MappedFileTokenizer reading a file containing the bytes gives the same columns (or exception) as
+	 * the Tokenizer reading it through an InputStreamReader.
+	 * 
+	 * @param bytes
+	 *            the bytes of the file
+	 */
+	private void assertMatchesReader(final byte[] bytes) throws IOException {
+		final File file = folder.newFile();
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(bytes);
+		}
+		finally {
+			out.close();
+		}
+		
+		final Tokenizer expectedTokenizer = new Tokenizer(new InputStreamReader(new FileInputStream(file), "UTF-8"),
+			NORMAL_PREFERENCE);
+		final MappedFileTokenizer actualTokenizer = new MappedFileTokenizer(new FileInputStream(file).getChannel(),
+			NORMAL_PREFERENCE, TINY_WINDOW);
+		try {
+			final List<String> expected = new ArrayList<String>();
+			final List<String> actual = new ArrayList<String>();
+			boolean more;
+			do {
+				try {
+					more = expectedTokenizer.readColumns(expected);
+				}
+				catch(SuperCsvException e) {
+					try {
+						actualTokenizer.readColumns(actual);
+						fail("expected " + e.getMessage());
+					}
+					catch(SuperCsvException actualException) {
+						assertEquals(e.getMessage(), actualException.getMessage());
+					}
+					return;
+				}
+				assertEquals(more, actualTokenizer.readColumns(actual));
+				assertEquals(expected, actual);
+			} while( more );
+		}
+		finally {
+			expectedTokenizer.close();
+			actualTokenizer.close();
+		}
+	}
+	
+	/**
+	 * Tests the readColumns() method with quoted newlines (the line terminators are replaced with \n).
+	 */
+	@Test
+	public void testQuotedNewlines() throws Exception {
+		
+		final String input = "\"one line\",\"two\r\nlines\",\"three\nlines\n!\"\nnext";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("one line", "two\nlines", "three\nlines\n!"), columns);
+		assertEquals(4, tokenizer.getLineNumber());
+		assertEquals("\"one line\",\"two\nlines\",\"three\nlines\n!\"", tokenizer.getUntokenizedRow());
+		
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("next"), columns);
+		assertEquals(5, tokenizer.getLineNumber());
+	}
+	
+	/**
+	 * Tests the readColumns() method when EOF is reached within quote scope.
+	 */
+	@Test
+	public void testQuotedFieldWithUnexpectedEOF() throws Exception {
+		
+		final String input = "\"quoted spanning\ntwo lines with EOF reached before another quote";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		try {
+			tokenizer.readColumns(columns);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("unexpected end of file while reading quoted column beginning on line 1 and ending on line 2",
+				e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests the readColumns() method with surrounding spaces, both with and without the surroundingSpacesNeedQuotes
+	 * preference.
+	 */
+	@Test
+	public void testSpaces() throws Exception {
+		
+		final String input = "  leading, trailing  , \" quoted \" ,  ";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("  leading", " trailing  ", "  quoted  ", "  "), columns);
+		tokenizer.close();
+		
+		tokenizer = createTokenizer(input, SPACES_NEED_QUOTES_PREFERENCE);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("leading", "trailing", " quoted ", null), columns);
+	}
+	
+	/**
+	 * Tests that empty lines and comments are skipped.
+	 */
+	@Test
+	public void testSkipEmptyLinesAndComments() throws Exception {
+		
+		final CsvPreference commentsStartWithPrefs = new CsvPreference.Builder(EXCEL_PREFERENCE).skipComments(
+			new CommentStartsWith("#")).build();
+		
+		final String input = "#comment\n\nnot,a,comment\n# another comment\nalso,not,comment";
+		tokenizer = createTokenizer(input, commentsStartWithPrefs);
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("not", "a", "comment"), columns);
+		assertEquals(3, tokenizer.getLineNumber());
+		
+		tokenizer.readColumns(columns);
+		assertEquals(Arrays.asList("also", "not", "comment"), columns);
+		assertEquals(5, tokenizer.getLineNumber());
+		assertEquals("also,not,comment", tokenizer.getUntokenizedRow());
+		
+		assertFalse(tokenizer.readColumns(columns));
+	}
+	
+	/**
+	 * Tests that the columns that aren't in the column projection are read as null (including quoted and multi-line
+	 * columns, and columns beyond the end of the projection).
+	 */
+	@Test
+	public void testColumnProjection() throws Exception {
+		
+		final String input = "\"a\"\"\na\",\"b,\"\"\nb\", c \"c\" ,\"d\",e\nf,g\n";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.setColumnProjection(new boolean[] { false, true, false, true });
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList(null, "b,\"\nb", null, "d", null), columns);
+		assertEquals(3, tokenizer.getLineNumber());
+		assertEquals("\"a\"\"\na\",\"b,\"\"\nb\", c \"c\" ,\"d\",e", tokenizer.getUntokenizedRow());
+		
+		tokenizer.setColumnProjection(null);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("f", "g"), columns);
+	}
+	
+	/**
+	 * Tests that repeated column values are deduplicated when the deduplicateStrings preference is enabled, and that a
+	 * column with more distinct values than the maximum cardinality stops being cached.
+	 */
+	@Test
+	public void testDeduplicateStrings() throws Exception {
+		
+		final String input = "UK,\"a\"\"\",1\nUK,\"a\"\"\",2\nFR,\"b\",3\n";
+		tokenizer = createTokenizer(input, new CsvPreference.Builder(NORMAL_PREFERENCE).deduplicateStrings(2).build());
+		
+		assertTrue(tokenizer.readColumns(columns));
+		final List<String> firstRow = new ArrayList<String>(columns);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("UK", "a\"", "2"), columns);
+		assertSame(firstRow.get(0), columns.get(0));
+		assertSame(firstRow.get(1), columns.get(1));
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("FR", "b", "3"), columns);
+		
+		final ColumnStringCache cache = tokenizer.getStringCache();
+		assertEquals(1L, cache.getHits(0));
+		assertEquals(2L, cache.getMisses(0));
+		assertEquals(1L, cache.getHits(1));
+		assertEquals(2L, cache.getMisses(1));
+		assertTrue(cache.isCaching(1));
+		assertFalse(cache.isCaching(2));
+		assertEquals(2L, cache.getHits());
+		assertEquals(7L, cache.getMisses());
+	}
+	
+	/**
+	 * Tests that the MappedFileTokenizer can be used with a reader.
+	 */
+	@Test
+	public void testWithListReader() throws Exception {
+		
+		final String input = "name,city\nJohn,\"New\nYork\"\n";
+		final ICsvListReader listReader = new CsvListReader(createTokenizer(input, NORMAL_PREFERENCE),
+			NORMAL_PREFERENCE);
+		try {
+			assertEquals(Arrays.asList("name", "city"), Arrays.asList(listReader.getHeader(true)));
+			assertEquals(Arrays.asList("John", "New\nYork"), listReader.read());
+			assertEquals(3, listReader.getLineNumber());
+			assertEquals(2, listReader.getRowNumber());
+			assertNull(listReader.read());
+		}
+		finally {
+			listReader.close();
+		}
+	}
+	
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.supercsv.prefs.CsvPreference.EXCEL_PREFERENCE;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.comment.CommentStartsWith;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tests the ParallelCsvReader class. Most of the tests use tiny chunks, so that rows (and quoted columns) span several
+ * chunks.
+ */
+public class ParallelCsvReaderTest {
+	
+	private static final String INPUT = "name,age\r\n" + "John,42\r\n" + "\"Smith, Jane\",\"3\r\n4\"\r\n" + "\r\n"
+		+ "\"\"\"Bob\"\"\",7\r\n" + "Zoë,\"1\"\"\"\n" + "last,1";
+	
+	private static final int TINY_CHUNK = 3;
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private ExecutorService executor;
+	
+	private ParallelCsvReader reader;
+	
+	/**
+	 * Sets up the executor for the test.
+	 */
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+	
+	/**
+	 * Tidies up after the test.
+	 */
+	@After
+	public void tearDown() throws IOException {
+		if( reader != null ) {
+			reader.close();
+		}
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * Writes the input to a temporary file.
+	 * 
+	 * @param input
+	 *            the input String
+	 * @return the file
+	 */
+	private File createFile(final String input) throws IOException {
+		final File file = folder.newFile();
+		final OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(input.getBytes("UTF-8"));
+		}
+		finally {
+			out.close();
+		}
+		return file;
+	}
+	
+	/**
+	 * Reads the input with a CsvListReader, returning each row followed by its line and row number.
+	 * 
+	 * @param input
+	 *            the input String
+	 * @param processors
+	 *            the processors
+	 * @return the rows
+	 */
+	private static List<List<Object>> readSequentially(final String input, final CellProcessor[] processors)
+		throws IOException {
+		final CsvListReader listReader = new CsvListReader(new StringReader(input), EXCEL_PREFERENCE);
+		try {
+			final List<List<Object>> rows = new ArrayList<List<Object>>();
+			rows.add(Arrays.<Object> asList((Object[]) listReader.getHeader(true)));
+			List<Object> row;
+			while( (row = listReader.read(processors)) != null ) {
+				rows.add(Arrays.<Object> asList(row, listReader.getLineNumber(), listReader.getRowNumber()));
+			}
+			return rows;
+		}
+		finally {
+			listReader.close();
+		}
+	}
+	
+	/**
+	 * Reads the file with a ParallelCsvReader, returning each row followed by its line and row number.
+	 * 
+	 * @param processors
+	 *            the processors
+	 * @return the rows
+	 */
+	private List<List<Object>> readInParallel(final CellProcessor[] processors) throws IOException {
+		final List<List<Object>> rows = new ArrayList<List<Object>>();
+		rows.add(Arrays.<Object> asList((Object[]) reader.getHeader()));
+		List<Object> row;
+		while( (row = reader.read(processors)) != null ) {
+			rows.add(Arrays.<Object> asList(row, reader.getLineNumber(), reader.getRowNumber()));
+		}
+		return rows;
+	}
+	
+	/**
+	 * Tests the constructor with a null File (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullFile() throws Exception {
+		new ParallelCsvReader(null, EXCEL_PREFERENCE, executor);
+	}
+	
+	/**
+	 * Tests the constructor with a null ExecutorService (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullExecutor() throws Exception {
+		new ParallelCsvReader(createFile(""), EXCEL_PREFERENCE, null);
+	}
+	
+	/**
+	 * Tests the constructor with a chunk size of 0 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithInvalidChunkSize() throws Exception {
+		new ParallelCsvReader(createFile(""), EXCEL_PREFERENCE, executor, 0, true);
+	}
+	
+	/**
+	 * Tests the constructor with preferences that skip comments (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithComments() throws Exception {
+		new ParallelCsvReader(createFile(""), new CsvPreference.Builder(EXCEL_PREFERENCE).skipComments(
+			new CommentStartsWith("#")).build(), executor);
+	}
+	
+	/**
+	 * Tests the constructor with preferences that limit the number of lines per row (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithMaxLinesPerRow() throws Exception {
+		new ParallelCsvReader(createFile(""), new CsvPreference.Builder(EXCEL_PREFERENCE).maxLinesPerRow(1).build(),
+			executor);
+	}
+	
+	/**
+	 * Tests the constructor with a quote escape character that isn't the quote character (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithQuoteEscapeChar() throws Exception {
+		new ParallelCsvReader(createFile(""), new CsvPreference.Builder(EXCEL_PREFERENCE).setQuoteEscapeChar('\\')
+			.build(), executor);
+	}
+	
+	/**
+	 * Tests that reading with tiny chunks gives the same rows, line numbers and row numbers as a CsvListReader.
+	 */
+	@Test
+	public void testReadInOrder() throws Exception {
+		final CellProcessor[] processors = new CellProcessor[2];
+		for( int chunkSize = 1; chunkSize <= INPUT.length(); chunkSize++ ) {
+			reader = new ParallelCsvReader(createFile(INPUT), EXCEL_PREFERENCE, executor, chunkSize, true);
+			assertEquals("chunk size " + chunkSize, readSequentially(INPUT, processors), readInParallel(processors));
+			reader.close();
+		}
+	}
+	
+	/**
+	 * Tests that reading unordered returns all of the rows (each with the same line and row number as a
+	 * CsvListReader).
+	 */
+	@Test
+	public void testReadUnordered() throws Exception {
+		final CellProcessor[] processors = new CellProcessor[2];
+		reader = new ParallelCsvReader(createFile(INPUT), EXCEL_PREFERENCE, executor, TINY_CHUNK, false);
+		
+		final List<List<Object>> expected = readSequentially(INPUT, processors);
+		final List<List<Object>> actual = readInParallel(processors);
+		assertEquals(expected.remove(0), actual.remove(0));
+		
+		final List<String> expectedRows = new ArrayList<String>();
+		for( final List<Object> row : expected ) {
+			expectedRows.add(row.toString());
+		}
+		final List<String> actualRows = new ArrayList<String>();
+		for( final List<Object> row : actual ) {
+			actualRows.add(row.toString());
+		}
+		Collections.sort(expectedRows);
+		Collections.sort(actualRows);
+		assertEquals(expectedRows, actualRows);
+	}
+	
+	/**
+	 * Tests reading without reading the header first.
+	 */
+	@Test
+	public void testReadWithoutHeader() throws Exception {
+		reader = new ParallelCsvReader(createFile("a,b\nc,d\n"), EXCEL_PREFERENCE, executor, TINY_CHUNK, true);
+		assertEquals(Arrays.asList("a", "b"), reader.read(new CellProcessor[2]));
+		assertEquals(1, reader.getRowNumber());
+		assertEquals(Arrays.asList("c", "d"), reader.read(new CellProcessor[2]));
+		assertEquals(2, reader.getLineNumber());
+		assertEquals(2, reader.getRowNumber());
+		assertNull(reader.read(new CellProcessor[2]));
+	}
+	
+	/**
+	 * Tests reading an empty file.
+	 */
+	@Test
+	public void testReadEmptyFile() throws Exception {
+		reader = new ParallelCsvReader(createFile(""), EXCEL_PREFERENCE, executor);
+		assertNull(reader.getHeader());
+		assertNull(reader.read(new CellProcessor[0]));
+	}
+	
+	/**
+	 * Tests that a failing cell processor is reported on the right row, and the rows around it can still be read.
+	 */
+	@Test
+	public void testReadWithProcessorFailure() throws Exception {
+		final CellProcessor[] processors = new CellProcessor[] { null, new ParseInt() };
+		reader = new ParallelCsvReader(createFile("a,1\nb,x\nc,3\n"), EXCEL_PREFERENCE, executor);
+		assertEquals(Arrays.asList("a", 1), reader.read(processors));
+		try {
+			reader.read(processors);
+			fail("should have thrown SuperCsvCellProcessorException");
+		}
+		catch(SuperCsvCellProcessorException e) {
+			assertEquals(2, e.getCsvContext().getLineNumber());
+			assertEquals(2, e.getCsvContext().getRowNumber());
+			assertEquals(2, e.getCsvContext().getColumnNumber());
+		}
+		assertEquals(Arrays.asList("c", 3), reader.read(processors));
+		assertEquals(3, reader.getRowNumber());
+	}
+	
+	/**
+	 * Tests that the rows before an unterminated quoted column are read before the exception is thrown.
+	 */
+	@Test
+	public void testReadWithUnexpectedEOF() throws Exception {
+		reader = new ParallelCsvReader(createFile("a,b\n\"c\nd"), EXCEL_PREFERENCE, executor);
+		assertEquals(Arrays.asList("a", "b"), reader.read(new CellProcessor[2]));
+		try {
+			reader.read(new CellProcessor[2]);
+			fail("should have thrown SuperCsvException");
+		}
+		catch(SuperCsvException e) {
+			assertEquals("unexpected end of file while reading quoted column beginning on line 2 and ending on line 3",
+				e.getMessage());
+		}
+	}
+	
+	/**
+	 * Tests read() with different processors to the first call (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadWithDifferentProcessors() throws Exception {
+		reader = new ParallelCsvReader(createFile("a,b\nc,d\n"), EXCEL_PREFERENCE, executor);
+		reader.read(new CellProcessor[2]);
+		reader.read(new CellProcessor[] { null, new ParseInt() });
+	}
+	
+	/**
+	 * Tests getHeader() after rows have been read (should throw an Exception).
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testGetHeaderAfterRead() throws Exception {
+		reader = new ParallelCsvReader(createFile("a,b\nc,d\n"), EXCEL_PREFERENCE, executor);
+		reader.read(new CellProcessor[2]);
+		reader.getHeader();
+	}
+	
+}
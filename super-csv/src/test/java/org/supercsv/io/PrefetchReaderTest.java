@@ -0,0 +1,180 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.supercsv.SuperCsvTestUtils.CSV_FILE;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tests the PrefetchReader class.
+ */
+public class PrefetchReaderTest {
+	
+	/**
+	 * Reads all of the input from a reader, using a small buffer.
+	 * 
+	 * @param reader
+	 *            the reader
+	 * @return the input
+	 */
+	private static String readFully(final Reader reader) throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		final char[] buffer = new char[5];
+		int count;
+		while( (count = reader.read(buffer, 0, buffer.length)) != -1 ) {
+			builder.append(buffer, 0, count);
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Tests that all of the input is read, with buffers that are smaller and larger than the reads.
+	 */
+	@Test
+	public void testRead() throws IOException {
+		for( int bufferSize = 1; bufferSize <= 11; bufferSize++ ) {
+			final PrefetchReader reader = new PrefetchReader(new StringReader(CSV_FILE), bufferSize);
+			try {
+				assertEquals(CSV_FILE, readFully(reader));
+				assertEquals(-1, reader.read());
+				assertEquals(-1, reader.read(new char[1], 0, 1));
+			}
+			finally {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Tests reading a single char at a time.
+	 */
+	@Test
+	public void testReadChar() throws IOException {
+		final PrefetchReader reader = new PrefetchReader(new StringReader("abc"), 2);
+		try {
+			assertEquals('a', reader.read());
+			assertEquals('b', reader.read());
+			assertEquals('c', reader.read());
+			assertEquals(-1, reader.read());
+		}
+		finally {
+			reader.close();
+		}
+	}
+	
+	/**
+	 * Tests that an exception thrown by the underlying Reader is rethrown after the input read before it.
+	 */
+	@Test
+	public void testReadWithFailure() throws IOException {
+		final Reader failingReader = new Reader() {
+			
+			private boolean failed = false;
+			
+			@Override
+			public int read(final char[] cbuf, final int off, final int len) throws IOException {
+				if( failed ) {
+					throw new IOException("failed");
+				}
+				failed = true;
+				cbuf[off] = 'a';
+				return 1;
+			}
+			
+			@Override
+			public void close() {
+			}
+		};
+		final PrefetchReader reader = new PrefetchReader(failingReader, 4);
+		try {
+			assertEquals('a', reader.read());
+			try {
+				reader.read();
+				fail("should have thrown IOException");
+			}
+			catch(IOException e) {
+				assertEquals("failed", e.getMessage());
+			}
+		}
+		finally {
+			reader.close();
+		}
+	}
+	
+	/**
+	 * Tests reading after the reader is closed (should throw an Exception).
+	 */
+	@Test(expected = IOException.class)
+	public void testReadAfterClose() throws IOException {
+		final PrefetchReader reader = new PrefetchReader(new StringReader("abc"));
+		reader.close();
+		reader.read();
+	}
+	
+	/**
+	 * Tests that a reader with the prefetchInput preference reads the same rows as one without it.
+	 */
+	@Test
+	public void testWithListReader() throws IOException {
+		final CsvPreference prefs = new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE).prefetchInput(true)
+			.build();
+		final ICsvListReader prefetchListReader = new CsvListReader(new StringReader(CSV_FILE), prefs);
+		final ICsvListReader listReader = new CsvListReader(new StringReader(CSV_FILE),
+			CsvPreference.STANDARD_PREFERENCE);
+		try {
+			List<String> row;
+			int rows = 0;
+			while( (row = listReader.read()) != null ) {
+				assertEquals(row, prefetchListReader.read());
+				assertEquals(listReader.getLineNumber(), prefetchListReader.getLineNumber());
+				rows++;
+			}
+			assertEquals(null, prefetchListReader.read());
+			assertTrue(rows > 0);
+		}
+		finally {
+			prefetchListReader.close();
+			listReader.close();
+		}
+	}
+	
+	/**
+	 * Tests the constructor with a null Reader (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructorWithNullReader() {
+		new PrefetchReader(null);
+	}
+	
+	/**
+	 * Tests the constructor with an invalid buffer size (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithInvalidBufferSize() {
+		new PrefetchReader(new StringReader(""), 0);
+	}
+	
+}
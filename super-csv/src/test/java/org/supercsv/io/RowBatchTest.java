@@ -0,0 +1,75 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Tests the RowBatch class.
+ */
+public class RowBatchTest {
+	
+	/**
+	 * Tests adding rows to a batch, and clearing it (which keeps the rows for reuse).
+	 */
+	@Test
+	public void testAddAndClear() {
+		final RowBatch<String> batch = new RowBatch<String>(2);
+		assertEquals(2, batch.capacity());
+		assertEquals(0, batch.size());
+		assertNull(batch.getReusableRow(0));
+		
+		batch.add("a", 3, 2);
+		assertEquals(1, batch.size());
+		assertEquals("a", batch.get(0));
+		assertEquals(3, batch.getLineNumber(0));
+		assertEquals(2, batch.getRowNumber(0));
+		
+		batch.clear(2);
+		assertEquals(0, batch.size());
+		assertEquals("a", batch.getReusableRow(0));
+	}
+	
+	/**
+	 * Tests get() with an index beyond the size of the batch (should throw an Exception).
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testGetWithInvalidIndex() {
+		final RowBatch<String> batch = new RowBatch<String>(2);
+		batch.add("a", 1, 1);
+		batch.get(1);
+	}
+	
+	/**
+	 * Tests clear() with a maximum number of rows of 0 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testClearWithInvalidMaxRows() {
+		new RowBatch<String>(2).clear(0);
+	}
+	
+	/**
+	 * Tests the constructor with a capacity of 0 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithInvalidCapacity() {
+		new RowBatch<String>(0);
+	}
+	
+}
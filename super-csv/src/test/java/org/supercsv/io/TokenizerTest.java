@@ -18,6 +18,7 @@ package org.supercsv.io;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.supercsv.prefs.CsvPreference.EXCEL_PREFERENCE;
@@ -26,6 +27,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.After;
@@ -313,6 +315,7 @@ public class TokenizerTest {
 		catch(SuperCsvException e) {
 			assertEquals("unexpected end of file while reading quoted column beginning on line 1 and ending on line 2",
 				e.getMessage());
+			assertEquals(input + "\n", tokenizer.getUntokenizedRow());
 		}
 	}
 
@@ -787,4 +790,55 @@ public class TokenizerTest {
 		assertEquals("", columns.get(1));
 	}	
 	
+	/**
+	 * Tests that the columns that aren't in the column projection are read as null (including quoted and multi-line
+	 * columns, and columns beyond the end of the projection).
+	 */
+	@Test
+	public void testColumnProjection() throws Exception {
+		
+		final String input = "\"a\"\"\na\",\"b,\"\"\nb\", c \"c\" ,\"d\",e\nf,g\n";
+		tokenizer = createTokenizer(input, NORMAL_PREFERENCE);
+		tokenizer.setColumnProjection(new boolean[] { false, true, false, true });
+		
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList(null, "b,\"\nb", null, "d", null), columns);
+		assertEquals(3, tokenizer.getLineNumber());
+		assertEquals("\"a\"\"\na\",\"b,\"\"\nb\", c \"c\" ,\"d\",e", tokenizer.getUntokenizedRow());
+		
+		tokenizer.setColumnProjection(null);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("f", "g"), columns);
+	}
+	
+	/**
+	 * Tests that repeated column values are deduplicated when the deduplicateStrings preference is enabled, and that a
+	 * column with more distinct values than the maximum cardinality stops being cached.
+	 */
+	@Test
+	public void testDeduplicateStrings() throws Exception {
+		
+		final String input = "UK,\"a\"\"\",1\nUK,\"a\"\"\",2\nFR,\"b\",3\n";
+		tokenizer = createTokenizer(input, new CsvPreference.Builder(NORMAL_PREFERENCE).deduplicateStrings(2).build());
+		
+		assertTrue(tokenizer.readColumns(columns));
+		final List<String> firstRow = new ArrayList<String>(columns);
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("UK", "a\"", "2"), columns);
+		assertSame(firstRow.get(0), columns.get(0));
+		assertSame(firstRow.get(1), columns.get(1));
+		assertTrue(tokenizer.readColumns(columns));
+		assertEquals(Arrays.asList("FR", "b", "3"), columns);
+		
+		final ColumnStringCache cache = tokenizer.getStringCache();
+		assertEquals(1L, cache.getHits(0));
+		assertEquals(2L, cache.getMisses(0));
+		assertEquals(1L, cache.getHits(1));
+		assertEquals(2L, cache.getMisses(1));
+		assertTrue(cache.isCaching(1));
+		assertFalse(cache.isCaching(2));
+		assertEquals(2L, cache.getHits());
+		assertEquals(7L, cache.getMisses());
+	}
+	
 }
@@ -177,4 +177,34 @@ public class CsvPreferenceTest {
 	public void testUseQuoteModeWithNull() {
 		new CsvPreference.Builder(EXCEL_PREFERENCE).useQuoteMode(null).build();
 	}
+	
+	/**
+	 * Tests the deduplicateStrings preference.
+	 */
+	@Test
+	public void testDeduplicateStrings() {
+		assertEquals(0, EXCEL_PREFERENCE.getDeduplicateStrings());
+		final CsvPreference custom = new CsvPreference.Builder(EXCEL_PREFERENCE).deduplicateStrings(100).build();
+		assertEquals(100, custom.getDeduplicateStrings());
+		assertEquals(100, new CsvPreference.Builder(custom).build().getDeduplicateStrings());
+	}
+	
+	/**
+	 * Tests the deduplicateStrings preference with a negative maximum cardinality (should throw an exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testDeduplicateStringsWithNegativeMaxCardinality() {
+		new CsvPreference.Builder(EXCEL_PREFERENCE).deduplicateStrings(-1);
+	}
+	
+	/**
+	 * Tests the prefetchInput preference.
+	 */
+	@Test
+	public void testPrefetchInput() {
+		assertFalse(EXCEL_PREFERENCE.isPrefetchInput());
+		final CsvPreference custom = new CsvPreference.Builder(EXCEL_PREFERENCE).prefetchInput(true).build();
+		assertTrue(custom.isPrefetchInput());
+		assertTrue(new CsvPreference.Builder(custom).build().isPrefetchInput());
+	}
 }
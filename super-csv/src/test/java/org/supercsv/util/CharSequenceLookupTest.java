@@ -0,0 +1,116 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the CharSequenceLookup class.
+ */
+public class CharSequenceLookupTest {
+	
+	/**
+	 * Tests case sensitive lookups using Strings and other CharSequences.
+	 */
+	@Test
+	public void testMatchCase() {
+		final Map<String, Integer> entries = new HashMap<String, Integer>();
+		for( int i = 0; i < 100; i++ ) {
+			entries.put("key" + i, i);
+		}
+		entries.put("", -1);
+		final CharSequenceLookup<Integer> lookup = new CharSequenceLookup<Integer>(entries, false);
+		assertEquals(101, lookup.size());
+		
+		for( int i = 0; i < 100; i++ ) {
+			assertEquals(Integer.valueOf(i), lookup.get("key" + i));
+			assertEquals(Integer.valueOf(i), lookup.get(new StringBuilder("key").append(i)));
+			assertTrue(lookup.containsKey(new StringBuilder("key").append(i)));
+		}
+		assertEquals(Integer.valueOf(-1), lookup.get(new StringBuilder()));
+		assertNull(lookup.get("KEY1"));
+		assertNull(lookup.get("key100"));
+		assertNull(lookup.get(new StringBuilder("key")));
+		assertFalse(lookup.containsKey("key1 "));
+	}
+	
+	/**
+	 * Tests lookups ignoring case, where the first of several keys that are equal ignoring case is used.
+	 */
+	@Test
+	public void testIgnoreCase() {
+		final Map<String, String> entries = new LinkedHashMap<String, String>();
+		entries.put("Yes", "first");
+		entries.put("YES", "second");
+		entries.put("n\u00c9e", "accented");
+		final CharSequenceLookup<String> lookup = new CharSequenceLookup<String>(entries, true);
+		assertEquals(2, lookup.size());
+		
+		assertEquals("first", lookup.get("yes"));
+		assertEquals("first", lookup.get(new StringBuilder("yEs")));
+		assertEquals("accented", lookup.get("N\u00e9E"));
+		assertTrue(lookup.containsKey(new StringBuilder("N\u00c9E")));
+		assertNull(lookup.get("ye"));
+		assertNull(lookup.get("yess"));
+	}
+	
+	/**
+	 * Tests lookups in an empty table.
+	 */
+	@Test
+	public void testEmpty() {
+		final CharSequenceLookup<Object> lookup = new CharSequenceLookup<Object>(
+			Collections.<String, Object> emptyMap(), true);
+		assertEquals(0, lookup.size());
+		assertNull(lookup.get("a"));
+		assertFalse(lookup.containsKey(""));
+	}
+	
+	/**
+	 * Tests construction with a null Map (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructionWithNullMap() {
+		new CharSequenceLookup<Object>(null, false);
+	}
+	
+	/**
+	 * Tests construction with a null key (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructionWithNullKey() {
+		new CharSequenceLookup<Object>(Collections.<String, Object> singletonMap(null, "value"), false);
+	}
+	
+	/**
+	 * Tests a lookup with a null key (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testGetWithNullKey() {
+		new CharSequenceLookup<Object>(Collections.<String, Object> emptyMap(), false).get(null);
+	}
+	
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the CharSequenceParser class.
+ */
+public class CharSequenceParserTest {
+	
+	private static final String[] VALID_INTS = { "0", "-0", "+7", "2147483647", "-2147483648", "007", "١٢" };
+	
+	private static final String[] VALID_LONGS = { "9223372036854775807", "-9223372036854775808", "2147483648" };
+	
+	private static final String[] INVALID = { "", "-", "+", "1.5", " 1", "1 ", "--1", "1e3", "9223372036854775808",
+		"-9223372036854775809", "99999999999999999999" };
+	
+	/**
+	 * Tests parseInt() gives the same results as Integer.parseInt().
+	 */
+	@Test
+	public void testParseInt() {
+		for( final String value : VALID_INTS ) {
+			assertEquals(Integer.parseInt(value), CharSequenceParser.parseInt(new StringBuilder(value)));
+		}
+		for( final String value : VALID_LONGS ) {
+			assertInvalidInt(value);
+		}
+		for( final String value : INVALID ) {
+			assertInvalidInt(value);
+		}
+	}
+	
+	/**
+	 * Tests parseLong() gives the same results as Long.parseLong().
+	 */
+	@Test
+	public void testParseLong() {
+		for( final String value : VALID_INTS ) {
+			assertEquals(Long.parseLong(value), CharSequenceParser.parseLong(new StringBuilder(value)));
+		}
+		for( final String value : VALID_LONGS ) {
+			assertEquals(Long.parseLong(value), CharSequenceParser.parseLong(new StringBuilder(value)));
+		}
+		for( final String value : INVALID ) {
+			try {
+				CharSequenceParser.parseLong(new StringBuilder(value));
+				fail("should have thrown NumberFormatException for " + value);
+			}
+			catch(NumberFormatException e) {
+				assertEquals("For input string: \"" + value + "\"", e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Tests parseDouble() gives the same results as Double.parseDouble() for values that take the fast paths, values
+	 * that are handed to the JDK, and invalid values.
+	 */
+	@Test
+	public void testParseDouble() {
+		final String[] values = { "0", "-0", "+0.0", "1", "-1.5", ".5", "5.", "1e22", "1e23", "9007199254740993",
+			"123456789012345678901234567890", "0.1", "2.2250738585072011e-308", "4.9e-324", "2.4703282292062328e-324",
+			"2.4703282292062327e-324", "1.7976931348623157e308", "1.7976931348623159e308", "1e-400", "-1e400",
+			"9999999999999999999e-10", "7.450580596923828125e-9",
+			"1.00000000000000011102230246251565404236316680908203125", "1E+5", "1e-5", " 1.5 ", "1.5d", "NaN",
+			"-Infinity", "0x1p3" };
+		for( final String value : values ) {
+			assertSameDouble(value);
+		}
+		
+		final Random random = new Random(0L);
+		for( int i = 0; i < 10000; i++ ) {
+			assertSameDouble(Double.toString(Double.longBitsToDouble(random.nextLong())));
+			assertSameDouble(Long.toString(random.nextLong()) + "e" + (random.nextInt(700) - 350));
+		}
+		
+		for( final String value : new String[] { "", "-", ".", "e5", "1e", "1e+", "1.5.5", "1,5", "--1", "0x" } ) {
+			try {
+				CharSequenceParser.parseDouble(new StringBuilder(value));
+				fail("should have thrown NumberFormatException for " + value);
+			}
+			catch(NumberFormatException e) {
+				// expected
+			}
+		}
+	}
+	
+	/**
+	 * Asserts that parseDouble() gives exactly the same double as Double.parseDouble() for a value.
+	 * 
+	 * @param value
+	 *            the value
+	 */
+	private static void assertSameDouble(final String value) {
+		assertEquals(value, Double.doubleToRawLongBits(Double.parseDouble(value)),
+			Double.doubleToRawLongBits(CharSequenceParser.parseDouble(new StringBuilder(value))));
+	}
+	
+	/**
+	 * Asserts that a value can't be parsed as an int.
+	 * 
+	 * @param value
+	 *            the value
+	 */
+	private static void assertInvalidInt(final String value) {
+		try {
+			CharSequenceParser.parseInt(new StringBuilder(value));
+			fail("should have thrown NumberFormatException for " + value);
+		}
+		catch(NumberFormatException e) {
+			assertEquals("For input string: \"" + value + "\"", e.getMessage());
+		}
+	}
+	
+}
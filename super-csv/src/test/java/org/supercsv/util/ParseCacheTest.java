@@ -0,0 +1,95 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the ParseCache class.
+ */
+public class ParseCacheTest {
+	
+	/**
+	 * Tests that cached values are found, and hits and misses are counted (when recording statistics).
+	 */
+	@Test
+	public void testGetAndPut() {
+		final ParseCache<Integer> cache = new ParseCache<Integer>(8, true);
+		assertTrue(cache.isRecordingStatistics());
+		assertEquals(0.0, cache.getHitRate(), 0.0);
+		assertNull(cache.get("1"));
+		cache.put("1", 1);
+		assertEquals(Integer.valueOf(1), cache.get("1"));
+		assertEquals(Integer.valueOf(1), cache.get(new String("1")));
+		assertNull(cache.get("2"));
+		assertEquals(2L, cache.getHits());
+		assertEquals(2L, cache.getMisses());
+		assertEquals(0.5, cache.getHitRate(), 0.0);
+	}
+	
+	/**
+	 * Tests that hits and misses aren't counted by default.
+	 */
+	@Test
+	public void testWithoutStatistics() {
+		final ParseCache<Integer> cache = new ParseCache<Integer>(8);
+		assertFalse(cache.isRecordingStatistics());
+		cache.put("1", 1);
+		assertEquals(Integer.valueOf(1), cache.get("1"));
+		assertNull(cache.get("2"));
+		assertEquals(0L, cache.getHits());
+		assertEquals(0L, cache.getMisses());
+		assertEquals(0.0, cache.getHitRate(), 0.0);
+	}
+	
+	/**
+	 * Tests that the capacity is rounded up to a power of 2, and that a full cache replaces values (rather than
+	 * growing).
+	 */
+	@Test
+	public void testCapacity() {
+		assertEquals(1, new ParseCache<Integer>(1).getCapacity());
+		assertEquals(64, new ParseCache<Integer>(50).getCapacity());
+		
+		final ParseCache<Integer> cache = new ParseCache<Integer>(1);
+		cache.put("1", 1);
+		cache.put("2", 2);
+		assertNull(cache.get("1"));
+		assertEquals(Integer.valueOf(2), cache.get("2"));
+	}
+	
+	/**
+	 * Tests construction with a capacity of 0 (should throw an Exception).
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorWithZeroCapacity() {
+		new ParseCache<Integer>(0);
+	}
+	
+	/**
+	 * Tests put with a null value (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testPutWithNullValue() {
+		new ParseCache<Integer>(1).put("1", null);
+	}
+	
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Test;
+
+/**
+ * Tests the RegexMatcher class.
+ */
+public class RegexMatcherTest {
+	
+	private static final String[] SIMPLE_REGEXES = { "abc", "^abc$", "^[0-9]+$", "\\d*", "\\d+\\d", "[A-Z]{2}\\d{3}",
+		"[a-c]{1,3}x", "ID-.*", ".+\\.csv", "[^,\\n]+", "a?b", "\\w+@example\\.com", "[-a]{2,}", "[a\\-z]", "#.*",
+		"x{0}y", "[\u00E9\u00E0-\u00E2]+", "\\$\\d+", "\\\\", "[\\d_]+", "^$", "$" };
+	
+	private static final String[] OTHER_REGEXES = { "(ab)+", "a|b", "a*b*", "\\w+@\\w+", "\\s*#.*", "[a-c&&b]",
+		"\\bab", "a+?", "a*+", ".", ".{2}", "[^a]{3}", "\\p{Alpha}+", "(?i)abc", "\\Qa.b\\E", "[\\d-z]" };
+	
+	private static final String ALPHABET = "abcxyzAZ0159_-.,$#@\\ \t\n\u00E9\u00E1\uD83D\uDE00";
+	
+	/**
+	 * Tests that simple regular expressions are matched directly, and others by the regular expression engine.
+	 */
+	@Test
+	public void testIsMatchedDirectly() {
+		for( final String regex : SIMPLE_REGEXES ) {
+			assertTrue(regex, new RegexMatcher(regex).isMatchedDirectly());
+		}
+		for( final String regex : OTHER_REGEXES ) {
+			assertFalse(regex, new RegexMatcher(regex).isMatchedDirectly());
+		}
+	}
+	
+	/**
+	 * Tests that matching gives the same result as the regular expression engine, for random input.
+	 */
+	@Test
+	public void testMatchesAgainstPattern() {
+		final Random random = new Random(7L);
+		for( final String[] regexes : new String[][] { SIMPLE_REGEXES, OTHER_REGEXES } ) {
+			for( final String regex : regexes ) {
+				final RegexMatcher matcher = new RegexMatcher(regex);
+				final Pattern pattern = Pattern.compile(regex);
+				for( int i = 0; i < 2000; i++ ) {
+					final String input = randomInput(random, regex);
+					assertEquals(regex + " with '" + input + "'", pattern.matcher(input).matches(),
+						matcher.matches(new StringBuilder(input)));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests that replacing gives the same result as the regular expression engine.
+	 */
+	@Test
+	public void testReplaceAll() {
+		final RegexMatcher literal = new RegexMatcher("a\\.");
+		assertEquals("xbxx", literal.replaceAll("a.ba.a.", "x"));
+		assertEquals("aab", literal.replaceAll("aab", "x"));
+		assertEquals("$b", literal.replaceAll("a.b", "\\$"));
+		
+		final RegexMatcher overlapping = new RegexMatcher("aa");
+		assertEquals("-a", overlapping.replaceAll("aaa", "-"));
+		
+		final RegexMatcher groups = new RegexMatcher("(\\d+)-(\\d+)");
+		assertEquals("2-1 and 4-3", groups.replaceAll("1-2 and 3-4", "$2-$1"));
+		
+		final RegexMatcher anchored = new RegexMatcher("^a");
+		assertEquals("xaa", anchored.replaceAll("aaa", "x"));
+	}
+	
+	/**
+	 * Tests that replacing a regular expression that matches the empty String (including ones that reduce to no
+	 * literal characters) gives the same result as the regular expression engine.
+	 */
+	@Test
+	public void testReplaceAllWithEmptyMatch() {
+		for( final String regex : new String[] { "", "^$", "^", "$", "x{0}", "()" } ) {
+			final RegexMatcher matcher = new RegexMatcher(regex);
+			for( final String input : new String[] { "", "a", "abc" } ) {
+				final String expected = Pattern.compile(regex).matcher(input).replaceAll("-");
+				assertEquals(regex, expected, matcher.replaceAll(input, "-"));
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the matcher can be used by several threads at once.
+	 */
+	@Test
+	public void testConcurrentMatching() throws InterruptedException {
+		final RegexMatcher matcher = new RegexMatcher("(\\d+)-(\\d+)");
+		final boolean[] failed = new boolean[1];
+		final Thread[] threads = new Thread[4];
+		for( int t = 0; t < threads.length; t++ ) {
+			final int id = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for( int i = 0; i < 10000; i++ ) {
+						final String input = id + "-" + i;
+						if( !matcher.matches(input) || matcher.matches(input + "x")
+							|| !matcher.replaceAll(input, "$2-$1").equals(i + "-" + id) ) {
+							failed[0] = true;
+						}
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for( final Thread thread : threads ) {
+			thread.join();
+		}
+		assertFalse(failed[0]);
+	}
+	
+	/**
+	 * Tests that the pattern is available.
+	 */
+	@Test
+	public void testGetPattern() {
+		final RegexMatcher matcher = new RegexMatcher("a+");
+		assertEquals("a+", matcher.getPattern().pattern());
+		assertSame(matcher.getPattern(), matcher.getPattern());
+	}
+	
+	/**
+	 * Tests construction with a null regex (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructionWithNullRegex() {
+		new RegexMatcher(null);
+	}
+	
+	/**
+	 * Tests construction with an invalid regex (should throw an Exception).
+	 */
+	@Test(expected = PatternSyntaxException.class)
+	public void testConstructionWithInvalidRegex() {
+		new RegexMatcher("[a");
+	}
+	
+	/**
+	 * Generates random input: either random characters, or characters from the regex itself (so there are plenty of
+	 * matches).
+	 */
+	private static String randomInput(final Random random, final String regex) {
+		final String chars = random.nextBoolean() ? ALPHABET : regex.replace("\\", "") + "0123";
+		final StringBuilder builder = new StringBuilder();
+		final int length = random.nextInt(7);
+		for( int i = 0; i < length; i++ ) {
+			builder.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return builder.toString();
+	}
+	
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.supercsv.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the SubstringMatcher class.
+ */
+public class SubstringMatcherTest {
+	
+	/**
+	 * Tests finding substrings that overlap, or are suffixes of each other (so the failure links are used).
+	 */
+	@Test
+	public void testFind() {
+		final SubstringMatcher matcher = new SubstringMatcher("he", "she", "his", "hers");
+		
+		SubstringMatcher.Match match = matcher.find("ushers");
+		assertEquals("she", match.getSubstring());
+		assertEquals(1, match.getStart());
+		assertEquals(4, match.getEnd());
+		
+		match = matcher.find(new StringBuilder("ahhis"));
+		assertEquals("his", match.getSubstring());
+		assertEquals(2, match.getStart());
+		
+		assertNull(matcher.find("hash"));
+		assertTrue(matcher.containsAny("this"));
+		assertFalse(matcher.containsAny("h"));
+		assertFalse(matcher.containsAny(""));
+	}
+	
+	/**
+	 * Tests that the empty substring is found at the start of any CharSequence, and that an empty matcher finds
+	 * nothing.
+	 */
+	@Test
+	public void testEmptySubstrings() {
+		final SubstringMatcher matcher = new SubstringMatcher("abc", "");
+		assertTrue(matcher.containsAny(""));
+		assertEquals(0, matcher.find("xabc").getStart());
+		assertEquals("", matcher.find("xabc").getSubstring());
+		
+		final SubstringMatcher empty = new SubstringMatcher(Collections.<String> emptyList());
+		assertFalse(empty.containsAny("abc"));
+		assertNull(empty.find("abc"));
+	}
+	
+	/**
+	 * Tests that the first occurrence found is the same as with String.indexOf(), for random substrings and text.
+	 */
+	@Test
+	public void testAgainstIndexOf() {
+		final Random random = new Random(42L);
+		for( int n = 0; n < 200; n++ ) {
+			final List<String> substrings = new ArrayList<String>();
+			final int count = 1 + random.nextInt(20);
+			for( int i = 0; i < count; i++ ) {
+				substrings.add(randomString(random, 1 + random.nextInt(4)));
+			}
+			final SubstringMatcher matcher = new SubstringMatcher(substrings);
+			
+			for( int t = 0; t < 20; t++ ) {
+				final String text = randomString(random, random.nextInt(30));
+				
+				// the expected match ends first (and is the longest if several end at the same index)
+				String expected = null;
+				int expectedEnd = Integer.MAX_VALUE;
+				for( final String substring : substrings ) {
+					final int index = text.indexOf(substring);
+					final int end = index + substring.length();
+					if( index >= 0
+						&& (end < expectedEnd || (end == expectedEnd && substring.length() > expected.length())) ) {
+						expected = substring;
+						expectedEnd = end;
+					}
+				}
+				
+				final SubstringMatcher.Match match = matcher.find(text);
+				assertEquals(expected != null, matcher.containsAny(text));
+				if( expected == null ) {
+					assertNull(match);
+				} else {
+					assertEquals(expected, match.getSubstring());
+					assertEquals(expectedEnd, match.getEnd());
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests finding thousands of substrings.
+	 */
+	@Test
+	public void testManySubstrings() {
+		final List<String> substrings = new ArrayList<String>();
+		for( int i = 0; i < 5000; i++ ) {
+			substrings.add("word" + i + ";");
+		}
+		final SubstringMatcher matcher = new SubstringMatcher(substrings);
+		assertEquals(4, matcher.find("the word4999; is here").getStart());
+		assertEquals("word4999;", matcher.find("the word4999; is here").getSubstring());
+		assertFalse(matcher.containsAny("the word5000; isn't"));
+	}
+	
+	/**
+	 * Tests construction with a null array (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructionWithNullArray() {
+		new SubstringMatcher((String[]) null);
+	}
+	
+	/**
+	 * Tests construction with a null element (should throw an Exception).
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testConstructionWithNullElement() {
+		new SubstringMatcher(Arrays.asList("a", null));
+	}
+	
+	/**
+	 * Generates a random String from a small alphabet (so there are plenty of matches).
+	 */
+	private static String randomString(final Random random, final int length) {
+		final StringBuilder builder = new StringBuilder();
+		for( int i = 0; i < length; i++ ) {
+			builder.append((char) ('a' + random.nextInt(3)));
+		}
+		return builder.toString();
+	}
+	
+}
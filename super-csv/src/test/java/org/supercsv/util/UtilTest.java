@@ -17,6 +17,7 @@ package org.supercsv.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Constructor;
@@ -254,6 +255,23 @@ public class UtilTest {
 		assertNull(Util.objectListToStringArray(null));
 	}
 	
+	/**
+	 * Tests toProcessorInput() converts a CharSequence that isn't a String (such as a column view) to a String, unless
+	 * the processor accepts CharSequences.
+	 */
+	@Test
+	public void testToProcessorInput() {
+		final StringBuilder view = new StringBuilder("1");
+		assertSame(view, Util.toProcessorInput(view, new ParseInt()));
+		assertEquals("1", Util.toProcessorInput(view, new IdentityTransform()));
+		assertEquals("1", Util.toProcessorInput(view, null));
+		
+		final Object value = Integer.valueOf(1);
+		assertSame(value, Util.toProcessorInput(value, new IdentityTransform()));
+		assertSame("1", Util.toProcessorInput("1", new IdentityTransform()));
+		assertNull(Util.toProcessorInput(null, new IdentityTransform()));
+	}
+	
 	/**
 	 * Tests the private constructor for test coverage (yes, this is stupid).
 	 */